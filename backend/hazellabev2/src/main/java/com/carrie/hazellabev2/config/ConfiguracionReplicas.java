@@ -0,0 +1,77 @@
+package com.carrie.hazellabev2.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+@Configuration
+public class ConfiguracionReplicas {
+    /* ================= Configuración de la base primaria y las réplicas de lectura ================= */
+
+    // URLs JDBC de las réplicas, separadas por comas (vacío = todas las consultas a la primaria)
+    @Value("${hazellab.replicas.urls:}")
+    private String urls = "";
+
+    // Credenciales de las réplicas: por defecto las mismas de la primaria
+    @Value("${hazellab.replicas.username:${spring.datasource.username:}}")
+    private String usuario = "";
+
+    @Value("${hazellab.replicas.password:${spring.datasource.password:}}")
+    private String clave = "";
+
+    // Segundos durante los que un navegador lee de la primaria después de escribir
+    @Value("${hazellab.replicas.pegajosidad-segundos:5}")
+    private int pegajosidadSegundos = 5;
+
+    // DataSource de la aplicación: pool de la primaria (spring.datasource.*) y un pool de solo lectura por réplica
+    @Bean
+    @Primary
+    public EnrutadorDataSource dataSource(DataSourceProperties propiedades, Environment entorno) {
+        HikariDataSource primaria = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(entorno).bind("spring.datasource.hikari", Bindable.ofInstance(primaria));
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls.split(",")) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(usuario);
+            replica.setPassword(clave);
+            replica.setReadOnly(true);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new EnrutadorDataSource(primaria, replicas);
+    }
+
+    // Cookie de escritura reciente; se registra como filtro para todas las rutas
+    @Bean
+    public FiltroEscrituraReciente filtroEscrituraReciente(EnrutadorDataSource enrutador) {
+        return new FiltroEscrituraReciente(enrutador, pegajosidadSegundos);
+    }
+
+    // Reemplaza al JpaTransactionManager por defecto (conserva las propiedades spring.transaction.*)
+    @Bean
+    public GestorTransaccionesReplica transactionManager(EnrutadorDataSource enrutador, FiltroEscrituraReciente filtro,
+            ObjectProvider<TransactionManagerCustomizers> personalizadores) {
+        GestorTransaccionesReplica gestor = new GestorTransaccionesReplica(enrutador, filtro);
+        personalizadores.ifAvailable(p -> p.customize(gestor));
+        return gestor;
+    }
+}
@@ -0,0 +1,160 @@
+package com.carrie.hazellabev2.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/* ================= DataSource con Enrutamiento de Lecturas a Réplicas ================= */
+
+/**
+ * DataSource de la aplicación: entrega conexiones de la base primaria, salvo a las transacciones @LecturaReplica,
+ * que reciben una conexión de alguna réplica disponible (por turnos). El destino se decide al abrir la transacción
+ * (GestorTransaccionesReplica) y se mantiene hasta que termina.
+ * - Control de retraso: una réplica más atrasada que el máximo, o que no responde, queda fuera (MonitorReplicas)
+ * - Lectura de las propias escrituras: en una solicitud cuyo cliente escribió hace poco (FiltroEscrituraReciente)
+ *   las lecturas van a la primaria
+ * Sin réplicas disponibles, las lecturas van a la primaria.
+ */
+public class EnrutadorDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARIA = "primaria";
+
+    private final DataSource primaria;
+    private final List<Replica> replicas;
+    private final AtomicInteger turno = new AtomicInteger();
+    private final AtomicLong conexionesPrimaria = new AtomicLong();
+
+    // Marcado solo mientras una transacción de lectura obtiene su conexión
+    private final ThreadLocal<Boolean> lecturaEnCurso = new ThreadLocal<>();
+    // Marcado durante una solicitud cuyo cliente escribió hace poco
+    private final ThreadLocal<Boolean> primariaFijada = new ThreadLocal<>();
+
+    // Réplicas por nombre, en el orden en que se reparten las lecturas
+    public EnrutadorDataSource(DataSource primaria, Map<String, DataSource> replicas) {
+        this.primaria = primaria;
+        List<Replica> lista = new ArrayList<>(replicas.size());
+        Map<Object, Object> destinos = new HashMap<>();
+        destinos.put(PRIMARIA, primaria);
+        for (Map.Entry<String, DataSource> replica : new LinkedHashMap<>(replicas).entrySet()) {
+            lista.add(new Replica(replica.getKey(), replica.getValue()));
+            destinos.put(replica.getKey(), replica.getValue());
+        }
+        this.replicas = Collections.unmodifiableList(lista);
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primaria);
+        // Un destino desconocido es un error de programación, no un motivo para caer en la primaria
+        setLenientFallback(false);
+    }
+
+    /* ================= ENRUTAMIENTO ================= */
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!replicas.isEmpty() && Boolean.TRUE.equals(lecturaEnCurso.get()) && !Boolean.TRUE.equals(primariaFijada.get())) {
+            Replica replica = elegir();
+            if (replica != null) {
+                replica.conexiones.incrementAndGet();
+                return replica.nombre;
+            }
+        }
+        conexionesPrimaria.incrementAndGet();
+        return PRIMARIA;
+    }
+
+    // Siguiente réplica disponible a partir del turno actual, o null si ninguna lo está
+    private Replica elegir() {
+        int inicio = Math.floorMod(turno.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((inicio + i) % replicas.size());
+            if (replica.disponible) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    void iniciarLectura() {
+        lecturaEnCurso.set(Boolean.TRUE);
+    }
+
+    void terminarLectura() {
+        lecturaEnCurso.remove();
+    }
+
+    void fijarPrimaria(boolean fijar) {
+        if (fijar) {
+            primariaFijada.set(Boolean.TRUE);
+        } else {
+            primariaFijada.remove();
+        }
+    }
+
+    /* ================= CONSULTA ================= */
+
+    public DataSource getPrimaria() {
+        return primaria;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public boolean tieneReplicas() {
+        return !replicas.isEmpty();
+    }
+
+    // Conexiones entregadas desde la primaria (escrituras, lecturas sin marca y lecturas desviadas)
+    public long getConexionesPrimaria() {
+        return conexionesPrimaria.get();
+    }
+
+    /* ================= CIERRE ================= */
+
+    // Cierra los pools de la primaria y de las réplicas al detener la aplicación
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable cerrable) {
+                cerrable.close();
+            }
+        }
+        if (primaria instanceof AutoCloseable cerrable) {
+            cerrable.close();
+        }
+    }
+
+    /* ================= RÉPLICA ================= */
+
+    // Estado de una réplica según la última medición (arranca fuera de servicio hasta la primera)
+    public static final class Replica {
+        private final String nombre;
+        private final DataSource dataSource;
+        private final AtomicLong conexiones = new AtomicLong();
+        private volatile boolean disponible;
+        private volatile long retrasoMs = -1;
+
+        private Replica(String nombre, DataSource dataSource) {
+            this.nombre = nombre;
+            this.dataSource = dataSource;
+        }
+
+        // retrasoMs negativo: no se pudo medir
+        public void registrarMedicion(long retrasoMs, boolean disponible) {
+            this.retrasoMs = retrasoMs;
+            this.disponible = disponible;
+        }
+
+        public String getNombre() { return nombre; }
+        public DataSource getDataSource() { return dataSource; }
+        public boolean isDisponible() { return disponible; }
+        public long getRetrasoMs() { return retrasoMs; }
+        public long getConexiones() { return conexiones.get(); }
+    }
+}
@@ -0,0 +1,137 @@
+package com.carrie.hazellabev2.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import com.carrie.hazellabev2.utils.MapaAcotado;
+
+/* ================= Caché de Segundo Nivel de Hibernate en Memoria ================= */
+
+/**
+ * Proveedor de regiones para la caché de segundo nivel (hibernate.cache.region.factory_class), sobre la SPI de
+ * hibernate-core: las estrategias de concurrencia (read-write, bloqueos suaves, marcas de tiempo) las aporta Hibernate
+ * y aquí solo se define el almacenamiento. Cada región es un MapaAcotado con su propio máximo de entradas:
+ * - hazellab.cache.max-entradas.{region}: máximo de una región (p. ej. producto, categoria, blog)
+ * - hazellab.cache.max-entradas: máximo de las regiones sin valor propio (incluida la de resultados de consultas)
+ * La región de marcas de tiempo no se acota: expulsar una marca podría devolver resultados de consultas obsoletos.
+ * Las propiedades llegan desde spring.jpa.properties.
+ */
+public class FabricaRegionesCache extends RegionFactoryTemplate {
+    static final String PROPIEDAD_MAXIMO = "hazellab.cache.max-entradas";
+    static final int MAXIMO_POR_DEFECTO = 1000;
+
+    private final Map<String, MapaAcotado<Object, Object>> regiones = new ConcurrentHashMap<>();
+    private Map<String, Object> configuracion = Map.of();
+
+    /* ================= CICLO DE VIDA ================= */
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions opciones, Map<String, Object> valores) {
+        configuracion = new HashMap<>(valores);
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regiones.values().forEach(MapaAcotado::limpiar);
+        regiones.clear();
+    }
+
+    /* ================= REGIONES ================= */
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig config,
+            DomainDataRegionBuildingContext contexto) {
+        return new AlmacenRegion(region(config.getRegionName(), maximo(config.getRegionName())));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String nombre, SessionFactoryImplementor sessionFactory) {
+        return new AlmacenRegion(region(nombre, maximo(nombre)));
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String nombre, SessionFactoryImplementor sessionFactory) {
+        return new AlmacenRegion(region(nombre, Integer.MAX_VALUE));
+    }
+
+    private MapaAcotado<Object, Object> region(String nombre, int maximo) {
+        return regiones.computeIfAbsent(nombre, n -> new MapaAcotado<>(maximo));
+    }
+
+    int maximo(String region) {
+        Object valor = configuracion.get(PROPIEDAD_MAXIMO + "." + region);
+        if (valor == null) {
+            valor = configuracion.get(PROPIEDAD_MAXIMO);
+        }
+        return valor == null ? MAXIMO_POR_DEFECTO : Integer.parseInt(valor.toString().trim());
+    }
+
+    /* ================= CONSULTA ================= */
+
+    // Regiones creadas por nombre, en orden alfabético
+    public Map<String, MapaAcotado<Object, Object>> getRegiones() {
+        return new TreeMap<>(regiones);
+    }
+
+    /* ================= ALMACENAMIENTO ================= */
+
+    // Adaptador de un MapaAcotado a la interfaz de almacenamiento de Hibernate
+    static final class AlmacenRegion implements DomainDataStorageAccess {
+        private final MapaAcotado<Object, Object> mapa;
+
+        AlmacenRegion(MapaAcotado<Object, Object> mapa) {
+            this.mapa = mapa;
+        }
+
+        @Override
+        public Object getFromCache(Object clave, SharedSessionContractImplementor sesion) {
+            return mapa.obtener(clave);
+        }
+
+        @Override
+        public void putIntoCache(Object clave, Object valor, SharedSessionContractImplementor sesion) {
+            mapa.poner(clave, valor);
+        }
+
+        @Override
+        public void removeFromCache(Object clave, SharedSessionContractImplementor sesion) {
+            mapa.quitar(clave);
+        }
+
+        @Override
+        public void clearCache(SharedSessionContractImplementor sesion) {
+            mapa.limpiar();
+        }
+
+        @Override
+        public boolean contains(Object clave) {
+            return mapa.contiene(clave);
+        }
+
+        @Override
+        public void evictData() {
+            mapa.limpiar();
+        }
+
+        @Override
+        public void evictData(Object clave) {
+            mapa.quitar(clave);
+        }
+
+        @Override
+        public void release() {
+            mapa.limpiar();
+        }
+    }
+}
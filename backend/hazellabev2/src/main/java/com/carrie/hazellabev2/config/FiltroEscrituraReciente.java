@@ -0,0 +1,68 @@
+package com.carrie.hazellabev2.config;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/* ================= Lectura de las Propias Escrituras ================= */
+
+/**
+ * Cuando una solicitud confirma una escritura, la respuesta lleva la cookie hz_escritura con una duración de
+ * pegajosidad-segundos. Mientras el navegador la envíe, las lecturas de sus solicitudes van a la primaria y no a una
+ * réplica que aún no recibe el cambio. Al no guardar estado en el servidor, sirve igual con varias instancias.
+ * La pegajosidad debe superar el retraso máximo tolerado en las réplicas.
+ */
+public class FiltroEscrituraReciente extends OncePerRequestFilter {
+    public static final String COOKIE = "hz_escritura";
+
+    private final EnrutadorDataSource enrutador;
+    private final int pegajosidadSegundos;
+
+    // Respuesta de la solicitud en curso, hasta que se marca la primera escritura
+    private final ThreadLocal<HttpServletResponse> respuesta = new ThreadLocal<>();
+
+    public FiltroEscrituraReciente(EnrutadorDataSource enrutador, int pegajosidadSegundos) {
+        this.enrutador = enrutador;
+        this.pegajosidadSegundos = pegajosidadSegundos;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!enrutador.tieneReplicas()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        enrutador.fijarPrimaria(WebUtils.getCookie(request, COOKIE) != null);
+        respuesta.set(response);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            respuesta.remove();
+            enrutador.fijarPrimaria(false);
+        }
+    }
+
+    // Llamado tras confirmar una transacción de escritura; fuera de una solicitud (tareas internas) no hace nada
+    void registrarEscritura() {
+        HttpServletResponse actual = respuesta.get();
+        if (actual == null) {
+            return;
+        }
+        respuesta.remove();
+        // El resto de la solicitud también lee de la primaria
+        enrutador.fijarPrimaria(true);
+        Cookie cookie = new Cookie(COOKIE, "1");
+        cookie.setMaxAge(pegajosidadSegundos);
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        actual.addCookie(cookie);
+    }
+}
@@ -0,0 +1,74 @@
+package com.carrie.hazellabev2.config;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/* ================= Gestor de Transacciones con Lecturas en Réplicas ================= */
+
+/**
+ * JpaTransactionManager que abre las transacciones @LecturaReplica con una conexión de réplica: Hibernate obtiene la
+ * conexión al iniciar la transacción (y la libera al terminarla), por lo que basta marcar el inicio para que
+ * EnrutadorDataSource elija el destino. Lo leído de una réplica puede estar atrasado, así que esas sesiones leen la caché
+ * de segundo nivel pero no escriben en ella. Cada escritura confirmada se informa a FiltroEscrituraReciente.
+ */
+public class GestorTransaccionesReplica extends JpaTransactionManager {
+    private final EnrutadorDataSource enrutador;
+    private final FiltroEscrituraReciente escrituras;
+
+    public GestorTransaccionesReplica(EnrutadorDataSource enrutador, FiltroEscrituraReciente escrituras) {
+        this.enrutador = enrutador;
+        this.escrituras = escrituras;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        if (!enReplica(definition)) {
+            super.doBegin(transaction, definition);
+            return;
+        }
+        enrutador.iniciarLectura();
+        try {
+            super.doBegin(transaction, definition);
+        } finally {
+            enrutador.terminarLectura();
+        }
+        Session sesion = sesionActual();
+        if (sesion != null) {
+            sesion.setCacheMode(CacheMode.GET);
+        }
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        super.doCommit(status);
+        if (!status.isReadOnly()) {
+            escrituras.registrarEscritura();
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        // La sesión puede seguir abierta durante la vista: vuelve al modo normal para las transacciones siguientes
+        Session sesion = sesionActual();
+        if (sesion != null && sesion.getCacheMode() == CacheMode.GET) {
+            sesion.setCacheMode(CacheMode.NORMAL);
+        }
+        super.doCleanupAfterCompletion(transaction);
+    }
+
+    private static boolean enReplica(TransactionDefinition definition) {
+        return definition.isReadOnly() && definition instanceof TransactionAttribute atributo
+                && atributo.getLabels().contains(LecturaReplica.ETIQUETA);
+    }
+
+    private Session sesionActual() {
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+        return holder == null ? null : holder.getEntityManager().unwrap(Session.class);
+    }
+}
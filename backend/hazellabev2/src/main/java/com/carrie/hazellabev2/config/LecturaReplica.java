@@ -0,0 +1,26 @@
+package com.carrie.hazellabev2.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.transaction.annotation.Transactional;
+
+/* ================= Transacción de Solo Lectura Servida por una Réplica ================= */
+
+/**
+ * Equivale a @Transactional(readOnly = true) con la etiqueta "replica": GestorTransaccionesReplica abre la transacción
+ * con una conexión de alguna réplica de lectura (EnrutadorDataSource). Solo decide la transacción más externa: un
+ * método marcado que se llama dentro de una transacción de escritura participa de ella y lee de la primaria.
+ * Se usa en listados, búsquedas y lecturas por ID que toleran el retraso acotado de las réplicas; las lecturas de los
+ * repositorios sin esta marca siguen yendo a la primaria.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional(readOnly = true, label = LecturaReplica.ETIQUETA)
+public @interface LecturaReplica {
+    String ETIQUETA = "replica";
+}
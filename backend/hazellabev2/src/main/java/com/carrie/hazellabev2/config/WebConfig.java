@@ -26,6 +26,9 @@ public class WebConfig {
                         // Todos los tipos de encabezados HTTP permitidos en las solicitudes (metadata)
                         .allowedHeaders("*")
                         
+                        // Cabeceras de respuesta legibles desde el frontend (total de registros en listados paginados)
+                        .exposedHeaders("X-Total-Count")
+                        
                         // Permite el envío de credenciales (cookies, autenticación) en solicitudes cruzadas
                         .allowCredentials(true);
             }
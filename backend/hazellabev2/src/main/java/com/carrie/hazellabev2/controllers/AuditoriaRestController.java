@@ -0,0 +1,69 @@
+package com.carrie.hazellabev2.controllers;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.carrie.hazellabev2.dto.EstadoAuditoria;
+import com.carrie.hazellabev2.entities.RegistroAuditoria;
+import com.carrie.hazellabev2.entities.RegistroAuditoria.Entidad;
+import com.carrie.hazellabev2.services.Auditoria;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/* ================= Controlador REST para el Registro de Auditoría ================= */
+
+// Habilita solicitudes cruzadas desde el frontend en desarrollo
+@CrossOrigin(origins = "http://localhost:5173")
+// Marca esta clase como controlador REST que maneja solicitudes HTTP y serializa respuestas a JSON
+@RestController
+// Define la ruta base para todos los endpoints de auditoría
+@RequestMapping("/api/auditoria")
+// Documentación Swagger/OpenAPI para agrupar endpoints relacionados en la UI
+@Tag(name = "Auditoría", description = "Cambios y eliminaciones de productos y usuarios realizados desde la administración")
+
+public class AuditoriaRestController {
+    // Registro de auditoría (escritura asíncrona por lotes)
+    @Autowired
+    private Auditoria auditoria;
+
+    // Últimos registros, opcionalmente filtrados. GET /api/auditoria?entidad=producto&entidadId=5
+    @Operation(summary = "Registros de auditoría", description = "Últimos 100 cambios (campos con su valor anterior y nuevo), del más reciente al más antiguo")
+    @GetMapping
+    public ResponseEntity<List<RegistroAuditoria>> listar(
+            @RequestParam(required = false) String entidad,
+            @RequestParam(required = false) Long entidadId) {
+        Entidad seleccionada = null;
+        if (entidad != null) {
+            try {
+                seleccionada = Entidad.valueOf(entidad.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        } else if (entidadId != null) {
+            // Un ID sin tipo de entidad es ambiguo
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(auditoria.recientes(seleccionada, entidadId));
+    }
+
+    // Estado del escritor asíncrono. GET /api/auditoria/estado
+    @Operation(summary = "Estado de la auditoría", description = "Registros pendientes en el buffer y totales encolados, escritos y descartados")
+    @GetMapping("/estado")
+    public ResponseEntity<EstadoAuditoria> estado() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(auditoria.estado());
+    }
+}
@@ -3,6 +3,8 @@ package com.carrie.hazellabev2.controllers;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,9 +13,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.carrie.hazellabev2.dto.BlogResultadoBusqueda;
+import com.carrie.hazellabev2.dto.BlogResumen;
 import com.carrie.hazellabev2.entities.Blog;
 import com.carrie.hazellabev2.services.BlogService;
 
@@ -52,10 +58,12 @@ public class BlogRestController {
     }
 
     // Endpoint para obtener un blog específico por su ID. GET /api/blogs/{id} - Extrae el ID de la ruta URL
+    // Se responde desde la caché de publicaciones renderizadas: gzip si el cliente lo acepta y 304 si su ETag sigue vigente
     @GetMapping("/{id}")
-    public ResponseEntity<Blog> obtenerBlogPorId(@PathVariable Long id) {
-        Blog blog = blogService.obtenerPorID(id);
-        return ResponseEntity.ok(blog);
+    public ResponseEntity<byte[]> obtenerBlogPorId(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return blogService.obtenerPublicacion(id).responder(ifNoneMatch, acceptEncoding);
     }
   
     // Endpoint para actualizar un blog existente. PUT /api/blogs/{id} - Combina ID de la ruta con datos actualizados del cuerpo
@@ -65,11 +73,27 @@ public class BlogRestController {
         return ResponseEntity.ok(blog);
     }
 
-    // Endpoint para listar todos los blogs. GET /api/blogs - No requiere parámetros, devuelve lista completa
+    // Endpoint para listar blogs paginados en su representación resumida (sin body). GET /api/blogs?page=0&size=20
+    // El contenido completo de cada publicación se obtiene con GET /api/blogs/{id}; el total viaja en la cabecera X-Total-Count
     @GetMapping
-    public ResponseEntity<List<Blog>> listarBlogs() {
-        List<Blog> blogs = blogService.listarTodo();
-        return ResponseEntity.ok(blogs);
+    public ResponseEntity<List<BlogResumen>> listarBlogs(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        Page<BlogResumen> pagina = blogService.listarResumen(page, Math.min(size, 100));
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(pagina.getTotalElements()))
+                .body(pagina.getContent());
+    }
+
+    // Endpoint de búsqueda de texto completo. GET /api/blogs/buscar?q=reaccion maillard&limite=10
+    // Ignora tildes, mayúsculas y palabras vacías; ordena por relevancia (BM25) e incluye un fragmento con los términos resaltados
+    @GetMapping("/buscar")
+    public ResponseEntity<List<BlogResultadoBusqueda>> buscarBlogs(@RequestParam("q") String consulta,
+            @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(blogService.buscar(consulta, Math.min(limite, 50)));
     }
 
     // Endpoint para eliminar un blog por su ID. DELETE /api/blogs/{id} - Retorna código 204 (No Content) indicando éxito sin datos
@@ -12,8 +12,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.carrie.hazellabev2.dto.CategoriaResumen;
 import com.carrie.hazellabev2.entities.Categoria;
 import com.carrie.hazellabev2.services.CategoriaService;
 
@@ -41,6 +43,13 @@ public class CategoriaRestController {
         return ResponseEntity.ok(nuevaCategoria);
     }
 
+    // Obtiene las categorías con la cantidad de productos activos de cada una. GET /api/categorias/resumen?arbol=false
+    // Con arbol=true retorna solo las de primer nivel con sus subcategorías anidadas; cantidadProductosTotal incluye el subárbol
+    @GetMapping("/resumen")
+    public ResponseEntity<List<CategoriaResumen>> listarResumen(@RequestParam(value = "arbol", defaultValue = "false") boolean arbol) {
+        return ResponseEntity.ok(arbol ? categoriaService.listarArbol() : categoriaService.listarResumen());
+    }
+
     // Obtiene una categoría específica basada en su identificador único. GET /api/categorias/{id} - Extrae el ID de la ruta URL como parámetro
     @GetMapping("/{id}")
     public ResponseEntity<Categoria> obtenerCategoriaPorId(@PathVariable Long id) {
@@ -0,0 +1,131 @@
+package com.carrie.hazellabev2.controllers;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.carrie.hazellabev2.dto.AlertaStock;
+import com.carrie.hazellabev2.dto.EstadisticaCache;
+import com.carrie.hazellabev2.dto.EstadisticasDashboard;
+import com.carrie.hazellabev2.dto.EstadoReplica;
+import com.carrie.hazellabev2.dto.IndicadoresKpi;
+import com.carrie.hazellabev2.dto.ProductoVendido;
+import com.carrie.hazellabev2.services.DashboardService;
+import com.carrie.hazellabev2.services.RankingVentas;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/* ================= Controlador REST para el Dashboard de Administración ================= */
+
+// Habilita solicitudes cruzadas desde el frontend en desarrollo
+@CrossOrigin(origins = "http://localhost:5173")
+// Marca esta clase como controlador REST que maneja solicitudes HTTP y serializa respuestas a JSON
+@RestController
+// Define la ruta base para todos los endpoints del dashboard
+@RequestMapping("/api/dashboard")
+// Documentación Swagger/OpenAPI para agrupar endpoints relacionados en la UI
+@Tag(name = "Dashboard", description = "Indicadores agregados para el panel de administración")
+
+public class DashboardRestController {
+    // Inyección del servicio de indicadores (consultas agregadas con caché de pocos segundos)
+    @Autowired
+    private DashboardService dashboardService;
+
+    // Obtiene los indicadores generales del panel. GET /api/dashboard/estadisticas
+    @Operation(summary = "Estadísticas del dashboard", description = "Totales de usuarios, productos, stock crítico y categorías calculados en el servidor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Indicadores calculados",
+                     content = @Content(mediaType = "application/json",
+                     schema = @Schema(implementation = EstadisticasDashboard.class)))
+    })
+    @GetMapping("/estadisticas")
+    public ResponseEntity<EstadisticasDashboard> obtenerEstadisticas() {
+        // Datos administrativos: no deben quedar en cachés compartidas
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(dashboardService.obtenerEstadisticas());
+    }
+
+    // Contadores en vivo del panel (en memoria, conciliados periódicamente). GET /api/dashboard/kpis
+    @Operation(summary = "Indicadores en vivo", description = "Productos activos, con stock crítico y destacados, y usuarios activos por rol, vigentes al último cambio confirmado")
+    @GetMapping("/kpis")
+    public ResponseEntity<IndicadoresKpi> obtenerIndicadoresEnVivo() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(dashboardService.obtenerIndicadoresEnVivo());
+    }
+
+    // Alertas de stock crítico posteriores a la última secuencia vista. GET /api/dashboard/alertas-stock?desde=0
+    @Operation(summary = "Alertas de stock crítico", description = "Productos que cruzaron su umbral de stock crítico (bajo o repuesto) después de la secuencia indicada")
+    @GetMapping("/alertas-stock")
+    public ResponseEntity<List<AlertaStock>> alertasStock(@RequestParam(defaultValue = "0") long desde) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(dashboardService.alertasStock(desde));
+    }
+
+    // Feed en vivo de registros, carritos, ediciones y cruces de stock (Server-Sent Events). GET /api/dashboard/actividad
+    @Operation(summary = "Actividad en vivo", description = "Flujo SSE de eventos 'actividad': un lote JSON por ventana de 250 ms con los hechos recientes agrupados")
+    @GetMapping(value = "/actividad", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> actividad() {
+        try {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(dashboardService.suscribirActividad());
+        } catch (IllegalStateException e) {
+            // Máximo de conexiones alcanzado: el navegador reintenta más tarde
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    // Ocupación y aciertos de la caché de segundo nivel por región. GET /api/dashboard/cache
+    @Operation(summary = "Caché de segundo nivel", description = "Entradas, máximo, expulsiones, aciertos, fallos y escrituras de cada región (producto, categoria, blog y consultas)")
+    @GetMapping("/cache")
+    public ResponseEntity<List<EstadisticaCache>> estadisticasCache() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(dashboardService.estadisticasCache());
+    }
+
+    // Primaria y réplicas de lectura: disponibilidad, retraso y conexiones entregadas. GET /api/dashboard/replicas
+    @Operation(summary = "Réplicas de lectura", description = "Estado del enrutamiento de lecturas: la primaria y cada réplica con su retraso de replicación medido")
+    @GetMapping("/replicas")
+    public ResponseEntity<List<EstadoReplica>> estadoReplicas() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(dashboardService.estadoReplicas());
+    }
+
+    // Ranking de productos más vendidos. GET /api/dashboard/productos-mas-vendidos?ventana=dia|semana|historico&limite=5
+    @Operation(summary = "Productos más vendidos", description = "Unidades vendidas por producto en el día, los últimos 7 días o el histórico, de mayor a menor")
+    @GetMapping("/productos-mas-vendidos")
+    public ResponseEntity<List<ProductoVendido>> productosMasVendidos(
+            @RequestParam(defaultValue = "semana") String ventana,
+            @RequestParam(defaultValue = "5") int limite) {
+        RankingVentas.Ventana seleccionada;
+        try {
+            seleccionada = RankingVentas.Ventana.valueOf(ventana.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(dashboardService.productosMasVendidos(seleccionada, limite));
+    }
+}
@@ -0,0 +1,68 @@
+package com.carrie.hazellabev2.controllers;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.carrie.hazellabev2.services.ExportacionService;
+import com.carrie.hazellabev2.services.ExportacionService.Formato;
+import com.carrie.hazellabev2.services.ExportacionService.Tabla;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/* ================= Controlador REST para Exportación de Tablas ================= */
+
+// Habilita solicitudes cruzadas desde el frontend en desarrollo
+@CrossOrigin(origins = "http://localhost:5173")
+// Marca esta clase como controlador REST que maneja solicitudes HTTP
+@RestController
+// Define la ruta base para todos los endpoints de exportación
+@RequestMapping("/api/exportaciones")
+// Documentación Swagger/OpenAPI para agrupar endpoints relacionados en la UI
+@Tag(name = "Exportaciones", description = "Descarga de productos, usuarios y carritos en CSV o XLSX escrita por flujo")
+
+public class ExportacionRestController {
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    private static final MediaType XLSX = MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    // Inyección del servicio de exportación
+    @Autowired
+    private ExportacionService exportacionService;
+
+    // Exporta una tabla completa. GET /api/exportaciones/{productos|usuarios|carrito}?formato=csv|xlsx
+    @Operation(summary = "Exportar tabla", description = "Descarga productos, usuarios (sin contraseñas) o ítems de carrito; las filas se escriben a medida que se leen")
+    @GetMapping("/{tabla}")
+    public ResponseEntity<StreamingResponseBody> exportar(@PathVariable String tabla,
+            @RequestParam(defaultValue = "csv") String formato) {
+        Tabla seleccionada;
+        Formato tipo;
+        try {
+            seleccionada = Tabla.valueOf(tabla.toUpperCase(Locale.ROOT));
+            tipo = Formato.valueOf(formato.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        String archivo = tabla.toLowerCase(Locale.ROOT) + "-" + LocalDate.now() + "." + tipo.name().toLowerCase(Locale.ROOT);
+        // La lectura y la escritura ocurren al enviar la respuesta, sin pasar por una lista intermedia
+        StreamingResponseBody cuerpo = salida -> exportacionService.exportar(seleccionada, tipo, salida);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .contentType(tipo == Formato.XLSX ? XLSX : TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(archivo).build().toString())
+                .body(cuerpo);
+    }
+}
@@ -0,0 +1,122 @@
+package com.carrie.hazellabev2.controllers;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.carrie.hazellabev2.services.ImagenService;
+import com.carrie.hazellabev2.utils.EnvioArchivo;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/* ================= Controlador REST para Imágenes Almacenadas Localmente ================= */
+
+// Habilita solicitudes cruzadas desde el frontend en desarrollo
+@CrossOrigin(origins = "http://localhost:5173")
+// Marca esta clase como controlador REST que maneja solicitudes HTTP y serializa respuestas a JSON
+@RestController
+// Define la ruta base para todos los endpoints de imágenes
+@RequestMapping("/api/imagenes")
+// Documentación Swagger/OpenAPI para agrupar endpoints relacionados en la UI
+@Tag(name = "Imágenes", description = "Subida y entrega de imágenes de productos con miniaturas")
+
+public class ImagenRestController {
+    // Los nombres son el hash del contenido: una URL nunca cambia de contenido y puede guardarse en caché por un año
+    private static final CacheControl CACHE_INMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+    // Inyección del servicio de almacenamiento de imágenes
+    @Autowired
+    private ImagenService imagenService;
+
+    // Sube una imagen y retorna su nombre y URL pública. POST /api/imagenes - multipart con el campo 'archivo'
+    @Operation(summary = "Subir imagen", description = "Guarda una imagen (JPEG, PNG, GIF o BMP) con nombre por contenido")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Imagen almacenada (nombre y URL)"),
+        @ApiResponse(responseCode = "400", description = "Archivo vacío o que no es una imagen soportada")
+    })
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> subir(@RequestParam("archivo") MultipartFile archivo) {
+        if (archivo.isEmpty()) {
+            return ResponseEntity.badRequest().body("El archivo de imagen está vacío");
+        }
+        try {
+            String nombre = imagenService.guardar(archivo.getInputStream());
+            return ResponseEntity.ok(Map.of("nombre", nombre, "url", urlPublica(nombre)));
+        } catch (IOException | RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Entrega el original o una miniatura. GET /api/imagenes/{nombre}?ancho=320
+    // El ancho se ajusta al permitido más cercano por arriba; soporta Range, If-None-Match y HEAD
+    @Operation(summary = "Obtener imagen", description = "Entrega la imagen original o una miniatura del ancho indicado")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Imagen completa"),
+        @ApiResponse(responseCode = "206", description = "Rango de bytes solicitado"),
+        @ApiResponse(responseCode = "304", description = "La copia del cliente sigue vigente"),
+        @ApiResponse(responseCode = "404", description = "Imagen no encontrada"),
+        @ApiResponse(responseCode = "503", description = "Generador de miniaturas saturado, reintentar")
+    })
+    @GetMapping("/{nombre:.+}")
+    public void obtener(@PathVariable String nombre, @RequestParam(value = "ancho", required = false) Integer ancho,
+                        HttpServletRequest solicitud, HttpServletResponse respuesta) throws IOException {
+        Path archivo;
+        String etag;
+        try {
+            if (ancho == null) {
+                archivo = imagenService.obtenerOriginal(nombre);
+                etag = "\"" + nombre + "\"";
+            } else {
+                archivo = imagenService.obtenerVariante(nombre, ancho);
+                etag = "\"" + nombre + "-" + imagenService.normalizarAncho(ancho) + "\"";
+            }
+        } catch (RejectedExecutionException e) {
+            respuesta.setHeader(HttpHeaders.RETRY_AFTER, "2");
+            respuesta.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Generador de miniaturas saturado");
+            return;
+        } catch (RuntimeException e) {
+            respuesta.sendError(HttpStatus.NOT_FOUND.value(), e.getMessage());
+            return;
+        }
+        EnvioArchivo.enviar(solicitud, respuesta, archivo, tipoContenido(archivo), etag, CACHE_INMUTABLE);
+    }
+
+    // URL absoluta de una imagen almacenada, para guardarla en la entidad y usarla desde el frontend
+    static String urlPublica(String nombre) {
+        return ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/imagenes/{nombre}").buildAndExpand(nombre).toUriString();
+    }
+
+    private static String tipoContenido(Path archivo) {
+        String nombre = archivo.getFileName().toString();
+        return switch (nombre.substring(nombre.lastIndexOf('.') + 1)) {
+            case "png" -> MediaType.IMAGE_PNG_VALUE;
+            case "gif" -> MediaType.IMAGE_GIF_VALUE;
+            case "bmp" -> "image/bmp";
+            default -> MediaType.IMAGE_JPEG_VALUE;
+        };
+    }
+}
@@ -1,13 +1,18 @@
 package com.carrie.hazellabev2.controllers;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.carrie.hazellabev2.dto.LoginRequest;
 import com.carrie.hazellabev2.entities.Usuario;
+import com.carrie.hazellabev2.services.LimitadorLogin;
 import com.carrie.hazellabev2.services.UsuarioService;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -33,6 +38,10 @@ public class LoginRestController {
     @Autowired
     private UsuarioService usuarioService;
 
+    // Limitador de intentos por cuenta e IP, evaluado antes de la verificación BCrypt
+    @Autowired
+    private LimitadorLogin limitadorLogin;
+
     // Endpoint para autenticar usuarios en el sistema. POST /api/auth/login - Valida credenciales y establece sesión
     @Operation(summary = "Iniciar sesión", description = "Autentica un usuario con email y contraseña")
     @ApiResponses(value = {
@@ -40,27 +49,42 @@ public class LoginRestController {
                      content = @Content(mediaType = "application/json", 
                      schema = @Schema(implementation = Usuario.class))),
         @ApiResponse(responseCode = "400", description = "Credenciales inválidas o usuario inactivo"),
-        @ApiResponse(responseCode = "404", description = "Usuario no encontrado")
+        @ApiResponse(responseCode = "404", description = "Usuario no encontrado"),
+        @ApiResponse(responseCode = "429", description = "Demasiados intentos, reintentar más tarde")
     })
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        // Se usa la IP de la conexión (no X-Forwarded-For) para que el cliente no pueda falsificarla
+        String ip = request.getRemoteAddr();
+
+        // Limitación previa: si la cuenta o la IP agotaron sus intentos, se rechaza sin verificar la contraseña
+        long esperaSegundos = limitadorLogin.intentar(loginRequest.getEmail(), ip);
+        if (esperaSegundos > 0) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(esperaSegundos))
+                    .body("Demasiados intentos de inicio de sesión. Intente nuevamente en " + esperaSegundos + " segundos");
+        }
+
+        Usuario usuario;
         try {
             // Autentica al usuario usando el servicio con las credenciales proporcionadas
-            Usuario usuario = usuarioService.login(loginRequest.getEmail(), loginRequest.getPassword());
-            
-            // Validación de seguridad: Solo usuarios con rol de administrador pueden acceder al dashboard. 
-            if (!usuario.getRole().equals("super_admin") && !usuario.getRole().equals("admin")) {
-                return ResponseEntity.badRequest().body("Acceso solo para administradores");
-            }
-            
-            // Medida de seguridad: Elimina la contraseña del objeto antes de enviarlo al cliente. Previene exposición accidental de credenciales en la respuesta
-            usuario.setPassword(null);
-            
-            // Retorna HTTP 200 (OK) con la información del usuario autenticado (sin contraseña)
-            return ResponseEntity.ok(usuario);
+            usuario = usuarioService.login(loginRequest.getEmail(), loginRequest.getPassword());
+            limitadorLogin.registrarExito(loginRequest.getEmail(), ip);
         } catch (RuntimeException e) {
-            // Manejo de errores: Captura excepciones del servicio y retorna error 400 con mensaje descriptivo
+            // Manejo de errores: el fallo suma a la ventana de bloqueo de la cuenta desde esta IP y de la IP, y retorna error 400
+            limitadorLogin.registrarFallo(loginRequest.getEmail(), ip);
             return ResponseEntity.badRequest().body(e.getMessage());
         }
+
+        // Validación de seguridad: Solo usuarios con rol de administrador pueden acceder al dashboard. 
+        if (!usuario.getRole().equals("super_admin") && !usuario.getRole().equals("admin")) {
+            return ResponseEntity.badRequest().body("Acceso solo para administradores");
+        }
+        
+        // Medida de seguridad: Elimina la contraseña del objeto antes de enviarlo al cliente. Previene exposición accidental de credenciales en la respuesta
+        usuario.setPassword(null);
+        
+        // Retorna HTTP 200 (OK) con la información del usuario autenticado (sin contraseña)
+        return ResponseEntity.ok(usuario);
     }
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.carrie.hazellabev2.controllers;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,8 +17,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 import com.carrie.hazellabev2.entities.Producto;
+import com.carrie.hazellabev2.services.ImagenService;
 import com.carrie.hazellabev2.services.ProductoService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -42,6 +46,10 @@ public class ProductoRestController {
     // Inyección automática del servicio de productos para separar lógica de negocio del controlador
     @Autowired
     private ProductoService productoService;
+
+    // Almacenamiento local de imágenes (originales por contenido y miniaturas en disco)
+    @Autowired
+    private ImagenService imagenService;
     
     /* ================= Endpoints CRUD Básicos para Productos ================= */
     
@@ -147,10 +155,8 @@ public class ProductoRestController {
                 throw new RuntimeException("La URL debe comenzar con http o https");
             }
 
-            // Obtiene el producto existente y actualiza solo la imagen
-            Producto producto = productoService.obtenerPorID(id);
-            producto.setImage(imageUrl);
-            Producto productoActualizado = productoService.actualizar(id, producto);
+            // Actualiza solo la imagen en una transacción de escritura (lee el producto de la primaria)
+            Producto productoActualizado = productoService.actualizarImagen(id, imageUrl);
 
             // Retorna HTTP 200 (OK) con el producto actualizado
             return ResponseEntity.ok(productoActualizado);
@@ -161,6 +167,34 @@ public class ProductoRestController {
         }
     }   
 
+    // Sube el archivo de imagen de un producto al almacenamiento local. POST /api/productos/{id}/imagen - multipart con el campo 'archivo'
+    // La imagen queda en /api/imagenes/{sha256}.{ext}; las grillas pueden pedir miniaturas con ?ancho=320
+    @Operation(summary = "Subir imagen de producto", description = "Guarda el archivo de imagen localmente y lo asigna al producto")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Imagen almacenada y asignada exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Archivo vacío o que no es una imagen soportada"),
+        @ApiResponse(responseCode = "404", description = "Producto no encontrado")
+    })
+    @PostMapping(value = "/{id}/imagen", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> subirImagen(@PathVariable Long id, @RequestParam("archivo") MultipartFile archivo) {
+        if (archivo.isEmpty()) {
+            return ResponseEntity.badRequest().body("El archivo de imagen está vacío");
+        }
+        // Verifica que el producto exista antes de escribir en disco, sin cargarlo desde una réplica
+        if (!productoService.existe(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        String nombre;
+        try {
+            nombre = imagenService.guardar(archivo.getInputStream());
+        } catch (IOException | RuntimeException e) {
+            // Archivo ilegible, que no es imagen o con un formato no soportado
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        // Retorna HTTP 200 (OK) con el producto actualizado
+        return ResponseEntity.ok(productoService.actualizarImagen(id, ImagenRestController.urlPublica(nombre)));
+    }
+
     /* ================= Endpoints de Características Especiales ================= */
     
     // Obtiene productos marcados como destacados para mostrar en secciones promocionales
@@ -173,6 +207,21 @@ public class ProductoRestController {
         return ResponseEntity.ok(productos);
     }
 
+    // Productos activos que vencen dentro de los próximos N días, ordenados por fecha de vencimiento
+    @Operation(summary = "Productos por vencer", description = "Productos activos cuyo vencimiento cae dentro de los próximos N días (incluye vencidos aún no desactivados)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista ordenada por fecha de vencimiento"),
+        @ApiResponse(responseCode = "400", description = "Cantidad de días fuera de rango")
+    })
+    @GetMapping("/por-vencer")
+    public ResponseEntity<List<Producto>> listarPorVencer(@RequestParam(defaultValue = "30") int dias) {
+        try {
+            return ResponseEntity.ok(productoService.listarPorVencer(dias));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /* ================= Endpoints de Filtrado y Búsqueda Avanzada ================= */
     
     // Busca productos cuyo nombre contenga el texto especificado (búsqueda parcial)
@@ -191,8 +240,8 @@ public class ProductoRestController {
         return ResponseEntity.ok(productos);
     }
 
-    // Obtiene productos con stock bajo (menor a 5 unidades) para alertas de inventario
-    @Operation(summary = "Productos con stock bajo", description = "Obtiene productos con stock menor a 5 unidades")
+    // Obtiene productos con stock en o bajo su propio stock crítico para alertas de inventario
+    @Operation(summary = "Productos con stock bajo", description = "Obtiene productos cuyo stock es menor o igual a su stock crítico")
     @GetMapping("/stock-bajo")
     public ResponseEntity<List<Producto>> obtenerProductosStockBajo() {
         List<Producto> productos = productoService.buscarProductosStockBajo();
@@ -1,15 +1,20 @@
 package com.carrie.hazellabev2.controllers;
 
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.Arrays;
-import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
+import com.carrie.hazellabev2.dto.ComunaSugerencia;
+import com.carrie.hazellabev2.services.UbicacionRegistro;
 
 /* ================= Controlador REST para Gestión de Direcciones (Chile) ================= */
 
@@ -21,51 +26,41 @@ import java.util.HashMap;
 @RequestMapping("/api/ubicacion")
 
 public class RegionComunaController {
+    // Registro inmutable de regiones y comunas con las respuestas JSON ya serializadas y comprimidas
+    @Autowired
+    private UbicacionRegistro ubicacionRegistro;
+
     // Endpoint que retorna el mapeo completo de regiones con sus comunas correspondientes
     // GET /api/ubicacion/regiones-comunas - Estructura completa para formularios de ubicación
     @GetMapping("/regiones-comunas")
-    public Map<String, List<String>> getRegionesComunas() {
-        Map<String, List<String>> regionesComunas = new HashMap<>();
-        
-        // Datos de regiones y comunas de Chile
-        regionesComunas.put("Arica y Parinacota", Arrays.asList("Arica", "Camarones", "Putre", "General Lagos"));
-        regionesComunas.put("Tarapacá", Arrays.asList("Iquique", "Alto Hospicio", "Pozo Almonte", "Camiña", "Colchane", "Huara", "Pica"));
-        regionesComunas.put("Antofagasta", Arrays.asList("Antofagasta", "Mejillones", "Sierra Gorda", "Taltal", "Calama", "Ollagüe", "San Pedro de Atacama", "Tocopilla", "María Elena"));
-        regionesComunas.put("Atacama", Arrays.asList("Copiapó", "Caldera", "Tierra Amarilla", "Chañaral", "Diego de Almagro", "Vallenar", "Alto del Carmen", "Freirina", "Huasco"));
-        regionesComunas.put("Coquimbo", Arrays.asList("La Serena", "Coquimbo", "Andacollo", "La Higuera", "Paiguano", "Vicuña", "Illapel", "Canela", "Los Vilos", "Salamanca", "Ovalle", "Combarbalá", "Monte Patria", "Punitaqui", "Río Hurtado"));
-        regionesComunas.put("Valparaíso", Arrays.asList("Valparaíso", "Casablanca", "Concón", "Juan Fernández", "Puchuncaví", "Quintero", "Viña del Mar", "Isla de Pascua", "Los Andes", "Calle Larga", "Rinconada", "San Esteban", "La Ligua", "Cabildo", "Papudo", "Petorca", "Zapallar", "Quillota", "Calera", "Hijuelas", "La Cruz", "Nogales", "San Antonio", "Algarrobo", "Cartagena", "El Quisco", "El Tabo", "Santo Domingo", "San Felipe", "Catemu", "Llaillay", "Panquehue", "Putaendo", "Santa María", "Quilpué", "Limache", "Olmué", "Villa Alemana"));
-        regionesComunas.put("Metropolitana", Arrays.asList("Santiago", "Cerrillos", "Cerro Navia", "Conchalí", "El Bosque", "Estación Central", "Huechuraba", "Independencia", "La Cisterna", "La Florida", "La Granja", "La Pintana", "La Reina", "Las Condes", "Lo Barnechea", "Lo Espejo", "Lo Prado", "Macul", "Maipú", "Ñuñoa", "Pedro Aguirre Cerda", "Peñalolén", "Providencia", "Pudahuel", "Quilicura", "Quinta Normal", "Recoleta", "Renca", "San Joaquín", "San Miguel", "San Ramón", "Vitacura", "Puente Alto", "Pirque", "San José de Maipo", "Colina", "Lampa", "Tiltil", "San Bernardo", "Buin", "Calera de Tango", "Paine", "Melipilla", "Alhué", "Curacaví", "María Pinto", "San Pedro", "Talagante", "El Monte", "Isla de Maipo", "Padre Hurtado", "Peñaflor"));
-        regionesComunas.put("O'Higgins", Arrays.asList("Rancagua", "Codegua", "Coinco", "Coltauco", "Doñihue", "Graneros", "Las Cabras", "Machalí", "Malloa", "Mostazal", "Olivar", "Peumo", "Pichidegua", "Quinta de Tilcoco", "Rengo", "Requínoa", "San Vicente", "Pichilemu", "La Estrella", "Litueche", "Marchihue", "Navidad", "Paredones", "San Fernando", "Chépica", "Chimbarongo", "Lolol", "Nancagua", "Palmilla", "Peralillo", "Placilla", "Pumanque", "Santa Cruz"));
-        regionesComunas.put("Maule", Arrays.asList("Talca", "Constitución", "Curepto", "Empedrado", "Maule", "Pelarco", "Pencahue", "Río Claro", "San Clemente", "San Rafael", "Cauquenes", "Chanco", "Pelluhue", "Curicó", "Hualañé", "Licantén", "Molina", "Rauco", "Romeral", "Sagrada Familia", "Teno", "Vichuquén", "Linares", "Colbún", "Longaví", "Parral", "Retiro", "San Javier", "Villa Alegre", "Yerbas Buenas"));
-        regionesComunas.put("Ñuble", Arrays.asList("Chillán", "Bulnes", "Chillán Viejo", "El Carmen", "Pemuco", "Pinto", "Quillón", "San Ignacio", "Yungay", "Quirihue", "Cobquecura", "Coelemu", "Ninhue", "Portezuelo", "Ránquil", "Treguaco", "San Carlos", "Coihueco", "Ñiquén", "San Fabián", "San Nicolás"));
-        regionesComunas.put("Biobío", Arrays.asList("Concepción", "Coronel", "Chiguayante", "Florida", "Hualpén", "Hualqui", "Lota", "Penco", "San Pedro de la Paz", "Santa Juana", "Talcahuano", "Tomé", "Los Ángeles", "Antuco", "Cabrero", "Laja", "Mulchén", "Nacimiento", "Negrete", "Quilaco", "Quilleco", "San Rosendo", "Santa Bárbara", "Tucapel", "Yumbel", "Alto Biobío", "Lebú", "Arauco", "Cañete", "Contulmo", "Curanilahue", "Los Álamos", "Tirúa"));
-        regionesComunas.put("Araucanía", Arrays.asList("Temuco", "Carahue", "Cunco", "Curarrehue", "Freire", "Galvarino", "Gorbea", "Lautaro", "Loncoche", "Melipeuco", "Nueva Imperial", "Padre las Casas", "Perquenco", "Pitrufquén", "Pucón", "Saavedra", "Teodoro Schmidt", "Vilcún", "Villarrica", "Cholchol", "Angol", "Collipulli", "Curacautín", "Ercilla", "Lonquimay", "Los Sauces", "Lumaco", "Purén", "Renaico", "Traiguén", "Victoria"));
-        regionesComunas.put("Los Ríos", Arrays.asList("Valdivia", "Corral", "Lanco", "Los Lagos", "Máfil", "Mariquina", "Paillaco", "Panguipulli", "La Unión", "Futrono", "Lago Ranco", "Río Bueno"));
-        regionesComunas.put("Los Lagos", Arrays.asList("Puerto Montt", "Calbuco", "Cochamó", "Fresia", "Frutillar", "Los Muermos", "Llanquihue", "Maullín", "Puerto Varas", "Castro", "Ancud", "Chonchi", "Curaco de Vélez", "Dalcahue", "Puqueldón", "Queilén", "Quellón", "Quemchi", "Quinchao", "Osorno", "Puerto Octay", "Purranque", "Puyehue", "Río Negro", "San Juan de la Costa", "San Pablo", "Chaitén", "Futaleufú", "Hualaihué", "Palena"));
-        regionesComunas.put("Aysén", Arrays.asList("Coihaique", "Lago Verde", "Aisén", "Cisnes", "Guaitecas", "Cochrane", "O'Higgins", "Tortel", "Chile Chico", "Río Ibáñez"));
-        regionesComunas.put("Magallanes", Arrays.asList("Punta Arenas", "Laguna Blanca", "Río Verde", "San Gregorio", "Cabo de Hornos", "Antártica", "Porvenir", "Primavera", "Timaukel", "Natales", "Torres del Paine"));
-        
-        return regionesComunas;
+    public ResponseEntity<byte[]> getRegionesComunas(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return ubicacionRegistro.getRespuestaRegionesComunas().responder(ifNoneMatch, acceptEncoding);
     }
 
     // Endpoint que retorna solo la lista de nombres de regiones. GET /api/ubicacion/regiones - Útil para dropdowns de selección de región
     @GetMapping("/regiones")
-    public List<String> getRegiones() {
-        return Arrays.asList(
-            "Arica y Parinacota", "Tarapacá", "Antofagasta", "Atacama", "Coquimbo",
-            "Valparaíso", "Metropolitana", "O'Higgins", "Maule", "Ñuble",
-            "Biobío", "Araucanía", "Los Ríos", "Los Lagos", "Aysén", "Magallanes"
-        );
+    public ResponseEntity<byte[]> getRegiones(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return ubicacionRegistro.getRespuestaRegiones().responder(ifNoneMatch, acceptEncoding);
+    }
+
+    // Endpoint de autocompletado de comunas de todas las regiones. GET /api/ubicacion/comunas/buscar?q=nuno&limite=10
+    // Ignora tildes y mayúsculas; ordena primero las comunas que comienzan con el texto y luego las que lo tienen al inicio de otra palabra
+    @GetMapping("/comunas/buscar")
+    public List<ComunaSugerencia> buscarComunas(@RequestParam("q") String consulta,
+            @RequestParam(value = "limite", defaultValue = "10") int limite) {
+        return ubicacionRegistro.buscarComunas(consulta, Math.max(1, Math.min(limite, ubicacionRegistro.getMaxSugerencias())));
     }
 
     // Endpoint que retorna las comunas de una región específica. GET /api/ubicacion/comunas/{region} - Filtrado dinámico para formularios dependientes
+    // La región se busca sin distinguir tildes ni mayúsculas; retorna lista vacía si la región no existe
     @GetMapping("/comunas/{region}")
-    public List<String> getComunasPorRegion(@PathVariable String region) {
-        Map<String, List<String>> regionesComunas = getRegionesComunas();
-        List<String> comunas = regionesComunas.get(region);
-        if (comunas == null) {
-            return Arrays.asList(); // Retorna lista vacía si la región no existe
-        }
-        return comunas;
+    public ResponseEntity<byte[]> getComunasPorRegion(@PathVariable String region,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return ubicacionRegistro.getRespuestaComunas(region).responder(ifNoneMatch, acceptEncoding);
     }
-}
\ No newline at end of file
+}
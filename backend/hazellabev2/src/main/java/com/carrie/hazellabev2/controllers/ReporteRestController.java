@@ -0,0 +1,76 @@
+package com.carrie.hazellabev2.controllers;
+
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.carrie.hazellabev2.dto.ReporteValoracion;
+import com.carrie.hazellabev2.services.ReporteInventarioService;
+import com.carrie.hazellabev2.utils.EscritorCsv;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/* ================= Controlador REST para Reportes de Inventario ================= */
+
+// Habilita solicitudes cruzadas desde el frontend en desarrollo
+@CrossOrigin(origins = "http://localhost:5173")
+// Marca esta clase como controlador REST que maneja solicitudes HTTP y serializa respuestas a JSON
+@RestController
+// Define la ruta base para todos los endpoints de reportes
+@RequestMapping("/api/reportes")
+// Documentación Swagger/OpenAPI para agrupar endpoints relacionados en la UI
+@Tag(name = "Reportes", description = "Reportes financieros del inventario calculados en una pasada sobre los productos")
+
+public class ReporteRestController {
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    // Inyección del servicio de reportes
+    @Autowired
+    private ReporteInventarioService reporteInventarioService;
+
+    // Valoración del inventario a costo por categoría, proveedor y vencimiento. GET /api/reportes/valoracion
+    @Operation(summary = "Valoración de inventario", description = "Valor a costo (cost * stock) por categoría y proveedor, y valor en riesgo por vencimiento")
+    @GetMapping("/valoracion")
+    public ResponseEntity<ReporteValoracion> valoracion(@RequestParam(defaultValue = "json") String formato) {
+        if (!"json".equals(formato)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(reporteInventarioService.generarValoracion());
+    }
+
+    // La misma valoración como archivo CSV descargable. GET /api/reportes/valoracion?formato=csv
+    @Operation(summary = "Valoración de inventario (CSV)", description = "Una fila por categoría, proveedor y tramo de vencimiento: seccion,grupo,productos,unidades,valor")
+    @GetMapping(value = "/valoracion", params = "formato=csv")
+    public ResponseEntity<StreamingResponseBody> valoracionCsv() {
+        // El cálculo se hace antes de responder: un error llega como respuesta de error y no como archivo truncado
+        ReporteValoracion reporte = reporteInventarioService.generarValoracion();
+        String archivo = "valoracion-inventario-" + reporte.getGeneradoEn().format(DateTimeFormatter.ISO_LOCAL_DATE) + ".csv";
+        StreamingResponseBody cuerpo = salida -> {
+            Writer escritor = new OutputStreamWriter(salida, StandardCharsets.UTF_8);
+            EscritorCsv.bom(escritor);
+            reporteInventarioService.escribirValoracionCsv(reporte, escritor);
+        };
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(archivo).build().toString())
+                .body(cuerpo);
+    }
+}
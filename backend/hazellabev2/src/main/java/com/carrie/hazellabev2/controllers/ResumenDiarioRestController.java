@@ -0,0 +1,99 @@
+package com.carrie.hazellabev2.controllers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.carrie.hazellabev2.dto.ResultadoReconstruccion;
+import com.carrie.hazellabev2.dto.ResumenDiario;
+import com.carrie.hazellabev2.services.ResumenDiarioService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/* ================= Controlador REST para Resúmenes Diarios (Tendencias) ================= */
+
+// Habilita solicitudes cruzadas desde el frontend en desarrollo
+@CrossOrigin(origins = "http://localhost:5173")
+// Marca esta clase como controlador REST que maneja solicitudes HTTP y serializa respuestas a JSON
+@RestController
+// Define la ruta base para todos los endpoints de resúmenes
+@RequestMapping("/api/resumenes")
+// Documentación Swagger/OpenAPI para agrupar endpoints relacionados en la UI
+@Tag(name = "Resúmenes diarios", description = "Series diarias de ventas, ingresos y stock leídas de tablas de resumen")
+
+public class ResumenDiarioRestController {
+    // Inyección del servicio de resúmenes
+    @Autowired
+    private ResumenDiarioService resumenDiarioService;
+
+    // Serie diaria de un producto. GET /api/resumenes/productos/{id}?desde=2025-01-01&hasta=2025-01-31
+    @Operation(summary = "Serie diaria de un producto", description = "Unidades, ingresos y stock por día; sin desde/hasta retorna los últimos 30 días")
+    @GetMapping("/productos/{id}")
+    public ResponseEntity<List<ResumenDiario>> listarPorProducto(@PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        LocalDate fin = hasta != null ? hasta : LocalDate.now();
+        return serie(() -> resumenDiarioService.listarPorProducto(id, inicio(desde, fin), fin));
+    }
+
+    // Serie diaria de una categoría. GET /api/resumenes/categorias/{id}?desde=&hasta=
+    @Operation(summary = "Serie diaria de una categoría", description = "Suma de los productos de la categoría por día")
+    @GetMapping("/categorias/{id}")
+    public ResponseEntity<List<ResumenDiario>> listarPorCategoria(@PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        LocalDate fin = hasta != null ? hasta : LocalDate.now();
+        return serie(() -> resumenDiarioService.listarPorCategoria(id, inicio(desde, fin), fin));
+    }
+
+    // Totales diarios de la tienda. GET /api/resumenes/ventas?desde=&hasta=
+    @Operation(summary = "Totales diarios de la tienda", description = "Unidades, ingresos y stock total por día")
+    @GetMapping("/ventas")
+    public ResponseEntity<List<ResumenDiario>> listarTotales(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        LocalDate fin = hasta != null ? hasta : LocalDate.now();
+        return serie(() -> resumenDiarioService.listarTotales(inicio(desde, fin), fin));
+    }
+
+    // Reconstruye un rango desde las ventas (bloques de días en paralelo). POST /api/resumenes/reconstruir?desde=&hasta=
+    @Operation(summary = "Reconstruir resúmenes", description = "Recalcula unidades e ingresos del rango desde las ventas registradas")
+    @PostMapping("/reconstruir")
+    public ResponseEntity<ResultadoReconstruccion> reconstruir(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        try {
+            return ResponseEntity.ok(resumenDiarioService.reconstruir(desde, hasta));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private static LocalDate inicio(LocalDate desde, LocalDate fin) {
+        return desde != null ? desde : fin.minusDays(29);
+    }
+
+    // Un rango inválido (invertido o demasiado largo) responde 400; datos administrativos: sin cachés compartidas
+    private static ResponseEntity<List<ResumenDiario>> serie(Supplier<List<ResumenDiario>> consulta) {
+        try {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(consulta.get());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.carrie.hazellabev2.controllers;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,9 +15,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
+import com.carrie.hazellabev2.dto.ResultadoImportacion;
+import com.carrie.hazellabev2.dto.UsuarioResumen;
 import com.carrie.hazellabev2.entities.Usuario;
+import com.carrie.hazellabev2.services.UsuarioImportacionService;
 import com.carrie.hazellabev2.services.UsuarioService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -39,6 +47,10 @@ public class UsuarioRestController {
     // Inyección automática del servicio de usuarios para separar lógica de negocio del controlador
     @Autowired
     private UsuarioService usuarioService;
+
+    // Servicio de importación masiva (CSV/NDJSON) con encriptación paralela e inserción por lotes
+    @Autowired
+    private UsuarioImportacionService usuarioImportacionService;
     
     /* ================= Endpoints CRUD para Gestión de Usuarios ================= */
     
@@ -100,16 +112,22 @@ public class UsuarioRestController {
         }
     }
 
-    // Obtiene la lista completa de todos los usuarios registrados en el sistema. GET /api/usuarios - No requiere parámetros
-    @Operation(summary = "Listar todos los usuarios", description = "Obtiene la lista completa de usuarios registrados")
+    // Obtiene la lista paginada de usuarios registrados en su representación resumida. GET /api/usuarios?page=0&size=500
+    // Nunca carga la colección itemsCarrito: el conteo del carrito viene calculado en la misma consulta
+    @Operation(summary = "Listar usuarios", description = "Obtiene una página de usuarios registrados (representación resumida)")
     @ApiResponse(responseCode = "200", description = "Lista de usuarios obtenida exitosamente",
                  content = @Content(mediaType = "application/json", 
-                 schema = @Schema(implementation = Usuario.class)))
+                 schema = @Schema(implementation = UsuarioResumen.class)))
     @GetMapping
-    public ResponseEntity<List<Usuario>> listarUsuarios() {
-        List<Usuario> usuarios = usuarioService.listarTodo();
-        // Retorna HTTP 200 (OK) con la lista completa de usuarios
-        return ResponseEntity.ok(usuarios);
+    public ResponseEntity<List<UsuarioResumen>> listarUsuarios(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "500") int size) {
+        // Límite superior del tamaño de página para acotar la respuesta
+        Page<UsuarioResumen> pagina = usuarioService.listarResumen(page, Math.min(size, 1000));
+        // Retorna HTTP 200 (OK) con la página solicitada; el total de registros viaja en la cabecera X-Total-Count
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(pagina.getTotalElements()))
+                .body(pagina.getContent());
     }
 
     // Elimina permanentemente un usuario del sistema. DELETE /api/usuarios/{id} - Elimina el usuario especificado
@@ -125,4 +143,35 @@ public class UsuarioRestController {
         // Retorna HTTP 204 (No Content) indicando éxito en la eliminación sin cuerpo de respuesta
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /* ================= Importación Masiva de Usuarios ================= */
+
+    // Importa usuarios desde un archivo CSV o NDJSON. POST /api/usuarios/importar - multipart con el campo 'archivo'
+    // El formato se detecta por extensión (.ndjson/.jsonl) o tipo de contenido; por defecto se asume CSV con cabecera
+    @Operation(summary = "Importar usuarios", description = "Importa usuarios desde CSV o NDJSON reportando errores por fila")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Importación procesada (ver errores por fila en la respuesta)",
+                     content = @Content(mediaType = "application/json", 
+                     schema = @Schema(implementation = ResultadoImportacion.class))),
+        @ApiResponse(responseCode = "400", description = "Archivo vacío o con cabecera inválida")
+    })
+    @PostMapping(value = "/importar", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importarUsuarios(@RequestParam("archivo") MultipartFile archivo) {
+        if (archivo.isEmpty()) {
+            return ResponseEntity.badRequest().body("El archivo de importación está vacío");
+        }
+        String nombre = archivo.getOriginalFilename() != null ? archivo.getOriginalFilename().toLowerCase() : "";
+        String tipo = archivo.getContentType() != null ? archivo.getContentType() : "";
+        boolean esNdjson = nombre.endsWith(".ndjson") || nombre.endsWith(".jsonl") || tipo.contains("ndjson");
+        try {
+            ResultadoImportacion resultado = esNdjson
+                    ? usuarioImportacionService.importarNdjson(archivo.getInputStream())
+                    : usuarioImportacionService.importarCsv(archivo.getInputStream());
+            // Retorna HTTP 200 (OK) con el resumen: filas procesadas, importadas y errores por fila
+            return ResponseEntity.ok(resultado);
+        } catch (IOException | RuntimeException e) {
+            // Manejo de errores: archivo ilegible o cabecera inválida
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.carrie.hazellabev2.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.carrie.hazellabev2.dto.SolicitudCompra;
+import com.carrie.hazellabev2.entities.Venta;
+import com.carrie.hazellabev2.services.VentaService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/* ================= Controlador REST para Ventas ================= */
+
+// Habilita solicitudes cruzadas desde el frontend en desarrollo
+@CrossOrigin(origins = "http://localhost:5173")
+// Marca esta clase como controlador REST que maneja solicitudes HTTP y serializa respuestas a JSON
+@RestController
+// Define la ruta base para todos los endpoints de ventas
+@RequestMapping("/api/ventas")
+// Documentación Swagger/OpenAPI para agrupar endpoints relacionados en la UI
+@Tag(name = "Ventas", description = "Confirmación de compras desde el carrito")
+
+public class VentaRestController {
+    // Inyección del servicio de ventas
+    @Autowired
+    private VentaService ventaService;
+
+    // Confirma la compra del carrito del usuario. POST /api/ventas/checkout - Retorna la venta con sus líneas
+    @Operation(summary = "Confirmar compra", description = "Convierte el carrito del usuario en una venta, descuenta stock y vacía el carrito")
+    @PostMapping("/checkout")
+    public ResponseEntity<Venta> confirmarCompra(@RequestBody SolicitudCompra solicitud) {
+        Venta venta = ventaService.confirmarCompra(solicitud.getUsuarioId(), solicitud.getMetodoEnvio(), solicitud.getMetodoPago());
+        // Retorna HTTP 200 (OK) con la venta registrada incluyendo su ID generado
+        return ResponseEntity.ok(venta);
+    }
+
+    // Obtiene una venta por su ID. GET /api/ventas/{id}
+    @Operation(summary = "Obtener venta", description = "Venta con sus líneas y totales")
+    @GetMapping("/{id}")
+    public ResponseEntity<Venta> obtenerVentaPorId(@PathVariable Long id) {
+        return ResponseEntity.ok(ventaService.obtenerPorID(id));
+    }
+}
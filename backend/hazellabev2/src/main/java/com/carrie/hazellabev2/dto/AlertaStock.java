@@ -0,0 +1,42 @@
+package com.carrie.hazellabev2.dto;
+
+import java.time.LocalDateTime;
+
+/* AlertaStock es un cruce del umbral de stock crítico de un producto, emitido por AlertasStock al confirmarse el cambio.
+    BAJO: el stock llegó a stockCritico o menos; REPUESTO: volvió a superarlo. La secuencia es creciente y sirve
+    de cursor para leer solo las alertas nuevas (GET /api/dashboard/alertas-stock?desde=secuencia) */
+
+public class AlertaStock {
+    // Dirección del cruce
+    public enum Tipo { BAJO, REPUESTO }
+
+    // Atributos
+    private final long secuencia;
+    private final Long productoId;
+    private final String nombre;
+    private final int stock;
+    private final int stockCritico;
+    private final Tipo tipo;
+    private final LocalDateTime fecha;
+
+    // Constructor
+    public AlertaStock(long secuencia, Long productoId, String nombre, int stock, int stockCritico, Tipo tipo,
+                       LocalDateTime fecha) {
+        this.secuencia = secuencia;
+        this.productoId = productoId;
+        this.nombre = nombre;
+        this.stock = stock;
+        this.stockCritico = stockCritico;
+        this.tipo = tipo;
+        this.fecha = fecha;
+    }
+
+    // Getters
+    public long getSecuencia() { return secuencia; }
+    public Long getProductoId() { return productoId; }
+    public String getNombre() { return nombre; }
+    public int getStock() { return stock; }
+    public int getStockCritico() { return stockCritico; }
+    public Tipo getTipo() { return tipo; }
+    public LocalDateTime getFecha() { return fecha; }
+}
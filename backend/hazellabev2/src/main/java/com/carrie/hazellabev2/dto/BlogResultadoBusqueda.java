@@ -0,0 +1,43 @@
+package com.carrie.hazellabev2.dto;
+
+/* BlogResultadoBusqueda es un resultado de GET /api/blogs/buscar: datos de listado del blog, su puntaje BM25
+    y un fragmento del texto con los términos encontrados resaltados con <mark> (el resto del fragmento va escapado como HTML) */
+
+public class BlogResultadoBusqueda {
+    // Atributos
+    private Long id;
+    private String title;
+    private String summary;
+    private String author;
+    private String image;
+    private double puntaje;
+    private String fragmento;
+
+    // Constructor
+    public BlogResultadoBusqueda(Long id, String title, String summary, String author, String image,
+                                 double puntaje, String fragmento) {
+        this.id = id;
+        this.title = title;
+        this.summary = summary;
+        this.author = author;
+        this.image = image;
+        this.puntaje = puntaje;
+        this.fragmento = fragmento;
+    }
+
+    // Getters y setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    public String getSummary() { return summary; }
+    public void setSummary(String summary) { this.summary = summary; }
+    public String getAuthor() { return author; }
+    public void setAuthor(String author) { this.author = author; }
+    public String getImage() { return image; }
+    public void setImage(String image) { this.image = image; }
+    public double getPuntaje() { return puntaje; }
+    public void setPuntaje(double puntaje) { this.puntaje = puntaje; }
+    public String getFragmento() { return fragmento; }
+    public void setFragmento(String fragmento) { this.fragmento = fragmento; }
+}
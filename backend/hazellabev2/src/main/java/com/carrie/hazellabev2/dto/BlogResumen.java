@@ -0,0 +1,35 @@
+package com.carrie.hazellabev2.dto;
+
+/* BlogResumen es la representación de LISTADO de blogs (índice Blogs.jsx): título, resumen, autor e imagen.
+    Se construye directamente en la consulta JPQL (constructor expression), por lo que la columna TEXT body
+    nunca se lee para listar. El contenido completo se obtiene con GET /api/blogs/{id} */
+
+public class BlogResumen {
+    // Atributos
+    private Long id;
+    private String title;
+    private String summary;
+    private String author;
+    private String image;
+
+    // Constructor utilizado por la consulta de proyección en BlogRepository
+    public BlogResumen(Long id, String title, String summary, String author, String image) {
+        this.id = id;
+        this.title = title;
+        this.summary = summary;
+        this.author = author;
+        this.image = image;
+    }
+
+    // Getters y setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    public String getSummary() { return summary; }
+    public void setSummary(String summary) { this.summary = summary; }
+    public String getAuthor() { return author; }
+    public void setAuthor(String author) { this.author = author; }
+    public String getImage() { return image; }
+    public void setImage(String image) { this.image = image; }
+}
@@ -0,0 +1,40 @@
+package com.carrie.hazellabev2.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/* CategoriaResumen es la representación de LECTURA de categorías para el catálogo (chips de filtro de la tienda).
+    Incluye el conteo de productos activos de la propia categoría y el total de su subárbol (categoría + descendientes),
+    ambos mantenidos en memoria por CategoriaCatalogo, por lo que el frontend no necesita descargar los productos para contarlos.
+    En el listado plano subcategorias es null; en la vista de árbol contiene las categorías hijas */
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CategoriaResumen {
+    // Atributos
+    private final Long id;
+    private final String nombre;
+    private final Long padreId;
+    private final long cantidadProductos;
+    private final long cantidadProductosTotal;
+    private final List<CategoriaResumen> subcategorias;
+
+    // Constructor
+    public CategoriaResumen(Long id, String nombre, Long padreId, long cantidadProductos, long cantidadProductosTotal,
+                            List<CategoriaResumen> subcategorias) {
+        this.id = id;
+        this.nombre = nombre;
+        this.padreId = padreId;
+        this.cantidadProductos = cantidadProductos;
+        this.cantidadProductosTotal = cantidadProductosTotal;
+        this.subcategorias = subcategorias;
+    }
+
+    // Getters (inmutable: la misma instancia se comparte entre solicitudes)
+    public Long getId() { return id; }
+    public String getNombre() { return nombre; }
+    public Long getPadreId() { return padreId; }
+    public long getCantidadProductos() { return cantidadProductos; }
+    public long getCantidadProductosTotal() { return cantidadProductosTotal; }
+    public List<CategoriaResumen> getSubcategorias() { return subcategorias; }
+}
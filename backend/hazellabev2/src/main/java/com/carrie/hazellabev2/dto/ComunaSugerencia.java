@@ -0,0 +1,20 @@
+package com.carrie.hazellabev2.dto;
+
+/* ComunaSugerencia es un resultado del autocompletado de comunas: nombre oficial de la comuna y la región a la que pertenece.
+    Las instancias se crean una sola vez al cargar el registro de ubicaciones y se comparten entre todas las búsquedas */
+
+public class ComunaSugerencia {
+    // Atributos
+    private final String comuna;
+    private final String region;
+
+    // Constructor
+    public ComunaSugerencia(String comuna, String region) {
+        this.comuna = comuna;
+        this.region = region;
+    }
+
+    // Getters (inmutable: se comparte entre solicitudes)
+    public String getComuna() { return comuna; }
+    public String getRegion() { return region; }
+}
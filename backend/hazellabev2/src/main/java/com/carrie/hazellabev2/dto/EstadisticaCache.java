@@ -0,0 +1,40 @@
+package com.carrie.hazellabev2.dto;
+
+/* EstadisticaCache resume una región de la caché de segundo nivel de Hibernate: entradas ocupadas y su máximo,
+    expulsiones por falta de espacio, y desde el inicio los aciertos, fallos y escrituras registrados por las
+    estadísticas de Hibernate; tasaAciertos es aciertos / (aciertos + fallos), o 0 si aún no hubo lecturas */
+
+public class EstadisticaCache {
+    // Atributos
+    private final String region;
+    private final int entradas;
+    private final int maxEntradas;
+    private final long expulsiones;
+    private final long aciertos;
+    private final long fallos;
+    private final long escrituras;
+    private final double tasaAciertos;
+
+    // Constructor
+    public EstadisticaCache(String region, int entradas, int maxEntradas, long expulsiones,
+            long aciertos, long fallos, long escrituras) {
+        this.region = region;
+        this.entradas = entradas;
+        this.maxEntradas = maxEntradas;
+        this.expulsiones = expulsiones;
+        this.aciertos = aciertos;
+        this.fallos = fallos;
+        this.escrituras = escrituras;
+        this.tasaAciertos = aciertos + fallos == 0 ? 0 : (double) aciertos / (aciertos + fallos);
+    }
+
+    // Getters
+    public String getRegion() { return region; }
+    public int getEntradas() { return entradas; }
+    public int getMaxEntradas() { return maxEntradas; }
+    public long getExpulsiones() { return expulsiones; }
+    public long getAciertos() { return aciertos; }
+    public long getFallos() { return fallos; }
+    public long getEscrituras() { return escrituras; }
+    public double getTasaAciertos() { return tasaAciertos; }
+}
@@ -0,0 +1,46 @@
+package com.carrie.hazellabev2.dto;
+
+import java.time.LocalDateTime;
+
+/* EstadisticasDashboard agrupa los indicadores del panel de administración.
+    Se calculan en el servidor con consultas COUNT/SUM (sin descargar productos ni usuarios al navegador)
+    y se sirven desde una caché de pocos segundos; generadoEn indica cuándo se calcularon */
+
+public class EstadisticasDashboard {
+    // Atributos
+    private final long totalUsuarios;
+    private final long usuariosActivos;
+    private final long totalProductos;
+    private final long productosActivos;
+    private final long productosStockBajo;
+    private final long totalCategorias;
+    private final long unidadesEnStock;
+    private final long valorInventario;
+    private final LocalDateTime generadoEn;
+
+    // Constructor
+    public EstadisticasDashboard(long totalUsuarios, long usuariosActivos, long totalProductos, long productosActivos,
+                                 long productosStockBajo, long totalCategorias, long unidadesEnStock, long valorInventario,
+                                 LocalDateTime generadoEn) {
+        this.totalUsuarios = totalUsuarios;
+        this.usuariosActivos = usuariosActivos;
+        this.totalProductos = totalProductos;
+        this.productosActivos = productosActivos;
+        this.productosStockBajo = productosStockBajo;
+        this.totalCategorias = totalCategorias;
+        this.unidadesEnStock = unidadesEnStock;
+        this.valorInventario = valorInventario;
+        this.generadoEn = generadoEn;
+    }
+
+    // Getters (inmutable: la misma instancia se comparte entre solicitudes mientras está en caché)
+    public long getTotalUsuarios() { return totalUsuarios; }
+    public long getUsuariosActivos() { return usuariosActivos; }
+    public long getTotalProductos() { return totalProductos; }
+    public long getProductosActivos() { return productosActivos; }
+    public long getProductosStockBajo() { return productosStockBajo; }
+    public long getTotalCategorias() { return totalCategorias; }
+    public long getUnidadesEnStock() { return unidadesEnStock; }
+    public long getValorInventario() { return valorInventario; }
+    public LocalDateTime getGeneradoEn() { return generadoEn; }
+}
@@ -0,0 +1,30 @@
+package com.carrie.hazellabev2.dto;
+
+/* EstadoAuditoria resume el escritor asíncrono del registro de auditoría: capacidad del buffer, registros pendientes
+    de escribir, y totales desde el inicio de los encolados, escritos en la base de datos y descartados
+    (buffer saturado, error persistente al escribir o cierre de la aplicación con registros pendientes) */
+
+public class EstadoAuditoria {
+    // Atributos
+    private final int capacidad;
+    private final int pendientes;
+    private final long encolados;
+    private final long escritos;
+    private final long descartados;
+
+    // Constructor
+    public EstadoAuditoria(int capacidad, int pendientes, long encolados, long escritos, long descartados) {
+        this.capacidad = capacidad;
+        this.pendientes = pendientes;
+        this.encolados = encolados;
+        this.escritos = escritos;
+        this.descartados = descartados;
+    }
+
+    // Getters
+    public int getCapacidad() { return capacidad; }
+    public int getPendientes() { return pendientes; }
+    public long getEncolados() { return encolados; }
+    public long getEscritos() { return escritos; }
+    public long getDescartados() { return descartados; }
+}
@@ -0,0 +1,27 @@
+package com.carrie.hazellabev2.dto;
+
+/* EstadoReplica resume un destino del enrutamiento de lecturas: nombre (primaria o replica-N), si recibe lecturas,
+    retraso medido respecto del último latido de la primaria (-1 si no se pudo medir; 0 en la primaria) y las conexiones
+    entregadas desde el inicio */
+
+public class EstadoReplica {
+    // Atributos
+    private final String nombre;
+    private final boolean disponible;
+    private final long retrasoMs;
+    private final long conexiones;
+
+    // Constructor
+    public EstadoReplica(String nombre, boolean disponible, long retrasoMs, long conexiones) {
+        this.nombre = nombre;
+        this.disponible = disponible;
+        this.retrasoMs = retrasoMs;
+        this.conexiones = conexiones;
+    }
+
+    // Getters
+    public String getNombre() { return nombre; }
+    public boolean isDisponible() { return disponible; }
+    public long getRetrasoMs() { return retrasoMs; }
+    public long getConexiones() { return conexiones; }
+}
@@ -0,0 +1,35 @@
+package com.carrie.hazellabev2.dto;
+
+import java.time.LocalDateTime;
+
+/* EventoActividad es un hecho reciente del sistema enviado a los paneles de administración conectados al feed en vivo
+    (GET /api/dashboard/actividad). Los eventos del mismo tipo y entidad dentro de una ventana de envío se funden en uno:
+    repeticiones indica cuántos se juntaron, y descripcion y fecha corresponden al último */
+
+public class EventoActividad {
+    // Tipo de actividad
+    public enum Tipo { USUARIO_REGISTRADO, CARRITO_AGREGADO, STOCK_BAJO, STOCK_REPUESTO, PRODUCTO_EDITADO }
+
+    // Atributos
+    private final Tipo tipo;
+    private final Long entidadId;
+    private final String descripcion;
+    private final int repeticiones;
+    private final LocalDateTime fecha;
+
+    // Constructor
+    public EventoActividad(Tipo tipo, Long entidadId, String descripcion, int repeticiones, LocalDateTime fecha) {
+        this.tipo = tipo;
+        this.entidadId = entidadId;
+        this.descripcion = descripcion;
+        this.repeticiones = repeticiones;
+        this.fecha = fecha;
+    }
+
+    // Getters
+    public Tipo getTipo() { return tipo; }
+    public Long getEntidadId() { return entidadId; }
+    public String getDescripcion() { return descripcion; }
+    public int getRepeticiones() { return repeticiones; }
+    public LocalDateTime getFecha() { return fecha; }
+}
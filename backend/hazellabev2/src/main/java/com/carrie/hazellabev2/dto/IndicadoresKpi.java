@@ -0,0 +1,37 @@
+package com.carrie.hazellabev2.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/* IndicadoresKpi son los contadores en vivo del panel de administración, mantenidos en memoria por ContadoresKpi.
+    A diferencia de EstadisticasDashboard no se consultan en cada lectura: reflejan el último commit y se concilian
+    periódicamente con la base de datos; ultimaConciliacion y correcciones permiten ver cuándo y cuánto se corrigió */
+
+public class IndicadoresKpi {
+    // Atributos
+    private final long productosActivos;
+    private final long productosStockBajo;
+    private final long productosDestacados;
+    private final Map<String, Long> usuariosActivosPorRol;
+    private final LocalDateTime ultimaConciliacion;
+    private final long correcciones;
+
+    // Constructor
+    public IndicadoresKpi(long productosActivos, long productosStockBajo, long productosDestacados,
+                          Map<String, Long> usuariosActivosPorRol, LocalDateTime ultimaConciliacion, long correcciones) {
+        this.productosActivos = productosActivos;
+        this.productosStockBajo = productosStockBajo;
+        this.productosDestacados = productosDestacados;
+        this.usuariosActivosPorRol = usuariosActivosPorRol;
+        this.ultimaConciliacion = ultimaConciliacion;
+        this.correcciones = correcciones;
+    }
+
+    // Getters
+    public long getProductosActivos() { return productosActivos; }
+    public long getProductosStockBajo() { return productosStockBajo; }
+    public long getProductosDestacados() { return productosDestacados; }
+    public Map<String, Long> getUsuariosActivosPorRol() { return usuariosActivosPorRol; }
+    public LocalDateTime getUltimaConciliacion() { return ultimaConciliacion; }
+    public long getCorrecciones() { return correcciones; }
+}
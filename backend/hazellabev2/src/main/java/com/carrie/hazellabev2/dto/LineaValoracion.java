@@ -0,0 +1,26 @@
+package com.carrie.hazellabev2.dto;
+
+/* LineaValoracion es un grupo del reporte de valoración de inventario (una categoría, un proveedor o un tramo
+    de vencimiento) con la cantidad de productos, las unidades en stock y su valor a costo (cost * stock) */
+
+public class LineaValoracion {
+    // Atributos
+    private final String grupo;
+    private final long productos;
+    private final long unidades;
+    private final long valor;
+
+    // Constructor
+    public LineaValoracion(String grupo, long productos, long unidades, long valor) {
+        this.grupo = grupo;
+        this.productos = productos;
+        this.unidades = unidades;
+        this.valor = valor;
+    }
+
+    // Getters
+    public String getGrupo() { return grupo; }
+    public long getProductos() { return productos; }
+    public long getUnidades() { return unidades; }
+    public long getValor() { return valor; }
+}
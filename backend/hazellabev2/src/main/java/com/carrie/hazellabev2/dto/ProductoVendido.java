@@ -0,0 +1,36 @@
+package com.carrie.hazellabev2.dto;
+
+/* ProductoVendido es una fila del ranking de productos más vendidos del dashboard.
+    totalVendidos son las unidades vendidas en la ventana pedida (día, semana o histórico), leídas del ranking en memoria;
+    el resto son los datos actuales del producto. Conserva los nombres de campo del producto que usa el frontend */
+
+public class ProductoVendido {
+    // Atributos
+    private final Long id;
+    private final String name;
+    private final String image;
+    private final int cost;
+    private final int stock;
+    private final Boolean activeStatus;
+    private final long totalVendidos;
+
+    // Constructor
+    public ProductoVendido(Long id, String name, String image, int cost, int stock, Boolean activeStatus, long totalVendidos) {
+        this.id = id;
+        this.name = name;
+        this.image = image;
+        this.cost = cost;
+        this.stock = stock;
+        this.activeStatus = activeStatus;
+        this.totalVendidos = totalVendidos;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getImage() { return image; }
+    public int getCost() { return cost; }
+    public int getStock() { return stock; }
+    public Boolean getActiveStatus() { return activeStatus; }
+    public long getTotalVendidos() { return totalVendidos; }
+}
@@ -7,6 +7,10 @@ public class RegionComunaDTO {
     private String region;
     private List<String> comunas;
 
+    // Constructor vacío requerido para la deserialización JSON (carga del recurso de ubicaciones)
+    public RegionComunaDTO() {
+    }
+
     // Constructor
     public RegionComunaDTO(String region, List<String> comunas) {
         this.region = region;
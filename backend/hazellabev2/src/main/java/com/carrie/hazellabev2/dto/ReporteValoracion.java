@@ -0,0 +1,44 @@
+package com.carrie.hazellabev2.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/* ReporteValoracion es la valoración del inventario a costo (cost * stock) calculada en una pasada sobre todos los
+    productos: totales, agrupación por categoría y por proveedor (de mayor a menor valor) y el valor en riesgo por
+    vencimiento (ya vencido, y que vence en 0-30, 31-60 y 61-90 días) */
+
+public class ReporteValoracion {
+    // Atributos
+    private final LocalDateTime generadoEn;
+    private final long productos;
+    private final long unidades;
+    private final long valorTotal;
+    private final List<LineaValoracion> porCategoria;
+    private final List<LineaValoracion> porProveedor;
+    private final List<LineaValoracion> enRiesgo;
+    private final long milisegundos;
+
+    // Constructor
+    public ReporteValoracion(LocalDateTime generadoEn, long productos, long unidades, long valorTotal,
+                             List<LineaValoracion> porCategoria, List<LineaValoracion> porProveedor,
+                             List<LineaValoracion> enRiesgo, long milisegundos) {
+        this.generadoEn = generadoEn;
+        this.productos = productos;
+        this.unidades = unidades;
+        this.valorTotal = valorTotal;
+        this.porCategoria = porCategoria;
+        this.porProveedor = porProveedor;
+        this.enRiesgo = enRiesgo;
+        this.milisegundos = milisegundos;
+    }
+
+    // Getters
+    public LocalDateTime getGeneradoEn() { return generadoEn; }
+    public long getProductos() { return productos; }
+    public long getUnidades() { return unidades; }
+    public long getValorTotal() { return valorTotal; }
+    public List<LineaValoracion> getPorCategoria() { return porCategoria; }
+    public List<LineaValoracion> getPorProveedor() { return porProveedor; }
+    public List<LineaValoracion> getEnRiesgo() { return enRiesgo; }
+    public long getMilisegundos() { return milisegundos; }
+}
@@ -0,0 +1,45 @@
+package com.carrie.hazellabev2.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/* ResultadoImportacion resume una importación masiva de usuarios (CSV o NDJSON).
+    Los errores se reportan por fila (número de línea del archivo) sin abortar el resto de la importación,
+    para que el administrador pueda corregir solo las filas rechazadas y volver a subirlas. */
+
+public class ResultadoImportacion {
+    // Atributos
+    private int filasProcesadas;
+    private int importados;
+    private List<ErrorFila> errores = new ArrayList<>();
+
+    // Registra un error asociado a una fila específica del archivo
+    public void agregarError(long fila, String mensaje) {
+        errores.add(new ErrorFila(fila, mensaje));
+    }
+
+    // Getters y setters
+    public int getFilasProcesadas() { return filasProcesadas; }
+    public void setFilasProcesadas(int filasProcesadas) { this.filasProcesadas = filasProcesadas; }
+    public int getImportados() { return importados; }
+    public void setImportados(int importados) { this.importados = importados; }
+    public List<ErrorFila> getErrores() { return errores; }
+    public void setErrores(List<ErrorFila> errores) { this.errores = errores; }
+
+    /* ================= Error asociado a una fila ================= */
+
+    public static class ErrorFila {
+        private long fila;
+        private String mensaje;
+
+        public ErrorFila(long fila, String mensaje) {
+            this.fila = fila;
+            this.mensaje = mensaje;
+        }
+
+        public long getFila() { return fila; }
+        public void setFila(long fila) { this.fila = fila; }
+        public String getMensaje() { return mensaje; }
+        public void setMensaje(String mensaje) { this.mensaje = mensaje; }
+    }
+}
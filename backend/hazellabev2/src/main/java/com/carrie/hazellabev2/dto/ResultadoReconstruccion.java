@@ -0,0 +1,34 @@
+package com.carrie.hazellabev2.dto;
+
+import java.time.LocalDate;
+
+/* ResultadoReconstruccion resume una reconstrucción de los resúmenes diarios desde las ventas.
+    El rango se divide en bloques de días que se procesan en paralelo, cada uno en su propia transacción */
+
+public class ResultadoReconstruccion {
+    // Atributos
+    private final LocalDate desde;
+    private final LocalDate hasta;
+    private final int dias;
+    private final int bloques;
+    private final long filasProducto;
+    private final long milisegundos;
+
+    // Constructor
+    public ResultadoReconstruccion(LocalDate desde, LocalDate hasta, int dias, int bloques, long filasProducto, long milisegundos) {
+        this.desde = desde;
+        this.hasta = hasta;
+        this.dias = dias;
+        this.bloques = bloques;
+        this.filasProducto = filasProducto;
+        this.milisegundos = milisegundos;
+    }
+
+    // Getters
+    public LocalDate getDesde() { return desde; }
+    public LocalDate getHasta() { return hasta; }
+    public int getDias() { return dias; }
+    public int getBloques() { return bloques; }
+    public long getFilasProducto() { return filasProducto; }
+    public long getMilisegundos() { return milisegundos; }
+}
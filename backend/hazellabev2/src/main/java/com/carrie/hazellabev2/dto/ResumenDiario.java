@@ -0,0 +1,29 @@
+package com.carrie.hazellabev2.dto;
+
+import java.time.LocalDate;
+
+/* ResumenDiario es un punto de una serie de tendencia (producto, categoría o tienda completa) leído de las tablas de resumen.
+    ingresos son el precio de venta por la cantidad vendida ese día; stock es el stock al cierre del día
+    y es null cuando ese día no tiene registro de stock (días reconstruidos antes de empezar a registrarlo) */
+
+public class ResumenDiario {
+    // Atributos
+    private final LocalDate fecha;
+    private final long unidades;
+    private final long ingresos;
+    private final Long stock;
+
+    // Constructor
+    public ResumenDiario(LocalDate fecha, long unidades, long ingresos, Long stock) {
+        this.fecha = fecha;
+        this.unidades = unidades;
+        this.ingresos = ingresos;
+        this.stock = stock;
+    }
+
+    // Getters
+    public LocalDate getFecha() { return fecha; }
+    public long getUnidades() { return unidades; }
+    public long getIngresos() { return ingresos; }
+    public Long getStock() { return stock; }
+}
@@ -0,0 +1,32 @@
+package com.carrie.hazellabev2.dto;
+
+/* SolicitudCompra contiene lo que el checkout envía para confirmar una compra: el usuario y las opciones elegidas.
+    Los productos, cantidades y precios NO vienen del cliente: se toman del carrito guardado en el servidor
+    y de los precios vigentes, de modo que el navegador no puede alterar el total */
+
+public class SolicitudCompra {
+    // Atributos
+    private Long usuarioId;
+    private String metodoEnvio;
+    private String metodoPago;
+
+    // Getters y setters
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+    public void setUsuarioId(Long usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+    public String getMetodoEnvio() {
+        return metodoEnvio;
+    }
+    public void setMetodoEnvio(String metodoEnvio) {
+        this.metodoEnvio = metodoEnvio;
+    }
+    public String getMetodoPago() {
+        return metodoPago;
+    }
+    public void setMetodoPago(String metodoPago) {
+        this.metodoPago = metodoPago;
+    }
+}
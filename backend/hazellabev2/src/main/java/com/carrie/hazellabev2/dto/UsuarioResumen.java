@@ -0,0 +1,68 @@
+package com.carrie.hazellabev2.dto;
+
+import java.time.LocalDateTime;
+
+/* UsuarioResumen es la representación de LISTADO de usuarios (tabla VistaClientes del panel de administración).
+    Se construye directamente en la consulta JPQL (constructor expression), por lo que nunca se hidrata la entidad
+    Usuario ni se inicializa la colección LAZY itemsCarrito: el conteo del carrito se resuelve con una subconsulta.
+    No incluye la contraseña ni la dirección; el detalle completo se obtiene con GET /api/usuarios/{id} */
+
+public class UsuarioResumen {
+    // Atributos
+    private Long id;
+    private String username;
+    private String apellidos;
+    private String rut;
+    private String email;
+    private String fechaNacimiento;
+    private String role;
+    private String status;
+    private String region;
+    private String comuna;
+    private LocalDateTime createdAt;
+    private long cantidadItemsCarrito;
+
+    // Constructor utilizado por la consulta de proyección en UsuarioRepository
+    public UsuarioResumen(Long id, String username, String apellidos, String rut, String email, String fechaNacimiento,
+                          String role, String status, String region, String comuna, LocalDateTime createdAt,
+                          long cantidadItemsCarrito) {
+        this.id = id;
+        this.username = username;
+        this.apellidos = apellidos;
+        this.rut = rut;
+        this.email = email;
+        this.fechaNacimiento = fechaNacimiento;
+        this.role = role;
+        this.status = status;
+        this.region = region;
+        this.comuna = comuna;
+        this.createdAt = createdAt;
+        this.cantidadItemsCarrito = cantidadItemsCarrito;
+    }
+
+    // Getters y setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    public String getApellidos() { return apellidos; }
+    public void setApellidos(String apellidos) { this.apellidos = apellidos; }
+    public String getRut() { return rut; }
+    public void setRut(String rut) { this.rut = rut; }
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+    public String getFechaNacimiento() { return fechaNacimiento; }
+    public void setFechaNacimiento(String fechaNacimiento) { this.fechaNacimiento = fechaNacimiento; }
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public String getRegion() { return region; }
+    public void setRegion(String region) { this.region = region; }
+    public String getComuna() { return comuna; }
+    public void setComuna(String comuna) { this.comuna = comuna; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public long getCantidadItemsCarrito() { return cantidadItemsCarrito; }
+    public void setCantidadItemsCarrito(long cantidadItemsCarrito) { this.cantidadItemsCarrito = cantidadItemsCarrito; }
+}
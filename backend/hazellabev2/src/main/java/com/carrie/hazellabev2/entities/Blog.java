@@ -1,5 +1,9 @@
 package com.carrie.hazellabev2.entities;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -13,6 +17,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+// Caché de segundo nivel de las publicaciones leídas por ID
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "blog")
 
 public class Blog {
     @Id
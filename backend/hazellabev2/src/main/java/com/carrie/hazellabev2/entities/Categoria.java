@@ -5,6 +5,11 @@ import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -18,6 +23,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+// Caché de segundo nivel: cada producto cargado resuelve su categoría (relación EAGER) sin ir a la base de datos
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categoria")
 
 public class Categoria {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,6 +34,10 @@ public class Categoria {
 
     private String nombre;
 
+    // Categoría padre opcional (jerarquía de categorías); null para categorías de primer nivel
+    @Column(name = "padre_id")
+    private Long padreId;
+
     @OneToMany(mappedBy = "category")
     @JsonIgnore
     private List<Producto> productos = new ArrayList<>();
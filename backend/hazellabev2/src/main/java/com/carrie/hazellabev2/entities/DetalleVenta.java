@@ -0,0 +1,53 @@
+package com.carrie.hazellabev2.entities;
+
+import com.fasterxml.jackson.annotation.JsonBackReference;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/* ================= Línea de una Venta ================= */
+
+// Producto vendido con su cantidad y el precio unitario vigente al comprar. Se guarda el ID del producto
+// (no la relación) para que eliminar un producto del catálogo no borre ni bloquee el historial de ventas
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "detalle_venta", indexes = @Index(name = "ix_detalle_venta_producto", columnList = "producto_id"))
+
+public class DetalleVenta {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "venta_id", nullable = false)
+    @JsonBackReference
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Venta venta;
+
+    @Column(name = "producto_id", nullable = false)
+    private Long productoId;
+
+    @Column(name = "nombre_producto")
+    private String nombreProducto;
+
+    private int cantidad;
+
+    @Column(name = "precio_unitario")
+    private int precioUnitario;
+}
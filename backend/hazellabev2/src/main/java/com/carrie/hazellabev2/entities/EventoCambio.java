@@ -0,0 +1,51 @@
+package com.carrie.hazellabev2.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/* ================= Bandeja de Salida (Outbox) de Cambios de Entidades ================= */
+
+// Un registro por cada alta, modificación o baja de producto, categoría o blog (y por cada venta), escrito en la misma
+// transacción que el cambio. El ID autoincremental define el orden en que OutboxRelay entrega los eventos
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "evento_cambio")
+
+public class EventoCambio {
+    // Entidades que publican cambios
+    public enum Agregado { PRODUCTO, CATEGORIA, BLOG, VENTA }
+
+    // Tipo de cambio aplicado a la entidad
+    public enum Tipo { CREADO, ACTUALIZADO, ELIMINADO }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Agregado agregado;
+
+    @Column(name = "agregado_id", nullable = false)
+    private Long agregadoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Tipo tipo;
+
+    @Column(nullable = false)
+    private LocalDateTime fecha;
+}
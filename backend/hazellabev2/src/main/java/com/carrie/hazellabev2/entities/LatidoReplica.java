@@ -0,0 +1,28 @@
+package com.carrie.hazellabev2.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/* ================= Latido de Replicación ================= */
+
+// Una sola fila (id = 1) que MonitorReplicas actualiza en la primaria con la hora actual; la marca que ve cada réplica
+// indica cuánto atrasada va su replicación. La escribe y la lee JdbcTemplate; la entidad solo define la tabla
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "latido_replica")
+
+public class LatidoReplica {
+    @Id
+    private Long id;
+
+    // Milisegundos desde la época (reloj de la aplicación que escribió el latido)
+    @Column(nullable = false)
+    private Long marca;
+}
@@ -0,0 +1,31 @@
+package com.carrie.hazellabev2.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/* ================= Punto de Control de cada Suscriptor del Outbox ================= */
+
+// Último evento entregado con éxito a cada suscriptor: tras un reinicio la entrega continúa desde aquí
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "outbox_checkpoint")
+
+public class OutboxCheckpoint {
+    @Id
+    @Column(length = 100)
+    private String suscriptor;
+
+    @Column(name = "ultimo_evento_id", nullable = false)
+    private Long ultimoEventoId;
+
+    private LocalDateTime actualizado;
+}
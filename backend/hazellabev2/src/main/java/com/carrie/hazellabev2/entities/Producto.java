@@ -4,22 +4,41 @@ import java.time.LocalDateTime;
 import java.util.Date;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import com.carrie.hazellabev2.services.ContadoresKpiListener;
+import com.carrie.hazellabev2.services.StockCriticoListener;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+// Índice sobre el indicador de stock crítico: la consulta de stock bajo no recorre la tabla
+@Table(name = "producto", indexes = @Index(name = "ix_producto_stock_bajo", columnList = "stock_bajo"))
+// Recalcula el indicador de stock crítico (y avisa sus cruces) y mantiene los contadores en vivo del dashboard
+@EntityListeners({ StockCriticoListener.class, ContadoresKpiListener.class })
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+// Caché de segundo nivel: las lecturas por ID (carrito, detalle, ranking) no van a la base de datos
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "producto")
 
 public class Producto {
     @Id
@@ -45,4 +64,17 @@ public class Producto {
     private Boolean activeStatus;
     private LocalDateTime creationDate;
     private Boolean destacado = false;
+
+    // stock <= stockCritico; lo calcula StockCriticoListener en cada inserción o actualización
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "stock_bajo")
+    private Boolean stockBajo;
+
+    // Constructor sin el indicador derivado: se calcula desde stock y stockCritico
+    public Producto(Long id, String name, String batchCode, String description, String chemCode, Date expDate,
+            Date elabDate, int cost, int stock, int stockCritico, String proveedor, Categoria category, String image,
+            Boolean activeStatus, LocalDateTime creationDate, Boolean destacado) {
+        this(id, name, batchCode, description, chemCode, expDate, elabDate, cost, stock, stockCritico, proveedor,
+                category, image, activeStatus, creationDate, destacado, stock <= stockCritico);
+    }
 }
@@ -0,0 +1,60 @@
+package com.carrie.hazellabev2.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/* ================= Registro de Auditoría de Acciones Administrativas ================= */
+
+// Una fila por cada modificación, desactivación o eliminación de un producto o usuario, con los campos que cambiaron
+// (valor anterior y nuevo, en JSON). Solo se insertan filas: el registro no se modifica ni se elimina desde la aplicación
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "registro_auditoria", indexes = @Index(name = "ix_auditoria_entidad", columnList = "entidad, entidad_id"))
+
+public class RegistroAuditoria {
+    // Entidades auditadas
+    public enum Entidad { PRODUCTO, USUARIO }
+
+    // Acción aplicada sobre la entidad
+    public enum Accion { ACTUALIZADO, DESACTIVADO, ELIMINADO }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDateTime fecha;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Entidad entidad;
+
+    @Column(name = "entidad_id", nullable = false)
+    private Long entidadId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Accion accion;
+
+    // Dirección IP de la solicitud que originó el cambio, o "sistema" para tareas internas
+    @Column(length = 64)
+    private String origen;
+
+    // Campos cambiados: {"campo": {"antes": ..., "despues": ...}}
+    @Column(columnDefinition = "TEXT")
+    private String cambios;
+}
@@ -0,0 +1,43 @@
+package com.carrie.hazellabev2.entities;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/* ================= Resumen Diario de Ventas y Stock por Categoría ================= */
+
+// Suma, por categoría y día, de las filas de resumen_diario_producto del mismo día. Se recalcula desde
+// esas filas (nunca desde las ventas) cada vez que cambia algún producto del día
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "resumen_diario_categoria",
+       uniqueConstraints = @UniqueConstraint(name = "ux_resumen_categoria_fecha", columnNames = { "fecha", "categoria_id" }),
+       indexes = @Index(name = "ix_resumen_categoria_rango", columnList = "categoria_id, fecha"))
+
+public class ResumenDiarioCategoria {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate fecha;
+
+    @Column(name = "categoria_id", nullable = false)
+    private Long categoriaId;
+
+    private long unidades;
+    private long ingresos;
+    private long stock;
+}
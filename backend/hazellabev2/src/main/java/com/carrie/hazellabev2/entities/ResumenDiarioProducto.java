@@ -0,0 +1,49 @@
+package com.carrie.hazellabev2.entities;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/* ================= Resumen Diario de Ventas y Stock por Producto ================= */
+
+// Una fila por producto y día: unidades vendidas, ingresos (precio de venta * cantidad) y stock al cierre.
+// La mantiene ResumenDiarioServiceImpl a partir del outbox; los gráficos de tendencia leen solo esta tabla
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "resumen_diario_producto",
+       uniqueConstraints = @UniqueConstraint(name = "ux_resumen_producto_fecha", columnNames = { "fecha", "producto_id" }),
+       indexes = @Index(name = "ix_resumen_producto_rango", columnList = "producto_id, fecha"))
+
+public class ResumenDiarioProducto {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate fecha;
+
+    @Column(name = "producto_id", nullable = false)
+    private Long productoId;
+
+    // Categoría del producto al registrar la fila (puede no tener)
+    @Column(name = "categoria_id")
+    private Long categoriaId;
+
+    private long unidades;
+    private long ingresos;
+
+    // Stock al cierre del día; null si no se conoce (días reconstruidos sin registro de stock)
+    private Integer stock;
+}
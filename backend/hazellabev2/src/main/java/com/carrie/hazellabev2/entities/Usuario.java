@@ -8,12 +8,19 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import com.carrie.hazellabev2.services.ContadoresKpiListener;
+import com.carrie.hazellabev2.utils.Rut;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 @Entity
+// Índice único sobre el cuerpo numérico del RUT: clave compacta para búsquedas y verificación de unicidad
+@Table(indexes = @Index(name = "ux_usuario_rut_numero", columnList = "rut_numero", unique = true))
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+// Mantiene los contadores en vivo del dashboard (usuarios activos por rol)
+@EntityListeners(ContadoresKpiListener.class)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -32,6 +39,15 @@ public class Usuario {
     @Column(unique = true, nullable = false)
     private String rut;
 
+    // Forma canónica del RUT (cuerpo numérico + dígito verificador), derivada de 'rut' al persistir
+    @JsonIgnore
+    @Column(name = "rut_numero")
+    private Integer rutNumero;
+
+    @JsonIgnore
+    @Column(name = "rut_dv", length = 1)
+    private Character rutDv;
+
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
 
@@ -49,4 +65,15 @@ public class Usuario {
     @OneToMany(mappedBy = "usuario", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
     private List<ItemCarrito> itemsCarrito;
-}
\ No newline at end of file
+
+    // Mantiene sincronizadas las columnas canónicas con el RUT de presentación en cada inserción/actualización
+    @PrePersist
+    @PreUpdate
+    void sincronizarRutCanonico() {
+        if (rut != null && Rut.esValido(rut)) {
+            Rut canonico = Rut.parse(rut);
+            rutNumero = canonico.getNumero();
+            rutDv = canonico.getDv();
+        }
+    }
+}
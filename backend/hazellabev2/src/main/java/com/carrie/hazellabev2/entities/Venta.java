@@ -0,0 +1,66 @@
+package com.carrie.hazellabev2.entities;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonManagedReference;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/* ================= Venta Confirmada en el Checkout ================= */
+
+// Cabecera de una compra: se crea a partir del carrito del usuario y no se modifica después.
+// Los totales se guardan al momento de la compra para que un cambio de precio posterior no altere el historial
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "venta", indexes = @Index(name = "ix_venta_fecha", columnList = "fecha"))
+
+public class Venta {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+
+    @Column(nullable = false)
+    private LocalDateTime fecha;
+
+    @Column(name = "metodo_envio", length = 20)
+    private String metodoEnvio;
+
+    @Column(name = "metodo_pago", length = 30)
+    private String metodoPago;
+
+    private int subtotal;
+
+    @Column(name = "costo_envio")
+    private int costoEnvio;
+
+    private int total;
+
+    // Indica que la venta ya está sumada en los resúmenes diarios: evita contarla dos veces si el evento
+    // del outbox se repite o si una reconstrucción ya la incluyó
+    @JsonIgnore
+    @Column(nullable = false)
+    private boolean resumida;
+
+    @OneToMany(mappedBy = "venta", cascade = CascadeType.ALL, orphanRemoval = true)
+    @JsonManagedReference
+    private List<DetalleVenta> detalles = new ArrayList<>();
+}
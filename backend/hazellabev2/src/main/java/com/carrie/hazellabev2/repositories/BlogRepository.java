@@ -1,9 +1,17 @@
 package com.carrie.hazellabev2.repositories;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 
+import com.carrie.hazellabev2.dto.BlogResumen;
 import com.carrie.hazellabev2.entities.Blog;
 
 public interface BlogRepository extends CrudRepository<Blog, Long> {
-
+    /* ================= PROYECCIONES PARA LISTADOS ================= */
+    // Página de blogs en su representación de listado: selecciona solo las columnas necesarias, sin leer el body (TEXT)
+    @Query(value = "select new com.carrie.hazellabev2.dto.BlogResumen(b.id, b.title, b.summary, b.author, b.image) from Blog b",
+           countQuery = "select count(b) from Blog b")
+    Page<BlogResumen> findAllResumen(Pageable pageable);
 }
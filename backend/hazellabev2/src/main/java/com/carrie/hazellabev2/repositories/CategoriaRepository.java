@@ -5,5 +5,6 @@ import org.springframework.data.repository.CrudRepository;
 import com.carrie.hazellabev2.entities.Categoria;
 
 public interface CategoriaRepository extends CrudRepository<Categoria, Long> {
-
+    // Indica si la categoría tiene subcategorías (impide eliminarla)
+    boolean existsByPadreId(Long padreId);
 }
@@ -0,0 +1,27 @@
+package com.carrie.hazellabev2.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import com.carrie.hazellabev2.entities.DetalleVenta;
+
+public interface DetalleVentaRepository extends CrudRepository<DetalleVenta, Long> {
+    /* ================= CONSULTAS PARA LA CARGA DEL RANKING ================= */
+    // Unidades vendidas por producto desde el inicio: cada fila es [productoId, unidades]
+    @Query("select d.productoId, sum(d.cantidad) from DetalleVenta d group by d.productoId")
+    List<Object[]> sumarUnidadesPorProducto();
+
+    // Líneas vendidas desde una fecha (ventanas recientes): cada fila es [productoId, cantidad, fecha]
+    @Query("select d.productoId, d.cantidad, v.fecha from DetalleVenta d join d.venta v where v.fecha >= :desde")
+    List<Object[]> listarLineasDesde(@Param("desde") LocalDateTime desde);
+
+    /* ================= RECONSTRUCCIÓN DE RESÚMENES DIARIOS ================= */
+    // Ventas ya marcadas como resumidas en un intervalo: cada fila es [productoId, unidades, ingresos]
+    @Query("select d.productoId, sum(d.cantidad), sum(cast(d.precioUnitario as long) * d.cantidad) from DetalleVenta d join d.venta v "
+            + "where v.resumida = true and v.fecha >= :desde and v.fecha < :hasta group by d.productoId")
+    List<Object[]> sumarResumidasPorProducto(@Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta);
+}
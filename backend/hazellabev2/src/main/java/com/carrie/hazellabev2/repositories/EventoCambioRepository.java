@@ -0,0 +1,25 @@
+package com.carrie.hazellabev2.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.carrie.hazellabev2.entities.EventoCambio;
+
+public interface EventoCambioRepository extends CrudRepository<EventoCambio, Long> {
+    /* ================= LECTURA POR LOTES ================= */
+    // Siguiente lote de eventos posteriores al punto de control, en orden de ID (recorre la clave primaria)
+    List<EventoCambio> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /* ================= LIMPIEZA ================= */
+    // Elimina los eventos ya entregados a todos los suscriptores
+    @Modifying
+    @Transactional
+    @Query("delete from EventoCambio e where e.id <= :id")
+    int eliminarHasta(@Param("id") Long id);
+}
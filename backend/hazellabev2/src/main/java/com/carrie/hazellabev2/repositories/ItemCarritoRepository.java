@@ -1,12 +1,26 @@
 package com.carrie.hazellabev2.repositories;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 
 import com.carrie.hazellabev2.entities.ItemCarrito;
 
+import jakarta.persistence.QueryHint;
+
 public interface ItemCarritoRepository extends CrudRepository<ItemCarrito, Long> {
     // Buscar por Id
     List<ItemCarrito> findByUsuarioId(Long usuarioId);
+
+    // Columnas de la exportación de carritos, en orden de ID y fila a fila:
+    // [id, usuarioId, email, productoId, producto, cantidad, precio unitario]. Requiere una transacción abierta.
+    // Fetch size Integer.MIN_VALUE: streaming del driver de MySQL solo para esta consulta (ver ProductoRepository)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("select i.id, u.id, u.email, p.id, p.name, i.quantity, p.cost from ItemCarrito i "
+            + "left join i.usuario u left join i.producto p order by i.id")
+    Stream<Object[]> recorrerExportacion();
 }
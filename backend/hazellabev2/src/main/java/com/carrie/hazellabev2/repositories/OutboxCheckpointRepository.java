@@ -0,0 +1,8 @@
+package com.carrie.hazellabev2.repositories;
+
+import org.springframework.data.repository.CrudRepository;
+
+import com.carrie.hazellabev2.entities.OutboxCheckpoint;
+
+public interface OutboxCheckpointRepository extends CrudRepository<OutboxCheckpoint, String> {
+}
@@ -1,26 +1,98 @@
 package com.carrie.hazellabev2.repositories;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.carrie.hazellabev2.entities.Producto;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 public interface ProductoRepository extends CrudRepository<Producto, Long> {
     /* ================= CONSULTAS POR CARACTERÍSTICAS ESPECIALES ================= */
-    // Busca productos marcados como destacados para secciones promocionales
+    // Busca productos marcados como destacados para secciones promocionales (resultado en la caché de consultas)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Producto> findByDestacadoTrue();
-    // Busca productos con stock bajo (menor al valor especificado) para alertas de inventario
-    List<Producto> findByStockLessThan(int stock);
+    // Busca productos en o bajo su propio stock crítico (columna indexada stock_bajo) para alertas de inventario
+    List<Producto> findByStockBajoTrue();
 
     /* ================= CONSULTAS POR ATRIBUTOS BÁSICOS ================= */
     // Busca productos cuyo nombre contenga el texto especificado (insensible a mayúsculas/minúsculas)
     List<Producto> findByNameContainingIgnoreCase(String name);
-    // Busca productos por ID de categoría específica
+    // Busca productos por ID de categoría específica (resultado en la caché de consultas)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Producto> findByCategoryId(Long categoryId);
-    // Busca productos por estado activo/inactivo
+    // Busca productos por estado activo/inactivo (resultado en la caché de consultas)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Producto> findByActiveStatus(Boolean activeStatus);
 
+    /* ================= CONSULTAS AGREGADAS ================= */
+    // Cantidad de productos activos por categoría en una sola consulta: cada fila es [categoriaId, cantidad]
+    @Query("select p.category.id, count(p) from Producto p where p.activeStatus = true and p.category is not null group by p.category.id")
+    List<Object[]> contarActivosPorCategoria();
+    // Indicadores del dashboard en una sola pasada: [total, activos, con stock crítico, unidades en stock, valor del inventario]
+    @Query("select count(p), "
+            + "coalesce(sum(case when p.activeStatus = true then 1 else 0 end), 0), "
+            + "coalesce(sum(case when p.stock <= p.stockCritico then 1 else 0 end), 0), "
+            + "coalesce(sum(p.stock), 0), "
+            + "coalesce(sum(cast(p.cost as long) * p.stock), 0) from Producto p")
+    List<Object[]> resumirInventario();
+
+    // Columnas que determinan los contadores en vivo del dashboard: [id, activo, stock, stockCritico, destacado]
+    @Query("select p.id, p.activeStatus, p.stock, p.stockCritico, p.destacado from Producto p")
+    List<Object[]> listarEstadoKpi();
+    // Stock y categoría actuales de cada producto, para abrir el resumen del día: [id, categoriaId, stock]
+    @Query("select p.id, c.id, p.stock from Producto p left join p.category c")
+    List<Object[]> listarStockPorProducto();
+    // Vencimientos de los productos activos, para reconstruir la agenda al iniciar: [id, expDate]
+    @Query("select p.id, p.expDate from Producto p where p.activeStatus = true and p.expDate is not null")
+    List<Object[]> listarVencimientosActivos();
+
+    /* ================= RECORRIDO PARA REPORTES ================= */
+    // Columnas de la valoración de inventario, leídas fila a fila y sin entidades administradas:
+    // [categoriaId, categoriaNombre, proveedor, cost, stock, expDate]. Requiere una transacción abierta.
+    // Fetch size Integer.MIN_VALUE: el driver de MySQL entrega el resultado en streaming solo para esta consulta,
+    // sin cursores de servidor en el resto de la aplicación; la conexión no admite otra consulta hasta cerrar el Stream
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("select c.id, c.nombre, p.proveedor, p.cost, p.stock, p.expDate from Producto p left join p.category c")
+    Stream<Object[]> recorrerValoracion();
+    // Columnas de la exportación de productos, en orden de ID y fila a fila (streaming, como la valoración):
+    // [id, nombre, lote, código, categoría, proveedor, costo, stock, stock crítico, vencimiento, elaboración, activo,
+    // destacado, creación]
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("select p.id, p.name, p.batchCode, p.chemCode, c.nombre, p.proveedor, p.cost, p.stock, p.stockCritico, "
+            + "p.expDate, p.elabDate, p.activeStatus, p.destacado, p.creationDate from Producto p left join p.category c order by p.id")
+    Stream<Object[]> recorrerExportacion();
+
+    /* ================= INDICADOR DE STOCK CRÍTICO ================= */
+    // Alinea la columna stock_bajo con stock y stockCritico en las filas que no pasaron por JPA (o anteriores a la columna)
+    @Modifying
+    @Transactional
+    @Query("update Producto p set p.stockBajo = true where p.stock <= p.stockCritico and (p.stockBajo is null or p.stockBajo = false)")
+    int marcarStockBajo();
+
+    @Modifying
+    @Transactional
+    @Query("update Producto p set p.stockBajo = false where p.stock > p.stockCritico and (p.stockBajo is null or p.stockBajo = true)")
+    int desmarcarStockBajo();
+
+    /* ================= BLOQUEO PARA ACTUALIZAR STOCK ================= */
+    // Lee el producto con bloqueo de escritura (SELECT ... FOR UPDATE): dos compras simultáneas del mismo
+    // producto se serializan y el descuento pasa por la entidad (y sus listeners) en vez de un UPDATE masivo
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Producto p where p.id = :id")
+    Optional<Producto> bloquearPorId(@Param("id") Long id);
+
     /* ================= CONSULTAS COMBINADAS Y BÚSQUEDAS AVANZADAS ================= */
     // Búsqueda combinada por nombre y categoría - filtrado avanzado
     List<Producto> findByNameContainingIgnoreCaseAndCategoryId(String name, Long categoryId);
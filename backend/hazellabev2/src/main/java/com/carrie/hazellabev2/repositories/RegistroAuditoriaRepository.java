@@ -0,0 +1,20 @@
+package com.carrie.hazellabev2.repositories;
+
+import java.util.List;
+
+import org.springframework.data.repository.CrudRepository;
+
+import com.carrie.hazellabev2.entities.RegistroAuditoria;
+import com.carrie.hazellabev2.entities.RegistroAuditoria.Entidad;
+
+public interface RegistroAuditoriaRepository extends CrudRepository<RegistroAuditoria, Long> {
+    /* ================= CONSULTAS ================= */
+    // Últimos registros de una entidad concreta (índice por entidad e ID)
+    List<RegistroAuditoria> findTop100ByEntidadAndEntidadIdOrderByIdDesc(Entidad entidad, Long entidadId);
+
+    // Últimos registros de un tipo de entidad
+    List<RegistroAuditoria> findTop100ByEntidadOrderByIdDesc(Entidad entidad);
+
+    // Últimos registros de todas las entidades
+    List<RegistroAuditoria> findTop100ByOrderByIdDesc();
+}
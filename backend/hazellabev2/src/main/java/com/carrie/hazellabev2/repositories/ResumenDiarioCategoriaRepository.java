@@ -0,0 +1,13 @@
+package com.carrie.hazellabev2.repositories;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.repository.CrudRepository;
+
+import com.carrie.hazellabev2.entities.ResumenDiarioCategoria;
+
+public interface ResumenDiarioCategoriaRepository extends CrudRepository<ResumenDiarioCategoria, Long> {
+    List<ResumenDiarioCategoria> findByFecha(LocalDate fecha);
+    List<ResumenDiarioCategoria> findByCategoriaIdAndFechaBetweenOrderByFechaAsc(Long categoriaId, LocalDate desde, LocalDate hasta);
+}
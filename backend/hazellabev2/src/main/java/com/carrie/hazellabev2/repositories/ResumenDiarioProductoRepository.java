@@ -0,0 +1,37 @@
+package com.carrie.hazellabev2.repositories;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import com.carrie.hazellabev2.entities.ResumenDiarioProducto;
+
+public interface ResumenDiarioProductoRepository extends CrudRepository<ResumenDiarioProducto, Long> {
+    /* ================= MANTENIMIENTO ================= */
+    Optional<ResumenDiarioProducto> findByFechaAndProductoId(LocalDate fecha, Long productoId);
+    List<ResumenDiarioProducto> findByFecha(LocalDate fecha);
+    boolean existsByFecha(LocalDate fecha);
+
+    // Suma por categoría de las filas de un día: cada fila es [categoriaId, unidades, ingresos, stock]
+    @Query("select r.categoriaId, sum(r.unidades), sum(r.ingresos), coalesce(sum(r.stock), 0) from ResumenDiarioProducto r "
+            + "where r.fecha = :fecha and r.categoriaId is not null group by r.categoriaId")
+    List<Object[]> sumarPorCategoria(@Param("fecha") LocalDate fecha);
+
+    // Pone en cero las ventas de un rango antes de reconstruirlas (el stock se conserva)
+    @Modifying
+    @Query("update ResumenDiarioProducto r set r.unidades = 0, r.ingresos = 0 where r.fecha between :desde and :hasta")
+    int reiniciarVentas(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+
+    /* ================= CONSULTAS POR RANGO ================= */
+    List<ResumenDiarioProducto> findByProductoIdAndFechaBetweenOrderByFechaAsc(Long productoId, LocalDate desde, LocalDate hasta);
+
+    // Totales de la tienda por día: cada fila es [fecha, unidades, ingresos, stock]
+    @Query("select r.fecha, sum(r.unidades), sum(r.ingresos), sum(r.stock) from ResumenDiarioProducto r "
+            + "where r.fecha between :desde and :hasta group by r.fecha order by r.fecha")
+    List<Object[]> sumarPorDia(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+}
@@ -1,18 +1,33 @@
 package com.carrie.hazellabev2.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import com.carrie.hazellabev2.dto.UsuarioResumen;
 import com.carrie.hazellabev2.entities.Usuario;
 
+import jakarta.persistence.QueryHint;
+
 public interface UsuarioRepository extends CrudRepository<Usuario, Long> {
     /* ================= CONSULTAS POR CREDENCIALES Y IDENTIFICACIÓN ================= */
     // Busca un usuario por su dirección de email (campo único para login)
     Optional<Usuario> findByEmail(String email);
-    // Busca un usuario por su RUT (identificador único chileno)
-    Optional<Usuario> findByRut(String rut);
+    // Busca un usuario por el cuerpo numérico canónico de su RUT (columna indexada rut_numero)
+    Optional<Usuario> findByRutNumero(Integer rutNumero);
+    // Verifica unicidad del RUT usando la clave canónica compacta
+    boolean existsByRutNumero(Integer rutNumero);
+    // Usuarios registrados antes de la normalización canónica del RUT (pendientes de completar rut_numero)
+    List<Usuario> findByRutNumeroIsNull();
 
     /* ================= CONSULTAS POR ATRIBUTOS BÁSICOS ================= */
     // Busca usuarios cuyo nombre de usuario contenga el texto especificado (insensible a mayúsculas/minúsculas)
@@ -25,5 +40,45 @@ public interface UsuarioRepository extends CrudRepository<Usuario, Long> {
     /* ================= CONSULTAS DE BÚSQUEDA AVANZADA ================= */
     // Búsqueda combinada por nombre de usuario O email (insensible a mayúsculas/minúsculas)
     List<Usuario> findByUsernameContainingIgnoreCaseOrEmailContainingIgnoreCase(String username, String email);
-    
+
+    /* ================= PROYECCIONES DE LISTADO ================= */
+    // Listado paginado de usuarios como UsuarioResumen en una sola consulta: no hidrata entidades ni carga itemsCarrito
+    @Query(value = "select new com.carrie.hazellabev2.dto.UsuarioResumen(u.id, u.username, u.apellidos, u.rut, u.email, "
+            + "u.fechaNacimiento, u.role, u.status, u.region, u.comuna, u.createdAt, "
+            + "(select count(i) from ItemCarrito i where i.usuario = u)) from Usuario u",
+           countQuery = "select count(u) from Usuario u")
+    Page<UsuarioResumen> findAllResumen(Pageable pageable);
+
+    /* ================= CONSULTAS AGREGADAS ================= */
+    // Indicadores del dashboard en una sola consulta: [total, activos]
+    @Query("select count(u), coalesce(sum(case when u.status = 'activo' then 1 else 0 end), 0) from Usuario u")
+    List<Object[]> contarPorEstado();
+    // Columnas que determinan los contadores en vivo del dashboard: [id, rol, estado]
+    @Query("select u.id, u.role, u.status from Usuario u")
+    List<Object[]> listarEstadoKpi();
+
+    /* ================= RECORRIDO PARA EXPORTACIONES ================= */
+    // Columnas de la exportación de usuarios (nunca la contraseña), en orden de ID y fila a fila: [id, nombre, apellidos,
+    // rut, email, rol, estado, región, comuna, dirección, fecha de nacimiento, creación]. Requiere una transacción abierta.
+    // Fetch size Integer.MIN_VALUE: streaming del driver de MySQL solo para esta consulta (ver ProductoRepository)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("select u.id, u.username, u.apellidos, u.rut, u.email, u.role, u.status, u.region, u.comuna, u.direccion, "
+            + "u.fechaNacimiento, u.createdAt from Usuario u order by u.id")
+    Stream<Object[]> recorrerExportacion();
+
+    /* ================= CONSULTAS LIGERAS PARA ÍNDICES EN MEMORIA ================= */
+    // Obtiene solo los emails registrados (sin hidratar entidades) para precargar el filtro de unicidad
+    @Query("select u.email from Usuario u")
+    List<String> findAllEmails();
+    // Obtiene solo los RUT registrados (sin hidratar entidades) para precargar el filtro de unicidad
+    @Query("select u.rut from Usuario u")
+    List<String> findAllRuts();
+
+    /* ================= CONSULTAS DE UNICIDAD EN LOTE ================= */
+    // Retorna cuáles de los emails indicados ya están registrados (una consulta por lote de importación)
+    @Query("select u.email from Usuario u where u.email in :emails")
+    List<String> findEmailsExistentes(@Param("emails") Collection<String> emails);
+    // Retorna cuáles de los RUT (cuerpo numérico canónico) ya están registrados (una consulta por lote de importación)
+    @Query("select u.rutNumero from Usuario u where u.rutNumero in :numeros")
+    List<Integer> findRutNumerosExistentes(@Param("numeros") Collection<Integer> numeros);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.carrie.hazellabev2.repositories;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import com.carrie.hazellabev2.entities.Venta;
+
+public interface VentaRepository extends CrudRepository<Venta, Long> {
+    /* ================= RESÚMENES DIARIOS ================= */
+    // Marca como incluidas en los resúmenes las ventas de un rango (antes de reconstruirlo)
+    @Modifying
+    @Query("update Venta v set v.resumida = true where v.fecha >= :desde and v.fecha < :hasta")
+    int marcarResumidas(@Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta);
+}
@@ -0,0 +1,274 @@
+package com.carrie.hazellabev2.services;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.carrie.hazellabev2.entities.EventoCambio;
+import com.carrie.hazellabev2.entities.EventoCambio.Agregado;
+import com.carrie.hazellabev2.entities.EventoCambio.Tipo;
+import com.carrie.hazellabev2.entities.Producto;
+import com.carrie.hazellabev2.repositories.ProductoRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/* ================= Agenda de Vencimientos de Productos ================= */
+
+/**
+ * Índice en memoria de los productos activos con fecha de vencimiento, ordenado por instante de vencimiento
+ * (árbol: el primero es el próximo a vencer y un rango "vence antes de X" se lee sin recorrer el resto).
+ * Se reconstruye al iniciar con una consulta de dos columnas y se mantiene con los eventos PRODUCTO del outbox.
+ * Un único temporizador queda programado para el próximo vencimiento: al cumplirse, el producto se desactiva
+ * con ProductoService.desactivar (que publica su propio evento) y el temporizador pasa al siguiente.
+ * Antes de desactivar se relee el producto: si cambió su fecha o ya no está activo, no se toca.
+ */
+@Component
+
+public class AgendaVencimientos implements SuscriptorCambios {
+    private static final Logger log = LoggerFactory.getLogger(AgendaVencimientos.class);
+    private static final Comparator<Vencimiento> ORDEN = Comparator.comparing(Vencimiento::instante)
+            .thenComparingLong(Vencimiento::productoId);
+    // Espera máxima del temporizador: acota el efecto de un cambio en el reloj del sistema
+    static final Duration ESPERA_MAXIMA = Duration.ofHours(1);
+    // Pausa tras un error al desactivar, para no reintentar en un ciclo cerrado
+    static final Duration PAUSA_REINTENTO = Duration.ofMinutes(1);
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    // ProductoServiceImpl consulta esta agenda: el servicio se resuelve en el primer uso
+    @Autowired
+    private ObjectProvider<ProductoService> productoService;
+
+    // Reloj de los vencimientos (reemplazable en pruebas)
+    private Clock reloj = Clock.systemDefaultZone();
+
+    // Estado mutable protegido por el monitor de esta instancia
+    private final TreeSet<Vencimiento> orden = new TreeSet<>(ORDEN);
+    private final Map<Long, Instant> vencePorProducto = new HashMap<>();
+    private boolean cargado = false;
+    private Instant pausaHasta = Instant.MIN;
+
+    private ScheduledExecutorService temporizador;
+    private ScheduledFuture<?> proxima;
+    private Instant proximaEn;
+
+    @PostConstruct
+    public void iniciar() {
+        temporizador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "vencimientos");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        temporizador.shutdownNow();
+    }
+
+    /* ================= CARGA INICIAL ================= */
+
+    // La consulta corre bajo el monitor: un evento que llegue mientras tanto se aplica después, sobre el índice cargado
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void cargar() {
+        orden.clear();
+        vencePorProducto.clear();
+        for (Object[] fila : productoRepository.listarVencimientosActivos()) {
+            agregar((Long) fila[0], instante((Date) fila[1]));
+        }
+        cargado = true;
+        reprogramar();
+    }
+
+    /* ================= CONSULTAS ================= */
+
+    // Productos activos que vencen dentro de los próximos N días (incluye los vencidos aún no desactivados), del más próximo al más lejano
+    public synchronized List<Vencimiento> vencenDentroDe(int dias) {
+        Instant limite = Instant.now(reloj).plus(Duration.ofDays(dias));
+        return new ArrayList<>(orden.headSet(new Vencimiento(Long.MAX_VALUE, limite), true));
+    }
+
+    public synchronized int tamanio() {
+        return vencePorProducto.size();
+    }
+
+    /* ================= EVENTOS DEL OUTBOX ================= */
+
+    @Override
+    public String getNombre() {
+        return "agenda-vencimientos";
+    }
+
+    @Override
+    public boolean interesa(EventoCambio evento) {
+        return evento.getAgregado() == Agregado.PRODUCTO;
+    }
+
+    // Relee los productos cambiados (por clave primaria) y los reubica en el índice; repetir un evento no cambia nada
+    @Override
+    public synchronized void procesar(List<EventoCambio> eventos) {
+        // Antes de la carga inicial el cambio ya queda incluido en la consulta de carga
+        if (!cargado) {
+            return;
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        for (EventoCambio evento : eventos) {
+            if (evento.getTipo() == Tipo.ELIMINADO) {
+                quitar(evento.getAgregadoId());
+                ids.remove(evento.getAgregadoId());
+            } else {
+                ids.add(evento.getAgregadoId());
+            }
+        }
+        if (!ids.isEmpty()) {
+            Set<Long> pendientes = new LinkedHashSet<>(ids);
+            for (Producto producto : productoRepository.findAllById(ids)) {
+                pendientes.remove(producto.getId());
+                actualizar(producto);
+            }
+            // Eliminado después de publicado el evento
+            pendientes.forEach(this::quitar);
+        }
+        reprogramar();
+    }
+
+    /* ================= TEMPORIZADOR ================= */
+
+    // Desactiva los productos cuyo vencimiento ya se cumplió y programa el siguiente (siempre, aunque algo falle)
+    void vencer() {
+        List<Vencimiento> vencidos = new ArrayList<>();
+        try {
+            synchronized (this) {
+                proxima = null;
+                proximaEn = null;
+                Instant ahora = Instant.now(reloj);
+                while (!orden.isEmpty() && !orden.first().instante().isAfter(ahora)) {
+                    Vencimiento primero = orden.pollFirst();
+                    vencePorProducto.remove(primero.productoId());
+                    vencidos.add(primero);
+                }
+            }
+            // La desactivación abre su propia transacción: no se hace bajo el monitor
+            for (Vencimiento vencido : vencidos) {
+                try {
+                    desactivarSiVencido(vencido.productoId());
+                } catch (RuntimeException e) {
+                    log.warn("No se pudo desactivar el producto vencido {}; se reintentará", vencido.productoId(), e);
+                    // Se repone con el instante ya conocido, sin volver a la base de datos (que puede ser la que falló);
+                    // si entretanto llegó un evento del producto, su fecha es la vigente
+                    synchronized (this) {
+                        if (!vencePorProducto.containsKey(vencido.productoId())) {
+                            agregar(vencido.productoId(), vencido.instante());
+                        }
+                        pausaHasta = Instant.now(reloj).plus(PAUSA_REINTENTO);
+                    }
+                }
+            }
+        } finally {
+            synchronized (this) {
+                reprogramar();
+            }
+        }
+    }
+
+    private void desactivarSiVencido(Long id) {
+        Producto producto = productoRepository.findById(id).orElse(null);
+        if (producto == null || !Boolean.TRUE.equals(producto.getActiveStatus()) || producto.getExpDate() == null) {
+            return;
+        }
+        if (instante(producto.getExpDate()).isAfter(Instant.now(reloj))) {
+            // La fecha se postergó y el evento aún no llega: se reubica con la fecha actual
+            synchronized (this) {
+                actualizar(producto);
+            }
+            return;
+        }
+        productoService.getObject().desactivar(id);
+        log.info("Producto {} desactivado por vencimiento ({})", id, producto.getExpDate());
+    }
+
+    // Deja un único temporizador apuntando al próximo vencimiento (o a la espera máxima si es más lejano)
+    private void reprogramar() {
+        if (orden.isEmpty() || temporizador == null) {
+            cancelarProxima();
+            return;
+        }
+        Instant objetivo = orden.first().instante();
+        if (objetivo.isBefore(pausaHasta)) {
+            objetivo = pausaHasta;
+        }
+        Instant ahora = Instant.now(reloj);
+        Instant tope = ahora.plus(ESPERA_MAXIMA);
+        if (objetivo.isAfter(tope)) {
+            objetivo = tope;
+        }
+        if (proxima != null && objetivo.equals(proximaEn)) {
+            return;
+        }
+        cancelarProxima();
+        long espera = Math.max(0, Duration.between(ahora, objetivo).toMillis());
+        proximaEn = objetivo;
+        proxima = temporizador.schedule(this::vencer, espera, TimeUnit.MILLISECONDS);
+    }
+
+    private void cancelarProxima() {
+        if (proxima != null) {
+            proxima.cancel(false);
+        }
+        proxima = null;
+        proximaEn = null;
+    }
+
+    /* ================= ÍNDICE ================= */
+
+    private void actualizar(Producto producto) {
+        quitar(producto.getId());
+        if (Boolean.TRUE.equals(producto.getActiveStatus()) && producto.getExpDate() != null) {
+            agregar(producto.getId(), instante(producto.getExpDate()));
+        }
+    }
+
+    private void agregar(Long id, Instant vence) {
+        vencePorProducto.put(id, vence);
+        orden.add(new Vencimiento(id, vence));
+    }
+
+    private void quitar(Long id) {
+        Instant anterior = vencePorProducto.remove(id);
+        if (anterior != null) {
+            orden.remove(new Vencimiento(id, anterior));
+        }
+    }
+
+    // Hibernate entrega java.sql.Timestamp o java.sql.Date; getTime sirve para ambos
+    private static Instant instante(Date fecha) {
+        return Instant.ofEpochMilli(fecha.getTime());
+    }
+
+    // Producto y el instante en que vence
+    public record Vencimiento(long productoId, Instant instante) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.carrie.hazellabev2.services;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.carrie.hazellabev2.dto.AlertaStock;
+import com.carrie.hazellabev2.dto.AlertaStock.Tipo;
+import com.carrie.hazellabev2.entities.Producto;
+import com.carrie.hazellabev2.repositories.ProductoRepository;
+import com.carrie.hazellabev2.utils.Transacciones;
+
+/* ================= Alertas de Cruce de Stock Crítico ================= */
+
+/**
+ * Recibe de StockCriticoListener los cruces del umbral de stock crítico (bajo o repuesto) y, al confirmarse la
+ * transacción, les asigna una secuencia creciente, los guarda en una ventana acotada de alertas recientes y los
+ * publica como evento de aplicación (AlertaStock) para quien quiera reaccionar en el momento.
+ * Solo los cruces generan alertas: un producto que sigue bajo el umbral no se vuelve a anunciar en cada lectura,
+ * y un cliente lee únicamente lo posterior a la última secuencia que ya vio.
+ * Al iniciar alinea la columna stock_bajo de las filas escritas fuera de JPA o anteriores a la columna (sin alertas).
+ */
+@Component
+
+public class AlertasStock {
+    private static final Logger log = LoggerFactory.getLogger(AlertasStock.class);
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    // Alertas que se conservan para los clientes que consultan por secuencia
+    @Value("${hazellab.alertas-stock.max-recientes:200}")
+    private int maxRecientes = 200;
+
+    // Estado mutable protegido por el monitor de esta instancia. La secuencia parte de la hora de arranque en
+    // milisegundos: tras un reinicio queda por encima de cualquier cursor emitido antes, que así recibe lo nuevo
+    private final ArrayDeque<AlertaStock> recientes = new ArrayDeque<>();
+    private long secuencia = System.currentTimeMillis();
+
+    /* ================= SINCRONIZACIÓN INICIAL ================= */
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void sincronizarIndicadores() {
+        int corregidos = productoRepository.marcarStockBajo() + productoRepository.desmarcarStockBajo();
+        if (corregidos > 0) {
+            log.info("Indicador de stock crítico recalculado en {} productos", corregidos);
+        }
+    }
+
+    /* ================= CRUCES DESDE EL LISTENER JPA ================= */
+
+    // Los valores se toman ahora; el ID se lee al confirmar porque un producto nuevo aún no lo tiene
+    void cruce(Producto producto, boolean bajo) {
+        String nombre = producto.getName();
+        int stock = producto.getStock();
+        int stockCritico = producto.getStockCritico();
+        Tipo tipo = bajo ? Tipo.BAJO : Tipo.REPUESTO;
+        LocalDateTime fecha = LocalDateTime.now();
+        Transacciones.alConfirmar(() -> registrar(producto.getId(), nombre, stock, stockCritico, tipo, fecha));
+    }
+
+    void registrar(Long productoId, String nombre, int stock, int stockCritico, Tipo tipo, LocalDateTime fecha) {
+        AlertaStock alerta;
+        synchronized (this) {
+            alerta = new AlertaStock(++secuencia, productoId, nombre, stock, stockCritico, tipo, fecha);
+            recientes.addLast(alerta);
+            while (recientes.size() > maxRecientes) {
+                recientes.removeFirst();
+            }
+        }
+        log.info("Stock crítico: producto {} ({}) {} con {} unidades (umbral {})", productoId, nombre,
+                tipo == Tipo.BAJO ? "bajo el umbral" : "repuesto", stock, stockCritico);
+        eventos.publishEvent(alerta);
+    }
+
+    /* ================= CONSULTA ================= */
+
+    // Alertas con secuencia mayor a la indicada, de la más antigua a la más nueva (0 = todas las recientes).
+    // Un cursor por delante de la secuencia actual no salió de esta ejecución (reloj atrasado tras reiniciar): todas
+    public synchronized List<AlertaStock> listarDesde(long desde) {
+        if (desde > secuencia) {
+            desde = 0;
+        }
+        List<AlertaStock> nuevas = new ArrayList<>();
+        Iterator<AlertaStock> it = recientes.descendingIterator();
+        while (it.hasNext()) {
+            AlertaStock alerta = it.next();
+            if (alerta.getSecuencia() <= desde) {
+                break;
+            }
+            nuevas.add(alerta);
+        }
+        Collections.reverse(nuevas);
+        return nuevas;
+    }
+}
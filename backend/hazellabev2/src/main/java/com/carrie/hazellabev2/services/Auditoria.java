@@ -0,0 +1,327 @@
+package com.carrie.hazellabev2.services;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.carrie.hazellabev2.dto.EstadoAuditoria;
+import com.carrie.hazellabev2.entities.Producto;
+import com.carrie.hazellabev2.entities.RegistroAuditoria;
+import com.carrie.hazellabev2.entities.RegistroAuditoria.Accion;
+import com.carrie.hazellabev2.entities.RegistroAuditoria.Entidad;
+import com.carrie.hazellabev2.entities.Usuario;
+import com.carrie.hazellabev2.repositories.RegistroAuditoriaRepository;
+import com.carrie.hazellabev2.utils.BufferAnillo;
+import com.carrie.hazellabev2.utils.Transacciones;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/* ================= Registro de Auditoría con Escritura Asíncrona por Lotes ================= */
+
+/**
+ * Los servicios entregan la instantánea anterior y posterior de la entidad que modifican; aquí se calculan los campos
+ * que cambiaron y, al confirmarse la transacción, el registro se deja en un buffer en anillo sin bloqueos.
+ * Un único hilo escritor lo vacía en lotes con un INSERT de varias filas, de modo que la solicitud del administrador
+ * no espera ninguna escritura de auditoría.
+ * - Contrapresión: con el buffer lleno el productor despierta al escritor y reintenta durante hazellab.auditoria.espera-ms;
+ *   si sigue lleno el registro se descarta y se contabiliza (la operación del usuario nunca falla por la auditoría).
+ * - Cierre: el escritor vacía lo pendiente durante hazellab.auditoria.cierre-segundos como máximo; lo que quede se
+ *   contabiliza como descartado. La pérdida queda acotada a la capacidad del buffer.
+ */
+@Component
+
+public class Auditoria {
+    private static final Logger log = LoggerFactory.getLogger(Auditoria.class);
+    // Origen de los cambios que no vienen de una solicitud HTTP (tareas programadas, arranque)
+    static final String ORIGEN_SISTEMA = "sistema";
+    // Valor que reemplaza a los campos sensibles en el registro
+    static final String OCULTO = "(oculto)";
+    private static final Set<String> CAMPOS_OCULTOS = Set.of("password");
+    private static final String INSERTAR = "insert into registro_auditoria (fecha, entidad, entidad_id, accion, origen, cambios) values ";
+    private static final String FILA = "(?, ?, ?, ?, ?, ?)";
+    private static final int MAX_INTENTOS = 3;
+    private static final long PAUSA_REINTENTO_MS = 100;
+    // Pausa del productor entre intentos con el buffer lleno
+    private static final long PAUSA_PRODUCTOR_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RegistroAuditoriaRepository registroAuditoriaRepository;
+
+    // Registros que caben en el buffer (se redondea a potencia de 2)
+    @Value("${hazellab.auditoria.capacidad:8192}")
+    private int capacidad = 8192;
+
+    // Filas por INSERT
+    @Value("${hazellab.auditoria.tamanio-lote:200}")
+    private int tamanioLote = 200;
+
+    // Espera máxima del escritor sin registros nuevos antes de revisar el buffer
+    @Value("${hazellab.auditoria.intervalo-ms:200}")
+    private long intervaloMs = 200;
+
+    // Espera máxima de un productor con el buffer lleno antes de descartar su registro
+    @Value("${hazellab.auditoria.espera-ms:50}")
+    private long esperaMs = 50;
+
+    // Tiempo máximo para vaciar el buffer al cerrar la aplicación
+    @Value("${hazellab.auditoria.cierre-segundos:5}")
+    private long cierreSegundos = 5;
+
+    // Los valores de las instantáneas ya son texto, números o booleanos: no se necesita el ObjectMapper global
+    private final ObjectMapper escritorJson = new ObjectMapper();
+
+    private BufferAnillo<Pendiente> buffer;
+    private Thread escritor;
+    private volatile boolean cerrado = false;
+    private final AtomicLong encolados = new AtomicLong();
+    private final AtomicLong escritos = new AtomicLong();
+    private final AtomicLong descartados = new AtomicLong();
+
+    @PostConstruct
+    public void iniciar() {
+        buffer = new BufferAnillo<>(capacidad);
+        escritor = new Thread(this::escribirContinuamente, "auditoria");
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        cerrado = true;
+        if (escritor != null) {
+            LockSupport.unpark(escritor);
+            try {
+                escritor.join(TimeUnit.SECONDS.toMillis(cierreSegundos));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int perdidos = buffer.tamanio();
+        if (perdidos > 0) {
+            descartados.addAndGet(perdidos);
+            log.error("Cierre con {} registros de auditoría sin escribir; se descartan", perdidos);
+        }
+    }
+
+    /* ================= REGISTRO DESDE LOS SERVICIOS ================= */
+
+    // Registra los campos que difieren entre ambas instantáneas (null = la entidad no existía / ya no existe)
+    public void registrar(Entidad entidad, Long id, Accion accion, Map<String, Object> antes, Map<String, Object> despues) {
+        Map<String, Cambio> cambios = diferencias(antes, despues);
+        if (cambios.isEmpty()) {
+            return;
+        }
+        Pendiente pendiente = new Pendiente(LocalDateTime.now(), entidad, id, accion, origen(), cambios);
+        // Solo se audita lo que se confirmó; sin transacción el cambio ya está aplicado
+        Transacciones.alConfirmar(() -> encolar(pendiente));
+    }
+
+    void encolar(Pendiente pendiente) {
+        if (cerrado) {
+            descartados.incrementAndGet();
+            log.warn("Auditoría cerrada; se descarta el registro de {} {}", pendiente.entidad(), pendiente.entidadId());
+            return;
+        }
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(esperaMs);
+        while (!buffer.ofrecer(pendiente)) {
+            LockSupport.unpark(escritor);
+            if (System.nanoTime() - limite >= 0) {
+                descartados.incrementAndGet();
+                log.warn("Buffer de auditoría lleno; se descarta el registro de {} {}", pendiente.entidad(), pendiente.entidadId());
+                return;
+            }
+            LockSupport.parkNanos(PAUSA_PRODUCTOR_NANOS);
+        }
+        encolados.incrementAndGet();
+        // Con un lote completo no se espera al intervalo del escritor
+        if (buffer.tamanio() >= tamanioLote) {
+            LockSupport.unpark(escritor);
+        }
+    }
+
+    /* ================= ESCRITOR ================= */
+
+    private void escribirContinuamente() {
+        while (!cerrado || !buffer.estaVacio()) {
+            try {
+                if (escribirLote() == 0) {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(intervaloMs));
+                }
+            } catch (RuntimeException e) {
+                log.error("Error inesperado en el escritor de auditoría", e);
+            }
+        }
+    }
+
+    // Escribe hasta un lote del buffer con un único INSERT; retorna cuántos registros retiró
+    int escribirLote() {
+        List<Pendiente> lote = new ArrayList<>(Math.min(tamanioLote, buffer.getCapacidad()));
+        buffer.drenar(lote::add, tamanioLote);
+        if (lote.isEmpty()) {
+            return 0;
+        }
+        for (int intento = 1; ; intento++) {
+            try {
+                insertar(lote);
+                escritos.addAndGet(lote.size());
+                return lote.size();
+            } catch (RuntimeException e) {
+                if (intento >= MAX_INTENTOS || cerrado) {
+                    descartados.addAndGet(lote.size());
+                    log.error("No se pudieron escribir {} registros de auditoría; se descartan", lote.size(), e);
+                    return lote.size();
+                }
+                log.warn("Error al escribir {} registros de auditoría (intento {}); se reintentará", lote.size(), intento, e);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(PAUSA_REINTENTO_MS * intento));
+            }
+        }
+    }
+
+    private void insertar(List<Pendiente> lote) {
+        Object[] argumentos = new Object[lote.size() * 6];
+        int i = 0;
+        for (Pendiente pendiente : lote) {
+            argumentos[i++] = Timestamp.valueOf(pendiente.fecha());
+            argumentos[i++] = pendiente.entidad().name();
+            argumentos[i++] = pendiente.entidadId();
+            argumentos[i++] = pendiente.accion().name();
+            argumentos[i++] = pendiente.origen();
+            argumentos[i++] = json(pendiente.cambios());
+        }
+        jdbcTemplate.update(INSERTAR + String.join(", ", Collections.nCopies(lote.size(), FILA)), argumentos);
+    }
+
+    private String json(Map<String, Cambio> cambios) {
+        try {
+            return escritorJson.writeValueAsString(cambios);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudieron serializar los cambios auditados", e);
+        }
+    }
+
+    /* ================= CONSULTAS ================= */
+
+    // Últimos 100 registros, opcionalmente de un tipo de entidad o de una entidad concreta, del más reciente al más antiguo
+    public List<RegistroAuditoria> recientes(Entidad entidad, Long entidadId) {
+        if (entidad == null) {
+            return registroAuditoriaRepository.findTop100ByOrderByIdDesc();
+        }
+        if (entidadId == null) {
+            return registroAuditoriaRepository.findTop100ByEntidadOrderByIdDesc(entidad);
+        }
+        return registroAuditoriaRepository.findTop100ByEntidadAndEntidadIdOrderByIdDesc(entidad, entidadId);
+    }
+
+    public EstadoAuditoria estado() {
+        return new EstadoAuditoria(buffer.getCapacidad(), buffer.tamanio(), encolados.get(), escritos.get(), descartados.get());
+    }
+
+    /* ================= INSTANTÁNEAS Y DIFERENCIAS ================= */
+
+    // Campos auditados de un producto (la categoría por su ID)
+    public static Map<String, Object> instantanea(Producto producto) {
+        Map<String, Object> campos = new LinkedHashMap<>();
+        campos.put("name", producto.getName());
+        campos.put("batchCode", producto.getBatchCode());
+        campos.put("description", producto.getDescription());
+        campos.put("chemCode", producto.getChemCode());
+        campos.put("expDate", fecha(producto.getExpDate()));
+        campos.put("elabDate", fecha(producto.getElabDate()));
+        campos.put("cost", producto.getCost());
+        campos.put("stock", producto.getStock());
+        campos.put("stockCritico", producto.getStockCritico());
+        campos.put("proveedor", producto.getProveedor());
+        campos.put("categoryId", producto.getCategory() != null ? producto.getCategory().getId() : null);
+        campos.put("image", producto.getImage());
+        campos.put("activeStatus", producto.getActiveStatus());
+        campos.put("destacado", producto.getDestacado());
+        return campos;
+    }
+
+    // Campos auditados de un usuario (la contraseña solo se compara; nunca se escribe)
+    public static Map<String, Object> instantanea(Usuario usuario) {
+        Map<String, Object> campos = new LinkedHashMap<>();
+        campos.put("username", usuario.getUsername());
+        campos.put("apellidos", usuario.getApellidos());
+        campos.put("email", usuario.getEmail());
+        campos.put("rut", usuario.getRut());
+        campos.put("role", usuario.getRole());
+        campos.put("status", usuario.getStatus());
+        campos.put("fechaNacimiento", usuario.getFechaNacimiento());
+        campos.put("region", usuario.getRegion());
+        campos.put("comuna", usuario.getComuna());
+        campos.put("direccion", usuario.getDireccion());
+        campos.put("password", usuario.getPassword());
+        return campos;
+    }
+
+    static Map<String, Cambio> diferencias(Map<String, Object> antes, Map<String, Object> despues) {
+        Map<String, Object> previos = antes != null ? antes : Map.of();
+        Map<String, Object> nuevos = despues != null ? despues : Map.of();
+        Set<String> campos = new LinkedHashSet<>(previos.keySet());
+        campos.addAll(nuevos.keySet());
+        Map<String, Cambio> cambios = new LinkedHashMap<>();
+        for (String campo : campos) {
+            Object anterior = previos.get(campo);
+            Object nuevo = nuevos.get(campo);
+            if (Objects.equals(anterior, nuevo)) {
+                continue;
+            }
+            if (CAMPOS_OCULTOS.contains(campo)) {
+                cambios.put(campo, new Cambio(anterior == null ? null : OCULTO, nuevo == null ? null : OCULTO));
+            } else {
+                cambios.put(campo, new Cambio(anterior, nuevo));
+            }
+        }
+        return cambios;
+    }
+
+    // Hibernate entrega java.sql.Timestamp o java.sql.Date; getTime sirve para ambos
+    private static String fecha(Date fecha) {
+        return fecha == null ? null : Instant.ofEpochMilli(fecha.getTime()).toString();
+    }
+
+    // IP de la solicitud en curso, si el cambio viene de una
+    private static String origen() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos) {
+            return atributos.getRequest().getRemoteAddr();
+        }
+        return ORIGEN_SISTEMA;
+    }
+
+    // Valor anterior y nuevo de un campo
+    public record Cambio(Object antes, Object despues) {
+    }
+
+    // Registro a la espera del escritor
+    record Pendiente(LocalDateTime fecha, Entidad entidad, Long entidadId, Accion accion, String origen,
+                     Map<String, Cambio> cambios) {
+    }
+}
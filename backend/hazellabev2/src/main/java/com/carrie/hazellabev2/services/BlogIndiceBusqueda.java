@@ -0,0 +1,311 @@
+package com.carrie.hazellabev2.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+import com.carrie.hazellabev2.dto.BlogResultadoBusqueda;
+import com.carrie.hazellabev2.entities.Blog;
+import com.carrie.hazellabev2.entities.EventoCambio;
+import com.carrie.hazellabev2.repositories.BlogRepository;
+import com.carrie.hazellabev2.utils.AnalizadorEspanol;
+import com.carrie.hazellabev2.utils.AnalizadorEspanol.Termino;
+
+/* ================= Índice Invertido en Memoria para Búsqueda de Blogs ================= */
+
+/**
+ * Índice invertido de título, resumen y contenido de los blogs con ranking BM25.
+ * Los términos pasan por AnalizadorEspanol (sin tildes, sin palabras vacías, derivación ligera) y cada campo
+ * pondera distinto (título > resumen > contenido). Se carga una vez al iniciar y BlogServiceImpl lo actualiza
+ * al crear, actualizar o eliminar; guarda el texto de cada blog para construir los fragmentos resaltados
+ * sin volver a leer la base de datos. Lecturas concurrentes con un candado de lectura/escritura.
+ * Además se suscribe al outbox: cada evento de blog vuelve a indexar el estado confirmado en la base de datos,
+ * lo que corrige el índice si una actualización inmediata se aplicó sobre una transacción que luego no se confirmó.
+ */
+@Component
+
+public class BlogIndiceBusqueda implements SuscriptorCambios {
+    // Parámetros estándar de BM25
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Peso de cada campo en la frecuencia del término
+    private static final float PESO_TITULO = 3f;
+    private static final float PESO_RESUMEN = 2f;
+    private static final float PESO_CONTENIDO = 1f;
+
+    // Largo aproximado (en caracteres) de los fragmentos resaltados
+    private static final int ANCHO_FRAGMENTO = 180;
+
+    // Repositorio usado en la carga inicial y al procesar eventos del outbox
+    @Autowired
+    private BlogRepository blogRepository;
+
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+    // término -> (id del blog -> frecuencia ponderada)
+    private final Map<String, Map<Long, Float>> listas = new HashMap<>();
+    private final Map<Long, Documento> documentos = new HashMap<>();
+    private double largoTotal = 0;
+
+    /* ================= CARGA INICIAL ================= */
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        candado.writeLock().lock();
+        try {
+            listas.clear();
+            documentos.clear();
+            largoTotal = 0;
+            for (Blog blog : blogRepository.findAll()) {
+                agregarSinCandado(blog);
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /* ================= ACTUALIZACIONES ================= */
+
+    // Indexa un blog nuevo o reemplaza la versión anterior del mismo ID
+    public void indexar(Blog blog) {
+        candado.writeLock().lock();
+        try {
+            removerSinCandado(blog.getId());
+            agregarSinCandado(blog);
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    // Retira un blog eliminado del índice
+    public void remover(Long id) {
+        candado.writeLock().lock();
+        try {
+            removerSinCandado(id);
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    private void agregarSinCandado(Blog blog) {
+        Map<String, Float> frecuencias = new HashMap<>();
+        float largo = acumular(frecuencias, blog.getTitle(), PESO_TITULO)
+                + acumular(frecuencias, blog.getSummary(), PESO_RESUMEN)
+                + acumular(frecuencias, blog.getBody(), PESO_CONTENIDO);
+        for (Map.Entry<String, Float> entrada : frecuencias.entrySet()) {
+            listas.computeIfAbsent(entrada.getKey(), k -> new HashMap<>()).put(blog.getId(), entrada.getValue());
+        }
+        documentos.put(blog.getId(), new Documento(blog.getId(), blog.getTitle(), blog.getSummary(), blog.getAuthor(),
+                blog.getImage(), blog.getBody(), largo, frecuencias.keySet()));
+        largoTotal += largo;
+    }
+
+    private static float acumular(Map<String, Float> frecuencias, String texto, float peso) {
+        List<Termino> terminos = AnalizadorEspanol.analizar(texto);
+        for (Termino termino : terminos) {
+            frecuencias.merge(termino.valor(), peso, Float::sum);
+        }
+        return terminos.size() * peso;
+    }
+
+    private void removerSinCandado(Long id) {
+        Documento anterior = documentos.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        largoTotal -= anterior.largo();
+        for (String termino : anterior.terminos()) {
+            Map<Long, Float> lista = listas.get(termino);
+            if (lista != null) {
+                lista.remove(id);
+                if (lista.isEmpty()) {
+                    listas.remove(termino);
+                }
+            }
+        }
+    }
+
+    /* ================= EVENTOS DEL OUTBOX ================= */
+
+    @Override
+    public String getNombre() {
+        return "blog-indice-busqueda";
+    }
+
+    @Override
+    public boolean interesa(EventoCambio evento) {
+        return evento.getAgregado() == EventoCambio.Agregado.BLOG;
+    }
+
+    // Reindexa cada blog afectado según su estado actual (idempotente: tolera eventos repetidos)
+    @Override
+    public void procesar(List<EventoCambio> eventos) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (EventoCambio evento : eventos) {
+            ids.add(evento.getAgregadoId());
+        }
+        Map<Long, Blog> vigentes = new HashMap<>();
+        for (Blog blog : blogRepository.findAllById(ids)) {
+            vigentes.put(blog.getId(), blog);
+        }
+        candado.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                removerSinCandado(id);
+                Blog blog = vigentes.get(id);
+                if (blog != null) {
+                    agregarSinCandado(blog);
+                }
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /* ================= BÚSQUEDA ================= */
+
+    // Retorna los 'limite' blogs más relevantes para la consulta, con su fragmento resaltado
+    public List<BlogResultadoBusqueda> buscar(String consulta, int limite) {
+        List<String> terminos = AnalizadorEspanol.terminosConsulta(consulta);
+        if (terminos.isEmpty() || limite < 1) {
+            return List.of();
+        }
+        candado.readLock().lock();
+        try {
+            int total = documentos.size();
+            if (total == 0) {
+                return List.of();
+            }
+            double largoPromedio = largoTotal / total;
+
+            // Acumulación de puntajes BM25 recorriendo solo las listas de los términos consultados
+            Map<Long, Double> puntajes = new HashMap<>();
+            for (String termino : terminos) {
+                Map<Long, Float> lista = listas.get(termino);
+                if (lista == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (total - lista.size() + 0.5) / (lista.size() + 0.5));
+                for (Map.Entry<Long, Float> entrada : lista.entrySet()) {
+                    double tf = entrada.getValue();
+                    double largo = documentos.get(entrada.getKey()).largo();
+                    double normalizacion = K1 * (1 - B + B * largo / largoPromedio);
+                    puntajes.merge(entrada.getKey(), idf * tf * (K1 + 1) / (tf + normalizacion), Double::sum);
+                }
+            }
+
+            // Top-k con un montículo de tamaño acotado
+            PriorityQueue<Map.Entry<Long, Double>> mejores = new PriorityQueue<>(
+                    (a, b) -> a.getValue().equals(b.getValue()) ? Long.compare(b.getKey(), a.getKey()) : Double.compare(a.getValue(), b.getValue()));
+            for (Map.Entry<Long, Double> entrada : puntajes.entrySet()) {
+                mejores.offer(entrada);
+                if (mejores.size() > limite) {
+                    mejores.poll();
+                }
+            }
+            Set<String> buscados = new HashSet<>(terminos);
+            List<BlogResultadoBusqueda> resultados = new ArrayList<>(mejores.size());
+            while (!mejores.isEmpty()) {
+                Map.Entry<Long, Double> entrada = mejores.poll();
+                Documento documento = documentos.get(entrada.getKey());
+                resultados.add(0, new BlogResultadoBusqueda(documento.id(), documento.titulo(), documento.resumen(),
+                        documento.autor(), documento.imagen(), entrada.getValue(), fragmento(documento, buscados)));
+            }
+            return resultados;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /* ================= FRAGMENTOS RESALTADOS ================= */
+
+    // Elige el campo con coincidencias (contenido, luego resumen, luego título) y la ventana con más términos encontrados
+    private static String fragmento(Documento documento, Set<String> buscados) {
+        for (String texto : new String[] { documento.contenido(), documento.resumen(), documento.titulo() }) {
+            if (texto == null || texto.isEmpty()) {
+                continue;
+            }
+            List<Termino> coincidencias = new ArrayList<>();
+            for (Termino termino : AnalizadorEspanol.analizar(texto)) {
+                if (buscados.contains(termino.valor())) {
+                    coincidencias.add(termino);
+                }
+            }
+            if (!coincidencias.isEmpty()) {
+                return resaltar(texto, coincidencias);
+            }
+        }
+        String texto = documento.contenido() != null ? documento.contenido() : documento.resumen() != null ? documento.resumen() : "";
+        return escapar(texto.substring(0, Math.min(texto.length(), ANCHO_FRAGMENTO)))
+                + (texto.length() > ANCHO_FRAGMENTO ? "…" : "");
+    }
+
+    private static String resaltar(String texto, List<Termino> coincidencias) {
+        // Ventana deslizante sobre las coincidencias: la que reúne más términos dentro del ancho del fragmento
+        int mejorInicio = 0;
+        int mejorCantidad = 0;
+        int j = 0;
+        for (int i = 0; i < coincidencias.size(); i++) {
+            while (coincidencias.get(i).fin() - coincidencias.get(j).inicio() > ANCHO_FRAGMENTO) {
+                j++;
+            }
+            if (i - j + 1 > mejorCantidad) {
+                mejorCantidad = i - j + 1;
+                mejorInicio = j;
+            }
+        }
+        int desde = Math.max(0, coincidencias.get(mejorInicio).inicio() - ANCHO_FRAGMENTO / 4);
+        while (desde > 0 && !Character.isWhitespace(texto.charAt(desde - 1))) {
+            desde--;
+        }
+        int hasta = Math.min(texto.length(), desde + ANCHO_FRAGMENTO);
+        while (hasta < texto.length() && !Character.isWhitespace(texto.charAt(hasta))) {
+            hasta++;
+        }
+
+        StringBuilder sb = new StringBuilder(ANCHO_FRAGMENTO + 64);
+        if (desde > 0) {
+            sb.append('…');
+        }
+        int cursor = desde;
+        for (Termino termino : coincidencias) {
+            if (termino.inicio() < desde || termino.fin() > hasta) {
+                continue;
+            }
+            sb.append(escapar(texto.substring(cursor, termino.inicio())))
+                    .append("<mark>")
+                    .append(escapar(texto.substring(termino.inicio(), termino.fin())))
+                    .append("</mark>");
+            cursor = termino.fin();
+        }
+        sb.append(escapar(texto.substring(cursor, hasta)));
+        if (hasta < texto.length()) {
+            sb.append('…');
+        }
+        return sb.toString();
+    }
+
+    // Escapa solo los caracteres especiales de HTML (las tildes se mantienen tal cual en UTF-8)
+    private static String escapar(String texto) {
+        return HtmlUtils.htmlEscape(texto, "UTF-8");
+    }
+
+    /* ================= ESTRUCTURAS INTERNAS ================= */
+
+    // Copia de los datos del blog necesarios para resultados y fragmentos
+    private record Documento(Long id, String titulo, String resumen, String autor, String imagen, String contenido,
+                             float largo, Set<String> terminos) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.carrie.hazellabev2.services;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import com.carrie.hazellabev2.entities.Blog;
+import com.carrie.hazellabev2.utils.RespuestaPrecalculada;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/* ================= Caché de Publicaciones de Blog Renderizadas ================= */
+
+/**
+ * Guarda cada publicación ya serializada a JSON y comprimida (RespuestaPrecalculada), por ID, en un LRU acotado.
+ * Las publicaciones se leen mucho más de lo que se escriben: la primera lectura paga la consulta, la
+ * serialización y la compresión, y las siguientes solo eligen la variante según Accept-Encoding.
+ * BlogServiceImpl invalida la entrada al confirmar una actualización o eliminación. Cada invalidación avanza una
+ * generación global: un renderizado iniciado antes de cualquier invalidación se entrega pero no se publica en la
+ * caché, así que nunca reaparece una versión anterior. Como las escrituras son raras, descartar también los
+ * renderizados de otros IDs cuesta poco y evita guardar estado por cada publicación modificada o eliminada.
+ * Las publicaciones son editables: el navegador debe revalidar siempre por ETag (no-cache), lo que con la
+ * respuesta precalculada es un 304 sin tocar la base de datos.
+ */
+@Component
+
+public class BlogRenderCache {
+    // Serializador configurado por Spring, para que el JSON coincida con el resto de la API
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Máximo de publicaciones renderizadas en memoria; al superarlo sale la menos usada recientemente
+    @Value("${hazellab.blogs.cache.max-entradas:500}")
+    private int maxEntradas = 500;
+
+    // Orden de acceso (LRU) protegido por el monitor de esta instancia, igual que la generación
+    private final LinkedHashMap<Long, RespuestaPrecalculada> entradas = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, RespuestaPrecalculada> eldest) {
+            return size() > maxEntradas;
+        }
+    };
+    private long generacion = 0;
+
+    /* ================= CONSULTA ================= */
+
+    // Retorna la publicación renderizada; si no está en caché la carga, serializa y comprime una sola vez
+    public RespuestaPrecalculada obtener(Long id, Supplier<Blog> cargador) {
+        long inicio;
+        synchronized (this) {
+            RespuestaPrecalculada respuesta = entradas.get(id);
+            if (respuesta != null) {
+                return respuesta;
+            }
+            inicio = generacion;
+        }
+        // La consulta y el renderizado quedan fuera del lock
+        RespuestaPrecalculada respuesta = renderizar(cargador.get());
+        synchronized (this) {
+            // Solo se publica si nada se invalidó mientras se renderizaba
+            if (generacion == inicio) {
+                entradas.put(id, respuesta);
+            }
+        }
+        return respuesta;
+    }
+
+    private RespuestaPrecalculada renderizar(Blog blog) {
+        try {
+            return RespuestaPrecalculada.deJson(objectMapper.writeValueAsBytes(blog), CacheControl.noCache());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("No se pudo serializar el blog: " + e.getOriginalMessage());
+        }
+    }
+
+    /* ================= INVALIDACIÓN ================= */
+
+    // Descarta la versión renderizada de un blog modificado o eliminado
+    public synchronized void invalidar(Long id) {
+        generacion++;
+        entradas.remove(id);
+    }
+
+    public synchronized int tamanio() {
+        return entradas.size();
+    }
+}
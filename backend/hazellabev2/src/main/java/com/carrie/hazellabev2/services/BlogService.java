@@ -2,12 +2,20 @@ package com.carrie.hazellabev2.services;
 
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+
+import com.carrie.hazellabev2.dto.BlogResultadoBusqueda;
+import com.carrie.hazellabev2.dto.BlogResumen;
 import com.carrie.hazellabev2.entities.Blog;
+import com.carrie.hazellabev2.utils.RespuestaPrecalculada;
 
 public interface BlogService {
     Blog crear(Blog blog);
     Blog obtenerPorID(Long id);    
     Blog actualizar(Long id, Blog blogActualizado);
     List<Blog> listarTodo();
+    Page<BlogResumen> listarResumen(int pagina, int tamanio);
     void eliminar(Long id);
+    List<BlogResultadoBusqueda> buscar(String consulta, int limite);
+    RespuestaPrecalculada obtenerPublicacion(Long id);
 }
@@ -3,10 +3,21 @@ package com.carrie.hazellabev2.services;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.carrie.hazellabev2.config.LecturaReplica;
+import com.carrie.hazellabev2.dto.BlogResultadoBusqueda;
+import com.carrie.hazellabev2.dto.BlogResumen;
 import com.carrie.hazellabev2.entities.Blog;
+import com.carrie.hazellabev2.entities.EventoCambio.Agregado;
+import com.carrie.hazellabev2.entities.EventoCambio.Tipo;
 import com.carrie.hazellabev2.repositories.BlogRepository;
+import com.carrie.hazellabev2.utils.RespuestaPrecalculada;
+import com.carrie.hazellabev2.utils.Transacciones;
 
 @Service
 
@@ -14,34 +25,88 @@ public class BlogServiceImpl implements BlogService {
     @Autowired
     private BlogRepository blogRepository;
 
+    // Índice invertido en memoria para la búsqueda de texto completo
+    @Autowired
+    private BlogIndiceBusqueda blogIndice;
+
+    // Caché de publicaciones ya serializadas y comprimidas para GET /api/blogs/{id}
+    @Autowired
+    private BlogRenderCache renderCache;
+
+    // Outbox: cada cambio publica su evento en la misma transacción
+    @Autowired
+    private OutboxPublicador outbox;
+
     @Override
+    @Transactional
     public Blog crear(Blog blog) {
-        return blogRepository.save(blog);
+        Blog guardado = blogRepository.save(blog);
+        outbox.publicar(Agregado.BLOG, guardado.getId(), Tipo.CREADO);
+        Transacciones.alConfirmar(() -> blogIndice.indexar(guardado));
+        return guardado;
     }
 
     @Override
+    @LecturaReplica
     public Blog obtenerPorID(Long id) {
         return blogRepository.findById(id)
         .orElseThrow(() -> new RuntimeException("Blog no encontrado."));
     }
 
     @Override
+    @Transactional
     public Blog actualizar(Long id, Blog blogActualizado) {
         Blog blogExistente = obtenerPorID(id);
         blogExistente.setTitle(blogActualizado.getTitle());
         blogExistente.setBody(blogActualizado.getBody());
-        return blogRepository.save(blogExistente);
+        Blog guardado = blogRepository.save(blogExistente);
+        outbox.publicar(Agregado.BLOG, id, Tipo.ACTUALIZADO);
+        // Tras el commit: una lectura concurrente anterior no vuelve a publicar la versión antigua en la caché
+        Transacciones.alConfirmar(() -> {
+            blogIndice.indexar(guardado);
+            renderCache.invalidar(id);
+        });
+        return guardado;
     }
 
     @Override
+    @LecturaReplica
     public List<Blog> listarTodo() {
         return (List<Blog>) blogRepository.findAll();
     }
 
+    // Página de blogs sin el contenido (body): para el índice de publicaciones
     @Override
+    @LecturaReplica
+    public Page<BlogResumen> listarResumen(int pagina, int tamanio) {
+        if (pagina < 0 || tamanio < 1) {
+            throw new RuntimeException("Parámetros de paginación inválidos");
+        }
+        return blogRepository.findAllResumen(PageRequest.of(pagina, tamanio, Sort.by("id")));
+    }
+
+    @Override
+    @Transactional
     public void eliminar(Long id) {
         if (!blogRepository.existsById(id)) {
             throw new RuntimeException("Blog no encontrado");
         } blogRepository.deleteById(id);
+        outbox.publicar(Agregado.BLOG, id, Tipo.ELIMINADO);
+        Transacciones.alConfirmar(() -> {
+            blogIndice.remover(id);
+            renderCache.invalidar(id);
+        });
+    }
+
+    // Publicación completa lista para enviar (JSON precalculado con variante gzip); solo consulta la base de datos si no está en caché
+    @Override
+    public RespuestaPrecalculada obtenerPublicacion(Long id) {
+        return renderCache.obtener(id, () -> obtenerPorID(id));
+    }
+
+    // Búsqueda de texto completo en título, resumen y contenido (índice en memoria, ranking BM25)
+    @Override
+    public List<BlogResultadoBusqueda> buscar(String consulta, int limite) {
+        return blogIndice.buscar(consulta, limite);
     }
 }
@@ -0,0 +1,253 @@
+package com.carrie.hazellabev2.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.carrie.hazellabev2.dto.CategoriaResumen;
+import com.carrie.hazellabev2.entities.Categoria;
+import com.carrie.hazellabev2.entities.Producto;
+import com.carrie.hazellabev2.repositories.CategoriaRepository;
+import com.carrie.hazellabev2.repositories.ProductoRepository;
+import com.carrie.hazellabev2.utils.Transacciones;
+
+/* ================= Modelo de Lectura de Categorías con Conteo de Productos ================= */
+
+/**
+ * Mantiene en memoria las categorías y la cantidad de productos activos de cada una.
+ * Se carga una vez al iniciar (un GROUP BY sobre productos) y luego se actualiza de forma incremental
+ * cuando ProductoServiceImpl crea, modifica, desactiva o elimina un producto, y cuando CategoriaServiceImpl
+ * cambia una categoría. Los ajustes se aplican cuando la transacción que los origina se confirma (un rollback no
+ * altera los conteos). Tras cada cambio se recalculan las vistas (plana y árbol con totales por subárbol),
+ * de modo que las lecturas solo devuelven la última vista publicada, sin consultar la base de datos.
+ */
+@Component
+
+public class CategoriaCatalogo {
+    // Repositorios usados solo en la carga inicial
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    // Estado mutable protegido por el monitor de esta instancia
+    private final Map<Long, Categoria> categorias = new LinkedHashMap<>();
+    private final Map<Long, Long> activosPorCategoria = new HashMap<>();
+    private boolean cargado = false;
+
+    // Vistas publicadas (inmutables) para lecturas concurrentes sin bloqueo
+    private volatile List<CategoriaResumen> listado;
+    private volatile List<CategoriaResumen> arbol;
+
+    /* ================= CARGA INICIAL ================= */
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void cargar() {
+        categorias.clear();
+        activosPorCategoria.clear();
+        for (Categoria categoria : categoriaRepository.findAll()) {
+            categorias.put(categoria.getId(), copiar(categoria));
+        }
+        for (Object[] fila : productoRepository.contarActivosPorCategoria()) {
+            activosPorCategoria.put((Long) fila[0], (Long) fila[1]);
+        }
+        cargado = true;
+        publicar();
+    }
+
+    /* ================= CONSULTAS ================= */
+
+    // Listado plano de categorías con sus conteos (orden por ID)
+    public List<CategoriaResumen> listar() {
+        asegurarCargado();
+        return listado;
+    }
+
+    // Categorías de primer nivel con sus subcategorías anidadas y totales por subárbol
+    public List<CategoriaResumen> listarArbol() {
+        asegurarCargado();
+        return arbol;
+    }
+
+    private void asegurarCargado() {
+        if (listado == null) {
+            cargar();
+        }
+    }
+
+    /* ================= ACTUALIZACIONES INCREMENTALES ================= */
+
+    // Ajusta los conteos tras un cambio de producto. Recibe categoría y estado antes y después (null/false si no existía o ya no existe)
+    public void ajustarProducto(Long categoriaAnterior, boolean activoAnterior, Long categoriaNueva, boolean activoNuevo) {
+        Transacciones.alConfirmar(() -> aplicarProducto(categoriaAnterior, activoAnterior, categoriaNueva, activoNuevo));
+    }
+
+    // Atajo para el caso habitual: estado de un producto antes y después de la operación (null si no existía o fue eliminado)
+    public void ajustarProducto(Producto anterior, Producto nuevo) {
+        ajustarProducto(categoriaId(anterior), activo(anterior), categoriaId(nuevo), activo(nuevo));
+    }
+
+    // Registra una categoría creada o modificada (se copia ahora: la entidad puede seguir cambiando antes del commit)
+    public void registrarCategoria(Categoria categoria) {
+        Categoria copia = copiar(categoria);
+        Transacciones.alConfirmar(() -> aplicarCategoria(copia));
+    }
+
+    // Retira una categoría eliminada
+    public void removerCategoria(Long id) {
+        Transacciones.alConfirmar(() -> aplicarRemocion(id));
+    }
+
+
+    synchronized void aplicarProducto(Long categoriaAnterior, boolean activoAnterior, Long categoriaNueva, boolean activoNuevo) {
+        if (!cargado) {
+            return;
+        }
+        boolean contabaAntes = activoAnterior && categoriaAnterior != null;
+        boolean cuentaAhora = activoNuevo && categoriaNueva != null;
+        if (contabaAntes && cuentaAhora && categoriaAnterior.equals(categoriaNueva)) {
+            return;
+        }
+        if (!contabaAntes && !cuentaAhora) {
+            return;
+        }
+        if (contabaAntes) {
+            activosPorCategoria.merge(categoriaAnterior, -1L, (a, b) -> a + b <= 0 ? null : a + b);
+        }
+        if (cuentaAhora) {
+            activosPorCategoria.merge(categoriaNueva, 1L, Long::sum);
+        }
+        publicar();
+    }
+
+    synchronized void aplicarCategoria(Categoria copia) {
+        if (!cargado) {
+            return;
+        }
+        categorias.put(copia.getId(), copia);
+        publicar();
+    }
+
+    synchronized void aplicarRemocion(Long id) {
+        if (!cargado) {
+            return;
+        }
+        categorias.remove(id);
+        activosPorCategoria.remove(id);
+        publicar();
+    }
+
+    // Indica si la categoría 'posibleDescendiente' pertenece al subárbol de 'ancestro' (para evitar ciclos)
+    public synchronized boolean esDescendiente(Long posibleDescendiente, Long ancestro) {
+        if (!cargado) {
+            cargar();
+        }
+        Long actual = posibleDescendiente;
+        int pasos = 0;
+        while (actual != null && pasos++ <= categorias.size()) {
+            if (actual.equals(ancestro)) {
+                return true;
+            }
+            Categoria categoria = categorias.get(actual);
+            actual = categoria == null ? null : categoria.getPadreId();
+        }
+        return false;
+    }
+
+    /* ================= CONSTRUCCIÓN DE VISTAS ================= */
+
+    // Recalcula ambas vistas a partir del estado actual (se llama siempre dentro del monitor)
+    private void publicar() {
+        Map<Long, List<Categoria>> hijosPorPadre = new HashMap<>();
+        List<Categoria> raices = new ArrayList<>();
+        for (Categoria categoria : categorias.values()) {
+            Long padre = categoria.getPadreId();
+            // Un padre inexistente o un ciclo no deben ocultar la categoría: se trata como raíz
+            if (padre == null || !categorias.containsKey(padre) || formaCiclo(categoria)) {
+                raices.add(categoria);
+            } else {
+                hijosPorPadre.computeIfAbsent(padre, k -> new ArrayList<>()).add(categoria);
+            }
+        }
+
+        Map<Long, CategoriaResumen> nodos = new HashMap<>();
+        List<CategoriaResumen> nuevoArbol = new ArrayList<>(raices.size());
+        Comparator<Categoria> porId = Comparator.comparing(Categoria::getId);
+        raices.sort(porId);
+        for (Categoria raiz : raices) {
+            nuevoArbol.add(construirNodo(raiz, hijosPorPadre, porId, nodos));
+        }
+
+        List<CategoriaResumen> nuevoListado = new ArrayList<>(categorias.size());
+        List<Long> ids = new ArrayList<>(categorias.keySet());
+        ids.sort(Comparator.naturalOrder());
+        for (Long id : ids) {
+            CategoriaResumen nodo = nodos.get(id);
+            nuevoListado.add(new CategoriaResumen(nodo.getId(), nodo.getNombre(), nodo.getPadreId(),
+                    nodo.getCantidadProductos(), nodo.getCantidadProductosTotal(), null));
+        }
+        arbol = List.copyOf(nuevoArbol);
+        listado = List.copyOf(nuevoListado);
+    }
+
+    // Construye el nodo en post-orden: el total del subárbol se suma desde las hojas
+    private CategoriaResumen construirNodo(Categoria categoria, Map<Long, List<Categoria>> hijosPorPadre,
+                                           Comparator<Categoria> orden, Map<Long, CategoriaResumen> nodos) {
+        List<Categoria> hijos = hijosPorPadre.getOrDefault(categoria.getId(), List.of());
+        List<CategoriaResumen> subcategorias = new ArrayList<>(hijos.size());
+        long propios = activosPorCategoria.getOrDefault(categoria.getId(), 0L);
+        long total = propios;
+        List<Categoria> ordenados = new ArrayList<>(hijos);
+        ordenados.sort(orden);
+        for (Categoria hijo : ordenados) {
+            CategoriaResumen sub = construirNodo(hijo, hijosPorPadre, orden, nodos);
+            subcategorias.add(sub);
+            total += sub.getCantidadProductosTotal();
+        }
+        CategoriaResumen nodo = new CategoriaResumen(categoria.getId(), categoria.getNombre(), categoria.getPadreId(),
+                propios, total, List.copyOf(subcategorias));
+        nodos.put(categoria.getId(), nodo);
+        return nodo;
+    }
+
+    private boolean formaCiclo(Categoria categoria) {
+        Long actual = categoria.getPadreId();
+        int pasos = 0;
+        while (actual != null && pasos++ <= categorias.size()) {
+            if (actual.equals(categoria.getId())) {
+                return true;
+            }
+            Categoria padre = categorias.get(actual);
+            actual = padre == null ? null : padre.getPadreId();
+        }
+        return actual != null;
+    }
+
+    /* ================= UTILIDADES ================= */
+
+    // Copia sin la colección de productos, para no retener entidades de JPA
+    private static Categoria copiar(Categoria categoria) {
+        Categoria copia = new Categoria();
+        copia.setId(categoria.getId());
+        copia.setNombre(categoria.getNombre());
+        copia.setPadreId(categoria.getPadreId());
+        return copia;
+    }
+
+    private static Long categoriaId(Producto producto) {
+        return producto == null || producto.getCategory() == null ? null : producto.getCategory().getId();
+    }
+
+    private static boolean activo(Producto producto) {
+        return producto != null && Boolean.TRUE.equals(producto.getActiveStatus());
+    }
+}
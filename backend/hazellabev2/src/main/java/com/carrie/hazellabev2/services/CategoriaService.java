@@ -2,6 +2,7 @@ package com.carrie.hazellabev2.services;
 
 import java.util.List;
 
+import com.carrie.hazellabev2.dto.CategoriaResumen;
 import com.carrie.hazellabev2.entities.Categoria;
 
 public interface CategoriaService {
@@ -10,4 +11,6 @@ public interface CategoriaService {
     Categoria actualizar(Long id, Categoria categoriaActualizada);
     List<Categoria> listarTodo();
     void eliminar(Long id);
+    List<CategoriaResumen> listarResumen();
+    List<CategoriaResumen> listarArbol();
 }
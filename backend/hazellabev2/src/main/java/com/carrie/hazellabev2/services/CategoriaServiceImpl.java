@@ -4,8 +4,13 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.carrie.hazellabev2.config.LecturaReplica;
+import com.carrie.hazellabev2.dto.CategoriaResumen;
 import com.carrie.hazellabev2.entities.Categoria;
+import com.carrie.hazellabev2.entities.EventoCambio.Agregado;
+import com.carrie.hazellabev2.entities.EventoCambio.Tipo;
 import com.carrie.hazellabev2.repositories.CategoriaRepository;
 
 /* ================= Implementación de Servicio para Gestión de Categorías ================= */
@@ -17,16 +22,30 @@ public class CategoriaServiceImpl implements CategoriaService {
     @Autowired
     private CategoriaRepository categoriaRepository;
 
+    // Modelo de lectura con conteos de productos y jerarquía de categorías
+    @Autowired
+    private CategoriaCatalogo categoriaCatalogo;
+
+    // Outbox: cada cambio publica su evento en la misma transacción
+    @Autowired
+    private OutboxPublicador outbox;
+
     /* ================= OPERACIONES CRUD PARA CATEGORÍAS ================= */
     
     // Crea una nueva categoría en el sistema - persiste la entidad completa en la base de datos
     @Override
+    @Transactional
     public Categoria crear(Categoria categoria) {
-        return categoriaRepository.save(categoria);
+        validarPadre(null, categoria.getPadreId());
+        Categoria guardada = categoriaRepository.save(categoria);
+        outbox.publicar(Agregado.CATEGORIA, guardada.getId(), Tipo.CREADO);
+        categoriaCatalogo.registrarCategoria(guardada);
+        return guardada;
     }
 
     // Obtiene una categoría específica por su ID - lanza excepción si no existe para evitar null pointers
     @Override
+    @LecturaReplica
     public Categoria obtenerPorID(Long id) {
         return categoriaRepository.findById(id)
         .orElseThrow(() -> new RuntimeException("Categoría no encontrada."));
@@ -34,28 +53,71 @@ public class CategoriaServiceImpl implements CategoriaService {
 
     // Actualiza una categoría existente - verifica existencia y actualiza solo el campo nombre
     @Override
+    @Transactional
     public Categoria actualizar(Long id, Categoria categoriaActualizada) {
         // Valida que la categoría exista antes de intentar actualización
         Categoria categoriaExistente = obtenerPorID(id);
         
-        // Actualiza únicamente el nombre - estrategia de actualización granular
+        // Actualiza únicamente el nombre y la categoría padre - estrategia de actualización granular
+        validarPadre(id, categoriaActualizada.getPadreId());
         categoriaExistente.setNombre(categoriaActualizada.getNombre());
+        categoriaExistente.setPadreId(categoriaActualizada.getPadreId());
         
-        return categoriaRepository.save(categoriaExistente);
+        Categoria guardada = categoriaRepository.save(categoriaExistente);
+        outbox.publicar(Agregado.CATEGORIA, id, Tipo.ACTUALIZADO);
+        categoriaCatalogo.registrarCategoria(guardada);
+        return guardada;
     };
 
     // Obtiene todas las categorías del sistema - conversión necesaria por herencia de CrudRepository
     @Override
+    @LecturaReplica
     public List<Categoria> listarTodo() {
         return (List<Categoria>) categoriaRepository.findAll();
     };
 
     // Elimina una categoría por su ID - verifica existencia previa para evitar errores
     @Override
+    @Transactional
     public void eliminar(Long id) {
         if (!categoriaRepository.existsById(id)) {
             throw new RuntimeException("Categoría no encontrada.");
         } 
+        if (categoriaRepository.existsByPadreId(id)) {
+            throw new RuntimeException("La categoría tiene subcategorías.");
+        }
         categoriaRepository.deleteById(id);
+        outbox.publicar(Agregado.CATEGORIA, id, Tipo.ELIMINADO);
+        categoriaCatalogo.removerCategoria(id);
     };
+
+    /* ================= CATÁLOGO CON CONTEOS Y JERARQUÍA ================= */
+
+    // Listado plano con conteo de productos activos por categoría y por subárbol (servido desde memoria)
+    @Override
+    public List<CategoriaResumen> listarResumen() {
+        return categoriaCatalogo.listar();
+    }
+
+    // Categorías de primer nivel con sus subcategorías anidadas y totales por subárbol (servido desde memoria)
+    @Override
+    public List<CategoriaResumen> listarArbol() {
+        return categoriaCatalogo.listarArbol();
+    }
+
+    // Valida que la categoría padre exista y que asignarla no forme un ciclo en la jerarquía
+    private void validarPadre(Long id, Long padreId) {
+        if (padreId == null) {
+            return;
+        }
+        if (padreId.equals(id)) {
+            throw new RuntimeException("Una categoría no puede ser su propia categoría padre.");
+        }
+        if (!categoriaRepository.existsById(padreId)) {
+            throw new RuntimeException("Categoría padre no encontrada.");
+        }
+        if (id != null && categoriaCatalogo.esDescendiente(padreId, id)) {
+            throw new RuntimeException("La categoría padre no puede ser una subcategoría de esta categoría.");
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,244 @@
+package com.carrie.hazellabev2.services;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.carrie.hazellabev2.dto.IndicadoresKpi;
+import com.carrie.hazellabev2.entities.Producto;
+import com.carrie.hazellabev2.entities.Usuario;
+import com.carrie.hazellabev2.repositories.ProductoRepository;
+import com.carrie.hazellabev2.repositories.UsuarioRepository;
+import com.carrie.hazellabev2.utils.Transacciones;
+
+/* ================= Contadores en Vivo de Indicadores del Dashboard ================= */
+
+/**
+ * Mantiene en memoria, con LongAdder, los productos activos, con stock crítico y destacados, y los usuarios
+ * activos por rol. ContadoresKpiListener le entrega cada alta, modificación o baja de Producto y Usuario,
+ * y el cambio se aplica al confirmarse la transacción: leer un indicador es O(1) y refleja el último commit.
+ * Para comparar el estado anterior con el nuevo se guarda, por ID, el estado con que cada entidad está contada;
+ * aplicar dos veces el mismo estado no cambia nada. Las escrituras que no pasan por JPA (SQL directo, otra
+ * instancia) dejan los contadores desfasados: una conciliación periódica los recalcula desde la base de datos
+ * y corrige la diferencia.
+ */
+@Component
+
+public class ContadoresKpi {
+    private static final Logger log = LoggerFactory.getLogger(ContadoresKpi.class);
+    private static final String SIN_ROL = "sin-rol";
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    // Intervalo entre conciliaciones completas contra la base de datos (segundos)
+    @Value("${hazellab.kpi.conciliar-segundos:300}")
+    private long conciliarSegundos = 300;
+
+    private final LongAdder productosActivos = new LongAdder();
+    private final LongAdder productosStockBajo = new LongAdder();
+    private final LongAdder productosDestacados = new LongAdder();
+    private final Map<String, LongAdder> usuariosActivosPorRol = new ConcurrentHashMap<>();
+
+    // Estado con que está contada cada entidad
+    private final Map<Long, EstadoProducto> productos = new ConcurrentHashMap<>();
+    private final Map<Long, String> usuarios = new ConcurrentHashMap<>();
+
+    // Los cambios se aplican en paralelo (lectura); la conciliación reemplaza el estado en exclusiva (escritura)
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+    // Se incrementa con cada cambio aplicado: una conciliación que se cruzó con cambios se descarta y se repite
+    private final AtomicLong version = new AtomicLong();
+    private volatile boolean cargado = false;
+    private volatile long ultimaConciliacionNanos;
+    private volatile LocalDateTime ultimaConciliacion;
+    private final AtomicLong correcciones = new AtomicLong();
+
+    /* ================= CONSULTA ================= */
+
+    public IndicadoresKpi obtener() {
+        Map<String, Long> porRol = new TreeMap<>();
+        usuariosActivosPorRol.forEach((rol, contador) -> {
+            long valor = contador.sum();
+            if (valor > 0) {
+                porRol.put(rol, valor);
+            }
+        });
+        return new IndicadoresKpi(productosActivos.sum(), productosStockBajo.sum(), productosDestacados.sum(),
+                porRol, ultimaConciliacion, correcciones.get());
+    }
+
+    /* ================= CAMBIOS DESDE LOS LISTENERS JPA ================= */
+
+    // Estado nuevo de un producto (null si se eliminó); se aplica cuando la transacción se confirma
+    void productoCambiado(Long id, Producto producto) {
+        EstadoProducto nuevo = producto == null ? null : EstadoProducto.de(producto);
+        Transacciones.alConfirmar(() -> aplicarProducto(id, nuevo));
+    }
+
+    // Estado nuevo de un usuario (null si se eliminó); se aplica cuando la transacción se confirma
+    void usuarioCambiado(Long id, Usuario usuario) {
+        String nuevo = usuario == null ? null : rolActivo(usuario.getRole(), usuario.getStatus());
+        Transacciones.alConfirmar(() -> aplicarUsuario(id, nuevo));
+    }
+
+
+    void aplicarProducto(Long id, EstadoProducto nuevo) {
+        // Antes de la carga inicial el cambio ya queda incluido en la consulta de carga
+        if (!cargado || id == null) {
+            return;
+        }
+        candado.readLock().lock();
+        try {
+            // compute es atómico por ID: dos cambios del mismo producto no se intercalan
+            productos.compute(id, (clave, anterior) -> {
+                ajustar(productosActivos, anterior != null && anterior.activo(), nuevo != null && nuevo.activo());
+                ajustar(productosStockBajo, anterior != null && anterior.stockBajo(), nuevo != null && nuevo.stockBajo());
+                ajustar(productosDestacados, anterior != null && anterior.destacado(), nuevo != null && nuevo.destacado());
+                return nuevo;
+            });
+            version.incrementAndGet();
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    void aplicarUsuario(Long id, String nuevoRol) {
+        if (!cargado || id == null) {
+            return;
+        }
+        candado.readLock().lock();
+        try {
+            usuarios.compute(id, (clave, anteriorRol) -> {
+                if (anteriorRol != null && !anteriorRol.equals(nuevoRol)) {
+                    contadorRol(anteriorRol).decrement();
+                }
+                if (nuevoRol != null && !nuevoRol.equals(anteriorRol)) {
+                    contadorRol(nuevoRol).increment();
+                }
+                return nuevoRol;
+            });
+            version.incrementAndGet();
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /* ================= CARGA INICIAL Y CONCILIACIÓN ================= */
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        conciliar();
+    }
+
+    // Revisión frecuente y barata; solo consulta la base de datos cuando corresponde conciliar
+    @Scheduled(initialDelayString = "${hazellab.kpi.revision-ms:1000}", fixedDelayString = "${hazellab.kpi.revision-ms:1000}")
+    public void revisar() {
+        if (!cargado || System.nanoTime() - ultimaConciliacionNanos >= TimeUnit.SECONDS.toNanos(conciliarSegundos)) {
+            conciliar();
+        }
+    }
+
+    // Recalcula el estado desde la base de datos (dos consultas de pocas columnas) y corrige los contadores
+    public synchronized boolean conciliar() {
+        long versionInicial = version.get();
+        Map<Long, EstadoProducto> productosBd = new HashMap<>();
+        for (Object[] fila : productoRepository.listarEstadoKpi()) {
+            productosBd.put((Long) fila[0], new EstadoProducto(Boolean.TRUE.equals(fila[1]),
+                    ((Number) fila[2]).intValue() <= ((Number) fila[3]).intValue(), Boolean.TRUE.equals(fila[4])));
+        }
+        Map<Long, String> usuariosBd = new HashMap<>();
+        for (Object[] fila : usuarioRepository.listarEstadoKpi()) {
+            String rol = rolActivo((String) fila[1], (String) fila[2]);
+            if (rol != null) {
+                usuariosBd.put((Long) fila[0], rol);
+            }
+        }
+
+        candado.writeLock().lock();
+        try {
+            // Un cambio aplicado mientras se consultaba puede no estar en la lectura: se reintenta en la próxima revisión
+            if (cargado && version.get() != versionInicial) {
+                log.debug("Conciliación de indicadores descartada por cambios concurrentes; se reintentará");
+                return false;
+            }
+            long diferencia = corregir(productosActivos, productosBd.values().stream().filter(EstadoProducto::activo).count())
+                    + corregir(productosStockBajo, productosBd.values().stream().filter(EstadoProducto::stockBajo).count())
+                    + corregir(productosDestacados, productosBd.values().stream().filter(EstadoProducto::destacado).count());
+            Map<String, Long> porRol = new HashMap<>();
+            usuariosBd.values().forEach(rol -> porRol.merge(rol, 1L, Long::sum));
+            for (String rol : usuariosActivosPorRol.keySet()) {
+                porRol.putIfAbsent(rol, 0L);
+            }
+            for (Map.Entry<String, Long> entrada : porRol.entrySet()) {
+                diferencia += corregir(contadorRol(entrada.getKey()), entrada.getValue());
+            }
+            productos.clear();
+            productos.putAll(productosBd);
+            usuarios.clear();
+            usuarios.putAll(usuariosBd);
+            if (cargado && diferencia > 0) {
+                correcciones.addAndGet(diferencia);
+                log.warn("Indicadores del dashboard desfasados respecto de la base de datos; se corrigieron {} unidades", diferencia);
+            }
+            cargado = true;
+            ultimaConciliacion = LocalDateTime.now();
+            ultimaConciliacionNanos = System.nanoTime();
+            return true;
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /* ================= UTILIDADES ================= */
+
+    private static void ajustar(LongAdder contador, boolean antes, boolean despues) {
+        if (antes != despues) {
+            contador.add(despues ? 1 : -1);
+        }
+    }
+
+    // Lleva el contador al valor de la base de datos y retorna la magnitud de la corrección
+    private static long corregir(LongAdder contador, long valor) {
+        long diferencia = valor - contador.sum();
+        contador.add(diferencia);
+        return Math.abs(diferencia);
+    }
+
+    private LongAdder contadorRol(String rol) {
+        return usuariosActivosPorRol.computeIfAbsent(rol, r -> new LongAdder());
+    }
+
+    // Rol con que cuenta un usuario activo; null si no está activo
+    private static String rolActivo(String rol, String estado) {
+        if (!"activo".equals(estado)) {
+            return null;
+        }
+        return rol == null || rol.isBlank() ? SIN_ROL : rol;
+    }
+
+    // Aporte de un producto a los indicadores
+    record EstadoProducto(boolean activo, boolean stockBajo, boolean destacado) {
+        static EstadoProducto de(Producto producto) {
+            return new EstadoProducto(Boolean.TRUE.equals(producto.getActiveStatus()),
+                    producto.getStock() <= producto.getStockCritico(), Boolean.TRUE.equals(producto.getDestacado()));
+        }
+    }
+}
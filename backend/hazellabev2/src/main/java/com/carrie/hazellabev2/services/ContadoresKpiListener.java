@@ -0,0 +1,51 @@
+package com.carrie.hazellabev2.services;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.carrie.hazellabev2.entities.Producto;
+import com.carrie.hazellabev2.entities.Usuario;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/* ================= Listener JPA de los Contadores del Dashboard ================= */
+
+/**
+ * Registrado con @EntityListeners en Producto y Usuario: entrega a ContadoresKpi el estado resultante de
+ * cada inserción, actualización o eliminación, después de que Hibernate la escribió. Hibernate crea el listener
+ * a través de Spring; ContadoresKpi se resuelve en el primer uso porque depende de repositorios que a su vez
+ * necesitan la fábrica de EntityManager que se está construyendo.
+ */
+public class ContadoresKpiListener {
+    @Autowired
+    private ObjectProvider<ContadoresKpi> contadores;
+
+    @PostPersist
+    @PostUpdate
+    void guardado(Object entidad) {
+        ContadoresKpi kpi = contadores.getIfAvailable();
+        if (kpi == null) {
+            return;
+        }
+        if (entidad instanceof Producto producto) {
+            kpi.productoCambiado(producto.getId(), producto);
+        } else if (entidad instanceof Usuario usuario) {
+            kpi.usuarioCambiado(usuario.getId(), usuario);
+        }
+    }
+
+    @PostRemove
+    void eliminado(Object entidad) {
+        ContadoresKpi kpi = contadores.getIfAvailable();
+        if (kpi == null) {
+            return;
+        }
+        if (entidad instanceof Producto producto) {
+            kpi.productoCambiado(producto.getId(), null);
+        } else if (entidad instanceof Usuario usuario) {
+            kpi.usuarioCambiado(usuario.getId(), null);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.carrie.hazellabev2.services;
+
+import java.util.List;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.carrie.hazellabev2.dto.AlertaStock;
+import com.carrie.hazellabev2.dto.EstadisticaCache;
+import com.carrie.hazellabev2.dto.EstadisticasDashboard;
+import com.carrie.hazellabev2.dto.EstadoReplica;
+import com.carrie.hazellabev2.dto.IndicadoresKpi;
+import com.carrie.hazellabev2.dto.ProductoVendido;
+
+public interface DashboardService {
+    /* ---------------------------------- Indicadores del panel ---------------------------------- */
+    EstadisticasDashboard obtenerEstadisticas();
+    IndicadoresKpi obtenerIndicadoresEnVivo();
+    List<ProductoVendido> productosMasVendidos(RankingVentas.Ventana ventana, int limite);
+    List<AlertaStock> alertasStock(long desde);
+    SseEmitter suscribirActividad();
+    List<EstadisticaCache> estadisticasCache();
+    List<EstadoReplica> estadoReplicas();
+}
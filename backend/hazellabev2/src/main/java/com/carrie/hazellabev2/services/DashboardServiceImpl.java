@@ -0,0 +1,232 @@
+package com.carrie.hazellabev2.services;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.carrie.hazellabev2.config.FabricaRegionesCache;
+import com.carrie.hazellabev2.dto.AlertaStock;
+import com.carrie.hazellabev2.dto.EstadisticaCache;
+import com.carrie.hazellabev2.dto.EstadisticasDashboard;
+import com.carrie.hazellabev2.dto.EstadoReplica;
+import com.carrie.hazellabev2.dto.IndicadoresKpi;
+import com.carrie.hazellabev2.dto.ProductoVendido;
+import com.carrie.hazellabev2.entities.EventoCambio;
+import com.carrie.hazellabev2.entities.Producto;
+import com.carrie.hazellabev2.repositories.CategoriaRepository;
+import com.carrie.hazellabev2.repositories.ProductoRepository;
+import com.carrie.hazellabev2.repositories.UsuarioRepository;
+import com.carrie.hazellabev2.utils.MapaAcotado;
+import com.carrie.hazellabev2.utils.RankingIncremental.Posicion;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/* ================= Servicio de Indicadores del Dashboard de Administración ================= */
+
+/**
+ * Calcula los indicadores del panel con tres consultas agregadas (productos, usuarios, categorías), cuyo
+ * costo no depende de descargar filas, y guarda el resultado unos segundos: las recargas del panel y varios
+ * administradores a la vez comparten el mismo cálculo. Si la caché venció, solo una solicitud recalcula
+ * y las concurrentes esperan ese resultado. Como suscriptor del outbox, un cambio de producto o categoría
+ * descarta la caché para que el siguiente acceso vea los valores nuevos sin esperar el vencimiento.
+ * El ranking de más vendidos se lee de RankingVentas (en memoria) y solo consulta los K productos por ID;
+ * los indicadores en vivo se leen de ContadoresKpi y las alertas de stock crítico de AlertasStock, sin consultar
+ * la base de datos. Las estadísticas de la caché de segundo nivel combinan los contadores de Hibernate
+ * (aciertos, fallos, escrituras) con la ocupación de cada región de FabricaRegionesCache.
+ */
+@Service
+
+public class DashboardServiceImpl implements DashboardService, SuscriptorCambios {
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private RankingVentas rankingVentas;
+
+    @Autowired
+    private ContadoresKpi contadoresKpi;
+
+    @Autowired
+    private AlertasStock alertasStock;
+
+    @Autowired
+    private FeedActividad feedActividad;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MonitorReplicas monitorReplicas;
+
+    // Máximo de filas del ranking por solicitud
+    static final int MAX_RANKING = 50;
+
+    // Duración de la caché de indicadores (segundos)
+    @Value("${hazellab.dashboard.cache-segundos:10}")
+    private long cacheSegundos = 10;
+
+    private volatile Instantanea actual;
+    // Se incrementa con cada invalidación: un cálculo iniciado antes de un cambio no se publica como vigente
+    private final AtomicLong generacion = new AtomicLong();
+
+    /* ================= CONSULTA ================= */
+
+    @Override
+    public EstadisticasDashboard obtenerEstadisticas() {
+        Instantanea instantanea = actual;
+        if (instantanea != null && vigente(instantanea)) {
+            return instantanea.estadisticas();
+        }
+        return recalcular();
+    }
+
+    // Recalcula una sola vez aunque lleguen varias solicitudes con la caché vencida
+    private synchronized EstadisticasDashboard recalcular() {
+        Instantanea instantanea = actual;
+        if (instantanea != null && vigente(instantanea)) {
+            return instantanea.estadisticas();
+        }
+        long generacionInicial = generacion.get();
+        Object[] inventario = primeraFila(productoRepository.resumirInventario(), 5);
+        Object[] usuarios = primeraFila(usuarioRepository.contarPorEstado(), 2);
+        EstadisticasDashboard estadisticas = new EstadisticasDashboard(
+                numero(usuarios[0]), numero(usuarios[1]),
+                numero(inventario[0]), numero(inventario[1]), numero(inventario[2]),
+                categoriaRepository.count(),
+                numero(inventario[3]), numero(inventario[4]),
+                LocalDateTime.now());
+        if (generacion.get() == generacionInicial) {
+            actual = new Instantanea(estadisticas, System.nanoTime());
+        }
+        return estadisticas;
+    }
+
+    private boolean vigente(Instantanea instantanea) {
+        return System.nanoTime() - instantanea.calculadaEn() < TimeUnit.SECONDS.toNanos(cacheSegundos);
+    }
+
+    /* ================= INDICADORES EN VIVO ================= */
+
+    // Contadores mantenidos por los listeners JPA: lectura O(1), vigentes al último commit
+    @Override
+    public IndicadoresKpi obtenerIndicadoresEnVivo() {
+        return contadoresKpi.obtener();
+    }
+
+    // Cruces del umbral de stock crítico posteriores a la secuencia indicada (solo cambios, no el estado completo)
+    @Override
+    public List<AlertaStock> alertasStock(long desde) {
+        return alertasStock.listarDesde(desde);
+    }
+
+    // Conexión SSE al feed de actividad en vivo (lotes cada 250 ms, compartidos por todos los paneles)
+    @Override
+    public SseEmitter suscribirActividad() {
+        return feedActividad.suscribir();
+    }
+
+    /* ================= CACHÉ DE SEGUNDO NIVEL ================= */
+
+    // Una fila por región (entidades, resultados de consultas y marcas de tiempo), en orden alfabético
+    @Override
+    public List<EstadisticaCache> estadisticasCache() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Statistics estadisticas = sessionFactory.getStatistics();
+        RegionFactory regionFactory = sessionFactory.getServiceRegistry().getService(RegionFactory.class);
+        Map<String, MapaAcotado<Object, Object>> regiones = regionFactory instanceof FabricaRegionesCache fabrica
+                ? fabrica.getRegiones() : Map.of();
+        List<EstadisticaCache> resultado = new ArrayList<>(regiones.size());
+        for (Map.Entry<String, MapaAcotado<Object, Object>> region : regiones.entrySet()) {
+            MapaAcotado<Object, Object> mapa = region.getValue();
+            CacheRegionStatistics contadores = estadisticas.getCacheRegionStatistics(region.getKey());
+            resultado.add(new EstadisticaCache(region.getKey(), mapa.tamanio(), mapa.getMaxEntradas(), mapa.getExpulsiones(),
+                    contadores == null ? 0 : contadores.getHitCount(),
+                    contadores == null ? 0 : contadores.getMissCount(),
+                    contadores == null ? 0 : contadores.getPutCount()));
+        }
+        return resultado;
+    }
+
+    // Destinos del enrutamiento de lecturas: la primaria y cada réplica con su retraso medido
+    @Override
+    public List<EstadoReplica> estadoReplicas() {
+        return monitorReplicas.estado();
+    }
+
+    /* ================= PRODUCTOS MÁS VENDIDOS ================= */
+
+    // Los K más vendidos de la ventana con los datos actuales de cada producto (una consulta por clave primaria)
+    @Override
+    public List<ProductoVendido> productosMasVendidos(RankingVentas.Ventana ventana, int limite) {
+        List<Posicion> posiciones = rankingVentas.primeros(ventana, Math.max(1, Math.min(limite, MAX_RANKING)));
+        if (posiciones.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Producto> productos = new HashMap<>();
+        for (Producto producto : productoRepository.findAllById(posiciones.stream().map(Posicion::clave).toList())) {
+            productos.put(producto.getId(), producto);
+        }
+        List<ProductoVendido> resultado = new ArrayList<>(posiciones.size());
+        for (Posicion posicion : posiciones) {
+            Producto producto = productos.get(posicion.clave());
+            // Un producto eliminado del catálogo conserva sus ventas en el historial pero no se muestra
+            if (producto != null) {
+                resultado.add(new ProductoVendido(producto.getId(), producto.getName(), producto.getImage(),
+                        producto.getCost(), producto.getStock(), producto.getActiveStatus(), posicion.total()));
+            }
+        }
+        return resultado;
+    }
+
+    /* ================= INVALIDACIÓN POR EVENTOS DEL OUTBOX ================= */
+
+    @Override
+    public String getNombre() {
+        return "dashboard-estadisticas";
+    }
+
+    @Override
+    public boolean interesa(EventoCambio evento) {
+        return evento.getAgregado() != EventoCambio.Agregado.BLOG;
+    }
+
+    @Override
+    public void procesar(List<EventoCambio> eventos) {
+        generacion.incrementAndGet();
+        actual = null;
+    }
+
+    /* ================= UTILIDADES ================= */
+
+    // Una consulta agregada sin GROUP BY siempre retorna una fila; se protege igual contra resultados vacíos
+    private static Object[] primeraFila(List<Object[]> filas, int columnas) {
+        return filas.isEmpty() ? new Object[columnas] : filas.get(0);
+    }
+
+    private static long numero(Object valor) {
+        return valor == null ? 0 : ((Number) valor).longValue();
+    }
+
+    // Resultado calculado junto con el instante (monótono) en que se calculó
+    private record Instantanea(EstadisticasDashboard estadisticas, long calculadaEn) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.carrie.hazellabev2.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportacionService {
+    // Tablas exportables y formatos de archivo
+    enum Tabla { PRODUCTOS, USUARIOS, CARRITO }
+    enum Formato { CSV, XLSX }
+
+    /* ---------------------------------- Exportación por flujo ---------------------------------- */
+    long exportar(Tabla tabla, Formato formato, OutputStream salida) throws IOException;
+}
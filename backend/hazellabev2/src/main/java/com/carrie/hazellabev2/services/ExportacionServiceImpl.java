@@ -0,0 +1,119 @@
+package com.carrie.hazellabev2.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.carrie.hazellabev2.repositories.ItemCarritoRepository;
+import com.carrie.hazellabev2.repositories.ProductoRepository;
+import com.carrie.hazellabev2.repositories.UsuarioRepository;
+import com.carrie.hazellabev2.utils.EscritorCsv;
+import com.carrie.hazellabev2.utils.EscritorXlsx;
+
+/* ================= Servicio de Exportación de Tablas de Administración ================= */
+
+/**
+ * Exporta productos, usuarios e ítems de carrito a CSV o XLSX escribiendo directamente en el flujo de salida.
+ * Las filas se leen con un cursor de la base de datos (proyecciones de columnas, sin entidades administradas) y
+ * cada una se escribe en cuanto llega: nunca se arma la lista completa, por lo que memoria y tiempo crecen en
+ * forma lineal con las filas y la descarga empieza antes de terminar la lectura. La exportación de usuarios no
+ * incluye contraseñas.
+ */
+@Service
+
+public class ExportacionServiceImpl implements ExportacionService {
+    static final String[] COLUMNAS_PRODUCTOS = { "id", "nombre", "lote", "codigo", "categoria", "proveedor", "costo",
+            "stock", "stock_critico", "vencimiento", "elaboracion", "activo", "destacado", "creado" };
+    static final String[] COLUMNAS_USUARIOS = { "id", "nombre", "apellidos", "rut", "email", "rol", "estado", "region",
+            "comuna", "direccion", "fecha_nacimiento", "creado" };
+    static final String[] COLUMNAS_CARRITO = { "id", "usuario_id", "email", "producto_id", "producto", "cantidad",
+            "precio_unitario" };
+    // Columnas de fecha (java.util.Date) que se exportan como fecha sin hora
+    private static final int[] FECHAS_PRODUCTOS = { 9, 10 };
+    private static final int[] SIN_FECHAS = {};
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ItemCarritoRepository itemCarritoRepository;
+
+    /* ================= EXPORTACIÓN ================= */
+
+    // Escribe la cabecera y las filas de la tabla; retorna la cantidad de filas de datos
+    @Override
+    @Transactional(readOnly = true)
+    public long exportar(Tabla tabla, Formato formato, OutputStream salida) throws IOException {
+        String[] columnas = switch (tabla) {
+            case PRODUCTOS -> COLUMNAS_PRODUCTOS;
+            case USUARIOS -> COLUMNAS_USUARIOS;
+            case CARRITO -> COLUMNAS_CARRITO;
+        };
+        int[] fechas = tabla == Tabla.PRODUCTOS ? FECHAS_PRODUCTOS : SIN_FECHAS;
+        try (Stream<Object[]> filas = recorrer(tabla)) {
+            if (formato == Formato.XLSX) {
+                try (EscritorXlsx xlsx = new EscritorXlsx(salida, tabla.name().toLowerCase())) {
+                    return escribir(filas, columnas, fechas, xlsx::fila);
+                }
+            }
+            Writer csv = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+            EscritorCsv.bom(csv);
+            long total = escribir(filas, columnas, fechas, valores -> EscritorCsv.fila(csv, valores));
+            csv.flush();
+            return total;
+        }
+    }
+
+    private Stream<Object[]> recorrer(Tabla tabla) {
+        return switch (tabla) {
+            case PRODUCTOS -> productoRepository.recorrerExportacion();
+            case USUARIOS -> usuarioRepository.recorrerExportacion();
+            case CARRITO -> itemCarritoRepository.recorrerExportacion();
+        };
+    }
+
+    private long escribir(Stream<Object[]> filas, String[] columnas, int[] fechas, Destino destino) throws IOException {
+        destino.fila((Object[]) columnas);
+        long total = 0;
+        Iterator<Object[]> it = filas.iterator();
+        while (it.hasNext()) {
+            Object[] fila = it.next();
+            for (int indice : fechas) {
+                fila[indice] = fecha(fila[indice]);
+            }
+            destino.fila(fila);
+            total++;
+        }
+        return total;
+    }
+
+    // Hibernate entrega java.sql.Date o Timestamp; se exporta la fecha local sin hora
+    private static LocalDate fecha(Object valor) {
+        if (valor == null) {
+            return null;
+        }
+        return LocalDate.ofInstant(Instant.ofEpochMilli(((Date) valor).getTime()), ZoneId.systemDefault());
+    }
+
+    // Destino de filas de cualquiera de los dos formatos
+    @FunctionalInterface
+    interface Destino {
+        void fila(Object... valores) throws IOException;
+    }
+}
@@ -0,0 +1,310 @@
+package com.carrie.hazellabev2.services;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.carrie.hazellabev2.dto.AlertaStock;
+import com.carrie.hazellabev2.dto.EventoActividad;
+import com.carrie.hazellabev2.dto.EventoActividad.Tipo;
+import com.carrie.hazellabev2.entities.ItemCarrito;
+import com.carrie.hazellabev2.entities.Producto;
+import com.carrie.hazellabev2.entities.Usuario;
+import com.carrie.hazellabev2.utils.BufferAnillo;
+import com.carrie.hazellabev2.utils.Transacciones;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/* ================= Feed de Actividad en Vivo para el Panel de Administración (SSE) ================= */
+
+/**
+ * Difunde por Server-Sent Events los registros de usuarios, productos agregados al carrito, ediciones de productos
+ * y cruces del stock crítico, para que los paneles abiertos no tengan que recargar.
+ * - Los servicios entregan cada hecho al confirmarse su transacción; se deja en un buffer en anillo sin bloqueos.
+ *   Sin clientes conectados no se encola nada.
+ * - Un único hilo publicador vacía el buffer cada hazellab.actividad.ventana-ms, funde los eventos repetidos
+ *   (mismo tipo y entidad) y serializa el lote una sola vez, sin importar cuántos clientes haya.
+ * - Cada cliente tiene una cola acotada de lotes: si no alcanza a recibirlos se descarta el más antiguo, de modo que
+ *   un navegador lento nunca retiene al publicador ni a los demás. Un pool pequeño de hilos escribe en las conexiones.
+ * Cada lote lleva un ID creciente: un salto en la secuencia indica al cliente que perdió lotes.
+ */
+@Component
+
+public class FeedActividad {
+    private static final Logger log = LoggerFactory.getLogger(FeedActividad.class);
+    static final String EVENTO = "actividad";
+
+    // Serializador configurado por Spring, para que el JSON coincida con el resto de la API
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Ventana de agrupación de eventos: un lote por ventana como máximo
+    @Value("${hazellab.actividad.ventana-ms:250}")
+    private long ventanaMs = 250;
+
+    // Eventos que esperan al publicador (se redondea a potencia de 2)
+    @Value("${hazellab.actividad.capacidad:4096}")
+    private int capacidad = 4096;
+
+    // Lotes pendientes por cliente antes de descartar el más antiguo
+    @Value("${hazellab.actividad.cola-por-cliente:16}")
+    private int colaPorCliente = 16;
+
+    @Value("${hazellab.actividad.max-clientes:100}")
+    private int maxClientes = 100;
+
+    // Hilos que escriben en las conexiones
+    @Value("${hazellab.actividad.hilos-envio:2}")
+    private int hilosEnvio = 2;
+
+    // Intervalo de los latidos (comentarios SSE) que detectan conexiones cerradas
+    @Value("${hazellab.actividad.latido-segundos:15}")
+    private long latidoSegundos = 15;
+
+    // Duración máxima de una conexión; el navegador se reconecta solo (EventSource)
+    @Value("${hazellab.actividad.timeout-minutos:30}")
+    private long timeoutMinutos = 30;
+
+    private BufferAnillo<EventoActividad> pendientes;
+    private ScheduledExecutorService publicador;
+    private ExecutorService envio;
+    private final Map<Long, Cliente> clientes = new ConcurrentHashMap<>();
+    private final AtomicLong secuenciaClientes = new AtomicLong();
+    private final AtomicLong secuenciaLotes = new AtomicLong();
+    private final AtomicLong eventosDescartados = new AtomicLong();
+    private final AtomicLong lotesDescartados = new AtomicLong();
+    private long ultimoEnvioNanos = System.nanoTime();
+
+    @PostConstruct
+    public void iniciar() {
+        pendientes = new BufferAnillo<>(capacidad);
+        publicador = Executors.newSingleThreadScheduledExecutor(tarea -> hilo(tarea, "actividad-publicador"));
+        publicador.scheduleWithFixedDelay(this::publicarSeguro, ventanaMs, ventanaMs, TimeUnit.MILLISECONDS);
+        AtomicInteger numero = new AtomicInteger();
+        envio = Executors.newFixedThreadPool(hilosEnvio, tarea -> hilo(tarea, "actividad-envio-" + numero.incrementAndGet()));
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        publicador.shutdownNow();
+        envio.shutdownNow();
+        clientes.values().forEach(cliente -> cliente.emisor.complete());
+        clientes.clear();
+    }
+
+    private static Thread hilo(Runnable tarea, String nombre) {
+        Thread hilo = new Thread(tarea, nombre);
+        hilo.setDaemon(true);
+        return hilo;
+    }
+
+    /* ================= CLIENTES ================= */
+
+    // Abre una conexión SSE; IllegalStateException si se alcanzó el máximo de clientes
+    public SseEmitter suscribir() {
+        if (clientes.size() >= maxClientes) {
+            throw new IllegalStateException("Se alcanzó el máximo de clientes del feed de actividad");
+        }
+        SseEmitter emisor = new SseEmitter(TimeUnit.MINUTES.toMillis(timeoutMinutos));
+        Cliente cliente = new Cliente(secuenciaClientes.incrementAndGet(), emisor);
+        emisor.onCompletion(() -> clientes.remove(cliente.id));
+        emisor.onTimeout(() -> clientes.remove(cliente.id));
+        emisor.onError(error -> clientes.remove(cliente.id));
+        clientes.put(cliente.id, cliente);
+        // Confirma la conexión con la secuencia vigente: los lotes siguientes continúan desde ella
+        entregar(cliente, new Lote(secuenciaLotes.get(), "[]"));
+        return emisor;
+    }
+
+    public int clientesConectados() {
+        return clientes.size();
+    }
+
+    /* ================= HECHOS DESDE LOS SERVICIOS ================= */
+
+    public void usuarioRegistrado(Usuario usuario) {
+        registrar(Tipo.USUARIO_REGISTRADO, usuario.getId(), "Nuevo usuario " + usuario.getEmail() + " (" + usuario.getRole() + ")");
+    }
+
+    public void carritoAgregado(ItemCarrito item) {
+        Long productoId = item.getProducto() != null ? item.getProducto().getId() : null;
+        Long usuarioId = item.getUsuario() != null ? item.getUsuario().getId() : null;
+        registrar(Tipo.CARRITO_AGREGADO, productoId, "Usuario " + usuarioId + " agregó " + item.getQuantity()
+                + " unidad(es) del producto " + productoId + " al carrito");
+    }
+
+    public void productoEditado(Producto producto) {
+        registrar(Tipo.PRODUCTO_EDITADO, producto.getId(), "Producto editado: " + producto.getName());
+    }
+
+    // AlertasStock publica cada cruce ya confirmado
+    @EventListener
+    public void cruceStock(AlertaStock alerta) {
+        Tipo tipo = alerta.getTipo() == AlertaStock.Tipo.BAJO ? Tipo.STOCK_BAJO : Tipo.STOCK_REPUESTO;
+        encolar(new EventoActividad(tipo, alerta.getProductoId(), alerta.getNombre() + ": stock " + alerta.getStock()
+                + " (crítico " + alerta.getStockCritico() + ")", 1, alerta.getFecha()));
+    }
+
+    private void registrar(Tipo tipo, Long entidadId, String descripcion) {
+        if (clientes.isEmpty()) {
+            return;
+        }
+        EventoActividad evento = new EventoActividad(tipo, entidadId, descripcion, 1, LocalDateTime.now());
+        Transacciones.alConfirmar(() -> encolar(evento));
+    }
+
+    // Sin espera: si el publicador no da abasto el evento se descarta (el feed es informativo)
+    void encolar(EventoActividad evento) {
+        if (clientes.isEmpty()) {
+            return;
+        }
+        if (!pendientes.ofrecer(evento)) {
+            eventosDescartados.incrementAndGet();
+        }
+    }
+
+    /* ================= PUBLICADOR ================= */
+
+    private void publicarSeguro() {
+        try {
+            publicar();
+        } catch (RuntimeException e) {
+            log.error("Error al publicar el feed de actividad", e);
+        }
+    }
+
+    // Un ciclo del publicador: funde lo acumulado en la ventana y lo difunde como un único lote
+    void publicar() {
+        List<EventoActividad> eventos = new ArrayList<>();
+        pendientes.drenar(eventos::add, pendientes.getCapacidad());
+        long ahora = System.nanoTime();
+        if (eventos.isEmpty()) {
+            if (!clientes.isEmpty() && ahora - ultimoEnvioNanos >= TimeUnit.SECONDS.toNanos(latidoSegundos)) {
+                ultimoEnvioNanos = ahora;
+                difundir(Lote.LATIDO);
+            }
+            return;
+        }
+        ultimoEnvioNanos = ahora;
+        difundir(new Lote(secuenciaLotes.incrementAndGet(), json(fundir(eventos))));
+    }
+
+    // Un evento por tipo y entidad, en el orden de su última aparición
+    static List<EventoActividad> fundir(List<EventoActividad> eventos) {
+        Map<String, EventoActividad> porClave = new LinkedHashMap<>();
+        for (EventoActividad evento : eventos) {
+            String clave = evento.getTipo() + ":" + evento.getEntidadId();
+            EventoActividad anterior = porClave.remove(clave);
+            int repeticiones = evento.getRepeticiones() + (anterior != null ? anterior.getRepeticiones() : 0);
+            porClave.put(clave, new EventoActividad(evento.getTipo(), evento.getEntidadId(), evento.getDescripcion(),
+                    repeticiones, evento.getFecha()));
+        }
+        return new ArrayList<>(porClave.values());
+    }
+
+    private void difundir(Lote lote) {
+        for (Cliente cliente : clientes.values()) {
+            entregar(cliente, lote);
+        }
+    }
+
+    // Deja el lote en la cola del cliente (descartando el más antiguo si está llena) y programa su envío
+    private void entregar(Cliente cliente, Lote lote) {
+        synchronized (cliente.cola) {
+            if (cliente.cola.size() >= colaPorCliente) {
+                cliente.cola.pollFirst();
+                lotesDescartados.incrementAndGet();
+            }
+            cliente.cola.addLast(lote);
+        }
+        if (cliente.enviando.compareAndSet(false, true)) {
+            envio.execute(() -> vaciar(cliente));
+        }
+    }
+
+    // Escribe los lotes pendientes del cliente; un solo hilo a la vez por cliente
+    private void vaciar(Cliente cliente) {
+        while (true) {
+            Lote lote;
+            synchronized (cliente.cola) {
+                lote = cliente.cola.pollFirst();
+                if (lote == null) {
+                    cliente.enviando.set(false);
+                    return;
+                }
+            }
+            try {
+                if (lote == Lote.LATIDO) {
+                    cliente.emisor.send(SseEmitter.event().comment("latido"));
+                } else {
+                    cliente.emisor.send(SseEmitter.event().id(Long.toString(lote.id())).name(EVENTO).data(lote.datos()));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Conexión cerrada por el navegador
+                clientes.remove(cliente.id);
+                synchronized (cliente.cola) {
+                    cliente.cola.clear();
+                    cliente.enviando.set(false);
+                }
+                return;
+            }
+        }
+    }
+
+    private String json(List<EventoActividad> eventos) {
+        try {
+            return objectMapper.writeValueAsString(eventos);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el lote de actividad", e);
+        }
+    }
+
+    long lotesDescartados() {
+        return lotesDescartados.get();
+    }
+
+    long eventosDescartados() {
+        return eventosDescartados.get();
+    }
+
+    // Lote serializado una vez y compartido por todos los clientes
+    record Lote(long id, String datos) {
+        static final Lote LATIDO = new Lote(-1, null);
+    }
+
+    // Conexión abierta con su cola de lotes por enviar
+    private static final class Cliente {
+        private final long id;
+        private final SseEmitter emisor;
+        private final ArrayDeque<Lote> cola = new ArrayDeque<>();
+        private final AtomicBoolean enviando = new AtomicBoolean();
+
+        private Cliente(long id, SseEmitter emisor) {
+            this.id = id;
+            this.emisor = emisor;
+        }
+    }
+}
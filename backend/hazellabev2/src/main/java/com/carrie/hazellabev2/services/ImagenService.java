@@ -0,0 +1,14 @@
+package com.carrie.hazellabev2.services;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+
+public interface ImagenService {
+    /* ---------------------------------- Almacenamiento ---------------------------------- */
+    String guardar(InputStream contenido);
+
+    /* ---------------------------------- Consulta de archivos ---------------------------------- */
+    Path obtenerOriginal(String nombre);
+    Path obtenerVariante(String nombre, int ancho);
+    int normalizarAncho(int ancho);
+}
@@ -0,0 +1,324 @@
+package com.carrie.hazellabev2.services;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/* ================= Servicio de Almacenamiento Local de Imágenes de Productos ================= */
+
+/**
+ * Guarda las imágenes subidas en disco con nombre por contenido (SHA-256 + extensión), de modo que la misma
+ * imagen subida dos veces ocupa un solo archivo y cada URL es inmutable. Las miniaturas se generan recién cuando
+ * alguien las pide, con ImageIO sobre un pool de hilos acotado (la cola llena rechaza en vez de acumular trabajo),
+ * y quedan guardadas en disco junto a los originales. Solo se admiten anchos de una lista fija para que la caché
+ * de variantes no crezca con cada ancho arbitrario que llegue en la URL.
+ */
+@Service
+
+public class ImagenServiceImpl implements ImagenService {
+    // Nombre de archivo válido: hash SHA-256 en hexadecimal + extensión soportada (evita rutas arbitrarias)
+    private static final Pattern NOMBRE_VALIDO = Pattern.compile("[0-9a-f]{64}\\.(jpg|png|gif|bmp)");
+
+    // Límite de píxeles del original, verificado antes de decodificar (protege contra "bombas" de descompresión)
+    private static final long MAX_PIXELES = 40_000_000L;
+
+    // Calidad de compresión de las miniaturas JPEG
+    private static final float CALIDAD_JPEG = 0.85f;
+
+    @Value("${hazellab.imagenes.directorio:imagenes}")
+    private String directorio = "imagenes";
+
+    // Anchos de miniatura permitidos (en píxeles, orden ascendente)
+    @Value("${hazellab.imagenes.anchos:160,320,640,1280}")
+    private int[] anchos = { 160, 320, 640, 1280 };
+
+    // Hilos y capacidad de la cola del pool que genera las miniaturas
+    @Value("${hazellab.imagenes.hilos:2}")
+    private int hilos = 2;
+
+    @Value("${hazellab.imagenes.cola:64}")
+    private int cola = 64;
+
+    @Value("${hazellab.imagenes.espera-segundos:30}")
+    private long esperaSegundos = 30;
+
+    private Path originales;
+    private Path variantes;
+    private Path temporales;
+    private ThreadPoolExecutor poolMiniaturas;
+
+    // Generaciones en curso por variante: dos solicitudes simultáneas de la misma miniatura esperan el mismo trabajo
+    private final Map<String, CompletableFuture<Path>> enCurso = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void iniciar() {
+        Path raiz = Paths.get(directorio).toAbsolutePath().normalize();
+        originales = raiz.resolve("originales");
+        variantes = raiz.resolve("variantes");
+        temporales = raiz.resolve("tmp");
+        try {
+            Files.createDirectories(originales);
+            Files.createDirectories(variantes);
+            Files.createDirectories(temporales);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear el directorio de imágenes " + raiz, e);
+        }
+        anchos = Arrays.stream(anchos).filter(a -> a > 0).sorted().distinct().toArray();
+        AtomicInteger contador = new AtomicInteger();
+        poolMiniaturas = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(cola), tarea -> {
+                    Thread hilo = new Thread(tarea, "miniaturas-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        poolMiniaturas.shutdown();
+    }
+
+    /* ================= ALMACENAMIENTO DE ORIGINALES ================= */
+
+    // Guarda la imagen calculando su hash mientras se copia a disco. Retorna el nombre del archivo ("<sha256>.jpg")
+    @Override
+    public String guardar(InputStream contenido) {
+        Path temporal = null;
+        try {
+            temporal = Files.createTempFile(temporales, "subida-", ".tmp");
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            try (InputStream entrada = new DigestInputStream(contenido, sha256)) {
+                Files.copy(entrada, temporal, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String extension = detectarExtension(temporal);
+            String nombre = HexFormat.of().formatHex(sha256.digest()) + "." + extension;
+            Path destino = originales.resolve(nombre);
+            if (Files.exists(destino)) {
+                // Mismo contenido ya almacenado: se reutiliza el archivo existente
+                return nombre;
+            }
+            try {
+                Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Otra subida del mismo contenido terminó primero
+            }
+            return nombre;
+        } catch (IOException e) {
+            throw new RuntimeException("No se pudo guardar la imagen: " + e.getMessage());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            if (temporal != null) {
+                try {
+                    Files.deleteIfExists(temporal);
+                } catch (IOException e) {
+                    // El temporal huérfano no afecta el resultado
+                }
+            }
+        }
+    }
+
+    // Identifica el formato real por su contenido (no por la extensión enviada) y valida las dimensiones sin decodificar
+    private static String detectarExtension(Path archivo) throws IOException {
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(archivo.toFile())) {
+            Iterator<ImageReader> lectores = entrada == null ? null : ImageIO.getImageReaders(entrada);
+            if (lectores == null || !lectores.hasNext()) {
+                throw new RuntimeException("El archivo no es una imagen válida");
+            }
+            ImageReader lector = lectores.next();
+            try {
+                lector.setInput(entrada, true, true);
+                long pixeles = (long) lector.getWidth(0) * lector.getHeight(0);
+                if (pixeles > MAX_PIXELES) {
+                    throw new RuntimeException("La imagen supera el máximo de " + MAX_PIXELES + " píxeles");
+                }
+                return switch (lector.getFormatName().toLowerCase(Locale.ROOT)) {
+                    case "jpeg", "jpg" -> "jpg";
+                    case "png" -> "png";
+                    case "gif" -> "gif";
+                    case "bmp" -> "bmp";
+                    default -> throw new RuntimeException("Formato de imagen no soportado: " + lector.getFormatName());
+                };
+            } finally {
+                lector.dispose();
+            }
+        }
+    }
+
+    /* ================= CONSULTA DE ARCHIVOS ================= */
+
+    @Override
+    public Path obtenerOriginal(String nombre) {
+        if (nombre == null || !NOMBRE_VALIDO.matcher(nombre).matches()) {
+            throw new RuntimeException("Imagen no encontrada: " + nombre);
+        }
+        Path original = originales.resolve(nombre);
+        if (!Files.isRegularFile(original)) {
+            throw new RuntimeException("Imagen no encontrada: " + nombre);
+        }
+        return original;
+    }
+
+    // Ancho permitido más cercano por arriba (o el mayor disponible)
+    @Override
+    public int normalizarAncho(int ancho) {
+        for (int permitido : anchos) {
+            if (permitido >= ancho) {
+                return permitido;
+            }
+        }
+        return anchos[anchos.length - 1];
+    }
+
+    // Retorna la miniatura del ancho pedido, generándola en el pool si aún no existe en disco.
+    // Lanza RejectedExecutionException si el pool está saturado, para que el controlador responda 503
+    @Override
+    public Path obtenerVariante(String nombre, int ancho) {
+        Path original = obtenerOriginal(nombre);
+        int anchoFinal = normalizarAncho(ancho);
+        String hash = nombre.substring(0, nombre.indexOf('.'));
+        String clave = hash + "-" + anchoFinal;
+        for (String extension : new String[] { "jpg", "png" }) {
+            Path existente = variantes.resolve(clave + "." + extension);
+            if (Files.isRegularFile(existente)) {
+                return existente;
+            }
+        }
+
+        CompletableFuture<Path> trabajo = enCurso.computeIfAbsent(clave, k -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return generar(original, clave, anchoFinal);
+            } finally {
+                enCurso.remove(clave);
+            }
+        }, poolMiniaturas));
+        try {
+            return trabajo.get(esperaSegundos, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            throw new RuntimeException("La generación de la miniatura tardó demasiado");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Generación de miniatura interrumpida");
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+            throw causa instanceof RuntimeException runtime ? runtime : new RuntimeException(causa);
+        }
+    }
+
+    /* ================= GENERACIÓN DE MINIATURAS ================= */
+
+    // Se ejecuta en el pool: decodifica, reduce y escribe la variante en un temporal que luego se mueve atómicamente
+    private Path generar(Path original, String clave, int ancho) {
+        try {
+            BufferedImage imagen = ImageIO.read(original.toFile());
+            if (imagen == null) {
+                throw new RuntimeException("No se pudo decodificar la imagen");
+            }
+            // Nunca se amplía: si el original ya es angosto, la variante es el original recomprimido
+            int anchoDestino = Math.min(ancho, imagen.getWidth());
+            int altoDestino = Math.max(1, Math.round((float) imagen.getHeight() * anchoDestino / imagen.getWidth()));
+            boolean transparente = imagen.getColorModel().hasAlpha();
+            BufferedImage reducida = reducir(imagen, anchoDestino, altoDestino, transparente);
+
+            String extension = transparente ? "png" : "jpg";
+            Path destino = variantes.resolve(clave + "." + extension);
+            Path temporal = Files.createTempFile(temporales, clave + "-", ".tmp");
+            try {
+                if (transparente) {
+                    ImageIO.write(reducida, "png", temporal.toFile());
+                } else {
+                    escribirJpeg(reducida, temporal);
+                }
+                Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporal);
+            }
+            return destino;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo generar la miniatura", e);
+        }
+    }
+
+    // Reducción por pasos de a la mitad con interpolación bilineal: mejor calidad que un único escalado grande
+    private static BufferedImage reducir(BufferedImage imagen, int ancho, int alto, boolean transparente) {
+        int tipo = transparente ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage actual = imagen;
+        int anchoActual = imagen.getWidth();
+        int altoActual = imagen.getHeight();
+        do {
+            anchoActual = Math.max(ancho, anchoActual / 2);
+            altoActual = Math.max(alto, altoActual / 2);
+            BufferedImage paso = new BufferedImage(anchoActual, altoActual, tipo);
+            Graphics2D g = paso.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                if (!transparente) {
+                    // JPEG no tiene canal alfa: el fondo transparente de un GIF/PNG indexado queda blanco
+                    g.setColor(Color.WHITE);
+                    g.fillRect(0, 0, anchoActual, altoActual);
+                }
+                g.drawImage(actual, 0, 0, anchoActual, altoActual, null);
+            } finally {
+                g.dispose();
+            }
+            actual = paso;
+        } while (anchoActual != ancho || altoActual != alto);
+        return actual;
+    }
+
+    private static void escribirJpeg(BufferedImage imagen, Path destino) throws IOException {
+        ImageWriter escritor = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream salida = ImageIO.createImageOutputStream(destino.toFile())) {
+            escritor.setOutput(salida);
+            ImageWriteParam parametros = escritor.getDefaultWriteParam();
+            parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            parametros.setCompressionQuality(CALIDAD_JPEG);
+            parametros.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            escritor.write(null, new IIOImage(imagen, null, null), parametros);
+        } finally {
+            escritor.dispose();
+        }
+    }
+}
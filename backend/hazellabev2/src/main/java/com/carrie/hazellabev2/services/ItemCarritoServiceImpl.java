@@ -17,12 +17,18 @@ public class ItemCarritoServiceImpl implements ItemCarritoService {
     @Autowired
     private ItemCarritoRepository itemCarritoRepository;
 
+    // Feed en vivo del panel de administración (productos agregados al carrito)
+    @Autowired
+    private FeedActividad feedActividad;
+
     /* ================= OPERACIONES CRUD BÁSICAS ================= */
     
     // Crea un nuevo item en el carrito - persiste la relación usuario-producto-cantidad
     @Override
     public ItemCarrito crear(ItemCarrito itemCarrito) {
-        return itemCarritoRepository.save(itemCarrito);
+        ItemCarrito guardado = itemCarritoRepository.save(itemCarrito);
+        feedActividad.carritoAgregado(guardado);
+        return guardado;
     }; 
 
     // Obtiene un item específico del carrito por su ID - lanza excepción si no existe
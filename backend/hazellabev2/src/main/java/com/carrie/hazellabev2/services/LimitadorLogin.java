@@ -0,0 +1,263 @@
+package com.carrie.hazellabev2.services;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/* ================= Limitador de Intentos de Login (Token Bucket + Bloqueo por Ventana) ================= */
+
+/**
+ * Limita los intentos de login por cuenta desde cada IP (par email, IP) y por IP de origen ANTES de verificar la
+ * contraseña, para que el tráfico de credential-stuffing no consuma una verificación BCrypt por intento.
+ * - Cada clave tiene un token bucket cuyo estado inmutable se reemplaza con compareAndSet (sin bloqueos).
+ * - Los fallos se cuentan en una ventana deslizante; al superar el umbral la clave queda bloqueada.
+ * - Ningún límite de la cuenta se comparte entre IPs: quien conoce un email ajeno no puede agotar los intentos ni
+ *   bloquear a su dueño desde otra IP. A cambio, un atacante con muchas IPs obtiene la cuota de cuenta en cada una;
+ *   el reparto de intentos entre cuentas (spraying) lo frenan el token bucket y el bloqueo por IP.
+ * - La cantidad de claves en memoria está acotada: al exceder el máximo se desalojan las menos usadas (LRU).
+ */
+@Component
+
+public class LimitadorLogin {
+
+    /* ================= CONFIGURACIÓN ================= */
+
+    // Token bucket por cuenta desde una IP (par email, IP): ráfaga máxima y tokens recuperados por minuto
+    @Value("${hazellab.login.email.capacidad:5}")
+    private int capacidadEmail = 5;
+    @Value("${hazellab.login.email.recarga-por-minuto:5}")
+    private double recargaEmail = 5;
+
+    // Token bucket por IP: ráfaga máxima y tokens recuperados por minuto
+    @Value("${hazellab.login.ip.capacidad:20}")
+    private int capacidadIp = 20;
+    @Value("${hazellab.login.ip.recarga-por-minuto:20}")
+    private double recargaIp = 20;
+
+    // Bloqueo: cantidad de fallos dentro de la ventana deslizante que activan el bloqueo, y su duración.
+    // max-fallos de email se cuenta por par (email, IP)
+    @Value("${hazellab.login.email.max-fallos:5}")
+    private int maxFallosEmail = 5;
+    @Value("${hazellab.login.ip.max-fallos:50}")
+    private int maxFallosIp = 50;
+    @Value("${hazellab.login.ventana-minutos:15}")
+    private long ventanaMinutos = 15;
+    @Value("${hazellab.login.bloqueo-minutos:15}")
+    private long bloqueoMinutos = 15;
+
+    // Máximo de claves (emails, IPs y pares email-IP) mantenidas en memoria
+    @Value("${hazellab.login.max-claves:100000}")
+    private int maxClaves = 100000;
+
+    /* ================= ESTADO ================= */
+
+    private final Map<String, Cubeta> cubetas = new ConcurrentHashMap<>();
+    private final AtomicBoolean desalojando = new AtomicBoolean(false);
+
+    // Contadores de rechazos expuestos para monitoreo
+    private final LongAdder rechazosEmail = new LongAdder();
+    private final LongAdder rechazosIp = new LongAdder();
+    private final LongAdder bloqueosActivados = new LongAdder();
+    private final LongAdder desalojos = new LongAdder();
+
+    /* ================= API PÚBLICA ================= */
+
+    // Consume un token de la cuenta desde esa IP y de la IP. Retorna 0 si se permite, o los segundos a esperar si se rechaza
+    public long intentar(String email, String ip) {
+        return intentar(email, ip, System.nanoTime());
+    }
+
+    long intentar(String email, String ip, long ahora) {
+        Cubeta cubetaIp = obtener("ip:" + ip, ahora);
+        long esperaIp = cubetaIp.consumir(ahora, capacidadIp, recargaIp);
+        if (esperaIp > 0) {
+            rechazosIp.increment();
+            return segundos(esperaIp);
+        }
+        // El par lleva el token bucket y el bloqueo de la cuenta desde esta IP
+        Cubeta cubetaCuenta = obtener(par(email, ip), ahora);
+        long esperaEmail = cubetaCuenta.consumir(ahora, capacidadEmail, recargaEmail);
+        if (esperaEmail > 0) {
+            rechazosEmail.increment();
+            return segundos(esperaEmail);
+        }
+        return 0;
+    }
+
+    // Registra un intento fallido (credenciales inválidas) para la ventana de bloqueo de la cuenta desde esa IP y de la IP
+    public void registrarFallo(String email, String ip) {
+        registrarFallo(email, ip, System.nanoTime());
+    }
+
+    void registrarFallo(String email, String ip, long ahora) {
+        if (obtener("ip:" + ip, ahora).registrarFallo(ahora, maxFallosIp)) {
+            bloqueosActivados.increment();
+        }
+        if (obtener(par(email, ip), ahora).registrarFallo(ahora, maxFallosEmail)) {
+            bloqueosActivados.increment();
+        }
+    }
+
+    // Un login exitoso reinicia los fallos acumulados de la cuenta desde esa IP
+    public void registrarExito(String email, String ip) {
+        Cubeta cubeta = cubetas.get(par(email, ip));
+        if (cubeta != null) {
+            cubeta.reiniciarFallos();
+        }
+    }
+
+    // Estadísticas de rechazos para monitoreo interno (no se exponen por HTTP: la API no tiene rutas solo para administradores)
+    public Map<String, Long> estadisticas() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("rechazosPorEmail", rechazosEmail.sum());
+        stats.put("rechazosPorIp", rechazosIp.sum());
+        stats.put("bloqueosActivados", bloqueosActivados.sum());
+        stats.put("clavesEnMemoria", (long) cubetas.size());
+        stats.put("clavesDesalojadas", desalojos.sum());
+        return stats;
+    }
+
+    /* ================= GESTIÓN DE CLAVES (LRU ACOTADO) ================= */
+
+    private Cubeta obtener(String clave, long ahora) {
+        Cubeta cubeta = cubetas.get(clave);
+        if (cubeta == null) {
+            Cubeta nueva = new Cubeta(ahora, clave.startsWith("ip:") ? capacidadIp : capacidadEmail);
+            cubeta = cubetas.putIfAbsent(clave, nueva);
+            if (cubeta == null) {
+                cubeta = nueva;
+                if (cubetas.size() > maxClaves) {
+                    desalojar();
+                }
+            }
+        }
+        cubeta.ultimoAcceso = ahora;
+        return cubeta;
+    }
+
+    // Desaloja el 10% de claves menos usadas recientemente. Un solo hilo desaloja a la vez; el resto no espera
+    private void desalojar() {
+        if (!desalojando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int aEliminar = cubetas.size() - maxClaves + Math.max(1, maxClaves / 10);
+            if (aEliminar <= 0) {
+                return;
+            }
+            List<Map.Entry<String, Cubeta>> entradas = new ArrayList<>(cubetas.entrySet());
+            entradas.sort((a, b) -> Long.compare(a.getValue().ultimoAcceso, b.getValue().ultimoAcceso));
+            for (int i = 0; i < aEliminar && i < entradas.size(); i++) {
+                Map.Entry<String, Cubeta> entrada = entradas.get(i);
+                if (cubetas.remove(entrada.getKey(), entrada.getValue())) {
+                    desalojos.increment();
+                }
+            }
+        } finally {
+            desalojando.set(false);
+        }
+    }
+
+    private static String par(String email, String ip) {
+        return "cuenta:" + normalizar(email) + "|" + ip;
+    }
+
+    private static String normalizar(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long segundos(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos + 999_999_999L));
+    }
+
+    /* ================= CUBETA (ESTADO INMUTABLE + CAS) ================= */
+
+    // Estado inmutable de una clave: tokens, ventana deslizante de fallos y bloqueo vigente
+    private record Estado(double tokens, long ultimaRecarga, long inicioVentana,
+                          int fallosVentanaActual, int fallosVentanaAnterior, long bloqueadoHasta) {
+    }
+
+    private final class Cubeta {
+        private final AtomicReference<Estado> estado;
+        private volatile long ultimoAcceso;
+
+        Cubeta(long ahora, int capacidad) {
+            this.estado = new AtomicReference<>(new Estado(capacidad, ahora, ahora, 0, 0, ahora));
+            this.ultimoAcceso = ahora;
+        }
+
+        // Retorna 0 si se consumió un token, o los nanosegundos a esperar (bloqueo o falta de tokens)
+        long consumir(long ahora, int capacidad, double recargaPorMinuto) {
+            double tokensPorNano = recargaPorMinuto / TimeUnit.MINUTES.toNanos(1);
+            while (true) {
+                Estado actual = estado.get();
+                if (ahora - actual.bloqueadoHasta() < 0) {
+                    return actual.bloqueadoHasta() - ahora;
+                }
+                double tokens = Math.min(capacidad, actual.tokens() + (ahora - actual.ultimaRecarga()) * tokensPorNano);
+                if (tokens < 1) {
+                    return (long) Math.ceil((1 - tokens) / tokensPorNano);
+                }
+                Estado nuevo = new Estado(tokens - 1, ahora, actual.inicioVentana(),
+                        actual.fallosVentanaActual(), actual.fallosVentanaAnterior(), actual.bloqueadoHasta());
+                if (estado.compareAndSet(actual, nuevo)) {
+                    return 0;
+                }
+            }
+        }
+
+        // Suma un fallo a la ventana deslizante; retorna true si este fallo activó un bloqueo
+        boolean registrarFallo(long ahora, int maxFallos) {
+            long ventana = TimeUnit.MINUTES.toNanos(ventanaMinutos);
+            while (true) {
+                Estado actual = estado.get();
+                long inicio = actual.inicioVentana();
+                int fallosActual = actual.fallosVentanaActual();
+                int fallosAnterior = actual.fallosVentanaAnterior();
+                // Avanza la ventana fija subyacente si corresponde
+                long transcurrido = ahora - inicio;
+                if (transcurrido >= 2 * ventana) {
+                    inicio = ahora;
+                    fallosAnterior = 0;
+                    fallosActual = 0;
+                } else if (transcurrido >= ventana) {
+                    inicio += ventana;
+                    fallosAnterior = fallosActual;
+                    fallosActual = 0;
+                }
+                fallosActual++;
+                // Estimación de ventana deslizante: ponderación lineal de la ventana anterior
+                double fraccion = (double) (ahora - inicio) / ventana;
+                double estimado = fallosAnterior * (1 - fraccion) + fallosActual;
+                boolean bloquear = estimado >= maxFallos && ahora - actual.bloqueadoHasta() >= 0;
+                long bloqueadoHasta = bloquear ? ahora + TimeUnit.MINUTES.toNanos(bloqueoMinutos) : actual.bloqueadoHasta();
+                Estado nuevo = new Estado(actual.tokens(), actual.ultimaRecarga(), inicio,
+                        fallosActual, fallosAnterior, bloqueadoHasta);
+                if (estado.compareAndSet(actual, nuevo)) {
+                    return bloquear;
+                }
+            }
+        }
+
+        void reiniciarFallos() {
+            while (true) {
+                Estado actual = estado.get();
+                Estado nuevo = new Estado(actual.tokens(), actual.ultimaRecarga(), actual.inicioVentana(),
+                        0, 0, actual.bloqueadoHasta());
+                if (estado.compareAndSet(actual, nuevo)) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.carrie.hazellabev2.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.carrie.hazellabev2.config.EnrutadorDataSource;
+import com.carrie.hazellabev2.config.EnrutadorDataSource.Replica;
+import com.carrie.hazellabev2.dto.EstadoReplica;
+
+import jakarta.annotation.PreDestroy;
+
+/* ================= Monitor de Retraso de las Réplicas de Lectura ================= */
+
+/**
+ * Mide cada intervalo-ms el retraso de replicación de cada réplica con un latido (tabla latido_replica):
+ * 1. En cada réplica se lee la marca replicada y se compara con el último latido escrito en la primaria: si ya lo
+ *    recibió el retraso es 0; si no, es la diferencia entre ambos latidos
+ * 2. Se escribe en la primaria un latido nuevo con la hora actual
+ * Una réplica atrasada más de max-retraso-ms, sin la fila del latido o que no responde deja de recibir lecturas hasta
+ * la siguiente medición correcta. Con max-retraso-ms = 0 no se controla el retraso, solo que la réplica responda
+ * (útil con dos bases locales sin replicación entre ellas). Sin réplicas configuradas no se inicia.
+ */
+@Component
+
+public class MonitorReplicas {
+    private static final Logger log = LoggerFactory.getLogger(MonitorReplicas.class);
+
+    @Autowired
+    private EnrutadorDataSource enrutador;
+
+    @Value("${hazellab.replicas.intervalo-ms:500}")
+    private long intervaloMs = 500;
+
+    @Value("${hazellab.replicas.max-retraso-ms:2000}")
+    private long maxRetrasoMs = 2000;
+
+    private ScheduledExecutorService temporizador;
+    // Último latido escrito en la primaria (0 = todavía ninguno: no hay con qué comparar)
+    private volatile long ultimoLatido = 0;
+
+    /* ================= CICLO DE VIDA ================= */
+
+    // Se inicia con el esquema ya creado (la tabla del latido la crea Hibernate en la primaria)
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!enrutador.tieneReplicas() || temporizador != null) {
+            return;
+        }
+        temporizador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "replicas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        temporizador.scheduleWithFixedDelay(this::revisar, 0, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        if (temporizador != null) {
+            temporizador.shutdownNow();
+        }
+    }
+
+    /* ================= MEDICIÓN ================= */
+
+    // Una pasada: medir todas las réplicas contra el latido anterior y luego escribir el siguiente
+    void revisar() {
+        for (Replica replica : enrutador.getReplicas()) {
+            medir(replica);
+        }
+        latir();
+    }
+
+    void medir(Replica replica) {
+        boolean antes = replica.isDisponible();
+        try {
+            JdbcTemplate jdbc = plantilla(replica);
+            if (maxRetrasoMs <= 0) {
+                jdbc.queryForObject("select 1", Integer.class);
+                replica.registrarMedicion(0, true);
+            } else {
+                List<Long> marcas = jdbc.queryForList("select marca from latido_replica where id = 1", Long.class);
+                long latido = ultimoLatido;
+                if (latido == 0 || marcas.isEmpty()) {
+                    replica.registrarMedicion(-1, false);
+                } else {
+                    long retraso = Math.max(0, latido - marcas.get(0));
+                    replica.registrarMedicion(retraso, retraso <= maxRetrasoMs);
+                }
+            }
+        } catch (DataAccessException e) {
+            replica.registrarMedicion(-1, false);
+        }
+        if (antes != replica.isDisponible()) {
+            log.info("Réplica {} {} (retraso {} ms)", replica.getNombre(),
+                    replica.isDisponible() ? "disponible para lecturas" : "fuera de servicio", replica.getRetrasoMs());
+        }
+    }
+
+    private void latir() {
+        if (maxRetrasoMs <= 0) {
+            return;
+        }
+        long ahora = System.currentTimeMillis();
+        try {
+            JdbcTemplate jdbc = new JdbcTemplate(enrutador.getPrimaria());
+            if (jdbc.update("update latido_replica set marca = ? where id = 1", ahora) == 0) {
+                jdbc.update("insert into latido_replica (id, marca) values (1, ?)", ahora);
+            }
+            ultimoLatido = ahora;
+        } catch (DataAccessException e) {
+            // Otra instancia pudo insertar la fila primero; se reintenta en la siguiente pasada
+            log.warn("No se pudo escribir el latido de replicación: {}", e.getMessage());
+        }
+    }
+
+    private static JdbcTemplate plantilla(Replica replica) {
+        JdbcTemplate jdbc = new JdbcTemplate(replica.getDataSource());
+        jdbc.setQueryTimeout(1);
+        return jdbc;
+    }
+
+    /* ================= CONSULTA ================= */
+
+    // La primaria primero y luego cada réplica con su última medición
+    public List<EstadoReplica> estado() {
+        List<EstadoReplica> estado = new ArrayList<>();
+        estado.add(new EstadoReplica(EnrutadorDataSource.PRIMARIA, true, 0, enrutador.getConexionesPrimaria()));
+        for (Replica replica : enrutador.getReplicas()) {
+            estado.add(new EstadoReplica(replica.getNombre(), replica.isDisponible(), replica.getRetrasoMs(), replica.getConexiones()));
+        }
+        return estado;
+    }
+}
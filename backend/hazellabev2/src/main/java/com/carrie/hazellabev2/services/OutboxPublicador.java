@@ -0,0 +1,33 @@
+package com.carrie.hazellabev2.services;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.carrie.hazellabev2.entities.EventoCambio;
+import com.carrie.hazellabev2.entities.EventoCambio.Agregado;
+import com.carrie.hazellabev2.entities.EventoCambio.Tipo;
+import com.carrie.hazellabev2.repositories.EventoCambioRepository;
+
+/* ================= Publicación de Cambios en el Outbox ================= */
+
+/**
+ * Registra un evento de cambio dentro de la transacción del servicio que modifica la entidad:
+ * el evento existe si y solo si el cambio se confirmó. Exige una transacción activa (MANDATORY)
+ * para que un servicio sin @Transactional falle en vez de publicar eventos fuera de ella.
+ * Solo inserta una fila; los suscriptores lentos nunca bloquean al escritor.
+ */
+@Component
+
+public class OutboxPublicador {
+    @Autowired
+    private EventoCambioRepository eventoCambioRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publicar(Agregado agregado, Long id, Tipo tipo) {
+        eventoCambioRepository.save(new EventoCambio(null, agregado, id, tipo, LocalDateTime.now()));
+    }
+}
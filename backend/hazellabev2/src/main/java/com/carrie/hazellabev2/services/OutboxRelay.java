@@ -0,0 +1,163 @@
+package com.carrie.hazellabev2.services;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.carrie.hazellabev2.entities.EventoCambio;
+import com.carrie.hazellabev2.entities.OutboxCheckpoint;
+import com.carrie.hazellabev2.repositories.EventoCambioRepository;
+import com.carrie.hazellabev2.repositories.OutboxCheckpointRepository;
+
+/* ================= Relé del Outbox hacia Suscriptores en Proceso ================= */
+
+/**
+ * Lee periódicamente la tabla evento_cambio por lotes y entrega los eventos, en orden de ID, a cada
+ * SuscriptorCambios registrado. Cada suscriptor avanza su propio punto de control (outbox_checkpoint)
+ * solo después de procesar un lote sin errores, así que un fallo o un reinicio repite el lote (al menos
+ * una vez) y un suscriptor lento o caído no retrasa a los demás ni a los servicios que escriben.
+ * Un hueco en los IDs puede ser una transacción aún sin confirmar: la entrega se detiene antes del hueco
+ * hasta que el hueco mismo lleve unos segundos a la vista sin llenarse. Se mide desde que el relé lo ve y no
+ * por la fecha de los eventos, que se fija al publicar: una transacción larga con un ID anterior no se pierde.
+ * Los eventos ya entregados a todos los suscriptores se eliminan.
+ */
+@Component
+
+public class OutboxRelay {
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private EventoCambioRepository eventoCambioRepository;
+
+    @Autowired
+    private OutboxCheckpointRepository checkpointRepository;
+
+    // Suscriptores en proceso (índices, cachés, contadores); puede no haber ninguno
+    @Autowired(required = false)
+    private List<SuscriptorCambios> suscriptores = List.of();
+
+    // Eventos leídos por consulta y máximo de lotes por suscriptor en cada pasada
+    @Value("${hazellab.outbox.tamanio-lote:200}")
+    private int tamanioLote = 200;
+
+    @Value("${hazellab.outbox.max-lotes-por-pasada:10}")
+    private int maxLotesPorPasada = 10;
+
+    // Tiempo que un hueco en los IDs puede seguir abierto (esperando que se confirme su transacción) antes de saltarlo
+    @Value("${hazellab.outbox.margen-huecos-segundos:5}")
+    private long margenHuecosSegundos = 5;
+
+    // Puntos de control en memoria (se leen de la base de datos la primera vez)
+    private final Map<String, Long> checkpoints = new ConcurrentHashMap<>();
+    private long ultimoEliminado = 0;
+
+    // Cuándo se vio por primera vez cada hueco abierto, por el primer ID que falta; solo se usa desde despachar()
+    private final TreeMap<Long, LocalDateTime> huecos = new TreeMap<>();
+
+    /* ================= DESPACHO ================= */
+
+    // Una pasada por todos los suscriptores; se ejecuta en el hilo del planificador, nunca en el de una solicitud
+    @Scheduled(initialDelayString = "${hazellab.outbox.intervalo-ms:500}", fixedDelayString = "${hazellab.outbox.intervalo-ms:500}")
+    public synchronized void despachar() {
+        if (suscriptores.isEmpty()) {
+            return;
+        }
+        long minimo = Long.MAX_VALUE;
+        for (SuscriptorCambios suscriptor : suscriptores) {
+            minimo = Math.min(minimo, despachar(suscriptor));
+        }
+        if (minimo > ultimoEliminado) {
+            eventoCambioRepository.eliminarHasta(minimo);
+            ultimoEliminado = minimo;
+        }
+        // Los huecos que ya quedaron atrás de todos los suscriptores no se vuelven a consultar
+        huecos.headMap(minimo, true).clear();
+    }
+
+    // Entrega al suscriptor los eventos pendientes y retorna su punto de control resultante
+    private long despachar(SuscriptorCambios suscriptor) {
+        long ultimo = checkpoint(suscriptor.getNombre());
+        try {
+            for (int i = 0; i < maxLotesPorPasada; i++) {
+                List<EventoCambio> lote = eventoCambioRepository.findByIdGreaterThanOrderByIdAsc(ultimo, PageRequest.of(0, tamanioLote));
+                List<EventoCambio> entregables = hastaPrimerHueco(lote, ultimo, LocalDateTime.now());
+                if (entregables.isEmpty()) {
+                    break;
+                }
+                List<EventoCambio> relevantes = new ArrayList<>(entregables.size());
+                for (EventoCambio evento : entregables) {
+                    if (suscriptor.interesa(evento)) {
+                        relevantes.add(evento);
+                    }
+                }
+                if (!relevantes.isEmpty()) {
+                    suscriptor.procesar(relevantes);
+                }
+                ultimo = entregables.get(entregables.size() - 1).getId();
+                guardarCheckpoint(suscriptor.getNombre(), ultimo);
+                if (entregables.size() < tamanioLote) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            // El punto de control no avanzó: el mismo lote se reintenta en la siguiente pasada
+            log.warn("El suscriptor {} falló procesando eventos posteriores a {}; se reintentará", suscriptor.getNombre(), ultimo, e);
+        }
+        return ultimo;
+    }
+
+    // Prefijo del lote con IDs consecutivos; un hueco solo se salta si lleva abierto más que el margen
+    List<EventoCambio> hastaPrimerHueco(List<EventoCambio> lote, long ultimo, LocalDateTime ahora) {
+        LocalDateTime limite = ahora.minusSeconds(margenHuecosSegundos);
+        long esperado = ultimo + 1;
+        int i = 0;
+        for (; i < lote.size(); i++) {
+            EventoCambio evento = lote.get(i);
+            if (evento.getId() != esperado) {
+                // Si el hueco se llena en parte, lo que queda abierto empieza en otro ID y se vuelve a esperar
+                LocalDateTime visto = huecos.computeIfAbsent(esperado, id -> ahora);
+                if (visto.isAfter(limite)) {
+                    break;
+                }
+                log.debug("Se saltan los IDs {} a {} del outbox: siguen sin confirmarse tras {} s",
+                        esperado, evento.getId() - 1, margenHuecosSegundos);
+            }
+            esperado = evento.getId() + 1;
+        }
+        return lote.subList(0, i);
+    }
+
+    /* ================= PUNTOS DE CONTROL ================= */
+
+    private long checkpoint(String suscriptor) {
+        return checkpoints.computeIfAbsent(suscriptor, nombre -> checkpointRepository.findById(nombre)
+                .map(OutboxCheckpoint::getUltimoEventoId)
+                .orElse(0L));
+    }
+
+    private void guardarCheckpoint(String suscriptor, long ultimo) {
+        checkpointRepository.save(new OutboxCheckpoint(suscriptor, ultimo, LocalDateTime.now()));
+        checkpoints.put(suscriptor, ultimo);
+    }
+
+    // Último evento entregado a cada suscriptor (para monitoreo)
+    public Map<String, Long> estado() {
+        Map<String, Long> estado = new LinkedHashMap<>();
+        for (SuscriptorCambios suscriptor : suscriptores) {
+            estado.put(suscriptor.getNombre(), checkpoint(suscriptor.getNombre()));
+        }
+        return estado;
+    }
+}
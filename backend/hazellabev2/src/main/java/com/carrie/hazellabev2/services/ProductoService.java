@@ -8,6 +8,7 @@ public interface ProductoService {
     /* ---------------------------------- CRUD simple ---------------------------------- */
     Producto crear(Producto producto);
     Producto obtenerPorID(Long id);    
+    boolean existe(Long id);
     Producto actualizar(Long id, Producto productoActualizado);
     List<Producto> listarTodo();
     void eliminar(Long id);
@@ -16,6 +17,7 @@ public interface ProductoService {
     Producto desactivar(Long id);
     Producto actualizarImagen(Long id, String imageUrl);
     List<Producto> listarDestacados();
+    List<Producto> listarPorVencer(int dias);
     
     /* ---------------------------------- FILTROS Y BÚSQUEDA ---------------------------------- */
     List<Producto> buscarPorNombre(String nombre);
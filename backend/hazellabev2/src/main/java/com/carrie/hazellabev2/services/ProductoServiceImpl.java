@@ -1,11 +1,19 @@
 package com.carrie.hazellabev2.services;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.carrie.hazellabev2.config.LecturaReplica;
+import com.carrie.hazellabev2.entities.EventoCambio.Agregado;
+import com.carrie.hazellabev2.entities.EventoCambio.Tipo;
 import com.carrie.hazellabev2.entities.Producto;
+import com.carrie.hazellabev2.entities.RegistroAuditoria.Accion;
+import com.carrie.hazellabev2.entities.RegistroAuditoria.Entidad;
 import com.carrie.hazellabev2.repositories.ProductoRepository;
 
 /* ================= Servicio de Implementación para Gestión de Productos ================= */
@@ -13,29 +21,70 @@ import com.carrie.hazellabev2.repositories.ProductoRepository;
 @Service
 
 public class ProductoServiceImpl implements ProductoService {
+    // Horizonte máximo de la consulta de productos por vencer
+    static final int MAX_DIAS_VENCIMIENTO = 366;
+
     // Inyección del repositorio para acceso a datos de productos
     @Autowired
     private ProductoRepository productoRepository;
 
+    // Modelo de lectura de categorías: mantiene el conteo de productos activos por categoría
+    @Autowired
+    private CategoriaCatalogo categoriaCatalogo;
+
+    // Outbox: cada cambio publica su evento en la misma transacción
+    @Autowired
+    private OutboxPublicador outbox;
+
+    // Índice en memoria de vencimientos: desactiva los productos vencidos y responde "por vencer" sin recorrer la tabla
+    @Autowired
+    private AgendaVencimientos agendaVencimientos;
+
+    // Registro de auditoría: recibe los campos cambiados y los escribe en segundo plano
+    @Autowired
+    private Auditoria auditoria;
+
+    // Feed en vivo del panel de administración (ediciones de productos)
+    @Autowired
+    private FeedActividad feedActividad;
+
     /* ================= OPERACIONES CRUD BÁSICAS ================= */
     
     // Crea un nuevo producto en el inventario - persiste la entidad completa con todos sus atributos
     @Override
+    @Transactional
     public Producto crear(Producto producto) {
-        return productoRepository.save(producto);
+        Producto guardado = productoRepository.save(producto);
+        outbox.publicar(Agregado.PRODUCTO, guardado.getId(), Tipo.CREADO);
+        categoriaCatalogo.ajustarProducto(null, guardado);
+        return guardado;
     }
 
     // Obtiene un producto específico por su ID - lanza excepción si no existe para evitar null pointers
     @Override
+    @LecturaReplica
     public Producto obtenerPorID(Long id) {
         return productoRepository.findById(id)
         .orElseThrow(() -> new RuntimeException("Producto no encontrado."));
     }    
 
+    // Comprueba si un producto existe sin cargar la entidad - va contra la base primaria para que
+    // ninguna entidad de solo lectura quede en el contexto de persistencia antes de una escritura
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existe(Long id) {
+        return productoRepository.existsById(id);
+    }
+
     // Actualiza un producto existente - verifica existencia y actualiza TODOS los campos editables
     @Override
+    @Transactional
     public Producto actualizar(Long id, Producto productoActualizado) {
         Producto productoExistente = obtenerPorID(id);
+        Map<String, Object> antes = Auditoria.instantanea(productoExistente);
+        // Categoría y estado previos, para ajustar los conteos del catálogo de categorías
+        Long categoriaAnterior = productoExistente.getCategory() != null ? productoExistente.getCategory().getId() : null;
+        boolean activoAnterior = Boolean.TRUE.equals(productoExistente.getActiveStatus());
 
         // Actualización completa de todos los campos editables del producto
         productoExistente.setName(productoActualizado.getName());
@@ -58,82 +107,132 @@ public class ProductoServiceImpl implements ProductoService {
         // creationDate NO se actualiza - se preserva la fecha original de creación
         // expirationDate se actualiza si es necesario (productos con nueva fecha de expiración)
         
-        return productoRepository.save(productoExistente);
+        Producto guardado = productoRepository.save(productoExistente);
+        outbox.publicar(Agregado.PRODUCTO, id, Tipo.ACTUALIZADO);
+        auditoria.registrar(Entidad.PRODUCTO, id, Accion.ACTUALIZADO, antes, Auditoria.instantanea(guardado));
+        feedActividad.productoEditado(guardado);
+        categoriaCatalogo.ajustarProducto(categoriaAnterior, activoAnterior,
+                guardado.getCategory() != null ? guardado.getCategory().getId() : null,
+                Boolean.TRUE.equals(guardado.getActiveStatus()));
+        return guardado;
     }
 
     // Obtiene todos los productos del sistema - conversión necesaria por herencia de CrudRepository
     @Override
+    @LecturaReplica
     public List<Producto> listarTodo() {
         return (List<Producto>) productoRepository.findAll();
     }
     
     // Elimina un producto del inventario - verifica existencia previa para evitar errores
     @Override
+    @Transactional
     public void eliminar(Long id) {
-        if (!productoRepository.existsById(id)) {
-            throw new RuntimeException("Producto no encontrado.");
-        } 
+        Producto producto = productoRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Producto no encontrado."));
         productoRepository.deleteById(id);
+        outbox.publicar(Agregado.PRODUCTO, id, Tipo.ELIMINADO);
+        auditoria.registrar(Entidad.PRODUCTO, id, Accion.ELIMINADO, Auditoria.instantanea(producto), null);
+        categoriaCatalogo.ajustarProducto(producto, null);
     }
 
     /* ================= OPERACIONES ESPECÍFICAS DE NEGOCIO ================= */
     
     // Desactiva un producto cambiando su estado a inactivo (soft delete)
     @Override
+    @Transactional
     public Producto desactivar(Long id) {
         Producto producto = obtenerPorID(id);
+        boolean activoAnterior = Boolean.TRUE.equals(producto.getActiveStatus());
+        Map<String, Object> antes = Auditoria.instantanea(producto);
         producto.setActiveStatus(false);
-        return productoRepository.save(producto);
+        Producto guardado = productoRepository.save(producto);
+        outbox.publicar(Agregado.PRODUCTO, id, Tipo.ACTUALIZADO);
+        auditoria.registrar(Entidad.PRODUCTO, id, Accion.DESACTIVADO, antes, Auditoria.instantanea(guardado));
+        feedActividad.productoEditado(guardado);
+        Long categoriaId = guardado.getCategory() != null ? guardado.getCategory().getId() : null;
+        categoriaCatalogo.ajustarProducto(categoriaId, activoAnterior, categoriaId, false);
+        return guardado;
     }
 
     // Actualiza únicamente la URL de la imagen de un producto - operación específica para gestión de medios
     @Override
+    @Transactional
     public Producto actualizarImagen(Long id, String imageUrl) {
         Producto producto = obtenerPorID(id);
+        Map<String, Object> antes = Auditoria.instantanea(producto);
         producto.setImage(imageUrl);
-        return productoRepository.save(producto);
+        Producto guardado = productoRepository.save(producto);
+        outbox.publicar(Agregado.PRODUCTO, id, Tipo.ACTUALIZADO);
+        auditoria.registrar(Entidad.PRODUCTO, id, Accion.ACTUALIZADO, antes, Auditoria.instantanea(guardado));
+        return guardado;
     }
 
     // Obtiene productos marcados como destacados para secciones promocionales y página principal
     @Override
+    @LecturaReplica
     public List<Producto> listarDestacados() {
         return productoRepository.findByDestacadoTrue();
     }
 
+    // Productos activos que vencen dentro de los próximos N días, del más próximo al más lejano
+    // (el índice entrega los IDs y se leen solo esos productos por clave primaria)
+    @Override
+    @LecturaReplica
+    public List<Producto> listarPorVencer(int dias) {
+        if (dias < 0 || dias > MAX_DIAS_VENCIMIENTO) {
+            throw new IllegalArgumentException("Los días deben estar entre 0 y " + MAX_DIAS_VENCIMIENTO + ".");
+        }
+        List<Long> ids = agendaVencimientos.vencenDentroDe(dias).stream()
+                .map(AgendaVencimientos.Vencimiento::productoId).toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Producto> porId = new HashMap<>();
+        productoRepository.findAllById(ids).forEach(producto -> porId.put(producto.getId(), producto));
+        return ids.stream().map(porId::get).filter(producto -> producto != null).toList();
+    }
+
     /* ================= SISTEMA DE FILTRADO Y BÚSQUEDA ================= */
     
     // Busca productos por nombre (búsqueda parcial insensible a mayúsculas/minúsculas)
     @Override
+    @LecturaReplica
     public List<Producto> buscarPorNombre(String nombre) {
         return productoRepository.findByNameContainingIgnoreCase(nombre);
     }
 
     // Filtra productos por categoría específica usando ID de categoría
     @Override
+    @LecturaReplica
     public List<Producto> buscarPorCategoria(Long categoriaId) {
         return productoRepository.findByCategoryId(categoriaId);
     }
 
-    // Obtiene productos con stock bajo (menos de 5 unidades) para alertas de inventario
+    // Obtiene productos en o bajo su propio stock crítico (stock <= stockCritico) usando la columna indexada stock_bajo
     @Override
+    @LecturaReplica
     public List<Producto> buscarProductosStockBajo() {
-        return productoRepository.findByStockLessThan(5);
+        return productoRepository.findByStockBajoTrue();
     }
 
     // Filtra productos por estado activo/inactivo - útil para administración
     @Override
+    @LecturaReplica
     public List<Producto> buscarPorEstado(Boolean activo) {
         return productoRepository.findByActiveStatus(activo);
     }
 
     // Búsqueda combinada por nombre Y categoría - filtrado avanzado para catálogo
     @Override
+    @LecturaReplica
     public List<Producto> buscarPorNombreYCategoria(String nombre, Long categoriaId) {
         return productoRepository.findByNameContainingIgnoreCaseAndCategoryId(nombre, categoriaId);
     }
 
     // Búsqueda combinada por nombre Y estado - útil para búsquedas administrativas
     @Override
+    @LecturaReplica
     public List<Producto> buscarPorNombreYEstado(String nombre, Boolean activo) {
         return productoRepository.findByNameContainingIgnoreCaseAndActiveStatus(nombre, activo);
     }
@@ -0,0 +1,144 @@
+package com.carrie.hazellabev2.services;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.carrie.hazellabev2.entities.DetalleVenta;
+import com.carrie.hazellabev2.entities.Venta;
+import com.carrie.hazellabev2.repositories.DetalleVentaRepository;
+import com.carrie.hazellabev2.utils.RankingIncremental;
+import com.carrie.hazellabev2.utils.RankingIncremental.Posicion;
+import com.carrie.hazellabev2.utils.Transacciones;
+
+/* ================= Ranking en Memoria de Productos más Vendidos ================= */
+
+/**
+ * Mantiene las unidades vendidas por producto en tres ventanas (hoy, últimos 7 días e histórico), cada una
+ * con un RankingIncremental, de modo que leer los K más vendidos cuesta O(K) y nunca recorre las ventas.
+ * Se carga una vez al iniciar (un GROUP BY para el histórico y las líneas de la última semana) y luego
+ * VentaServiceImpl le entrega cada venta, que se aplica solo cuando su transacción se confirma.
+ * La semana guarda las unidades de cada día: al pasar un día, el más antiguo se resta de la ventana.
+ * Los contadores son exactos porque las claves son los productos del catálogo (un conjunto acotado).
+ */
+@Component
+
+public class RankingVentas {
+    // Ventanas de tiempo del ranking
+    public enum Ventana { DIA, SEMANA, HISTORICO }
+
+    static final int DIAS_SEMANA = 7;
+
+    // Repositorio usado solo en la carga inicial
+    @Autowired
+    private DetalleVentaRepository detalleVentaRepository;
+
+    // Reloj para el cambio de día (reemplazable en pruebas)
+    private Clock reloj = Clock.systemDefaultZone();
+
+    // Estado mutable protegido por el monitor de esta instancia
+    private final RankingIncremental historico = new RankingIncremental();
+    private final RankingIncremental semana = new RankingIncremental();
+    private final RankingIncremental dia = new RankingIncremental();
+    // Unidades por producto de cada día de la ventana semanal, para restarlas cuando el día sale de ella
+    private final TreeMap<LocalDate, Map<Long, Long>> dias = new TreeMap<>();
+    private LocalDate fechaDia;
+    private boolean cargado = false;
+
+    /* ================= CARGA INICIAL ================= */
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void cargar() {
+        historico.limpiar();
+        semana.limpiar();
+        dias.clear();
+        for (Object[] fila : detalleVentaRepository.sumarUnidadesPorProducto()) {
+            historico.sumar((Long) fila[0], ((Number) fila[1]).longValue());
+        }
+        LocalDate hoy = LocalDate.now(reloj);
+        for (Object[] fila : detalleVentaRepository.listarLineasDesde(inicioSemana(hoy).atStartOfDay())) {
+            LocalDate fecha = ((LocalDateTime) fila[2]).toLocalDate();
+            acumularEnSemana(fecha, (Long) fila[0], ((Number) fila[1]).longValue(), hoy);
+        }
+        fechaDia = null;
+        avanzar(hoy);
+        cargado = true;
+    }
+
+    /* ================= REGISTRO DE VENTAS ================= */
+
+    // Registra las unidades de una venta; dentro de una transacción se aplican solo si esta se confirma
+    public void registrar(Venta venta) {
+        LocalDate fecha = venta.getFecha().toLocalDate();
+        Map<Long, Long> unidades = new HashMap<>();
+        for (DetalleVenta detalle : venta.getDetalles()) {
+            unidades.merge(detalle.getProductoId(), (long) detalle.getCantidad(), Long::sum);
+        }
+        Transacciones.alConfirmar(() -> aplicar(fecha, unidades));
+    }
+
+    synchronized void aplicar(LocalDate fecha, Map<Long, Long> unidades) {
+        // Antes de la carga inicial la venta ya queda incluida en la consulta de carga
+        if (!cargado) {
+            return;
+        }
+        LocalDate hoy = LocalDate.now(reloj);
+        avanzar(hoy);
+        unidades.forEach((productoId, cantidad) -> {
+            historico.sumar(productoId, cantidad);
+            acumularEnSemana(fecha, productoId, cantidad, hoy);
+            if (fecha.equals(hoy)) {
+                dia.sumar(productoId, cantidad);
+            }
+        });
+    }
+
+    /* ================= CONSULTAS ================= */
+
+    // Los K productos más vendidos de la ventana, de mayor a menor: [productoId, unidades]
+    public synchronized List<Posicion> primeros(Ventana ventana, int k) {
+        avanzar(LocalDate.now(reloj));
+        return switch (ventana) {
+            case DIA -> dia.primeros(k);
+            case SEMANA -> semana.primeros(k);
+            case HISTORICO -> historico.primeros(k);
+        };
+    }
+
+    /* ================= VENTANAS DE TIEMPO ================= */
+
+    // Saca de la semana los días que quedaron fuera y reinicia el ranking del día cuando cambia la fecha
+    private void avanzar(LocalDate hoy) {
+        Map<LocalDate, Map<Long, Long>> vencidos = dias.headMap(inicioSemana(hoy));
+        for (Map<Long, Long> unidades : vencidos.values()) {
+            unidades.forEach((productoId, cantidad) -> semana.sumar(productoId, -cantidad));
+        }
+        vencidos.clear();
+        if (!hoy.equals(fechaDia)) {
+            dia.limpiar();
+            dias.getOrDefault(hoy, Map.of()).forEach(dia::sumar);
+            fechaDia = hoy;
+        }
+    }
+
+    private void acumularEnSemana(LocalDate fecha, long productoId, long cantidad, LocalDate hoy) {
+        if (fecha.isBefore(inicioSemana(hoy)) || fecha.isAfter(hoy)) {
+            return;
+        }
+        dias.computeIfAbsent(fecha, f -> new HashMap<>()).merge(productoId, cantidad, Long::sum);
+        semana.sumar(productoId, cantidad);
+    }
+
+    private static LocalDate inicioSemana(LocalDate hoy) {
+        return hoy.minusDays(DIAS_SEMANA - 1);
+    }
+}
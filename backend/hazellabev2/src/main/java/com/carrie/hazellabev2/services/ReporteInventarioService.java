@@ -0,0 +1,12 @@
+package com.carrie.hazellabev2.services;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.carrie.hazellabev2.dto.ReporteValoracion;
+
+public interface ReporteInventarioService {
+    /* ---------------------------------- Valoración de inventario ---------------------------------- */
+    ReporteValoracion generarValoracion();
+    void escribirValoracionCsv(ReporteValoracion reporte, Writer salida) throws IOException;
+}
@@ -0,0 +1,279 @@
+package com.carrie.hazellabev2.services;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.carrie.hazellabev2.dto.LineaValoracion;
+import com.carrie.hazellabev2.dto.ReporteValoracion;
+import com.carrie.hazellabev2.repositories.ProductoRepository;
+import com.carrie.hazellabev2.utils.EscritorCsv;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/* ================= Servicio de Reportes de Inventario ================= */
+
+/**
+ * Valoración del inventario a costo (cost * stock) por categoría, por proveedor y por tramo de vencimiento.
+ * Los productos se recorren como cursor (solo las columnas necesarias, sin entidades administradas) y se agrupan
+ * en lotes; cada lote se suma en un ForkJoinPool dividiéndolo en mitades (RecursiveTask) y las sumas parciales
+ * se combinan al final. Solo se mantienen unos pocos lotes en vuelo: la memoria depende del tamaño del lote y
+ * de la cantidad de grupos (categorías y proveedores), no de la cantidad de productos.
+ */
+@Service
+
+public class ReporteInventarioServiceImpl implements ReporteInventarioService {
+    // Tramos del valor en riesgo por vencimiento (días completos desde ahora hasta la fecha de vencimiento)
+    static final String[] TRAMOS = { "vencido", "0-30 días", "31-60 días", "61-90 días" };
+    static final String SIN_CATEGORIA = "Sin categoría";
+    static final String SIN_PROVEEDOR = "Sin proveedor";
+    // Filas bajo las que una suma parcial deja de dividirse
+    static final int UMBRAL_DIVISION = 512;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    // Filas por lote enviado al pool y paralelismo del pool
+    @Value("${hazellab.reportes.tamanio-lote:5000}")
+    private int tamanioLote = 5000;
+
+    @Value("${hazellab.reportes.hilos:4}")
+    private int hilos = 4;
+
+    // Reloj de los tramos de vencimiento (reemplazable en pruebas)
+    private Clock reloj = Clock.systemDefaultZone();
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    public void iniciar() {
+        pool = new ForkJoinPool(hilos);
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        pool.shutdown();
+    }
+
+    /* ================= VALORACIÓN ================= */
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReporteValoracion generarValoracion() {
+        long inicio = System.nanoTime();
+        Instant ahora = Instant.now(reloj);
+        Acumulado total = new Acumulado();
+        // Lotes enviados y aún no combinados; al llegar al máximo se espera el más antiguo antes de leer más filas
+        Deque<ForkJoinTask<Acumulado>> enVuelo = new ArrayDeque<>();
+        int maxEnVuelo = Math.max(2, hilos * 2);
+        try (Stream<Object[]> filas = productoRepository.recorrerValoracion()) {
+            List<Fila> lote = new ArrayList<>(tamanioLote);
+            Iterator<Object[]> it = filas.iterator();
+            while (it.hasNext()) {
+                lote.add(Fila.de(it.next()));
+                if (lote.size() >= tamanioLote) {
+                    enVuelo.addLast(pool.submit(new SumaParcial(lote, 0, lote.size(), ahora)));
+                    lote = new ArrayList<>(tamanioLote);
+                    while (enVuelo.size() >= maxEnVuelo) {
+                        total.combinar(enVuelo.pollFirst().join());
+                    }
+                }
+            }
+            if (!lote.isEmpty()) {
+                enVuelo.addLast(pool.submit(new SumaParcial(lote, 0, lote.size(), ahora)));
+            }
+        }
+        while (!enVuelo.isEmpty()) {
+            total.combinar(enVuelo.pollFirst().join());
+        }
+        return total.reporte(LocalDateTime.ofInstant(ahora, reloj.getZone()),
+                Duration.ofNanos(System.nanoTime() - inicio).toMillis());
+    }
+
+    /* ================= CSV ================= */
+
+    // Una fila por grupo: seccion,grupo,productos,unidades,valor (más una fila de total)
+    @Override
+    public void escribirValoracionCsv(ReporteValoracion reporte, Writer salida) throws IOException {
+        EscritorCsv.fila(salida, "seccion", "grupo", "productos", "unidades", "valor");
+        EscritorCsv.fila(salida, "total", "Inventario", reporte.getProductos(), reporte.getUnidades(), reporte.getValorTotal());
+        escribirSeccion(salida, "categoria", reporte.getPorCategoria());
+        escribirSeccion(salida, "proveedor", reporte.getPorProveedor());
+        escribirSeccion(salida, "vencimiento", reporte.getEnRiesgo());
+        salida.flush();
+    }
+
+    private static void escribirSeccion(Writer salida, String seccion, List<LineaValoracion> lineas) throws IOException {
+        for (LineaValoracion linea : lineas) {
+            EscritorCsv.fila(salida, seccion, linea.getGrupo(), linea.getProductos(), linea.getUnidades(), linea.getValor());
+        }
+    }
+
+    /* ================= SUMAS PARCIALES ================= */
+
+    // Suma un rango del lote; si es grande lo divide en dos mitades que se suman en paralelo y se combinan
+    static final class SumaParcial extends RecursiveTask<Acumulado> {
+        private final List<Fila> filas;
+        private final int desde;
+        private final int hasta;
+        private final Instant ahora;
+
+        SumaParcial(List<Fila> filas, int desde, int hasta, Instant ahora) {
+            this.filas = filas;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.ahora = ahora;
+        }
+
+        @Override
+        protected Acumulado compute() {
+            if (hasta - desde <= UMBRAL_DIVISION) {
+                Acumulado parcial = new Acumulado();
+                for (int i = desde; i < hasta; i++) {
+                    parcial.sumar(filas.get(i), ahora);
+                }
+                return parcial;
+            }
+            int medio = (desde + hasta) >>> 1;
+            SumaParcial izquierda = new SumaParcial(filas, desde, medio, ahora);
+            izquierda.fork();
+            Acumulado derecha = new SumaParcial(filas, medio, hasta, ahora).compute();
+            return izquierda.join().combinar(derecha);
+        }
+    }
+
+    // Columnas de un producto necesarias para la valoración
+    record Fila(Long categoriaId, String categoria, String proveedor, long costo, long stock, Instant vence) {
+        static Fila de(Object[] columnas) {
+            Date vence = (Date) columnas[5];
+            return new Fila((Long) columnas[0], (String) columnas[1], (String) columnas[2],
+                    ((Number) columnas[3]).longValue(), ((Number) columnas[4]).longValue(),
+                    vence == null ? null : Instant.ofEpochMilli(vence.getTime()));
+        }
+    }
+
+    // Productos, unidades y valor de un grupo
+    static final class Grupo {
+        private final String nombre;
+        private long productos;
+        private long unidades;
+        private long valor;
+
+        Grupo(String nombre) {
+            this.nombre = nombre;
+        }
+
+        void sumar(long unidadesProducto, long valorProducto) {
+            productos++;
+            unidades += unidadesProducto;
+            valor += valorProducto;
+        }
+
+        void combinar(Grupo otro) {
+            productos += otro.productos;
+            unidades += otro.unidades;
+            valor += otro.valor;
+        }
+
+        LineaValoracion linea() {
+            return new LineaValoracion(nombre, productos, unidades, valor);
+        }
+    }
+
+    // Suma parcial de un conjunto de filas; dos acumulados se combinan sumando grupo a grupo
+    static final class Acumulado {
+        private final Grupo total = new Grupo("Inventario");
+        private final Map<Long, Grupo> porCategoria = new HashMap<>();
+        private final Map<String, Grupo> porProveedor = new HashMap<>();
+        private final Grupo[] enRiesgo = new Grupo[TRAMOS.length];
+
+        Acumulado() {
+            for (int i = 0; i < TRAMOS.length; i++) {
+                enRiesgo[i] = new Grupo(TRAMOS[i]);
+            }
+        }
+
+        void sumar(Fila fila, Instant ahora) {
+            long valor = fila.costo() * fila.stock();
+            total.sumar(fila.stock(), valor);
+            // Productos sin categoría comparten la clave -1 (los IDs generados son positivos)
+            long categoriaId = fila.categoriaId() == null ? -1L : fila.categoriaId();
+            porCategoria.computeIfAbsent(categoriaId,
+                    id -> new Grupo(fila.categoria() == null ? SIN_CATEGORIA : fila.categoria()))
+                    .sumar(fila.stock(), valor);
+            String proveedor = fila.proveedor() == null || fila.proveedor().isBlank() ? SIN_PROVEEDOR : fila.proveedor().trim();
+            porProveedor.computeIfAbsent(proveedor, Grupo::new).sumar(fila.stock(), valor);
+            int tramo = tramo(fila.vence(), ahora);
+            if (tramo >= 0) {
+                enRiesgo[tramo].sumar(fila.stock(), valor);
+            }
+        }
+
+        Acumulado combinar(Acumulado otro) {
+            total.combinar(otro.total);
+            otro.porCategoria.forEach((id, grupo) -> porCategoria.merge(id, grupo, (a, b) -> {
+                a.combinar(b);
+                return a;
+            }));
+            otro.porProveedor.forEach((nombre, grupo) -> porProveedor.merge(nombre, grupo, (a, b) -> {
+                a.combinar(b);
+                return a;
+            }));
+            for (int i = 0; i < enRiesgo.length; i++) {
+                enRiesgo[i].combinar(otro.enRiesgo[i]);
+            }
+            return this;
+        }
+
+        ReporteValoracion reporte(LocalDateTime generadoEn, long milisegundos) {
+            List<LineaValoracion> riesgo = new ArrayList<>(enRiesgo.length);
+            for (Grupo grupo : enRiesgo) {
+                riesgo.add(grupo.linea());
+            }
+            return new ReporteValoracion(generadoEn, total.productos, total.unidades, total.valor,
+                    ordenarPorValor(porCategoria.values()), ordenarPorValor(porProveedor.values()), riesgo, milisegundos);
+        }
+
+        private static List<LineaValoracion> ordenarPorValor(Iterable<Grupo> grupos) {
+            List<LineaValoracion> lineas = new ArrayList<>();
+            grupos.forEach(grupo -> lineas.add(grupo.linea()));
+            lineas.sort(Comparator.comparingLong(LineaValoracion::getValor).reversed()
+                    .thenComparing(LineaValoracion::getGrupo));
+            return lineas;
+        }
+
+        // Índice del tramo de vencimiento, o -1 si no vence dentro de 90 días (o no tiene fecha)
+        private static int tramo(Instant vence, Instant ahora) {
+            if (vence == null) {
+                return -1;
+            }
+            if (!vence.isAfter(ahora)) {
+                return 0;
+            }
+            long dias = Duration.between(ahora, vence).toDays();
+            return dias <= 30 ? 1 : dias <= 60 ? 2 : dias <= 90 ? 3 : -1;
+        }
+    }
+}
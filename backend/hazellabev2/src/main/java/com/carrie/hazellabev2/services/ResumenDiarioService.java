@@ -0,0 +1,16 @@
+package com.carrie.hazellabev2.services;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.carrie.hazellabev2.dto.ResultadoReconstruccion;
+import com.carrie.hazellabev2.dto.ResumenDiario;
+
+public interface ResumenDiarioService {
+    /* ---------------------------------- Series por rango (solo tablas de resumen) ---------------------------------- */
+    List<ResumenDiario> listarPorProducto(Long productoId, LocalDate desde, LocalDate hasta);
+    List<ResumenDiario> listarPorCategoria(Long categoriaId, LocalDate desde, LocalDate hasta);
+    List<ResumenDiario> listarTotales(LocalDate desde, LocalDate hasta);
+    /* ---------------------------------- Mantenimiento ---------------------------------- */
+    ResultadoReconstruccion reconstruir(LocalDate desde, LocalDate hasta);
+}
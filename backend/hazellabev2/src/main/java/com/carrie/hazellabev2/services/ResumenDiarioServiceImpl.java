@@ -0,0 +1,339 @@
+package com.carrie.hazellabev2.services;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.carrie.hazellabev2.dto.ResultadoReconstruccion;
+import com.carrie.hazellabev2.dto.ResumenDiario;
+import com.carrie.hazellabev2.entities.DetalleVenta;
+import com.carrie.hazellabev2.entities.EventoCambio;
+import com.carrie.hazellabev2.entities.EventoCambio.Agregado;
+import com.carrie.hazellabev2.entities.Producto;
+import com.carrie.hazellabev2.entities.ResumenDiarioCategoria;
+import com.carrie.hazellabev2.entities.ResumenDiarioProducto;
+import com.carrie.hazellabev2.entities.Venta;
+import com.carrie.hazellabev2.repositories.DetalleVentaRepository;
+import com.carrie.hazellabev2.repositories.ProductoRepository;
+import com.carrie.hazellabev2.repositories.ResumenDiarioCategoriaRepository;
+import com.carrie.hazellabev2.repositories.ResumenDiarioProductoRepository;
+import com.carrie.hazellabev2.repositories.VentaRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/* ================= Servicio de Resúmenes Diarios de Ventas y Stock ================= */
+
+/**
+ * Mantiene las tablas resumen_diario_producto y resumen_diario_categoria para los gráficos de tendencia,
+ * que leen solo estas tablas. Como suscriptor del outbox aplica cada venta confirmada (unidades e ingresos)
+ * y cada cambio de producto (stock y categoría del día); la categoría del día se recalcula sumando las filas
+ * de producto de ese día. Cada venta se marca como resumida en la misma transacción en que se suma, así un
+ * evento repetido no la cuenta dos veces. Al abrir cada día se registra el stock de todos los productos.
+ * La reconstrucción de un rango divide los días en bloques que se procesan en paralelo.
+ */
+@Service
+
+public class ResumenDiarioServiceImpl implements ResumenDiarioService, SuscriptorCambios {
+    @Autowired
+    private ResumenDiarioProductoRepository resumenProductoRepository;
+
+    @Autowired
+    private ResumenDiarioCategoriaRepository resumenCategoriaRepository;
+
+    @Autowired
+    private VentaRepository ventaRepository;
+
+    @Autowired
+    private DetalleVentaRepository detalleVentaRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Máximo de días por consulta o reconstrucción
+    static final int MAX_DIAS = 366;
+
+    // Días por bloque y bloques simultáneos al reconstruir
+    @Value("${hazellab.resumenes.dias-por-bloque:7}")
+    private int diasPorBloque = 7;
+
+    @Value("${hazellab.resumenes.hilos:4}")
+    private int hilos = 4;
+
+    private ExecutorService poolReconstruccion;
+
+    // Las escrituras del relé y las reconstrucciones no se intercalan sobre las mismas filas
+    private final ReentrantLock candado = new ReentrantLock();
+
+    @PostConstruct
+    public void iniciar() {
+        AtomicInteger contador = new AtomicInteger();
+        poolReconstruccion = Executors.newFixedThreadPool(hilos, tarea -> {
+            Thread hilo = new Thread(tarea, "resumenes-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        poolReconstruccion.shutdown();
+    }
+
+    /* ================= SERIES POR RANGO ================= */
+
+    @Override
+    public List<ResumenDiario> listarPorProducto(Long productoId, LocalDate desde, LocalDate hasta) {
+        validarRango(desde, hasta);
+        List<ResumenDiario> serie = new ArrayList<>();
+        for (ResumenDiarioProducto fila : resumenProductoRepository.findByProductoIdAndFechaBetweenOrderByFechaAsc(productoId, desde, hasta)) {
+            serie.add(new ResumenDiario(fila.getFecha(), fila.getUnidades(), fila.getIngresos(),
+                    fila.getStock() == null ? null : fila.getStock().longValue()));
+        }
+        return serie;
+    }
+
+    @Override
+    public List<ResumenDiario> listarPorCategoria(Long categoriaId, LocalDate desde, LocalDate hasta) {
+        validarRango(desde, hasta);
+        List<ResumenDiario> serie = new ArrayList<>();
+        for (ResumenDiarioCategoria fila : resumenCategoriaRepository.findByCategoriaIdAndFechaBetweenOrderByFechaAsc(categoriaId, desde, hasta)) {
+            serie.add(new ResumenDiario(fila.getFecha(), fila.getUnidades(), fila.getIngresos(), fila.getStock()));
+        }
+        return serie;
+    }
+
+    @Override
+    public List<ResumenDiario> listarTotales(LocalDate desde, LocalDate hasta) {
+        validarRango(desde, hasta);
+        List<ResumenDiario> serie = new ArrayList<>();
+        for (Object[] fila : resumenProductoRepository.sumarPorDia(desde, hasta)) {
+            serie.add(new ResumenDiario((LocalDate) fila[0], numero(fila[1]), numero(fila[2]),
+                    fila[3] == null ? null : numero(fila[3])));
+        }
+        return serie;
+    }
+
+    /* ================= EVENTOS DEL OUTBOX ================= */
+
+    @Override
+    public String getNombre() {
+        return "resumen-diario";
+    }
+
+    @Override
+    public boolean interesa(EventoCambio evento) {
+        return evento.getAgregado() == Agregado.VENTA || evento.getAgregado() == Agregado.PRODUCTO;
+    }
+
+    // Aplica el lote en una transacción: si falla, el relé lo repite y las ventas ya marcadas no se vuelven a sumar
+    @Override
+    public void procesar(List<EventoCambio> eventos) {
+        candado.lock();
+        try {
+            transaccion().executeWithoutResult(estado -> {
+                abrirDia(LocalDate.now());
+                Set<LocalDate> fechas = new HashSet<>();
+                for (EventoCambio evento : eventos) {
+                    if (evento.getAgregado() == Agregado.VENTA) {
+                        ventaRepository.findById(evento.getAgregadoId())
+                                .filter(venta -> !venta.isResumida())
+                                .ifPresent(venta -> fechas.add(sumarVenta(venta)));
+                    } else {
+                        LocalDate fecha = evento.getFecha().toLocalDate();
+                        registrarStock(evento.getAgregadoId(), fecha);
+                        fechas.add(fecha);
+                    }
+                }
+                fechas.forEach(this::recalcularCategorias);
+            });
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    private LocalDate sumarVenta(Venta venta) {
+        LocalDate fecha = venta.getFecha().toLocalDate();
+        for (DetalleVenta detalle : venta.getDetalles()) {
+            ResumenDiarioProducto fila = fila(fecha, detalle.getProductoId());
+            fila.setUnidades(fila.getUnidades() + detalle.getCantidad());
+            fila.setIngresos(fila.getIngresos() + (long) detalle.getPrecioUnitario() * detalle.getCantidad());
+            resumenProductoRepository.save(fila);
+        }
+        venta.setResumida(true);
+        ventaRepository.save(venta);
+        return fecha;
+    }
+
+    // Stock y categoría actuales del producto en la fila del día (un producto eliminado queda con stock 0)
+    private void registrarStock(Long productoId, LocalDate fecha) {
+        ResumenDiarioProducto fila = fila(fecha, productoId);
+        Producto producto = productoRepository.findById(productoId).orElse(null);
+        fila.setStock(producto == null ? 0 : producto.getStock());
+        if (producto != null) {
+            fila.setCategoriaId(producto.getCategory() != null ? producto.getCategory().getId() : null);
+        }
+        resumenProductoRepository.save(fila);
+    }
+
+    /* ================= APERTURA DEL DÍA ================= */
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${hazellab.resumenes.cron-apertura:5 0 0 * * *}")
+    public void abrirDiaActual() {
+        candado.lock();
+        try {
+            transaccion().executeWithoutResult(estado -> abrirDia(LocalDate.now()));
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    // La primera vez que se toca un día se registra el stock de todos los productos (una consulta de pocas columnas)
+    private void abrirDia(LocalDate fecha) {
+        if (resumenProductoRepository.existsByFecha(fecha)) {
+            return;
+        }
+        List<ResumenDiarioProducto> filas = new ArrayList<>();
+        for (Object[] producto : productoRepository.listarStockPorProducto()) {
+            filas.add(new ResumenDiarioProducto(null, fecha, (Long) producto[0], (Long) producto[1], 0, 0,
+                    ((Number) producto[2]).intValue()));
+        }
+        resumenProductoRepository.saveAll(filas);
+        recalcularCategorias(fecha);
+    }
+
+    /* ================= RECONSTRUCCIÓN ================= */
+
+    // Recalcula unidades e ingresos de un rango desde las ventas, en bloques de días procesados en paralelo
+    @Override
+    public ResultadoReconstruccion reconstruir(LocalDate desde, LocalDate hasta) {
+        validarRango(desde, hasta);
+        long inicio = System.nanoTime();
+        candado.lock();
+        try {
+            // Categoría y stock actuales, para filas nuevas (se lee una vez y se comparte entre bloques)
+            Map<Long, Object[]> productos = new HashMap<>();
+            for (Object[] producto : productoRepository.listarStockPorProducto()) {
+                productos.put((Long) producto[0], producto);
+            }
+            List<CompletableFuture<Long>> bloques = new ArrayList<>();
+            for (LocalDate bloque = desde; !bloque.isAfter(hasta); bloque = bloque.plusDays(diasPorBloque)) {
+                LocalDate inicioBloque = bloque;
+                LocalDate finBloque = bloque.plusDays(diasPorBloque - 1L).isAfter(hasta) ? hasta : bloque.plusDays(diasPorBloque - 1L);
+                bloques.add(CompletableFuture.supplyAsync(
+                        () -> transaccion().execute(estado -> reconstruirBloque(inicioBloque, finBloque, productos)),
+                        poolReconstruccion));
+            }
+            long filas = 0;
+            for (CompletableFuture<Long> bloque : bloques) {
+                filas += bloque.join();
+            }
+            int dias = (int) ChronoUnit.DAYS.between(desde, hasta) + 1;
+            return new ResultadoReconstruccion(desde, hasta, dias, bloques.size(), filas, (System.nanoTime() - inicio) / 1_000_000);
+        } catch (CompletionException e) {
+            throw new RuntimeException("No se pudo reconstruir los resúmenes: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    // Un bloque en su propia transacción: marca las ventas del bloque, reinicia sus ventas y las vuelve a sumar
+    private long reconstruirBloque(LocalDate desde, LocalDate hasta, Map<Long, Object[]> productos) {
+        ventaRepository.marcarResumidas(desde.atStartOfDay(), hasta.plusDays(1).atStartOfDay());
+        resumenProductoRepository.reiniciarVentas(desde, hasta);
+        LocalDate hoy = LocalDate.now();
+        long filas = 0;
+        for (LocalDate fecha = desde; !fecha.isAfter(hasta); fecha = fecha.plusDays(1)) {
+            Map<Long, ResumenDiarioProducto> existentes = new HashMap<>();
+            for (ResumenDiarioProducto fila : resumenProductoRepository.findByFecha(fecha)) {
+                existentes.put(fila.getProductoId(), fila);
+            }
+            List<ResumenDiarioProducto> cambiadas = new ArrayList<>();
+            for (Object[] venta : detalleVentaRepository.sumarResumidasPorProducto(fecha.atStartOfDay(), fecha.plusDays(1).atStartOfDay())) {
+                Long productoId = (Long) venta[0];
+                ResumenDiarioProducto fila = existentes.get(productoId);
+                if (fila == null) {
+                    Object[] producto = productos.get(productoId);
+                    // El stock de días pasados no se puede reconstruir desde las ventas: queda sin dato
+                    Integer stock = producto != null && fecha.equals(hoy) ? ((Number) producto[2]).intValue() : null;
+                    fila = new ResumenDiarioProducto(null, fecha, productoId, producto != null ? (Long) producto[1] : null, 0, 0, stock);
+                }
+                fila.setUnidades(numero(venta[1]));
+                fila.setIngresos(numero(venta[2]));
+                cambiadas.add(fila);
+            }
+            resumenProductoRepository.saveAll(cambiadas);
+            filas += cambiadas.size();
+            recalcularCategorias(fecha);
+        }
+        return filas;
+    }
+
+    /* ================= UTILIDADES ================= */
+
+    private ResumenDiarioProducto fila(LocalDate fecha, Long productoId) {
+        return resumenProductoRepository.findByFechaAndProductoId(fecha, productoId)
+                .orElseGet(() -> new ResumenDiarioProducto(null, fecha, productoId, null, 0, 0, null));
+    }
+
+    // Reemplaza las filas de categoría de un día por la suma de las filas de producto del mismo día
+    private void recalcularCategorias(LocalDate fecha) {
+        Map<Long, ResumenDiarioCategoria> existentes = new HashMap<>();
+        for (ResumenDiarioCategoria fila : resumenCategoriaRepository.findByFecha(fecha)) {
+            existentes.put(fila.getCategoriaId(), fila);
+        }
+        List<ResumenDiarioCategoria> filas = new ArrayList<>();
+        Set<Long> vigentes = new TreeSet<>();
+        for (Object[] suma : resumenProductoRepository.sumarPorCategoria(fecha)) {
+            Long categoriaId = (Long) suma[0];
+            ResumenDiarioCategoria fila = existentes.getOrDefault(categoriaId, new ResumenDiarioCategoria(null, fecha, categoriaId, 0, 0, 0));
+            fila.setUnidades(numero(suma[1]));
+            fila.setIngresos(numero(suma[2]));
+            fila.setStock(numero(suma[3]));
+            filas.add(fila);
+            vigentes.add(categoriaId);
+        }
+        resumenCategoriaRepository.saveAll(filas);
+        existentes.keySet().removeAll(vigentes);
+        resumenCategoriaRepository.deleteAll(existentes.values());
+    }
+
+    private TransactionTemplate transaccion() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    static void validarRango(LocalDate desde, LocalDate hasta) {
+        if (desde == null || hasta == null || hasta.isBefore(desde) || ChronoUnit.DAYS.between(desde, hasta) >= MAX_DIAS) {
+            throw new IllegalArgumentException("Rango de fechas no válido (máximo " + MAX_DIAS + " días).");
+        }
+    }
+
+    private static long numero(Object valor) {
+        return valor == null ? 0 : ((Number) valor).longValue();
+    }
+}
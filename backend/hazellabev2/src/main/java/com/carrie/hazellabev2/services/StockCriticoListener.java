@@ -0,0 +1,50 @@
+package com.carrie.hazellabev2.services;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.carrie.hazellabev2.entities.Producto;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/* ================= Listener JPA del Indicador de Stock Crítico ================= */
+
+/**
+ * Registrado con @EntityListeners en Producto: antes de cada inserción o actualización recalcula la columna
+ * indexada stock_bajo (stock <= stockCritico), de modo que ninguna escritura JPA la deja desfasada. El valor
+ * que trae la entidad es el último persistido: si cambia, el producto cruzó su umbral y se avisa a AlertasStock,
+ * que emite la alerta solo si la transacción se confirma. Las filas sin indicador (anteriores a la columna) se
+ * inicializan sin alerta.
+ */
+public class StockCriticoListener {
+    @Autowired
+    private ObjectProvider<AlertasStock> alertas;
+
+    @PrePersist
+    void insertando(Producto producto) {
+        boolean bajo = producto.getStock() <= producto.getStockCritico();
+        producto.setStockBajo(bajo);
+        // Un producto nuevo que ya nace bajo el umbral entra a la lista de reposición
+        if (bajo) {
+            avisar(producto, true);
+        }
+    }
+
+    @PreUpdate
+    void actualizando(Producto producto) {
+        Boolean anterior = producto.getStockBajo();
+        boolean bajo = producto.getStock() <= producto.getStockCritico();
+        producto.setStockBajo(bajo);
+        if (anterior != null && anterior != bajo) {
+            avisar(producto, bajo);
+        }
+    }
+
+    private void avisar(Producto producto, boolean bajo) {
+        AlertasStock alertasStock = alertas.getIfAvailable();
+        if (alertasStock != null) {
+            alertasStock.cruce(producto, bajo);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.carrie.hazellabev2.services;
+
+import java.util.List;
+
+import com.carrie.hazellabev2.entities.EventoCambio;
+
+/* ================= Suscriptor de Eventos del Outbox ================= */
+
+/**
+ * Consumidor en proceso de los cambios publicados en el outbox. OutboxRelay entrega los eventos en orden
+ * de ID y en lotes; si procesar lanza una excepción el lote se reintenta completo en la siguiente pasada
+ * (entrega "al menos una vez"), por lo que cada suscriptor debe tolerar eventos repetidos.
+ */
+public interface SuscriptorCambios {
+    // Nombre estable del suscriptor: clave de su punto de control en la base de datos
+    String getNombre();
+
+    // Indica si el suscriptor necesita el evento; los demás se saltan sin llamar a procesar
+    default boolean interesa(EventoCambio evento) {
+        return true;
+    }
+
+    void procesar(List<EventoCambio> eventos);
+}
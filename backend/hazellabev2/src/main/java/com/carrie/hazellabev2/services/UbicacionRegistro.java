@@ -0,0 +1,157 @@
+package com.carrie.hazellabev2.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import com.carrie.hazellabev2.dto.ComunaSugerencia;
+import com.carrie.hazellabev2.dto.RegionComunaDTO;
+import com.carrie.hazellabev2.utils.RespuestaPrecalculada;
+import com.carrie.hazellabev2.utils.Texto;
+import com.carrie.hazellabev2.utils.TriePrefijos;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+
+/* ================= Registro Inmutable de Regiones y Comunas de Chile ================= */
+
+/**
+ * Carga una sola vez, al iniciar, las regiones y comunas desde el recurso ubicacion/regiones-comunas.json
+ * y deja listas las respuestas JSON (y su variante gzip) de los endpoints de ubicación.
+ * La búsqueda por región es O(1) e ignora tildes y mayúsculas ("biobio", "BIOBÍO" y "Biobío" son la misma región).
+ * También mantiene el índice de prefijos del autocompletado de comunas ("nunoa" -> Ñuñoa, Metropolitana).
+ */
+@Component
+
+public class UbicacionRegistro {
+    private static final String RECURSO = "ubicacion/regiones-comunas.json";
+
+    // Serializador configurado por Spring, para que las respuestas coincidan con el resto de la API
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Duración de la caché HTTP de los datos de ubicación (cambian solo con un nuevo despliegue)
+    @Value("${hazellab.ubicacion.cache-horas:168}")
+    private long cacheHoras = 168;
+
+    // Máximo de sugerencias precalculadas por prefijo en el autocompletado de comunas
+    @Value("${hazellab.ubicacion.max-sugerencias:20}")
+    private int maxSugerencias = 20;
+
+    private List<String> regiones;
+    private Map<String, List<String>> comunasPorRegion;
+    private Map<String, String> regionPorClave;
+    private Map<String, RespuestaPrecalculada> respuestasComunas;
+    private RespuestaPrecalculada respuestaRegiones;
+    private RespuestaPrecalculada respuestaRegionesComunas;
+    private RespuestaPrecalculada respuestaSinComunas;
+    private TriePrefijos<ComunaSugerencia> indiceComunas;
+
+    /* ================= CARGA INICIAL ================= */
+
+    @PostConstruct
+    public void cargar() throws IOException {
+        List<RegionComunaDTO> datos;
+        try (InputStream entrada = new ClassPathResource(RECURSO).getInputStream()) {
+            datos = objectMapper.readValue(entrada, new TypeReference<List<RegionComunaDTO>>() {});
+        }
+
+        List<String> nombres = new ArrayList<>(datos.size());
+        Map<String, List<String>> comunas = new LinkedHashMap<>();
+        Map<String, String> claves = new HashMap<>();
+        for (RegionComunaDTO dato : datos) {
+            String clave = Texto.plegar(dato.getRegion());
+            if (claves.putIfAbsent(clave, dato.getRegion()) != null) {
+                throw new IllegalStateException("Región duplicada en " + RECURSO + ": " + dato.getRegion());
+            }
+            nombres.add(dato.getRegion());
+            comunas.put(dato.getRegion(), List.copyOf(dato.getComunas()));
+        }
+        regiones = List.copyOf(nombres);
+        comunasPorRegion = Collections.unmodifiableMap(comunas);
+        regionPorClave = Map.copyOf(claves);
+
+        // Respuestas serializadas una vez; cada solicitud solo elige la variante
+        CacheControl cache = CacheControl.maxAge(cacheHoras, TimeUnit.HOURS).cachePublic();
+        respuestaRegiones = preparar(regiones, cache);
+        respuestaRegionesComunas = preparar(comunasPorRegion, cache);
+        respuestaSinComunas = preparar(List.of(), cache);
+        Map<String, RespuestaPrecalculada> porRegion = new HashMap<>();
+        for (Map.Entry<String, List<String>> entrada : comunasPorRegion.entrySet()) {
+            porRegion.put(Texto.plegar(entrada.getKey()), preparar(entrada.getValue(), cache));
+        }
+        respuestasComunas = Map.copyOf(porRegion);
+
+        // Índice de prefijos para el autocompletado de comunas de todas las regiones
+        TriePrefijos<ComunaSugerencia> indice = new TriePrefijos<>(maxSugerencias);
+        for (Map.Entry<String, List<String>> entrada : comunasPorRegion.entrySet()) {
+            for (String comuna : entrada.getValue()) {
+                indice.agregar(comuna, new ComunaSugerencia(comuna, entrada.getKey()));
+            }
+        }
+        indiceComunas = indice.congelar();
+    }
+
+    private RespuestaPrecalculada preparar(Object valor, CacheControl cache) throws IOException {
+        return RespuestaPrecalculada.deJson(objectMapper.writeValueAsBytes(valor), cache);
+    }
+
+    /* ================= CONSULTAS ================= */
+
+    // Nombres de las regiones en orden geográfico (norte a sur)
+    public List<String> getRegiones() {
+        return regiones;
+    }
+
+    // Mapa completo región -> comunas, en el mismo orden
+    public Map<String, List<String>> getComunasPorRegion() {
+        return comunasPorRegion;
+    }
+
+    // Comunas de una región (sin distinguir tildes ni mayúsculas); lista vacía si la región no existe
+    public List<String> getComunas(String region) {
+        String nombre = regionPorClave.get(Texto.plegar(region));
+        return nombre == null ? List.of() : comunasPorRegion.get(nombre);
+    }
+
+    // Nombre oficial de la región ("biobio" -> "Biobío") o null si no existe
+    public String getNombreRegion(String region) {
+        return regionPorClave.get(Texto.plegar(region));
+    }
+
+    // Autocompletado: comunas de cualquier región cuyo nombre (o una de sus palabras) comienza con la consulta
+    public List<ComunaSugerencia> buscarComunas(String consulta, int limite) {
+        return consulta == null ? List.of() : indiceComunas.buscar(consulta, limite);
+    }
+
+    public int getMaxSugerencias() {
+        return maxSugerencias;
+    }
+
+    /* ================= RESPUESTAS PRECALCULADAS ================= */
+
+    public RespuestaPrecalculada getRespuestaRegiones() {
+        return respuestaRegiones;
+    }
+
+    public RespuestaPrecalculada getRespuestaRegionesComunas() {
+        return respuestaRegionesComunas;
+    }
+
+    public RespuestaPrecalculada getRespuestaComunas(String region) {
+        return respuestasComunas.getOrDefault(Texto.plegar(region), respuestaSinComunas);
+    }
+}
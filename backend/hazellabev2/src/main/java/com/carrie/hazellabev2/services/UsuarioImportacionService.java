@@ -0,0 +1,11 @@
+package com.carrie.hazellabev2.services;
+
+import java.io.InputStream;
+
+import com.carrie.hazellabev2.dto.ResultadoImportacion;
+
+public interface UsuarioImportacionService {
+    /* ---------------------------------- Importación masiva ---------------------------------- */
+    ResultadoImportacion importarCsv(InputStream entrada);
+    ResultadoImportacion importarNdjson(InputStream entrada);
+}
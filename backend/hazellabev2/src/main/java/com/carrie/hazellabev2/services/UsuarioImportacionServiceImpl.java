@@ -0,0 +1,385 @@
+package com.carrie.hazellabev2.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.carrie.hazellabev2.dto.ResultadoImportacion;
+import com.carrie.hazellabev2.entities.Usuario;
+import com.carrie.hazellabev2.repositories.UsuarioRepository;
+import com.carrie.hazellabev2.utils.Rut;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+/* ================= Servicio de Importación Masiva de Usuarios ================= */
+
+/**
+ * Importa usuarios desde CSV o NDJSON leyendo el archivo línea a línea (nunca se carga completo en memoria).
+ * Las filas se procesan en lotes: validación y unicidad en bloque, encriptación BCrypt en paralelo sobre un
+ * ForkJoinPool dedicado, e inserción de cada lote en una única transacción. Un error en una fila se reporta
+ * con su número de línea y no aborta el resto del archivo.
+ */
+@Service
+
+public class UsuarioImportacionServiceImpl implements UsuarioImportacionService {
+    // Columnas reconocidas en la cabecera del CSV (el orden lo define la cabecera del archivo)
+    private static final List<String> COLUMNAS = List.of("username", "apellidos", "email", "rut", "password",
+            "role", "status", "region", "comuna", "direccion", "fechanacimiento");
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UsuarioUnicidadFiltro unicidadFiltro;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Lector NDJSON independiente del ObjectMapper global: tolera campos desconocidos en cada línea
+    private final ObjectMapper lectorJson = new ObjectMapper()
+            .findAndRegisterModules()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    // Cantidad de filas por lote (una transacción y una consulta de unicidad por lote)
+    @Value("${hazellab.importacion.tamanio-lote:200}")
+    private int tamanioLote = 200;
+
+    // Pool dedicado para BCrypt: no compite con el pool común ni con los hilos de Tomcat
+    private final ForkJoinPool poolEncriptacion =
+            new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+
+    @PreDestroy
+    public void cerrar() {
+        poolEncriptacion.shutdown();
+    }
+
+    /* ================= PUNTOS DE ENTRADA ================= */
+
+    // Importa un CSV con cabecera (username,apellidos,email,rut,password,role,status,region,comuna,direccion,fechaNacimiento)
+    @Override
+    public ResultadoImportacion importarCsv(InputStream entrada) {
+        ResultadoImportacion resultado = new ResultadoImportacion();
+        Importacion importacion = new Importacion(resultado);
+        try (BufferedReader lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+            String cabecera = lector.readLine();
+            if (cabecera == null) {
+                throw new RuntimeException("El archivo CSV está vacío");
+            }
+            Map<String, Integer> indices = leerCabecera(cabecera);
+            String linea;
+            long numeroLinea = 1;
+            while ((linea = lector.readLine()) != null) {
+                numeroLinea++;
+                if (linea.isBlank()) {
+                    continue;
+                }
+                Usuario usuario;
+                try {
+                    usuario = filaCsvAUsuario(parsearLineaCsv(linea), indices);
+                } catch (RuntimeException e) {
+                    importacion.rechazar(numeroLinea, e.getMessage());
+                    continue;
+                }
+                importacion.agregar(numeroLinea, usuario);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al leer el archivo de importación", e);
+        }
+        importacion.finalizar();
+        return resultado;
+    }
+
+    // Importa un NDJSON: un objeto JSON de usuario por línea
+    @Override
+    public ResultadoImportacion importarNdjson(InputStream entrada) {
+        ResultadoImportacion resultado = new ResultadoImportacion();
+        Importacion importacion = new Importacion(resultado);
+        try (BufferedReader lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+            String linea;
+            long numeroLinea = 0;
+            while ((linea = lector.readLine()) != null) {
+                numeroLinea++;
+                if (linea.isBlank()) {
+                    continue;
+                }
+                Usuario usuario;
+                try {
+                    usuario = lectorJson.readValue(linea, Usuario.class);
+                } catch (JsonProcessingException e) {
+                    importacion.rechazar(numeroLinea, "JSON inválido: " + e.getOriginalMessage());
+                    continue;
+                }
+                importacion.agregar(numeroLinea, usuario);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al leer el archivo de importación", e);
+        }
+        importacion.finalizar();
+        return resultado;
+    }
+
+    /* ================= PROCESAMIENTO POR LOTES ================= */
+
+    // Estado de una importación en curso: lote actual y claves ya vistas en el archivo
+    private final class Importacion {
+        private final ResultadoImportacion resultado;
+        private final Set<String> emailsVistos = new HashSet<>();
+        private final Set<Integer> rutsVistos = new HashSet<>();
+        private List<Fila> lote = new ArrayList<>();
+
+        Importacion(ResultadoImportacion resultado) {
+            this.resultado = resultado;
+        }
+
+        void agregar(long numeroLinea, Usuario usuario) {
+            resultado.setFilasProcesadas(resultado.getFilasProcesadas() + 1);
+            String error = validar(usuario);
+            if (error != null) {
+                resultado.agregarError(numeroLinea, error);
+                return;
+            }
+            // Duplicados dentro del mismo archivo
+            if (!emailsVistos.add(UsuarioUnicidadFiltro.normalizarEmail(usuario.getEmail()))) {
+                resultado.agregarError(numeroLinea, "El correo está repetido en el archivo");
+                return;
+            }
+            if (!rutsVistos.add(usuario.getRutNumero())) {
+                resultado.agregarError(numeroLinea, "El RUT está repetido en el archivo");
+                return;
+            }
+            lote.add(new Fila(numeroLinea, usuario));
+            if (lote.size() >= tamanioLote) {
+                procesarLote(lote, resultado);
+                lote = new ArrayList<>();
+            }
+        }
+
+        void rechazar(long numeroLinea, String mensaje) {
+            resultado.setFilasProcesadas(resultado.getFilasProcesadas() + 1);
+            resultado.agregarError(numeroLinea, mensaje);
+        }
+
+        void finalizar() {
+            if (!lote.isEmpty()) {
+                procesarLote(lote, resultado);
+                lote = new ArrayList<>();
+            }
+        }
+    }
+
+    private void procesarLote(List<Fila> lote, ResultadoImportacion resultado) {
+        // 1. Unicidad contra la base de datos: solo se consultan las claves que el filtro no descarta, en una consulta por tipo
+        List<String> emailsCandidatos = new ArrayList<>();
+        List<Integer> rutsCandidatos = new ArrayList<>();
+        for (Fila fila : lote) {
+            if (unicidadFiltro.podriaExistirEmail(fila.usuario.getEmail())) {
+                emailsCandidatos.add(fila.usuario.getEmail());
+            }
+            if (unicidadFiltro.podriaExistirRut(fila.usuario.getRut())) {
+                rutsCandidatos.add(fila.usuario.getRutNumero());
+            }
+        }
+        Set<String> emailsExistentes = new HashSet<>();
+        if (!emailsCandidatos.isEmpty()) {
+            usuarioRepository.findEmailsExistentes(emailsCandidatos)
+                    .forEach(e -> emailsExistentes.add(UsuarioUnicidadFiltro.normalizarEmail(e)));
+        }
+        Set<Integer> rutsExistentes = new HashSet<>();
+        if (!rutsCandidatos.isEmpty()) {
+            rutsExistentes.addAll(usuarioRepository.findRutNumerosExistentes(rutsCandidatos));
+        }
+
+        List<Fila> validas = new ArrayList<>(lote.size());
+        for (Fila fila : lote) {
+            if (emailsExistentes.contains(UsuarioUnicidadFiltro.normalizarEmail(fila.usuario.getEmail()))) {
+                resultado.agregarError(fila.numero, "El correo ya está registrado");
+            } else if (rutsExistentes.contains(fila.usuario.getRutNumero())) {
+                resultado.agregarError(fila.numero, "El RUT ya está registrado");
+            } else {
+                validas.add(fila);
+            }
+        }
+        if (validas.isEmpty()) {
+            return;
+        }
+
+        // 2. Encriptación BCrypt en paralelo (la etapa más costosa de la importación)
+        try {
+            poolEncriptacion.submit(() -> validas.parallelStream()
+                    .forEach(f -> f.usuario.setPassword(passwordEncoder.encode(f.usuario.getPassword()))))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Importación interrumpida");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error al encriptar contraseñas: " + e.getCause().getMessage());
+        }
+
+        // 3. Inserción del lote completo en una sola transacción
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        List<Usuario> usuarios = new ArrayList<>(validas.size());
+        validas.forEach(f -> usuarios.add(f.usuario));
+        try {
+            transaccion.executeWithoutResult(status -> usuarioRepository.saveAll(usuarios));
+            for (Usuario usuario : usuarios) {
+                unicidadFiltro.registrar(usuario.getEmail(), usuario.getRut());
+            }
+            resultado.setImportados(resultado.getImportados() + usuarios.size());
+        } catch (RuntimeException e) {
+            // El lote falló (p. ej. un duplicado concurrente): se reintenta fila a fila para aislar el error
+            for (Fila fila : validas) {
+                fila.usuario.setId(null);
+                try {
+                    transaccion.executeWithoutResult(status -> usuarioRepository.save(fila.usuario));
+                    unicidadFiltro.registrar(fila.usuario.getEmail(), fila.usuario.getRut());
+                    resultado.setImportados(resultado.getImportados() + 1);
+                } catch (RuntimeException errorFila) {
+                    resultado.agregarError(fila.numero, "No se pudo guardar el usuario: " + errorFila.getMessage());
+                }
+            }
+        }
+    }
+
+    /* ================= VALIDACIONES Y VALORES POR DEFECTO ================= */
+
+    // Aplica las mismas reglas que el registro individual; retorna el mensaje de error o null si la fila es válida
+    private String validar(Usuario usuario) {
+        if (usuario.getPassword() == null || usuario.getPassword().isEmpty()) {
+            return "La contraseña no puede ser nula o vacía";
+        }
+        if (usuario.getRut() == null || usuario.getRut().isEmpty()) {
+            return "El RUT es obligatorio";
+        }
+        if (!UsuarioServiceImpl.validarEmail(usuario.getEmail())) {
+            return "El correo debe ser @duoc.cl, @profesor.duoc.cl o @gmail.com";
+        }
+        // Dígito verificador validado en memoria; la fila queda con el RUT formateado y su clave canónica
+        try {
+            UsuarioServiceImpl.aplicarRutCanonico(usuario, Rut.parse(usuario.getRut()));
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        usuario.setId(null);
+        usuario.setItemsCarrito(null);
+        usuario.setRole(usuario.getRole() != null && !usuario.getRole().isBlank() ? usuario.getRole() : "cliente");
+        usuario.setStatus(usuario.getStatus() != null && !usuario.getStatus().isBlank() ? usuario.getStatus() : "activo");
+        usuario.setCreatedAt(usuario.getCreatedAt() != null ? usuario.getCreatedAt() : LocalDateTime.now());
+        if (usuario.getApellidos() == null) {
+            usuario.setApellidos("");
+        }
+        if (usuario.getDireccion() == null) {
+            usuario.setDireccion("");
+        }
+        return null;
+    }
+
+    /* ================= LECTURA DE CSV ================= */
+
+    private Map<String, Integer> leerCabecera(String cabecera) {
+        // Elimina el BOM de UTF-8 que agregan algunas planillas al exportar
+        if (cabecera.startsWith("\uFEFF")) {
+            cabecera = cabecera.substring(1);
+        }
+        Map<String, Integer> indices = new HashMap<>();
+        List<String> columnas = parsearLineaCsv(cabecera);
+        for (int i = 0; i < columnas.size(); i++) {
+            String nombre = columnas.get(i).trim().toLowerCase(Locale.ROOT);
+            if (COLUMNAS.contains(nombre)) {
+                indices.put(nombre, i);
+            }
+        }
+        if (!indices.containsKey("email") || !indices.containsKey("rut") || !indices.containsKey("password")) {
+            throw new RuntimeException("La cabecera del CSV debe incluir al menos las columnas email, rut y password");
+        }
+        return indices;
+    }
+
+    private Usuario filaCsvAUsuario(List<String> valores, Map<String, Integer> indices) {
+        Usuario usuario = new Usuario();
+        usuario.setUsername(valor(valores, indices, "username"));
+        usuario.setApellidos(valor(valores, indices, "apellidos"));
+        usuario.setEmail(valor(valores, indices, "email"));
+        usuario.setRut(valor(valores, indices, "rut"));
+        usuario.setPassword(valor(valores, indices, "password"));
+        usuario.setRole(valor(valores, indices, "role"));
+        usuario.setStatus(valor(valores, indices, "status"));
+        usuario.setRegion(valor(valores, indices, "region"));
+        usuario.setComuna(valor(valores, indices, "comuna"));
+        usuario.setDireccion(valor(valores, indices, "direccion"));
+        usuario.setFechaNacimiento(valor(valores, indices, "fechanacimiento"));
+        return usuario;
+    }
+
+    private static String valor(List<String> valores, Map<String, Integer> indices, String columna) {
+        Integer indice = indices.get(columna);
+        if (indice == null || indice >= valores.size()) {
+            return null;
+        }
+        String valor = valores.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    // Divide una línea CSV respetando comillas dobles ("a, b" y comillas escapadas como "")
+    static List<String> parsearLineaCsv(String linea) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c == '"') {
+                    if (i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                        actual.append('"');
+                        i++;
+                    } else {
+                        entreComillas = false;
+                    }
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        if (entreComillas) {
+            throw new RuntimeException("Comillas sin cerrar en la fila");
+        }
+        campos.add(actual.toString());
+        return campos;
+    }
+
+    // Fila aceptada junto a su número de línea en el archivo original
+    private record Fila(long numero, Usuario usuario) {
+    }
+}
@@ -2,6 +2,9 @@ package com.carrie.hazellabev2.services;
 
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+
+import com.carrie.hazellabev2.dto.UsuarioResumen;
 import com.carrie.hazellabev2.entities.Usuario;
 
 public interface UsuarioService {
@@ -11,6 +14,8 @@ public interface UsuarioService {
     Usuario actualizar(Long id, Usuario usuarioActualizado);
     List<Usuario> listarTodo();
     void eliminar(Long id);
+    /* ---------------------------------- Listado ---------------------------------- */
+    Page<UsuarioResumen> listarResumen(int pagina, int tamanio);
     /* ---------------------------------- Autenticación ---------------------------------- */
     boolean validarPassword(String passwordPlano, String passwordEncriptado);
     Usuario findByEmail(String email);
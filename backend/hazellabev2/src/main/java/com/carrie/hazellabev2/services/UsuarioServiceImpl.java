@@ -1,14 +1,27 @@
 package com.carrie.hazellabev2.services;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.carrie.hazellabev2.dto.UsuarioResumen;
+import com.carrie.hazellabev2.entities.RegistroAuditoria.Accion;
+import com.carrie.hazellabev2.entities.RegistroAuditoria.Entidad;
 import com.carrie.hazellabev2.entities.Usuario;
 import com.carrie.hazellabev2.repositories.UsuarioRepository;
+import com.carrie.hazellabev2.utils.Rut;
 
 /* ================= Servicio de Implementación para Gestión de Usuarios ================= */
 
@@ -24,6 +37,18 @@ public class UsuarioServiceImpl implements UsuarioService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    // Filtro en memoria que evita consultas de unicidad cuando el email/RUT es definitivamente nuevo
+    @Autowired
+    private UsuarioUnicidadFiltro unicidadFiltro;
+
+    // Registro de auditoría: cambios de perfil, rol o estado y eliminaciones
+    @Autowired
+    private Auditoria auditoria;
+
+    // Feed en vivo del panel de administración (registros de usuarios)
+    @Autowired
+    private FeedActividad feedActividad;
+
     /* ================= OPERACIONES CRUD CON VALIDACIONES ================= */
     
     // Crea un nuevo usuario en el sistema - incluye validaciones completas y encriptación de contraseña
@@ -38,11 +63,23 @@ public class UsuarioServiceImpl implements UsuarioService {
             throw new RuntimeException("El RUT es obligatorio");
         }
 
+        // Validación del dígito verificador en memoria y normalización al formato canónico (sin consultar la base de datos)
+        Rut rut = interpretarRut(usuario.getRut());
+        aplicarRutCanonico(usuario, rut);
+
         // Validación de dominio de email permitido (política institucional)
         if (!validarEmail(usuario.getEmail())) {
             throw new RuntimeException("El correo debe ser @duoc.cl, @profesor.duoc.cl o @gmail.com");
         }
 
+        // Verificación de unicidad ANTES de encriptar: solo se consulta la base de datos si el filtro indica posible duplicado
+        if (unicidadFiltro.podriaExistirEmail(usuario.getEmail()) && usuarioRepository.findByEmail(usuario.getEmail()).isPresent()) {
+            throw new RuntimeException("El correo ya está registrado");
+        }
+        if (unicidadFiltro.podriaExistirRut(usuario.getRut()) && usuarioRepository.existsByRutNumero(rut.getNumero())) {
+            throw new RuntimeException("El RUT ya está registrado");
+        }
+
         // Establecimiento de valores por defecto para nuevos usuarios
         usuario.setRole(usuario.getRole() != null ? usuario.getRole() : "cliente");
         usuario.setStatus(usuario.getStatus() != null ? usuario.getStatus() : "activo");
@@ -59,7 +96,10 @@ public class UsuarioServiceImpl implements UsuarioService {
         // Encriptación segura de la contraseña antes de almacenar
         String passwordEncriptada = passwordEncoder.encode(usuario.getPassword());
         usuario.setPassword(passwordEncriptada);
-        return usuarioRepository.save(usuario);
+        Usuario guardado = usuarioRepository.save(usuario);
+        unicidadFiltro.registrar(guardado.getEmail(), guardado.getRut());
+        feedActividad.usuarioRegistrado(guardado);
+        return guardado;
     }
 
     // Obtiene un usuario específico por su ID - lanza excepción si no existe
@@ -73,12 +113,23 @@ public class UsuarioServiceImpl implements UsuarioService {
     @Override
     public Usuario actualizar(Long id, Usuario usuarioActualizado) {
         Usuario usuarioExistente = obtenerPorID(id);
+        Map<String, Object> antes = Auditoria.instantanea(usuarioExistente);
+        String emailAnterior = usuarioExistente.getEmail();
+        String rutAnterior = usuarioExistente.getRut();
         
         // Actualización completa de todos los campos editables del perfil de usuario
         usuarioExistente.setUsername(usuarioActualizado.getUsername());
         usuarioExistente.setApellidos(usuarioActualizado.getApellidos());
         usuarioExistente.setEmail(usuarioActualizado.getEmail());
-        usuarioExistente.setRut(usuarioActualizado.getRut());
+        if (usuarioActualizado.getRut() == null || usuarioActualizado.getRut().isEmpty()) {
+            throw new RuntimeException("El RUT es obligatorio");
+        }
+        Rut rut = interpretarRut(usuarioActualizado.getRut());
+        // El RUT puede conservarse; solo es duplicado si pertenece a otro usuario (búsqueda por la clave indexada)
+        if (usuarioRepository.findByRutNumero(rut.getNumero()).filter(u -> !id.equals(u.getId())).isPresent()) {
+            throw new RuntimeException("El RUT ya está registrado");
+        }
+        aplicarRutCanonico(usuarioExistente, rut);
         usuarioExistente.setRole(usuarioActualizado.getRole());
         usuarioExistente.setStatus(usuarioActualizado.getStatus());
         usuarioExistente.setFechaNacimiento(usuarioActualizado.getFechaNacimiento());
@@ -100,7 +151,12 @@ public class UsuarioServiceImpl implements UsuarioService {
             usuarioExistente.setPassword(passwordEncriptada);
         }
         
-        return usuarioRepository.save(usuarioExistente);
+        Usuario guardado = usuarioRepository.save(usuarioExistente);
+        // Mantiene el filtro de unicidad sincronizado si cambió el email o el RUT
+        unicidadFiltro.registrar(guardado.getEmail(), guardado.getRut());
+        unicidadFiltro.remover(emailAnterior, rutAnterior);
+        auditoria.registrar(Entidad.USUARIO, id, Accion.ACTUALIZADO, antes, Auditoria.instantanea(guardado));
+        return guardado;
     };
 
     // Obtiene todos los usuarios del sistema - conversión necesaria por CrudRepository
@@ -109,13 +165,23 @@ public class UsuarioServiceImpl implements UsuarioService {
         return (List<Usuario>) usuarioRepository.findAll();
     }; 
 
+    // Obtiene una página de usuarios en su representación de listado (sin contraseña ni colección del carrito)
+    @Override
+    public Page<UsuarioResumen> listarResumen(int pagina, int tamanio) {
+        if (pagina < 0 || tamanio < 1) {
+            throw new RuntimeException("Parámetros de paginación inválidos");
+        }
+        return usuarioRepository.findAllResumen(PageRequest.of(pagina, tamanio, Sort.by("id")));
+    }
+
     // Elimina un usuario del sistema - verifica existencia previa para evitar errores
     @Override
     public void eliminar(Long id) {
-        if (!usuarioRepository.existsById(id)) {
-            throw new RuntimeException("Usuario no encontrado.");
-        } 
+        Usuario usuario = usuarioRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Usuario no encontrado."));
         usuarioRepository.deleteById(id);
+        unicidadFiltro.remover(usuario.getEmail(), usuario.getRut());
+        auditoria.registrar(Entidad.USUARIO, id, Accion.ELIMINADO, Auditoria.instantanea(usuario), null);
     };
 
     /* ================= SISTEMA DE AUTENTICACIÓN Y SEGURIDAD ================= */
@@ -154,14 +220,51 @@ public class UsuarioServiceImpl implements UsuarioService {
 
     /* ================= VALIDACIONES Y UTILIDADES ================= */
     
-    // Valida que el email pertenezca a los dominios permitidos (política de la institución)
-    private boolean validarEmail(String email) {
+    // Valida que el email pertenezca a los dominios permitidos (política de la institución). Compartido con la importación masiva
+    static boolean validarEmail(String email) {
         if (email == null) return false;
         return email.endsWith("@duoc.cl") || 
                email.endsWith("@profesor.duoc.cl") || 
                email.endsWith("@gmail.com");
     }
 
+    // Interpreta el RUT recibido en cualquier formato habitual; los errores de formato o dígito verificador se informan al cliente
+    static Rut interpretarRut(String texto) {
+        try {
+            return Rut.parse(texto);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    // Guarda el RUT en formato de presentación ("12.345.678-5") junto a su clave canónica indexada
+    static void aplicarRutCanonico(Usuario usuario, Rut rut) {
+        usuario.setRut(rut.formateado());
+        usuario.setRutNumero(rut.getNumero());
+        usuario.setRutDv(rut.getDv());
+    }
+
+    /* ================= NORMALIZACIÓN DE RUT EXISTENTES ================= */
+
+    // Completa la clave canónica de los usuarios registrados antes de la normalización. Los RUT inválidos o repetidos
+    // se dejan sin clave (no bloquean el arranque) y pueden corregirse editando el usuario
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void normalizarRutsExistentes() {
+        Set<Integer> asignados = new HashSet<>();
+        for (Usuario usuario : usuarioRepository.findByRutNumeroIsNull()) {
+            if (!Rut.esValido(usuario.getRut())) {
+                continue;
+            }
+            Rut rut = Rut.parse(usuario.getRut());
+            if (!asignados.add(rut.getNumero()) || usuarioRepository.existsByRutNumero(rut.getNumero())) {
+                continue;
+            }
+            aplicarRutCanonico(usuario, rut);
+            usuarioRepository.save(usuario);
+        }
+    }
+
     /* ================= SISTEMA DE BÚSQUEDA Y FILTRADO ================= */
     
     // Busca usuarios por nombre de usuario (búsqueda parcial insensible a mayúsculas/minúsculas)
@@ -0,0 +1,124 @@
+package com.carrie.hazellabev2.services;
+
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.carrie.hazellabev2.repositories.UsuarioRepository;
+import com.carrie.hazellabev2.utils.CountingBloomFilter;
+import com.carrie.hazellabev2.utils.Rut;
+
+/* ================= Filtro en Memoria para Unicidad de Email y RUT ================= */
+
+/**
+ * Mantiene filtros de Bloom con contadores sobre los emails y RUT normalizados de todos los usuarios.
+ * Permite que el registro descarte duplicados sin consultar la base de datos en el caso común
+ * ("definitivamente nuevo") y que los duplicados se rechacen antes de encriptar la contraseña.
+ * Mientras la carga inicial no termina, responde siempre "podría existir" para forzar la consulta.
+ */
+@Component
+
+public class UsuarioUnicidadFiltro {
+    // Inyección del repositorio para la carga inicial de valores existentes
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    // Capacidad esperada de usuarios y tasa de falsos positivos aceptada (configurables)
+    @Value("${hazellab.usuarios.filtro.capacidad:50000}")
+    private int capacidad = 50000;
+
+    @Value("${hazellab.usuarios.filtro.falsos-positivos:0.01}")
+    private double falsosPositivos = 0.01;
+
+    private volatile CountingBloomFilter emails;
+    private volatile CountingBloomFilter ruts;
+    private volatile boolean cargado = false;
+
+    /* ================= CARGA INICIAL ================= */
+
+    // Precarga los filtros una vez que la aplicación terminó de iniciar
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        CountingBloomFilter nuevosEmails = new CountingBloomFilter(capacidad, falsosPositivos);
+        CountingBloomFilter nuevosRuts = new CountingBloomFilter(capacidad, falsosPositivos);
+        // Se publican antes de cargar para que las altas concurrentes también queden registradas
+        emails = nuevosEmails;
+        ruts = nuevosRuts;
+
+        for (String email : usuarioRepository.findAllEmails()) {
+            if (email != null) {
+                nuevosEmails.agregar(normalizarEmail(email));
+            }
+        }
+        for (String rut : usuarioRepository.findAllRuts()) {
+            if (rut != null) {
+                nuevosRuts.agregar(normalizarRut(rut));
+            }
+        }
+        cargado = true;
+    }
+
+    /* ================= CONSULTAS ================= */
+
+    // Retorna false solo si el email definitivamente no está registrado
+    public boolean podriaExistirEmail(String email) {
+        return !cargado || email == null || emails.podriaContener(normalizarEmail(email));
+    }
+
+    // Retorna false solo si el RUT definitivamente no está registrado
+    public boolean podriaExistirRut(String rut) {
+        return !cargado || rut == null || ruts.podriaContener(normalizarRut(rut));
+    }
+
+    /* ================= ACTUALIZACIONES ================= */
+
+    // Registra los identificadores de un usuario recién creado o actualizado
+    public void registrar(String email, String rut) {
+        CountingBloomFilter filtroEmails = emails;
+        CountingBloomFilter filtroRuts = ruts;
+        if (email != null && filtroEmails != null) {
+            filtroEmails.agregar(normalizarEmail(email));
+        }
+        if (rut != null && filtroRuts != null) {
+            filtroRuts.agregar(normalizarRut(rut));
+        }
+    }
+
+    // Retira los identificadores de un usuario eliminado o cuyos datos cambiaron
+    public void remover(String email, String rut) {
+        CountingBloomFilter filtroEmails = emails;
+        CountingBloomFilter filtroRuts = ruts;
+        if (email != null && filtroEmails != null) {
+            filtroEmails.remover(normalizarEmail(email));
+        }
+        if (rut != null && filtroRuts != null) {
+            filtroRuts.remover(normalizarRut(rut));
+        }
+    }
+
+    /* ================= NORMALIZACIÓN ================= */
+
+    // Emails: sin espacios y en minúsculas (la colación de MySQL ya los compara sin distinguir mayúsculas)
+    static String normalizarEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // RUT: cuerpo numérico canónico ("12.345.678-5", "123456785" -> "12345678"). Tolera RUT antiguos mal formados
+    static String normalizarRut(String rut) {
+        if (Rut.esValido(rut)) {
+            return Integer.toString(Rut.parse(rut).getNumero());
+        }
+        StringBuilder sb = new StringBuilder(rut.length());
+        for (int i = 0; i < rut.length(); i++) {
+            char c = rut.charAt(i);
+            if (Character.isDigit(c) || c == 'k' || c == 'K') {
+                sb.append(Character.toUpperCase(c));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,10 @@
+package com.carrie.hazellabev2.services;
+
+import com.carrie.hazellabev2.entities.Venta;
+
+public interface VentaService {
+    /* ---------------------------------- Consulta ---------------------------------- */
+    Venta obtenerPorID(Long id);
+    /* ---------------------------------- Negocio ---------------------------------- */
+    Venta confirmarCompra(Long usuarioId, String metodoEnvio, String metodoPago);
+}
@@ -0,0 +1,113 @@
+package com.carrie.hazellabev2.services;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.carrie.hazellabev2.entities.DetalleVenta;
+import com.carrie.hazellabev2.entities.EventoCambio.Agregado;
+import com.carrie.hazellabev2.entities.EventoCambio.Tipo;
+import com.carrie.hazellabev2.entities.ItemCarrito;
+import com.carrie.hazellabev2.entities.Producto;
+import com.carrie.hazellabev2.entities.Venta;
+import com.carrie.hazellabev2.repositories.ItemCarritoRepository;
+import com.carrie.hazellabev2.repositories.ProductoRepository;
+import com.carrie.hazellabev2.repositories.VentaRepository;
+
+/* ================= Servicio de Implementación para Ventas (Checkout) ================= */
+
+@Service
+
+public class VentaServiceImpl implements VentaService {
+    // Costo de cada método de envío (el mismo que muestra el checkout)
+    private static final Map<String, Integer> COSTOS_ENVIO = Map.of("retiro", 0, "estandar", 3990, "express", 6990);
+
+    @Autowired
+    private VentaRepository ventaRepository;
+
+    @Autowired
+    private ItemCarritoRepository itemCarritoRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    // Ranking de más vendidos: recibe cada venta al confirmarse la transacción
+    @Autowired
+    private RankingVentas rankingVentas;
+
+    // Outbox: cada venta y cada descuento de stock publican su evento en la misma transacción
+    @Autowired
+    private OutboxPublicador outbox;
+
+    /* ================= CONSULTA ================= */
+
+    @Override
+    public Venta obtenerPorID(Long id) {
+        return ventaRepository.findById(id)
+        .orElseThrow(() -> new RuntimeException("Venta no encontrada."));
+    }
+
+    /* ================= CHECKOUT ================= */
+
+    // Convierte el carrito del usuario en una venta: descuenta stock, guarda las líneas con el precio vigente
+    // y vacía el carrito, todo en una transacción (si un producto no alcanza, no se aplica nada).
+    // El stock se descuenta sobre la entidad bloqueada, así los listeners de Producto ven el cambio
+    @Override
+    @Transactional
+    public Venta confirmarCompra(Long usuarioId, String metodoEnvio, String metodoPago) {
+        Integer costoEnvio = metodoEnvio == null ? null : COSTOS_ENVIO.get(metodoEnvio);
+        if (costoEnvio == null) {
+            throw new RuntimeException("Método de envío no válido.");
+        }
+        if (metodoPago == null || metodoPago.isBlank()) {
+            throw new RuntimeException("Debe seleccionar un método de pago.");
+        }
+        List<ItemCarrito> items = itemCarritoRepository.findByUsuarioId(usuarioId);
+        if (items.isEmpty()) {
+            throw new RuntimeException("El carrito está vacío.");
+        }
+
+        Venta venta = new Venta();
+        venta.setUsuarioId(usuarioId);
+        venta.setFecha(LocalDateTime.now());
+        venta.setMetodoEnvio(metodoEnvio);
+        venta.setMetodoPago(metodoPago);
+        int subtotal = 0;
+        // Bloqueo en orden de ID: dos compras con los mismos productos no se bloquean mutuamente (deadlock)
+        List<ItemCarrito> ordenados = new ArrayList<>(items);
+        ordenados.sort(Comparator.comparing(item -> item.getProducto().getId()));
+        for (ItemCarrito item : ordenados) {
+            // El producto del carrito aún no se ha leído (relación LAZY): se lee con bloqueo y con el stock actual
+            Producto producto = productoRepository.bloquearPorId(item.getProducto().getId())
+                .orElseThrow(() -> new RuntimeException("Producto no encontrado."));
+            if (item.getQuantity() <= 0 || !Boolean.TRUE.equals(producto.getActiveStatus())) {
+                throw new RuntimeException("El producto " + producto.getName() + " no está disponible.");
+            }
+            if (producto.getStock() < item.getQuantity()) {
+                throw new RuntimeException("Stock insuficiente para " + producto.getName() + ".");
+            }
+            producto.setStock(producto.getStock() - item.getQuantity());
+            venta.getDetalles().add(new DetalleVenta(null, venta, producto.getId(), producto.getName(),
+                    item.getQuantity(), producto.getCost()));
+            subtotal += producto.getCost() * item.getQuantity();
+        }
+        venta.setSubtotal(subtotal);
+        venta.setCostoEnvio(costoEnvio);
+        venta.setTotal(subtotal + costoEnvio);
+
+        Venta guardada = ventaRepository.save(venta);
+        itemCarritoRepository.deleteAll(items);
+        outbox.publicar(Agregado.VENTA, guardada.getId(), Tipo.CREADO);
+        for (DetalleVenta detalle : guardada.getDetalles()) {
+            outbox.publicar(Agregado.PRODUCTO, detalle.getProductoId(), Tipo.ACTUALIZADO);
+        }
+        rankingVentas.registrar(guardada);
+        return guardada;
+    }
+}
@@ -0,0 +1,107 @@
+package com.carrie.hazellabev2.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/* ================= Analizador de Texto en Español para Búsqueda ================= */
+
+/**
+ * Convierte texto en términos de búsqueda: separa palabras, pliega tildes y mayúsculas, descarta
+ * palabras vacías ("el", "de", "que"...) y aplica una derivación ligera (plurales y género), de modo que
+ * "Químicas", "quimica" y "químico" producen el mismo término. Cada término conserva su posición
+ * en el texto original para poder resaltar fragmentos sin volver a analizar desde la base de datos.
+ */
+public final class AnalizadorEspanol {
+    // Palabras demasiado frecuentes para aportar a la relevancia (ya plegadas)
+    private static final Set<String> PALABRAS_VACIAS = Set.of(
+            "a", "al", "algo", "ante", "antes", "asi", "aun", "bajo", "como", "con", "contra", "cual", "cuando",
+            "de", "del", "desde", "donde", "durante", "e", "el", "ella", "ellas", "ellos", "en", "entre", "era",
+            "es", "esa", "ese", "eso", "esta", "este", "esto", "estos", "estas", "fue", "ha", "han", "hasta",
+            "hay", "la", "las", "le", "les", "lo", "los", "mas", "me", "mi", "muy", "ni", "no", "nos", "o", "os",
+            "para", "pero", "por", "porque", "que", "se", "segun", "ser", "si", "sin", "sobre", "son", "su", "sus",
+            "tambien", "tan", "te", "tiene", "todo", "todos", "tu", "un", "una", "uno", "unos", "unas", "y", "ya");
+
+    // Longitud mínima a partir de la cual se aplica la derivación
+    private static final int LARGO_MINIMO_DERIVACION = 5;
+
+    private AnalizadorEspanol() {
+    }
+
+    // Término analizado con su posición [inicio, fin) en el texto original
+    public record Termino(String valor, int inicio, int fin) {
+    }
+
+    /* ================= ANÁLISIS ================= */
+
+    // Retorna los términos del texto en orden de aparición (sin palabras vacías)
+    public static List<Termino> analizar(String texto) {
+        List<Termino> terminos = new ArrayList<>();
+        if (texto == null) {
+            return terminos;
+        }
+        StringBuilder palabra = new StringBuilder(24);
+        int inicio = -1;
+        for (int i = 0; i <= texto.length(); i++) {
+            char c = i < texto.length() ? Texto.plegarCaracter(texto.charAt(i)) : ' ';
+            if (c != ' ' && c != Texto.IGNORADO) {
+                if (inicio < 0) {
+                    inicio = i;
+                }
+                palabra.append(c);
+                continue;
+            }
+            if (inicio >= 0) {
+                String valor = palabra.toString();
+                if (!PALABRAS_VACIAS.contains(valor)) {
+                    terminos.add(new Termino(derivar(valor), inicio, i));
+                }
+                palabra.setLength(0);
+                inicio = -1;
+            }
+        }
+        return terminos;
+    }
+
+    // Términos distintos de una consulta, en el orden en que aparecen
+    public static List<String> terminosConsulta(String consulta) {
+        List<String> distintos = new ArrayList<>();
+        for (Termino termino : analizar(consulta)) {
+            if (!distintos.contains(termino.valor())) {
+                distintos.add(termino.valor());
+            }
+        }
+        return distintos;
+    }
+
+    /* ================= DERIVACIÓN LIGERA ================= */
+
+    // Elimina plurales y marcas de género (en la línea del "light stemmer" español de Savoy)
+    static String derivar(String palabra) {
+        int largo = palabra.length();
+        if (largo < LARGO_MINIMO_DERIVACION) {
+            return palabra;
+        }
+        if (palabra.endsWith("mente") && largo > 8) {
+            return derivar(palabra.substring(0, largo - 5));
+        }
+        char ultima = palabra.charAt(largo - 1);
+        char penultima = palabra.charAt(largo - 2);
+        if (ultima == 'o' || ultima == 'a' || ultima == 'e') {
+            return palabra.substring(0, largo - 1);
+        }
+        if (ultima == 's') {
+            // "reacciones" -> "reaccion", "luces" -> "luz", "químicos" -> "quimic"
+            if (penultima == 'e' && palabra.endsWith("iones")) {
+                return palabra.substring(0, largo - 2);
+            }
+            if (penultima == 'e' && palabra.charAt(largo - 3) == 'c') {
+                return palabra.substring(0, largo - 3) + "z";
+            }
+            if (penultima == 'o' || penultima == 'a' || penultima == 'e') {
+                return palabra.substring(0, largo - 2);
+            }
+        }
+        return palabra;
+    }
+}
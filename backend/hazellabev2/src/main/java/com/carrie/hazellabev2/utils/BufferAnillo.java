@@ -0,0 +1,115 @@
+package com.carrie.hazellabev2.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/* ================= Buffer en Anillo Acotado sin Bloqueos ================= */
+
+/**
+ * Cola de capacidad fija (potencia de 2) sobre un arreglo circular, para varios productores y consumidores sin locks.
+ * Cada celda lleva una secuencia que indica de quién es el turno: un productor reserva la posición de escritura con
+ * compareAndSet y publica el elemento avanzando la secuencia de la celda; el consumidor hace lo mismo con la de lectura.
+ * Con el buffer lleno ofrecer retorna false de inmediato: la política ante la saturación la decide quien lo usa.
+ */
+public class BufferAnillo<T> {
+    private final int capacidad;
+    private final int mascara;
+    private final AtomicReferenceArray<T> celdas;
+    private final AtomicLongArray secuencias;
+    private final AtomicLong escritura = new AtomicLong();
+    private final AtomicLong lectura = new AtomicLong();
+
+    // La capacidad se redondea a la potencia de 2 siguiente (el índice de la celda se obtiene con una máscara)
+    public BufferAnillo(int capacidadMinima) {
+        if (capacidadMinima < 2 || capacidadMinima > (1 << 30)) {
+            throw new IllegalArgumentException("La capacidad del buffer debe estar entre 2 y 2^30");
+        }
+        this.capacidad = Integer.highestOneBit(capacidadMinima - 1) << 1;
+        this.mascara = capacidad - 1;
+        this.celdas = new AtomicReferenceArray<>(capacidad);
+        this.secuencias = new AtomicLongArray(capacidad);
+        for (int i = 0; i < capacidad; i++) {
+            secuencias.set(i, i);
+        }
+    }
+
+    /* ================= OPERACIONES PÚBLICAS ================= */
+
+    // Agrega un elemento; retorna false si el buffer está lleno
+    public boolean ofrecer(T elemento) {
+        if (elemento == null) {
+            throw new IllegalArgumentException("El buffer no admite elementos nulos");
+        }
+        long posicion = escritura.get();
+        while (true) {
+            int indice = (int) (posicion & mascara);
+            long diferencia = secuencias.get(indice) - posicion;
+            if (diferencia == 0) {
+                // Celda libre en esta vuelta: se reserva la posición y luego se publica el elemento
+                if (escritura.compareAndSet(posicion, posicion + 1)) {
+                    celdas.set(indice, elemento);
+                    secuencias.set(indice, posicion + 1);
+                    return true;
+                }
+                posicion = escritura.get();
+            } else if (diferencia < 0) {
+                // La celda aún guarda un elemento de la vuelta anterior: buffer lleno
+                return false;
+            } else {
+                // Otro productor ganó esta posición
+                posicion = escritura.get();
+            }
+        }
+    }
+
+    // Retira el elemento más antiguo; null si el buffer está vacío
+    public T tomar() {
+        long posicion = lectura.get();
+        while (true) {
+            int indice = (int) (posicion & mascara);
+            long diferencia = secuencias.get(indice) - (posicion + 1);
+            if (diferencia == 0) {
+                if (lectura.compareAndSet(posicion, posicion + 1)) {
+                    T elemento = celdas.get(indice);
+                    celdas.set(indice, null);
+                    // Libera la celda para la vuelta siguiente
+                    secuencias.set(indice, posicion + capacidad);
+                    return elemento;
+                }
+                posicion = lectura.get();
+            } else if (diferencia < 0) {
+                // El elemento de esta posición aún no se publicó: buffer vacío
+                return null;
+            } else {
+                posicion = lectura.get();
+            }
+        }
+    }
+
+    // Retira hasta maximo elementos en orden y los entrega al destino; retorna cuántos retiró
+    public int drenar(Consumer<? super T> destino, int maximo) {
+        int retirados = 0;
+        T elemento;
+        while (retirados < maximo && (elemento = tomar()) != null) {
+            destino.accept(elemento);
+            retirados++;
+        }
+        return retirados;
+    }
+
+    // Cantidad aproximada de elementos (exacta si no hay operaciones en curso)
+    public int tamanio() {
+        long diferencia = escritura.get() - lectura.get();
+        return (int) Math.max(0, Math.min(diferencia, capacidad));
+    }
+
+    public boolean estaVacio() {
+        return tamanio() == 0;
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+}
@@ -0,0 +1,148 @@
+package com.carrie.hazellabev2.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/* ================= Filtro de Bloom con Contadores (Counting Bloom Filter) ================= */
+
+/**
+ * Estructura probabilística en memoria para responder "¿este valor podría existir?".
+ * - Si responde false, el valor NUNCA fue agregado (sin falsos negativos).
+ * - Si responde true, el valor PROBABLEMENTE existe y debe confirmarse contra la base de datos.
+ * Usa contadores de 4 bits empaquetados en un AtomicLongArray (16 por long) para permitir eliminaciones
+ * sin bloqueos: cada actualización es un compareAndSet sobre la palabra que contiene el contador.
+ * Un contador que llega a 15 queda saturado y ya no se decrementa, evitando falsos negativos.
+ */
+public class CountingBloomFilter {
+    // Valor máximo de un contador de 4 bits
+    private static final long MAX_CONTADOR = 0xFL;
+
+    private final AtomicLongArray palabras;
+    private final int numContadores;
+    private final int numHashes;
+
+    // Dimensiona el filtro según la cantidad esperada de elementos y la tasa de falsos positivos aceptada
+    public CountingBloomFilter(int elementosEsperados, double probabilidadFalsoPositivo) {
+        if (elementosEsperados <= 0) {
+            throw new IllegalArgumentException("La cantidad esperada de elementos debe ser positiva");
+        }
+        if (probabilidadFalsoPositivo <= 0 || probabilidadFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("La probabilidad de falso positivo debe estar entre 0 y 1");
+        }
+        // Fórmulas estándar: m = -n·ln(p) / (ln 2)^2 ; k = (m/n)·ln 2
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-elementosEsperados * Math.log(probabilidadFalsoPositivo) / (ln2 * ln2));
+        this.numContadores = (int) Math.max(64, Math.min(m, Integer.MAX_VALUE - 64L));
+        this.numHashes = Math.max(1, (int) Math.round((double) numContadores / elementosEsperados * ln2));
+        this.palabras = new AtomicLongArray((numContadores + 15) / 16);
+    }
+
+    /* ================= OPERACIONES PÚBLICAS ================= */
+
+    // Registra un valor incrementando sus k contadores
+    public void agregar(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            incrementar(indice(h1, h2, i));
+        }
+    }
+
+    // Elimina un valor previamente agregado. Solo debe llamarse con valores que realmente fueron agregados
+    public void remover(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            decrementar(indice(h1, h2, i));
+        }
+    }
+
+    // Retorna false si el valor definitivamente no existe; true si podría existir
+    public boolean podriaContener(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            if (leer(indice(h1, h2, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Reinicia todos los contadores (usado antes de una recarga completa)
+    public void limpiar() {
+        for (int i = 0; i < palabras.length(); i++) {
+            palabras.set(i, 0L);
+        }
+    }
+
+    public int getNumContadores() {
+        return numContadores;
+    }
+
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    /* ================= MANEJO DE CONTADORES EMPAQUETADOS ================= */
+
+    // Doble hashing de Kirsch-Mitzenmacher: g_i(x) = h1 + i·h2, evita calcular k funciones independientes
+    private int indice(int h1, int h2, int i) {
+        int combinado = h1 + i * h2;
+        return (combinado & Integer.MAX_VALUE) % numContadores;
+    }
+
+    private long leer(int indice) {
+        long palabra = palabras.get(indice >>> 4);
+        return (palabra >>> ((indice & 15) << 2)) & MAX_CONTADOR;
+    }
+
+    private void incrementar(int indice) {
+        int posicion = indice >>> 4;
+        int desplazamiento = (indice & 15) << 2;
+        while (true) {
+            long actual = palabras.get(posicion);
+            long contador = (actual >>> desplazamiento) & MAX_CONTADOR;
+            if (contador == MAX_CONTADOR) {
+                return; // Saturado: se mantiene así para no producir falsos negativos
+            }
+            long nuevo = actual + (1L << desplazamiento);
+            if (palabras.compareAndSet(posicion, actual, nuevo)) {
+                return;
+            }
+        }
+    }
+
+    private void decrementar(int indice) {
+        int posicion = indice >>> 4;
+        int desplazamiento = (indice & 15) << 2;
+        while (true) {
+            long actual = palabras.get(posicion);
+            long contador = (actual >>> desplazamiento) & MAX_CONTADOR;
+            if (contador == 0 || contador == MAX_CONTADOR) {
+                return; // Vacío o saturado: no se modifica
+            }
+            long nuevo = actual - (1L << desplazamiento);
+            if (palabras.compareAndSet(posicion, actual, nuevo)) {
+                return;
+            }
+        }
+    }
+
+    // Hash de 64 bits (FNV-1a seguido del mezclador final de MurmurHash3) sin crear arreglos intermedios
+    private static long hash64(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            h ^= valor.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,146 @@
+package com.carrie.hazellabev2.utils;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/* ================= Envío de Archivos Estáticos con Rangos y Copia Directa ================= */
+
+/**
+ * Escribe un archivo del disco en la respuesta HTTP sin pasar su contenido por el heap de la JVM.
+ * Con Tomcat (NIO) delega el envío completo en "sendfile" del conector; en otros contenedores usa
+ * FileChannel.transferTo hacia el canal de salida. Soporta solicitudes con un rango de bytes (206 / 416),
+ * If-Range e If-None-Match; varios rangos en una misma solicitud se responden con el archivo completo.
+ */
+public final class EnvioArchivo {
+    // Atributos de solicitud con los que Tomcat anuncia y recibe un envío por sendfile
+    private static final String SENDFILE_SOPORTADO = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_ARCHIVO = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_INICIO = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FIN = "org.apache.tomcat.sendfile.end";
+
+    private EnvioArchivo() {
+    }
+
+    /* ================= ENVÍO ================= */
+
+    public static void enviar(HttpServletRequest solicitud, HttpServletResponse respuesta, Path archivo,
+                              String tipoContenido, String etag, CacheControl cache) throws IOException {
+        long largo = Files.size(archivo);
+        respuesta.setHeader(HttpHeaders.ETAG, etag);
+        respuesta.setHeader(HttpHeaders.CACHE_CONTROL, cache.getHeaderValue());
+        respuesta.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (coincideEtag(solicitud.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            respuesta.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long inicio = 0;
+        long fin = largo - 1;
+        String rango = solicitud.getHeader(HttpHeaders.RANGE);
+        String ifRange = solicitud.getHeader(HttpHeaders.IF_RANGE);
+        // Con If-Range distinto al ETag actual el cliente tiene otra versión: se envía el archivo completo
+        if (rango != null && (ifRange == null || ifRange.trim().equals(etag))) {
+            long[] limites = interpretarRango(rango, largo);
+            if (limites == null) {
+                respuesta.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                respuesta.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + largo);
+                return;
+            }
+            if (limites.length == 2) {
+                inicio = limites[0];
+                fin = limites[1];
+                respuesta.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                respuesta.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + inicio + "-" + fin + "/" + largo);
+            }
+        }
+
+        respuesta.setContentType(tipoContenido);
+        respuesta.setContentLengthLong(fin - inicio + 1);
+        if ("HEAD".equalsIgnoreCase(solicitud.getMethod()) || largo == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(solicitud.getAttribute(SENDFILE_SOPORTADO))) {
+            // Tomcat envía el archivo después de que el controlador retorna (sendfile del sistema operativo)
+            solicitud.setAttribute(SENDFILE_ARCHIVO, archivo.toAbsolutePath().toString());
+            solicitud.setAttribute(SENDFILE_INICIO, inicio);
+            solicitud.setAttribute(SENDFILE_FIN, fin + 1);
+            return;
+        }
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            WritableByteChannel salida = Channels.newChannel(respuesta.getOutputStream());
+            long posicion = inicio;
+            long restante = fin - inicio + 1;
+            while (restante > 0) {
+                long enviados = canal.transferTo(posicion, restante, salida);
+                if (enviados <= 0) {
+                    break;
+                }
+                posicion += enviados;
+                restante -= enviados;
+            }
+        }
+    }
+
+    /* ================= CABECERAS CONDICIONALES ================= */
+
+    // Interpreta "bytes=a-b", "bytes=a-" o "bytes=-n". Retorna [inicio, fin], un arreglo vacío si
+    // el rango se ignora (sintaxis desconocida o varios rangos) o null si no es satisfacible
+    static long[] interpretarRango(String rango, long largo) {
+        String valor = rango.trim();
+        if (!valor.startsWith("bytes=") || valor.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        valor = valor.substring(6).trim();
+        int guion = valor.indexOf('-');
+        if (guion < 0) {
+            return new long[0];
+        }
+        try {
+            String desde = valor.substring(0, guion).trim();
+            String hasta = valor.substring(guion + 1).trim();
+            if (desde.isEmpty()) {
+                // Sufijo: los últimos n bytes
+                long sufijo = Long.parseLong(hasta);
+                if (sufijo <= 0 || largo == 0) {
+                    return null;
+                }
+                return new long[] { Math.max(0, largo - sufijo), largo - 1 };
+            }
+            long inicio = Long.parseLong(desde);
+            long fin = hasta.isEmpty() ? largo - 1 : Math.min(Long.parseLong(hasta), largo - 1);
+            if (inicio >= largo || fin < inicio) {
+                return null;
+            }
+            return new long[] { inicio, fin };
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    private static boolean coincideEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.equals("*") || valor.equals(etag) || valor.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,59 @@
+package com.carrie.hazellabev2.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/* ================= Escritura de Filas CSV ================= */
+
+/**
+ * Escribe filas CSV (RFC 4180, separador coma y fin de línea CRLF) directamente en un Writer, sin armar el
+ * archivo en memoria. Los campos con coma, comillas o saltos de línea se encierran entre comillas dobles.
+ * Los textos que empiezan con =, +, - o @, o con tabulación o retorno de carro (que una planilla descarta antes
+ * de evaluar el resto), se anteponen con un apóstrofe para que no se interpreten como fórmulas; los números se
+ * escriben tal cual. Los archivos para descargar empiezan con la marca BOM de UTF-8 (bom): sin ella Excel los
+ * abre con la codificación regional y desarma los acentos.
+ */
+public final class EscritorCsv {
+    private EscritorCsv() {
+    }
+
+    /* ================= ESCRITURA ================= */
+
+    // Marca de orden de bytes UTF-8, antes de la primera fila
+    public static void bom(Writer salida) throws IOException {
+        salida.write('\uFEFF');
+    }
+
+    // Escribe una fila; null se escribe como campo vacío
+    public static void fila(Writer salida, Object... valores) throws IOException {
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                salida.write(',');
+            }
+            Object valor = valores[i];
+            if (valor == null) {
+                continue;
+            }
+            if (valor instanceof Number || valor instanceof Boolean) {
+                salida.write(valor.toString());
+            } else {
+                salida.write(campo(valor.toString()));
+            }
+        }
+        salida.write("\r\n");
+    }
+
+    // Campo de texto escapado para CSV
+    public static String campo(String texto) {
+        String valor = texto;
+        if (!valor.isEmpty() && "=+-@\t\r".indexOf(valor.charAt(0)) >= 0) {
+            valor = "'" + valor;
+        }
+        boolean comillas = false;
+        for (int i = 0; i < valor.length() && !comillas; i++) {
+            char c = valor.charAt(i);
+            comillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return comillas ? '"' + valor.replace("\"", "\"\"") + '"' : valor;
+    }
+}
@@ -0,0 +1,174 @@
+package com.carrie.hazellabev2.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/* ================= Escritura de Planillas XLSX por Flujo ================= */
+
+/**
+ * Escribe una planilla XLSX (Office Open XML) de una sola hoja directamente en un OutputStream: las partes fijas
+ * del paquete se escriben al abrir y cada fila se agrega al XML de la hoja dentro del ZIP en cuanto llega, sin
+ * conservar filas en memoria (a diferencia de armar el libro completo y serializarlo al final).
+ * Textos como cadenas en línea (sin tabla de cadenas compartidas, que obligaría a retenerlas), números y booleanos
+ * como valores, y fechas como número de serie con formato de fecha. La primera fila se marca en negrita.
+ */
+public final class EscritorXlsx implements AutoCloseable {
+    // Límite de caracteres de una celda en Excel
+    private static final int MAX_CARACTERES = 32_767;
+    // Día 0 del sistema de fechas 1900 de Excel (con el 29/02/1900 ficticio incluido)
+    private static final LocalDate EPOCA = LocalDate.of(1899, 12, 30);
+    // Estilos definidos en styles.xml: 1 encabezado, 2 fecha, 3 fecha y hora
+    private static final int ESTILO_ENCABEZADO = 1;
+    private static final int ESTILO_FECHA = 2;
+    private static final int ESTILO_FECHA_HORA = 3;
+
+    private final ZipOutputStream zip;
+    private final Writer hoja;
+    private int filas = 0;
+
+    public EscritorXlsx(OutputStream salida, String nombreHoja) throws IOException {
+        zip = new ZipOutputStream(salida, StandardCharsets.UTF_8);
+        parte("[Content_Types].xml", """
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+                <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+                <Default Extension="xml" ContentType="application/xml"/>\
+                <Override PartName="/xl/workbook.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>\
+                <Override PartName="/xl/worksheets/sheet1.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml"/>\
+                <Override PartName="/xl/styles.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml"/>\
+                </Types>""");
+        parte("_rels/.rels", """
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+                <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" Target="xl/workbook.xml"/>\
+                </Relationships>""");
+        parte("xl/workbook.xml", """
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" \
+                xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">\
+                <sheets><sheet name="%s" sheetId="1" r:id="rId1"/></sheets></workbook>""".formatted(escapar(nombreHoja)));
+        parte("xl/_rels/workbook.xml.rels", """
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+                <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet" Target="worksheets/sheet1.xml"/>\
+                <Relationship Id="rId2" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles" Target="styles.xml"/>\
+                </Relationships>""");
+        parte("xl/styles.xml", """
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <styleSheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main">\
+                <numFmts count="1"><numFmt numFmtId="164" formatCode="yyyy-mm-dd hh:mm:ss"/></numFmts>\
+                <fonts count="2"><font><sz val="11"/><name val="Calibri"/></font><font><b/><sz val="11"/><name val="Calibri"/></font></fonts>\
+                <fills count="2"><fill><patternFill patternType="none"/></fill><fill><patternFill patternType="gray125"/></fill></fills>\
+                <borders count="1"><border><left/><right/><top/><bottom/><diagonal/></border></borders>\
+                <cellStyleXfs count="1"><xf numFmtId="0" fontId="0" fillId="0" borderId="0"/></cellStyleXfs>\
+                <cellXfs count="4"><xf numFmtId="0" fontId="0" fillId="0" borderId="0" xfId="0"/>\
+                <xf numFmtId="0" fontId="1" fillId="0" borderId="0" xfId="0" applyFont="1"/>\
+                <xf numFmtId="14" fontId="0" fillId="0" borderId="0" xfId="0" applyNumberFormat="1"/>\
+                <xf numFmtId="164" fontId="0" fillId="0" borderId="0" xfId="0" applyNumberFormat="1"/></cellXfs>\
+                </styleSheet>""");
+        // La hoja queda abierta: cada fila se escribe en esta entrada del ZIP hasta cerrar
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        hoja = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+        hoja.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+                + "<sheetViews><sheetView workbookViewId=\"0\"><pane ySplit=\"1\" topLeftCell=\"A2\" activePane=\"bottomLeft\" state=\"frozen\"/></sheetView></sheetViews>"
+                + "<sheetData>");
+    }
+
+    /* ================= ESCRITURA ================= */
+
+    // Agrega una fila; null deja la celda vacía
+    public void fila(Object... valores) throws IOException {
+        filas++;
+        hoja.write("<row r=\"" + filas + "\">");
+        for (int i = 0; i < valores.length; i++) {
+            Object valor = valores[i];
+            if (valor == null) {
+                continue;
+            }
+            String ref = columna(i) + filas;
+            if (filas == 1) {
+                texto(ref, valor.toString(), ESTILO_ENCABEZADO);
+            } else if (valor instanceof Number numero) {
+                hoja.write("<c r=\"" + ref + "\"><v>" + numero + "</v></c>");
+            } else if (valor instanceof Boolean booleano) {
+                hoja.write("<c r=\"" + ref + "\" t=\"b\"><v>" + (booleano ? 1 : 0) + "</v></c>");
+            } else if (valor instanceof LocalDateTime fechaHora) {
+                double serie = ChronoUnit.DAYS.between(EPOCA, fechaHora.toLocalDate())
+                        + fechaHora.toLocalTime().toSecondOfDay() / 86_400.0;
+                hoja.write("<c r=\"" + ref + "\" s=\"" + ESTILO_FECHA_HORA + "\"><v>" + serie + "</v></c>");
+            } else if (valor instanceof LocalDate fecha) {
+                hoja.write("<c r=\"" + ref + "\" s=\"" + ESTILO_FECHA + "\"><v>" + ChronoUnit.DAYS.between(EPOCA, fecha) + "</v></c>");
+            } else {
+                texto(ref, valor.toString(), 0);
+            }
+        }
+        hoja.write("</row>");
+    }
+
+    public int getFilas() {
+        return filas;
+    }
+
+    // Cierra la hoja y completa el paquete; el OutputStream de destino queda abierto (lo cierra quien lo creó)
+    @Override
+    public void close() throws IOException {
+        hoja.write("</sheetData></worksheet>");
+        hoja.flush();
+        zip.closeEntry();
+        zip.finish();
+        zip.flush();
+    }
+
+    /* ================= UTILIDADES ================= */
+
+    private void texto(String ref, String texto, int estilo) throws IOException {
+        String valor = texto.length() > MAX_CARACTERES ? texto.substring(0, MAX_CARACTERES) : texto;
+        hoja.write("<c r=\"" + ref + "\"" + (estilo != 0 ? " s=\"" + estilo + "\"" : "")
+                + " t=\"inlineStr\"><is><t xml:space=\"preserve\">" + escapar(valor) + "</t></is></c>");
+    }
+
+    private void parte(String nombre, String contenido) throws IOException {
+        zip.putNextEntry(new ZipEntry(nombre));
+        zip.write(contenido.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    // Letras de la columna (0 -> A, 25 -> Z, 26 -> AA)
+    static String columna(int indice) {
+        StringBuilder letras = new StringBuilder();
+        for (int n = indice + 1; n > 0; n = (n - 1) / 26) {
+            letras.insert(0, (char) ('A' + (n - 1) % 26));
+        }
+        return letras.toString();
+    }
+
+    // Escapa el texto para XML y omite los caracteres de control que XML 1.0 no admite
+    static String escapar(String texto) {
+        StringBuilder sb = new StringBuilder(texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '&' -> sb.append("&amp;");
+                case '<' -> sb.append("&lt;");
+                case '>' -> sb.append("&gt;");
+                case '"' -> sb.append("&quot;");
+                default -> {
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+}
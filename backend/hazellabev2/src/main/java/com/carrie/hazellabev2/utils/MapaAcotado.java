@@ -0,0 +1,138 @@
+package com.carrie.hazellabev2.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/* ================= Mapa Concurrente Acotado con Expulsión CLOCK ================= */
+
+/**
+ * Mapa en memoria con un máximo de entradas, pensado para cachés de lectura frecuente.
+ * Las lecturas no toman locks: solo marcan la entrada como usada. Al superar el máximo se recorre la cola de claves
+ * en orden de llegada (algoritmo CLOCK o "segunda oportunidad"): una entrada usada desde la última pasada se desmarca
+ * y vuelve al final; la primera no usada se expulsa. Aproxima LRU sin reordenar nada en cada lectura.
+ * La cola guarda las entradas y no las claves: quitar una clave la saca del mapa y de la cola, y si otro hilo vuelve
+ * a poner la misma clave mientras tanto su entrada nueva no se confunde con la quitada. Un nodo que quedó en la cola
+ * sin estar en el mapa (carrera entre poner y quitar) no cuenta para el máximo y el barrido lo descarta.
+ */
+public class MapaAcotado<K, V> {
+    private final int maxEntradas;
+    private final ConcurrentHashMap<K, Entrada<K, V>> entradas = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entrada<K, V>> reloj = new ConcurrentLinkedQueue<>();
+    // Un solo hilo barre a la vez; los demás siguen sin esperar
+    private final ReentrantLock barrido = new ReentrantLock();
+    private final AtomicLong expulsiones = new AtomicLong();
+
+    public MapaAcotado(int maxEntradas) {
+        if (maxEntradas < 1) {
+            throw new IllegalArgumentException("El máximo de entradas debe ser positivo");
+        }
+        this.maxEntradas = maxEntradas;
+    }
+
+    /* ================= OPERACIONES PÚBLICAS ================= */
+
+    // Valor asociado a la clave, o null si no está
+    public V obtener(K clave) {
+        Entrada<K, V> entrada = entradas.get(clave);
+        if (entrada == null) {
+            return null;
+        }
+        entrada.usada = true;
+        return entrada.valor;
+    }
+
+    public void poner(K clave, V valor) {
+        Entrada<K, V> existente = entradas.get(clave);
+        if (existente == null) {
+            Entrada<K, V> nueva = new Entrada<>(clave, valor);
+            existente = entradas.putIfAbsent(clave, nueva);
+            if (existente == null) {
+                reloj.add(nueva);
+                if (entradas.size() > maxEntradas) {
+                    expulsar();
+                }
+                return;
+            }
+        }
+        existente.valor = valor;
+        existente.usada = true;
+    }
+
+    public void quitar(K clave) {
+        Entrada<K, V> entrada = entradas.remove(clave);
+        if (entrada != null) {
+            // Recorre la cola, pero solo al invalidar: las lecturas y escrituras siguen en O(1)
+            reloj.remove(entrada);
+        }
+    }
+
+    public boolean contiene(K clave) {
+        return entradas.containsKey(clave);
+    }
+
+    public void limpiar() {
+        barrido.lock();
+        try {
+            entradas.clear();
+            reloj.clear();
+        } finally {
+            barrido.unlock();
+        }
+    }
+
+    // Entradas presentes en el mapa
+    public int tamanio() {
+        return entradas.size();
+    }
+
+    public int getMaxEntradas() {
+        return maxEntradas;
+    }
+
+    public long getExpulsiones() {
+        return expulsiones.get();
+    }
+
+    /* ================= EXPULSIÓN ================= */
+
+    private void expulsar() {
+        if (!barrido.tryLock()) {
+            return;
+        }
+        try {
+            while (entradas.size() > maxEntradas) {
+                Entrada<K, V> entrada = reloj.poll();
+                if (entrada == null) {
+                    return;
+                }
+                if (entradas.get(entrada.clave) != entrada) {
+                    // Quitada o reemplazada por otro hilo: el nodo ya no representa nada
+                    continue;
+                }
+                if (entrada.usada) {
+                    // Segunda oportunidad: vuelve al final de la cola
+                    entrada.usada = false;
+                    reloj.add(entrada);
+                } else if (entradas.remove(entrada.clave, entrada)) {
+                    expulsiones.incrementAndGet();
+                }
+            }
+        } finally {
+            barrido.unlock();
+        }
+    }
+
+    // Clave, valor y marca de uso desde la última pasada del barrido; se compara por identidad
+    private static final class Entrada<K, V> {
+        private final K clave;
+        private volatile V valor;
+        private volatile boolean usada;
+
+        private Entrada(K clave, V valor) {
+            this.clave = clave;
+            this.valor = valor;
+        }
+    }
+}
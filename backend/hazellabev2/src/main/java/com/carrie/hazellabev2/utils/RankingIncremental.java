@@ -0,0 +1,75 @@
+package com.carrie.hazellabev2.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/* ================= Ranking Incremental de Contadores ================= */
+
+/**
+ * Contadores exactos por clave con un índice ordenado (árbol) de mayor a menor total. Sumar o restar
+ * a una clave cuesta O(log n) y leer los K primeros recorre solo los K primeros nodos del árbol, sin
+ * ordenar ni revisar las demás claves. Un total que llega a cero sale del ranking.
+ * A igualdad de total se ordena por clave para que el resultado sea estable entre lecturas.
+ * No es seguro para hilos: quien lo usa debe sincronizar el acceso.
+ */
+public final class RankingIncremental {
+    private static final Comparator<Posicion> ORDEN = Comparator.comparingLong(Posicion::total).reversed()
+            .thenComparingLong(Posicion::clave);
+
+    private final Map<Long, Long> totales = new HashMap<>();
+    private final TreeSet<Posicion> orden = new TreeSet<>(ORDEN);
+
+    /* ================= ACTUALIZACIÓN ================= */
+
+    // Suma (o resta, con delta negativo) al total de una clave; los totales nunca quedan negativos
+    public void sumar(long clave, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        Long anterior = totales.get(clave);
+        long actual = Math.max(0, (anterior == null ? 0 : anterior) + delta);
+        if (anterior != null) {
+            orden.remove(new Posicion(clave, anterior));
+        }
+        if (actual > 0) {
+            totales.put(clave, actual);
+            orden.add(new Posicion(clave, actual));
+        } else {
+            totales.remove(clave);
+        }
+    }
+
+    public void limpiar() {
+        totales.clear();
+        orden.clear();
+    }
+
+    /* ================= CONSULTAS ================= */
+
+    // Las K claves con mayor total, de mayor a menor
+    public List<Posicion> primeros(int k) {
+        List<Posicion> resultado = new ArrayList<>(Math.min(k, orden.size()));
+        Iterator<Posicion> it = orden.iterator();
+        while (resultado.size() < k && it.hasNext()) {
+            resultado.add(it.next());
+        }
+        return resultado;
+    }
+
+    public long total(long clave) {
+        return totales.getOrDefault(clave, 0L);
+    }
+
+    public int tamanio() {
+        return totales.size();
+    }
+
+    // Clave con su total en el momento de la lectura
+    public record Posicion(long clave, long total) {
+    }
+}
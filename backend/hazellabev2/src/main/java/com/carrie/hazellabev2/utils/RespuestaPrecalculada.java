@@ -0,0 +1,160 @@
+package com.carrie.hazellabev2.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/* ================= Cuerpo de Respuesta HTTP Precalculado ================= */
+
+/**
+ * Cuerpo JSON inmutable serializado una sola vez, con su variante gzip y su ETag ya calculados.
+ * Cada solicitud solo elige la variante según Accept-Encoding o responde 304 si el ETag coincide,
+ * sin volver a serializar ni comprimir. El Cache-Control lo decide quien la construye: max-age largo para
+ * datos de referencia que no cambian en ejecución; no-cache (revalidar siempre por ETag) para datos editables,
+ * cuya instancia se reemplaza por una nueva al cambiar el contenido.
+ */
+public final class RespuestaPrecalculada {
+    // Por debajo de este tamaño gzip no compensa su propia cabecera
+    private static final int TAMANIO_MINIMO_GZIP = 256;
+
+    private final byte[] cuerpo;
+    private final byte[] cuerpoGzip;
+    private final String etag;
+    private final CacheControl cacheControl;
+
+    private RespuestaPrecalculada(byte[] cuerpo, byte[] cuerpoGzip, String etag, CacheControl cacheControl) {
+        this.cuerpo = cuerpo;
+        this.cuerpoGzip = cuerpoGzip;
+        this.etag = etag;
+        this.cacheControl = cacheControl;
+    }
+
+    /* ================= CONSTRUCCIÓN ================= */
+
+    // Prepara la respuesta a partir del JSON ya serializado: comprime y calcula el ETag (débil, válido para ambas codificaciones)
+    public static RespuestaPrecalculada deJson(byte[] json, CacheControl cacheControl) {
+        byte[] gzip = json.length >= TAMANIO_MINIMO_GZIP ? comprimir(json) : null;
+        if (gzip != null && gzip.length >= json.length) {
+            gzip = null;
+        }
+        return new RespuestaPrecalculada(json, gzip, "W/\"" + huella(json) + "\"", cacheControl);
+    }
+
+    private static byte[] comprimir(byte[] datos) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(datos.length / 2);
+        // Máxima compresión: el costo se paga una sola vez al preparar la respuesta
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(datos);
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo comprimir la respuesta", e);
+        }
+        return salida.toByteArray();
+    }
+
+    private static String huella(byte[] datos) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(datos);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /* ================= RESPUESTA ================= */
+
+    // Construye la respuesta para una solicitud concreta según sus cabeceras If-None-Match y Accept-Encoding
+    public ResponseEntity<byte[]> responder(String ifNoneMatch, String acceptEncoding) {
+        if (coincideEtag(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (cuerpoGzip != null && aceptaGzip(acceptEncoding)) {
+            return respuesta.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .contentLength(cuerpoGzip.length)
+                    .body(cuerpoGzip);
+        }
+        return respuesta.contentLength(cuerpo.length).body(cuerpo);
+    }
+
+    private boolean coincideEtag(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String propio = sinPrefijoDebil(etag);
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.equals("*") || sinPrefijoDebil(valor).equals(propio)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String sinPrefijoDebil(String valor) {
+        return valor.startsWith("W/") ? valor.substring(2) : valor;
+    }
+
+    // Acepta "gzip" salvo que el cliente lo excluya explícitamente con q=0
+    static boolean aceptaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String parte : acceptEncoding.split(",")) {
+            String[] tokens = parte.trim().split(";");
+            String codificacion = tokens[0].trim();
+            if (!codificacion.equalsIgnoreCase("gzip") && !codificacion.equals("*")) {
+                continue;
+            }
+            for (int i = 1; i < tokens.length; i++) {
+                String parametro = tokens[i].trim();
+                if (parametro.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parametro.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /* ================= ACCESO ================= */
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public int getTamanio() {
+        return cuerpo.length;
+    }
+
+    // Representación del cuerpo como texto, útil para registros y pruebas
+    public String comoTexto() {
+        return new String(cuerpo, StandardCharsets.UTF_8);
+    }
+}
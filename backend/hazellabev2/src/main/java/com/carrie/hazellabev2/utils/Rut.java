@@ -0,0 +1,135 @@
+package com.carrie.hazellabev2.utils;
+
+/* ================= Tipo de Valor para RUT Chileno ================= */
+
+/**
+ * Representación canónica e inmutable de un RUT: cuerpo numérico + dígito verificador (0-9 o 'K').
+ * Acepta los formatos habituales ("12.345.678-5", "12345678-5", "123456785", "k" minúscula) y valida
+ * el dígito verificador con el algoritmo módulo 11 completamente en memoria, sin consultar la base de datos.
+ * El cuerpo numérico es la clave compacta usada para búsquedas y unicidad (columna indexada rut_numero).
+ */
+public final class Rut {
+    // Límites razonables del cuerpo numérico de un RUT
+    private static final int CUERPO_MINIMO = 1_000_000;
+    private static final int CUERPO_MAXIMO = 99_999_999;
+
+    private final int numero;
+    private final char dv;
+
+    private Rut(int numero, char dv) {
+        this.numero = numero;
+        this.dv = dv;
+    }
+
+    /* ================= CONSTRUCCIÓN Y VALIDACIÓN ================= */
+
+    // Interpreta y valida un RUT en cualquier formato habitual. Lanza excepción si el formato o el dígito verificador son inválidos
+    public static Rut parse(String texto) {
+        if (texto == null || texto.isBlank()) {
+            throw new IllegalArgumentException("El RUT es obligatorio");
+        }
+        long cuerpo = 0;
+        int digitos = 0;
+        char verificador = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (verificador != 0 && c != ' ') {
+                throw new IllegalArgumentException("El RUT tiene un formato inválido");
+            }
+            if (c >= '0' && c <= '9') {
+                if (digitos > 0 || c != '0') {
+                    cuerpo = cuerpo * 10 + (c - '0');
+                    digitos++;
+                }
+                if (digitos > 10) {
+                    throw new IllegalArgumentException("El RUT tiene un formato inválido");
+                }
+            } else if (c == 'k' || c == 'K') {
+                verificador = 'K';
+            } else if (c != '.' && c != '-' && c != ' ') {
+                throw new IllegalArgumentException("El RUT tiene un formato inválido");
+            }
+        }
+        // Sin 'K' explícita, el último dígito leído es el verificador
+        if (verificador == 0) {
+            if (digitos < 2) {
+                throw new IllegalArgumentException("El RUT tiene un formato inválido");
+            }
+            verificador = (char) ('0' + (cuerpo % 10));
+            cuerpo /= 10;
+        }
+        if (cuerpo < CUERPO_MINIMO || cuerpo > CUERPO_MAXIMO) {
+            throw new IllegalArgumentException("El RUT tiene un formato inválido");
+        }
+        if (calcularDv((int) cuerpo) != verificador) {
+            throw new IllegalArgumentException("El RUT no es válido (dígito verificador incorrecto)");
+        }
+        return new Rut((int) cuerpo, verificador);
+    }
+
+    // Indica si el texto corresponde a un RUT válido, sin lanzar excepción
+    public static boolean esValido(String texto) {
+        try {
+            parse(texto);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // Calcula el dígito verificador con el algoritmo módulo 11 (serie 2,3,4,5,6,7 de derecha a izquierda)
+    public static char calcularDv(int cuerpo) {
+        int suma = 0;
+        int factor = 2;
+        while (cuerpo > 0) {
+            suma += (cuerpo % 10) * factor;
+            cuerpo /= 10;
+            factor = factor == 7 ? 2 : factor + 1;
+        }
+        int resto = 11 - (suma % 11);
+        if (resto == 11) {
+            return '0';
+        }
+        if (resto == 10) {
+            return 'K';
+        }
+        return (char) ('0' + resto);
+    }
+
+    /* ================= REPRESENTACIONES ================= */
+
+    public int getNumero() {
+        return numero;
+    }
+
+    public char getDv() {
+        return dv;
+    }
+
+    // Formato de presentación usado por el frontend: "12.345.678-5"
+    public String formateado() {
+        String cuerpo = Integer.toString(numero);
+        StringBuilder sb = new StringBuilder(cuerpo.length() + 4);
+        int primerGrupo = cuerpo.length() % 3 == 0 ? 3 : cuerpo.length() % 3;
+        sb.append(cuerpo, 0, primerGrupo);
+        for (int i = primerGrupo; i < cuerpo.length(); i += 3) {
+            sb.append('.').append(cuerpo, i, i + 3);
+        }
+        return sb.append('-').append(dv).toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Rut otro && otro.numero == numero && otro.dv == dv;
+    }
+
+    @Override
+    public int hashCode() {
+        return numero;
+    }
+
+    @Override
+    public String toString() {
+        return formateado();
+    }
+}
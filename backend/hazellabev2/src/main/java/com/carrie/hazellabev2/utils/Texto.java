@@ -0,0 +1,64 @@
+package com.carrie.hazellabev2.utils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/* ================= Utilidades de Normalización de Texto ================= */
+
+/**
+ * Pliega textos en español a una forma comparable: sin tildes ni diéresis, en minúsculas y con
+ * espacios simples ("  Ñuble " -> "nuble", "BIOBÍO" -> "biobio"). Se usa como clave de búsqueda
+ * para que las consultas no dependan de cómo el usuario escribió acentos o mayúsculas.
+ */
+public final class Texto {
+    // Resultado de plegarCaracter para signos que no forman parte de palabras (apóstrofes, puntos, guiones)
+    public static final char IGNORADO = 0;
+
+    // Caracteres con plegado precalculado (Latín básico y extendido); el resto se compara tal cual en minúscula
+    private static final char[] PLEGADO = new char[0x250];
+
+    static {
+        for (char c = 0; c < PLEGADO.length; c++) {
+            String plegado = plegar(String.valueOf(c));
+            char base = plegado.isEmpty() ? ' ' : plegado.charAt(0);
+            PLEGADO[c] = Character.isLetterOrDigit(base) ? base : Character.isWhitespace(c) ? ' ' : IGNORADO;
+        }
+    }
+
+    private Texto() {
+    }
+
+    // Retorna la forma plegada del texto (cadena vacía si es null)
+    public static String plegar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(descompuesto.length());
+        boolean espacioPendiente = false;
+        for (int i = 0; i < descompuesto.length(); i++) {
+            char c = descompuesto.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                espacioPendiente = sb.length() > 0;
+                continue;
+            }
+            if (espacioPendiente) {
+                sb.append(' ');
+                espacioPendiente = false;
+            }
+            sb.append(c);
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    // Pliega un solo carácter sin crear objetos: letra o dígito base en minúscula, ' ' para espacios e IGNORADO para signos
+    public static char plegarCaracter(char c) {
+        if (c < PLEGADO.length) {
+            return PLEGADO[c];
+        }
+        return Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : Character.isWhitespace(c) ? ' ' : IGNORADO;
+    }
+}
@@ -0,0 +1,31 @@
+package com.carrie.hazellabev2.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/* ================= Acciones Posteriores al Commit ================= */
+
+/**
+ * Punto único para diferir cambios en memoria (cachés, índices, contadores, colas) hasta que la transacción en
+ * curso se confirme: un rollback no los aplica y una lectura concurrente anterior al commit no ve datos sin confirmar.
+ * Sin transacción activa (tareas programadas, listeners fuera de un servicio transaccional) el cambio ya está
+ * aplicado en la base de datos y se ejecuta en el momento.
+ */
+public final class Transacciones {
+    private Transacciones() {
+    }
+
+    // Ejecuta el cambio tras el commit de la transacción actual; nunca si hace rollback; de inmediato si no hay transacción
+    public static void alConfirmar(Runnable cambio) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cambio.run();
+                }
+            });
+        } else {
+            cambio.run();
+        }
+    }
+}
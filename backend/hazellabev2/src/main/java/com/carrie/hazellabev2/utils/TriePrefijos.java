@@ -0,0 +1,180 @@
+package com.carrie.hazellabev2.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/* ================= Trie de Prefijos para Autocompletado ================= */
+
+/**
+ * Índice de prefijos inmutable sobre textos plegados (sin tildes ni mayúsculas). Cada texto se indexa
+ * desde su inicio y desde el inicio de cada palabra, de modo que "condes" encuentra "Las Condes".
+ * Cada nodo guarda precalculados sus mejores resultados, por lo que una búsqueda solo recorre un
+ * carácter por nodo (con búsqueda binaria entre hijos) y no crea objetos: el plegado se hace carácter
+ * a carácter durante el recorrido y el resultado es una vista del arreglo ya ordenado del nodo.
+ * Orden: coincidencias al inicio del texto, luego al inicio de otra palabra; a igualdad, el texto más corto y luego alfabético.
+ */
+public final class TriePrefijos<T> {
+    private static final char IGNORADO = Texto.IGNORADO;
+
+    private final int maxResultados;
+    private final Nodo<T> raiz = new Nodo<>();
+    private boolean congelado = false;
+
+    public TriePrefijos(int maxResultados) {
+        this.maxResultados = maxResultados;
+    }
+
+    /* ================= CONSTRUCCIÓN ================= */
+
+    // Indexa un valor bajo su texto visible (desde el inicio y desde cada palabra)
+    public void agregar(String texto, T valor) {
+        if (congelado) {
+            throw new IllegalStateException("El índice ya fue congelado");
+        }
+        String clave = plegarClave(texto);
+        Entrada<T> entrada = new Entrada<>(valor, clave);
+        for (int inicio = 0; inicio < clave.length(); inicio++) {
+            if (inicio == 0 || clave.charAt(inicio - 1) == ' ') {
+                insertar(clave, inicio, new Candidato<>(entrada, inicio == 0 ? 0 : 1));
+            }
+        }
+    }
+
+    private void insertar(String clave, int inicio, Candidato<T> candidato) {
+        Nodo<T> nodo = raiz;
+        for (int i = inicio; i < clave.length(); i++) {
+            nodo = nodo.hijoOCrear(clave.charAt(i));
+            nodo.candidatos.add(candidato);
+        }
+    }
+
+    // Finaliza la construcción: ordena y recorta los resultados de cada nodo y compacta los hijos en arreglos
+    public TriePrefijos<T> congelar() {
+        Comparator<Candidato<T>> orden = Comparator.<Candidato<T>>comparingInt(c -> c.prioridad)
+                .thenComparingInt(c -> c.entrada.clave.length())
+                .thenComparing(c -> c.entrada.clave);
+        raiz.congelar(orden, maxResultados);
+        congelado = true;
+        return this;
+    }
+
+    /* ================= BÚSQUEDA ================= */
+
+    // Retorna hasta 'limite' valores cuyo texto (o alguna de sus palabras) comienza con la consulta
+    public List<T> buscar(CharSequence consulta, int limite) {
+        if (!congelado) {
+            throw new IllegalStateException("El índice aún no fue congelado");
+        }
+        Nodo<T> nodo = raiz;
+        boolean espacioPendiente = false;
+        boolean avanzo = false;
+        for (int i = 0; i < consulta.length() && nodo != null; i++) {
+            char c = Texto.plegarCaracter(consulta.charAt(i));
+            if (c == IGNORADO) {
+                continue;
+            }
+            if (c == ' ') {
+                espacioPendiente = avanzo;
+                continue;
+            }
+            if (espacioPendiente) {
+                nodo = nodo.hijo(' ');
+                espacioPendiente = false;
+                if (nodo == null) {
+                    break;
+                }
+            }
+            nodo = nodo.hijo(c);
+            avanzo = true;
+        }
+        if (nodo == null || !avanzo) {
+            return Collections.emptyList();
+        }
+        return limite >= nodo.resultados.size() ? nodo.resultados : nodo.resultados.subList(0, Math.max(limite, 0));
+    }
+
+    /* ================= PLEGADO ================= */
+
+    // Misma normalización que el recorrido, aplicada una vez al indexar
+    private static String plegarClave(String texto) {
+        StringBuilder sb = new StringBuilder(texto.length());
+        boolean espacioPendiente = false;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = Texto.plegarCaracter(texto.charAt(i));
+            if (c == IGNORADO) {
+                continue;
+            }
+            if (c == ' ') {
+                espacioPendiente = sb.length() > 0;
+                continue;
+            }
+            if (espacioPendiente) {
+                sb.append(' ');
+                espacioPendiente = false;
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    /* ================= ESTRUCTURAS INTERNAS ================= */
+
+    private record Entrada<T>(T valor, String clave) {
+    }
+
+    private record Candidato<T>(Entrada<T> entrada, int prioridad) {
+    }
+
+    private static final class Nodo<T> {
+        // Hijos ordenados por carácter (arreglos paralelos tras congelar; mapa durante la construcción)
+        private char[] caracteres = new char[0];
+        private Nodo<T>[] hijos;
+        private Map<Character, Nodo<T>> hijosConstruccion = new TreeMap<>();
+        private List<Candidato<T>> candidatos = new ArrayList<>();
+        private List<T> resultados = Collections.emptyList();
+
+        Nodo<T> hijoOCrear(char c) {
+            return hijosConstruccion.computeIfAbsent(c, k -> new Nodo<>());
+        }
+
+        Nodo<T> hijo(char c) {
+            int posicion = Arrays.binarySearch(caracteres, c);
+            return posicion >= 0 ? hijos[posicion] : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        void congelar(Comparator<Candidato<T>> orden, int maxResultados) {
+            // Mejores resultados del nodo, sin repetir un valor alcanzado desde varias palabras
+            candidatos.sort(orden);
+            Map<Entrada<T>, Boolean> vistos = new IdentityHashMap<>();
+            List<T> mejores = new ArrayList<>(Math.min(maxResultados, candidatos.size()));
+            for (Candidato<T> candidato : candidatos) {
+                if (mejores.size() == maxResultados) {
+                    break;
+                }
+                if (vistos.put(candidato.entrada(), Boolean.TRUE) == null) {
+                    mejores.add(candidato.entrada().valor());
+                }
+            }
+            resultados = Collections.unmodifiableList(mejores);
+            candidatos = null;
+
+            caracteres = new char[hijosConstruccion.size()];
+            hijos = new Nodo[hijosConstruccion.size()];
+            int i = 0;
+            for (Map.Entry<Character, Nodo<T>> hijo : hijosConstruccion.entrySet()) {
+                caracteres[i] = hijo.getKey();
+                hijos[i] = hijo.getValue();
+                hijo.getValue().congelar(orden, maxResultados);
+                i++;
+            }
+            hijosConstruccion = null;
+        }
+    }
+}
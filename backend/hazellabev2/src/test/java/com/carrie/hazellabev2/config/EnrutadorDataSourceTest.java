@@ -0,0 +1,92 @@
+package com.carrie.hazellabev2.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/* ================= Pruebas Unitarias para el Enrutamiento de Lecturas ================= */
+
+/**
+ * Pruebas unitarias para EnrutadorDataSource.
+ * Cada destino es un DataSource simulado que entrega su propia conexión, de modo que la conexión obtenida
+ * identifica el destino elegido.
+ */
+class EnrutadorDataSourceTest {
+    private final Connection conexionPrimaria = mock(Connection.class);
+    private final Connection conexionReplica0 = mock(Connection.class);
+    private final Connection conexionReplica1 = mock(Connection.class);
+
+    private EnrutadorDataSource enrutador;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", dataSource(conexionReplica0));
+        replicas.put("replica-1", dataSource(conexionReplica1));
+        enrutador = new EnrutadorDataSource(dataSource(conexionPrimaria), replicas);
+        enrutador.afterPropertiesSet();
+        enrutador.getReplicas().forEach(replica -> replica.registrarMedicion(0, true));
+    }
+
+    @AfterEach
+    void tearDown() {
+        enrutador.terminarLectura();
+        enrutador.fijarPrimaria(false);
+    }
+
+    private static DataSource dataSource(Connection conexion) throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(conexion);
+        return dataSource;
+    }
+
+    // Verifica que fuera de una transacción @LecturaReplica las conexiones son de la primaria
+    @Test
+    void sinLecturaEnCurso_usaPrimaria() throws Exception {
+        assertSame(conexionPrimaria, enrutador.getConnection());
+        assertEquals(1, enrutador.getConexionesPrimaria());
+    }
+
+    // Verifica que las lecturas se reparten por turnos entre las réplicas disponibles
+    @Test
+    void lectura_reparteEntreReplicas() throws Exception {
+        enrutador.iniciarLectura();
+
+        assertSame(conexionReplica0, enrutador.getConnection());
+        assertSame(conexionReplica1, enrutador.getConnection());
+        assertSame(conexionReplica0, enrutador.getConnection());
+        assertEquals(0, enrutador.getConexionesPrimaria());
+    }
+
+    // Verifica que una réplica fuera de servicio (atrasada) no recibe lecturas y sin réplicas se usa la primaria
+    @Test
+    void replicaAtrasada_quedaFuera() throws Exception {
+        enrutador.getReplicas().get(0).registrarMedicion(5000, false);
+        enrutador.iniciarLectura();
+
+        assertSame(conexionReplica1, enrutador.getConnection());
+        assertSame(conexionReplica1, enrutador.getConnection());
+
+        enrutador.getReplicas().get(1).registrarMedicion(-1, false);
+        assertSame(conexionPrimaria, enrutador.getConnection());
+    }
+
+    // Verifica que tras una escritura reciente del cliente las lecturas van a la primaria
+    @Test
+    void escrituraReciente_leeDeLaPrimaria() throws Exception {
+        enrutador.fijarPrimaria(true);
+        enrutador.iniciarLectura();
+
+        assertSame(conexionPrimaria, enrutador.getConnection());
+        assertEquals(0, enrutador.getReplicas().get(0).getConexiones());
+    }
+}
@@ -0,0 +1,85 @@
+package com.carrie.hazellabev2.controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.carrie.hazellabev2.entities.Producto;
+import com.carrie.hazellabev2.services.ProductoService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/* ================= Pruebas de Integración para Controlador de Auditoría ================= */
+
+/**
+ * Pruebas de integración para AuditoriaRestController.
+ * El cambio se hace por la API real y el registro lo escribe el hilo escritor, por lo que se espera a que aparezca.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class AuditoriaRestControllerTest {
+
+    // Cliente MVC simulado para realizar peticiones HTTP
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductoService productoService;
+
+    private JsonNode registros(Long productoId) throws Exception {
+        String json = mockMvc.perform(get("/api/auditoria").param("entidad", "producto").param("entidadId", productoId.toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json);
+    }
+
+    // Verifica que una desactivación desde la API queda registrada con el campo cambiado y el origen de la solicitud
+    @Test
+    public void desactivarProducto_quedaAuditadoTest() throws Exception {
+        Producto producto = productoService.crear(new Producto(null, "Auditado", "B-AUD", "d", "C-AUD", null, null, 1000, 10, 2,
+                "Prov", null, null, true, null, false));
+
+        mockMvc.perform(patch("/api/productos/{id}/desactivar", producto.getId()))
+                .andExpect(status().isOk());
+
+        JsonNode registros = registros(producto.getId());
+        for (int intento = 0; registros.isEmpty() && intento < 50; intento++) {
+            Thread.sleep(100);
+            registros = registros(producto.getId());
+        }
+        assertEquals(1, registros.size());
+        JsonNode registro = registros.get(0);
+        assertEquals("DESACTIVADO", registro.get("accion").asText());
+        assertEquals("127.0.0.1", registro.get("origen").asText());
+        JsonNode cambios = objectMapper.readTree(registro.get("cambios").asText());
+        assertEquals(1, cambios.size());
+        assertTrue(cambios.get("activeStatus").get("antes").asBoolean());
+        assertTrue(!cambios.get("activeStatus").get("despues").asBoolean());
+    }
+
+    // Verifica el rechazo de filtros inválidos y el estado del escritor
+    @Test
+    public void filtrosInvalidosYEstadoTest() throws Exception {
+        mockMvc.perform(get("/api/auditoria").param("entidad", "blog"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/auditoria").param("entidadId", "1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/auditoria/estado"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.capacidad").isNumber())
+                .andExpect(jsonPath("$.descartados").isNumber());
+    }
+}
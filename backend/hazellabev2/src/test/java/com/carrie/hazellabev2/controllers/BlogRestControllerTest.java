@@ -0,0 +1,105 @@
+package com.carrie.hazellabev2.controllers;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.carrie.hazellabev2.dto.BlogResumen;
+import com.carrie.hazellabev2.services.BlogService;
+
+/* ================= Pruebas de Integración para Controlador de Blogs ================= */
+
+/**
+ * Pruebas de integración para el listado paginado de BlogRestController.
+ * Simula el servicio y verifica los parámetros de paginación que recibe, el tope de tamaño y la cabecera con el total.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BlogRestControllerTest {
+    // Cliente MVC simulado para realizar peticiones HTTP a los endpoints
+    @Autowired
+    private MockMvc mockMvc;
+
+    // Simula el servicio de blogs para aislar la capa de controlador
+    @MockBean
+    private BlogService blogService;
+
+    private final List<BlogResumen> resumenes = List.of(
+            new BlogResumen(1L, "La Química del Sabor", "Caramelización", "Equipo Hazel", "/caramelo.jpg"),
+            new BlogResumen(2L, "Del Laboratorio al Horno", "Bicarbonato", "María González", "/masita2.jpg"));
+
+    /* ================= PRUEBAS PARA ENDPOINT DE LISTADO ================= */
+
+    // Verifica que sin parámetros se pide la primera página de 20 y el total viaja en X-Total-Count
+    @Test
+    public void listarBlogsTest() throws Exception {
+        when(blogService.listarResumen(0, 20)).thenReturn(new PageImpl<>(resumenes, PageRequest.of(0, 20), 45));
+
+        // Ejecutar petición GET y verificar respuesta HTTP 200 (OK), total en cabecera y listado sin contenido completo
+        mockMvc.perform(get("/api/blogs")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "45"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("La Química del Sabor"))
+                .andExpect(jsonPath("$[0].body").doesNotExist());
+    }
+
+    // Verifica que la página solicitada se pasa al servicio y que el tamaño se limita a 100 filas
+    @Test
+    public void listarBlogsTamanioMaximoTest() throws Exception {
+        when(blogService.listarResumen(3, 100)).thenReturn(new PageImpl<>(resumenes, PageRequest.of(3, 100), 302));
+
+        mockMvc.perform(get("/api/blogs")
+                .param("page", "3")
+                .param("size", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "302"));
+
+        verify(blogService).listarResumen(3, 100);
+        verify(blogService, never()).listarResumen(3, 5000);
+    }
+
+    // Verifica que un tamaño dentro del tope se respeta tal cual
+    @Test
+    public void listarBlogsTamanioPedidoTest() throws Exception {
+        when(blogService.listarResumen(1, 50)).thenReturn(new PageImpl<>(List.of(), PageRequest.of(1, 50), 2));
+
+        mockMvc.perform(get("/api/blogs")
+                .param("page", "1")
+                .param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(jsonPath("$.length()").value(0));
+
+        verify(blogService).listarResumen(1, 50);
+    }
+
+    // Verifica que una página negativa o un tamaño menor que 1 se rechazan con 400 sin llegar al servicio
+    @Test
+    public void listarBlogsPaginacionInvalidaTest() throws Exception {
+        mockMvc.perform(get("/api/blogs").param("page", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/blogs").param("size", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(blogService, never()).listarResumen(anyInt(), anyInt());
+    }
+}
@@ -0,0 +1,196 @@
+package com.carrie.hazellabev2.controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.carrie.hazellabev2.entities.Producto;
+import com.carrie.hazellabev2.services.ProductoService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/* ================= Pruebas de Integración para Controlador del Dashboard ================= */
+
+/**
+ * Pruebas de integración para DashboardRestController.
+ * Ejecuta las consultas agregadas reales contra la base de datos configurada.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class DashboardRestControllerTest {
+
+    // Cliente MVC simulado para realizar peticiones HTTP al dashboard
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductoService productoService;
+
+    private JsonNode kpis() throws Exception {
+        String json = mockMvc.perform(get("/api/dashboard/kpis"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json);
+    }
+
+    // Verifica que los indicadores se calculan y no quedan en cachés compartidas
+    @Test
+    public void obtenerEstadisticasTest() throws Exception {
+        mockMvc.perform(get("/api/dashboard/estadisticas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalProductos").isNumber())
+                .andExpect(jsonPath("$.productosStockBajo").isNumber())
+                .andExpect(jsonPath("$.usuariosActivos").isNumber())
+                .andExpect(jsonPath("$.valorInventario").isNumber())
+                .andExpect(jsonPath("$.generadoEn").exists())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+    }
+
+    // Verifica el ranking de más vendidos y el rechazo de una ventana desconocida
+    @Test
+    public void productosMasVendidosTest() throws Exception {
+        mockMvc.perform(get("/api/dashboard/productos-mas-vendidos").param("ventana", "historico").param("limite", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+
+        mockMvc.perform(get("/api/dashboard/productos-mas-vendidos").param("ventana", "mes"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Verifica que los listeners JPA actualizan los contadores en vivo al confirmar un cambio
+    @Test
+    public void kpisReflejanCambiosConfirmadosTest() throws Exception {
+        JsonNode antes = kpis();
+        Producto producto = productoService.crear(new Producto(null, "KPI", "B-KPI", "d", "C-KPI", null, null, 1000, 1, 5,
+                "Prov", null, null, true, null, true));
+
+        JsonNode despues = kpis();
+        assertEquals(antes.get("productosActivos").asLong() + 1, despues.get("productosActivos").asLong());
+        assertEquals(antes.get("productosStockBajo").asLong() + 1, despues.get("productosStockBajo").asLong());
+        assertEquals(antes.get("productosDestacados").asLong() + 1, despues.get("productosDestacados").asLong());
+
+        productoService.eliminar(producto.getId());
+        assertEquals(antes.get("productosActivos").asLong(), kpis().get("productosActivos").asLong());
+    }
+
+    // Verifica que solo los cruces del umbral generan alertas y que la columna stock_bajo sigue al stock
+    @Test
+    public void alertasStockSoloEnCrucesTest() throws Exception {
+        Producto producto = productoService.crear(new Producto(null, "Alerta", "B-AL", "d", "C-AL", null, null, 1000, 10, 5,
+                "Prov", null, null, true, null, false));
+        long desde = ultimaSecuencia();
+
+        // 10 -> 8: sigue sobre el umbral, sin alerta; 8 -> 4: cruza hacia abajo; 4 -> 3: sigue bajo, sin alerta
+        for (int stock : new int[] { 8, 4, 3 }) {
+            producto.setStock(stock);
+            producto = productoService.actualizar(producto.getId(), producto);
+        }
+        JsonNode alertas = alertasDesde(desde);
+        assertEquals(1, alertas.size());
+        assertEquals(producto.getId().longValue(), alertas.get(0).get("productoId").asLong());
+        assertEquals("BAJO", alertas.get(0).get("tipo").asText());
+        assertEquals(4, alertas.get(0).get("stock").asInt());
+        assertEquals(true, productoService.buscarProductosStockBajo().stream().anyMatch(p -> p.getName().equals("Alerta")));
+
+        // Reposición: cruza hacia arriba
+        producto.setStock(20);
+        productoService.actualizar(producto.getId(), producto);
+        alertas = alertasDesde(alertas.get(0).get("secuencia").asLong());
+        assertEquals(1, alertas.size());
+        assertEquals("REPUESTO", alertas.get(0).get("tipo").asText());
+        assertEquals(false, productoService.buscarProductosStockBajo().stream().anyMatch(p -> p.getName().equals("Alerta")));
+
+        productoService.eliminar(producto.getId());
+    }
+
+    // Verifica que un panel conectado por SSE recibe el cruce de stock y la edición de un producto en un lote de actividad
+    @Test
+    public void actividadEnVivoTest() throws Exception {
+        MvcResult conexion = mockMvc.perform(get("/api/dashboard/actividad"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        Producto producto = productoService.crear(new Producto(null, "Feed", "B-FEED", "d", "C-FEED", null, null, 1000, 10, 5,
+                "Prov", null, null, true, null, false));
+        producto.setStock(2);
+        productoService.actualizar(producto.getId(), producto);
+
+        String contenido = conexion.getResponse().getContentAsString();
+        for (int intento = 0; !contenido.contains("PRODUCTO_EDITADO") && intento < 50; intento++) {
+            Thread.sleep(100);
+            contenido = conexion.getResponse().getContentAsString();
+        }
+        assertTrue(contenido.contains("event:actividad"));
+        assertTrue(contenido.contains("STOCK_BAJO"));
+        assertTrue(contenido.contains("Feed: stock 2"));
+        assertTrue(contenido.contains("Producto editado: Feed"));
+
+        productoService.eliminar(producto.getId());
+    }
+
+    // Verifica que, una vez cargado, leer un producto por ID en otra solicitud se resuelve desde la región "producto"
+    @Test
+    public void cacheSegundoNivelProductoTest() throws Exception {
+        Producto producto = productoService.crear(new Producto(null, "Cache", "B-L2", "d", "C-L2", null, null, 1000, 10, 5,
+                "Prov", null, null, true, null, false));
+        // La primera lectura deja el producto en la región (si no quedó ya al insertarlo)
+        mockMvc.perform(get("/api/productos/{id}", producto.getId()))
+                .andExpect(status().isOk());
+        long aciertosAntes = regionCache("producto").get("aciertos").asLong();
+
+        mockMvc.perform(get("/api/productos/{id}", producto.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Cache"));
+
+        JsonNode region = regionCache("producto");
+        assertTrue(region.get("aciertos").asLong() > aciertosAntes);
+        assertTrue(region.get("entradas").asInt() >= 1);
+        assertEquals(5000, region.get("maxEntradas").asInt());
+
+        productoService.eliminar(producto.getId());
+    }
+
+    private JsonNode regionCache(String nombre) throws Exception {
+        String json = mockMvc.perform(get("/api/dashboard/cache"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"))
+                .andReturn().getResponse().getContentAsString();
+        for (JsonNode region : objectMapper.readTree(json)) {
+            if (region.get("region").asText().equals(nombre)) {
+                return region;
+            }
+        }
+        throw new AssertionError("Región no encontrada: " + nombre);
+    }
+
+    private JsonNode alertasDesde(long desde) throws Exception {
+        String json = mockMvc.perform(get("/api/dashboard/alertas-stock").param("desde", String.valueOf(desde)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json);
+    }
+
+    private long ultimaSecuencia() throws Exception {
+        JsonNode alertas = alertasDesde(0);
+        return alertas.size() == 0 ? 0 : alertas.get(alertas.size() - 1).get("secuencia").asLong();
+    }
+}
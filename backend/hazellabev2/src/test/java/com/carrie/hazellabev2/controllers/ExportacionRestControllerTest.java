@@ -0,0 +1,75 @@
+package com.carrie.hazellabev2.controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/* ================= Pruebas de Integración para Controlador de Exportaciones ================= */
+
+/**
+ * Pruebas de integración para ExportacionRestController.
+ * Las descargas son asíncronas (StreamingResponseBody): se completan con asyncDispatch.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ExportacionRestControllerTest {
+
+    // Cliente MVC simulado para realizar peticiones HTTP de exportación
+    @Autowired
+    private MockMvc mockMvc;
+
+    private MvcResult descargar(String tabla, String formato) throws Exception {
+        MvcResult inicio = mockMvc.perform(get("/api/exportaciones/" + tabla).param("formato", formato))
+                .andExpect(status().isOk())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(inicio))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    // Verifica la exportación CSV de usuarios sin contraseñas
+    @Test
+    public void exportarUsuariosCsvTest() throws Exception {
+        MvcResult resultado = descargar("usuarios", "csv");
+
+        String csv = resultado.getResponse().getContentAsString();
+        assertTrue(csv.startsWith("\uFEFFid,nombre,apellidos,rut,email,rol,estado"));
+        assertFalse(csv.contains("password"));
+        assertTrue(resultado.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION).contains("usuarios-"));
+    }
+
+    // Verifica la exportación XLSX de productos (un ZIP) y el rechazo de tablas o formatos desconocidos
+    @Test
+    public void exportarProductosXlsxTest() throws Exception {
+        MvcResult resultado = descargar("productos", "xlsx");
+
+        assertTrue(resultado.getResponse().getContentType().startsWith("application/vnd.openxmlformats"));
+        byte[] archivo = resultado.getResponse().getContentAsByteArray();
+        assertEquals('P', archivo[0]);
+        assertEquals('K', archivo[1]);
+
+        mockMvc.perform(get("/api/exportaciones/ventas")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/exportaciones/carrito").param("formato", "pdf")).andExpect(status().isBadRequest());
+    }
+
+    // Verifica el tipo de contenido de la exportación de carritos
+    @Test
+    public void exportarCarritoCsvTest() throws Exception {
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/exportaciones/carrito")).andReturn()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"));
+    }
+}
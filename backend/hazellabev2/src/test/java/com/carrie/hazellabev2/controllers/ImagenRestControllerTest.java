@@ -0,0 +1,145 @@
+package com.carrie.hazellabev2.controllers;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/* ================= Pruebas de Integración para Controlador de Imágenes ================= */
+
+/**
+ * Pruebas de integración para ImagenRestController.
+ * Verifica la subida, la entrega con caché inmutable, las solicitudes por rango y las miniaturas.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "hazellab.imagenes.directorio=target/test-imagenes")
+public class ImagenRestControllerTest {
+
+    // Cliente MVC simulado para realizar peticiones HTTP a endpoints de imágenes
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static byte[] imagenPng(int ancho, int alto) throws Exception {
+        BufferedImage imagen = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = imagen.createGraphics();
+        g.setColor(Color.ORANGE);
+        g.fillOval(0, 0, ancho, alto);
+        g.dispose();
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        ImageIO.write(imagen, "png", salida);
+        return salida.toByteArray();
+    }
+
+    private String subir(byte[] contenido) throws Exception {
+        MockMultipartFile archivo = new MockMultipartFile("archivo", "foto.png", MediaType.IMAGE_PNG_VALUE, contenido);
+        String json = mockMvc.perform(multipart("/api/imagenes").file(archivo))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode respuesta = objectMapper.readTree(json);
+        return respuesta.get("nombre").asText();
+    }
+
+    // Verifica que el original se entrega completo con caché inmutable y se revalida por ETag
+    @Test
+    public void subirYObtenerOriginalTest() throws Exception {
+        byte[] png = imagenPng(400, 300);
+        String nombre = subir(png);
+
+        mockMvc.perform(get("/api/imagenes/" + nombre))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_PNG))
+                .andExpect(content().bytes(png))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"));
+
+        mockMvc.perform(get("/api/imagenes/" + nombre).header(HttpHeaders.IF_NONE_MATCH, "\"" + nombre + "\""))
+                .andExpect(status().isNotModified());
+    }
+
+    // Verifica las solicitudes por rango de bytes (parcial, sufijo y fuera del archivo)
+    @Test
+    public void obtenerPorRangoTest() throws Exception {
+        byte[] png = imagenPng(300, 200);
+        String nombre = subir(png);
+
+        mockMvc.perform(get("/api/imagenes/" + nombre).header(HttpHeaders.RANGE, "bytes=0-99"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-99/" + png.length))
+                .andExpect(content().bytes(Arrays.copyOfRange(png, 0, 100)));
+
+        mockMvc.perform(get("/api/imagenes/" + nombre).header(HttpHeaders.RANGE, "bytes=-10"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes(Arrays.copyOfRange(png, png.length - 10, png.length)));
+
+        mockMvc.perform(get("/api/imagenes/" + nombre).header(HttpHeaders.RANGE, "bytes=" + png.length + "-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + png.length));
+    }
+
+    // Verifica que la miniatura se genera con el ancho permitido y como JPEG
+    @Test
+    public void obtenerMiniaturaTest() throws Exception {
+        String nombre = subir(imagenPng(900, 600));
+
+        byte[] jpeg = mockMvc.perform(get("/api/imagenes/" + nombre).param("ancho", "160"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_JPEG))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + nombre + "-160\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(160, ImageIO.read(new ByteArrayInputStream(jpeg)).getWidth());
+    }
+
+    // Verifica el rechazo de archivos que no son imágenes y de nombres inexistentes
+    @Test
+    public void erroresTest() throws Exception {
+        MockMultipartFile texto = new MockMultipartFile("archivo", "foto.png", MediaType.IMAGE_PNG_VALUE, "hola".getBytes());
+        mockMvc.perform(multipart("/api/imagenes").file(texto))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/imagenes/" + "0".repeat(64) + ".png"))
+                .andExpect(status().isNotFound());
+    }
+
+    // Verifica que la subida retorna la URL pública y que el mismo contenido conserva el mismo nombre
+    @Test
+    public void subirRetornaUrlTest() throws Exception {
+        MockMultipartFile archivo = new MockMultipartFile("archivo", "foto.png", MediaType.IMAGE_PNG_VALUE, imagenPng(20, 20));
+        mockMvc.perform(multipart("/api/imagenes").file(archivo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.url").value(startsWith("http://localhost/api/imagenes/")));
+
+        byte[] png = imagenPng(50, 50);
+        assertEquals(subir(png), subir(png));
+    }
+}
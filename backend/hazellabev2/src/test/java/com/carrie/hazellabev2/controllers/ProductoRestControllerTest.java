@@ -3,6 +3,9 @@ package com.carrie.hazellabev2.controllers;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.ArgumentMatchers.any;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -17,6 +20,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.carrie.hazellabev2.entities.Categoria;
@@ -53,7 +57,7 @@ public class ProductoRestControllerTest {
     @Test
     public void listarProductosTest() throws Exception {
         // Configurar categoría y productos de prueba
-        Categoria cat = new Categoria(1L, "Químicos", null);
+        Categoria cat = new Categoria(1L, "Químicos", null, null);
         Producto prod1 = new Producto(1L, "Ácido Clorhídrico", "Lote001", "Solución corrosiva", "HCL001",
                 Date.valueOf("2026-12-31"), Date.valueOf("2024-01-01"),
                 5000, 20, 5, "Proveedor Químico S.A.", cat, "imagen1.jpg",
@@ -78,7 +82,7 @@ public class ProductoRestControllerTest {
     @Test
     public void obtenerProductoPorIdTest() {
         // Configurar producto de prueba con categoría
-        Categoria cat = new Categoria(1L, "Químicos", null);
+        Categoria cat = new Categoria(1L, "Químicos", null, null);
         Producto producto = new Producto(1L, "Ácido Clorhídrico", "Lote001",
                 "Solución corrosiva", "HCL001",
                 Date.valueOf("2026-12-31"), Date.valueOf("2024-01-01"),
@@ -117,7 +121,7 @@ public class ProductoRestControllerTest {
     @Test
     public void crearProductoTest() throws Exception {
         // Configurar categoría y producto nuevo (sin ID)
-        Categoria cat = new Categoria(1L, "Químicos", null);
+        Categoria cat = new Categoria(1L, "Químicos", null, null);
         Producto nuevo = new Producto(null, "Nuevo Reactivo", "Lote003", "Reactivo nuevo", "NEW003",
                 Date.valueOf("2028-01-01"), Date.valueOf("2025-01-01"),
                 7000, 10, 3, "Nuevo Proveedor S.A.", cat, "imagen3.jpg",
@@ -145,7 +149,7 @@ public class ProductoRestControllerTest {
     @Test
     public void actualizarProductoExistenteTest() throws Exception {
         // Configurar categoría y producto actualizado
-        Categoria cat = new Categoria(1L, "Químicos", null);
+        Categoria cat = new Categoria(1L, "Químicos", null, null);
         Long id = 1L;
         Producto actualizado = new Producto(id, "Etanol Puro", "Lote002",
                 "Alcohol refinado", "ETH002",
@@ -168,7 +172,7 @@ public class ProductoRestControllerTest {
     @Test
     public void actualizarProductoNoExisteTest() throws Exception {
         // Configurar categoría y producto que no existe
-        Categoria cat = new Categoria(1L, "Químicos", null);
+        Categoria cat = new Categoria(1L, "Químicos", null, null);
         Long id = 99L;
         Producto producto = new Producto(id, "No Existe", "Lote999", "Producto falso", "ERR999",
                 Date.valueOf("2029-01-01"), Date.valueOf("2025-01-01"),
@@ -224,7 +228,7 @@ public class ProductoRestControllerTest {
     @Test
     public void listarProductosDestacadosTest() throws Exception {
         // Configurar categoría y producto destacado
-        Categoria cat = new Categoria(1L, "Químicos", null);
+        Categoria cat = new Categoria(1L, "Químicos", null, null);
         Producto prod1 = new Producto(1L, "Reactivo Premium", "Lote005", "Alta pureza", "PREM001",
                 Date.valueOf("2027-12-31"), Date.valueOf("2024-03-01"),
                 12000, 15, 3, "Proveedor Premium S.A.", cat,
@@ -244,7 +248,7 @@ public class ProductoRestControllerTest {
     public void desactivarProductoTest() throws Exception {
         Long id = 1L;
         // Configurar categoría y producto desactivado
-        Categoria cat = new Categoria(1L, "Químicos", null);
+        Categoria cat = new Categoria(1L, "Químicos", null, null);
         Producto desactivado = new Producto(id, "Etanol", "Lote002", "Alcohol", "ETH002",
                 Date.valueOf("2027-06-30"), Date.valueOf("2024-02-01"),
                 3000, 40, 10, "Distribuidora Alcoholes Ltda.", cat,
@@ -264,16 +268,14 @@ public class ProductoRestControllerTest {
     public void uploadImageProductoTest() throws Exception {
         Long id = 1L;
         // Configurar categoría y producto con nueva imagen
-        Categoria cat = new Categoria(1L, "Químicos", null);
+        Categoria cat = new Categoria(1L, "Químicos", null, null);
         Producto producto = new Producto(id, "Etanol", "Lote002", "Alcohol", "ETH002",
                 Date.valueOf("2027-06-30"), Date.valueOf("2024-02-01"),
                 3000, 40, 10, "Distribuidora Alcoholes Ltda.", cat,
                 "nueva-imagen.jpg", true, LocalDateTime.now(), false);
 
-        // Configurar mocks del servicio para obtener y actualizar producto
-        when(productoService.obtenerPorID(id)).thenReturn(producto);
-        when(productoService.actualizar(org.mockito.ArgumentMatchers.eq(id),
-                org.mockito.ArgumentMatchers.any(Producto.class))).thenReturn(producto);
+        // Configurar mock del servicio para actualizar solo la imagen del producto
+        when(productoService.actualizarImagen(id, "http://imagenes.com/img.jpg")).thenReturn(producto);
 
         // Ejecutar petición POST a endpoint de carga de imagen y verificar respuesta HTTP 200 (OK)
         mockMvc.perform(post("/api/productos/{id}/upload-image", id)
@@ -281,4 +283,31 @@ public class ProductoRestControllerTest {
                 .contentType(MediaType.MULTIPART_FORM_DATA))
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    // Verifica que la subida de imagen para un producto inexistente falla antes de guardar el archivo
+    @Test
+    public void subirImagenProductoNoExisteTest() throws Exception {
+        when(productoService.existe(99L)).thenReturn(false);
+        MockMultipartFile archivo = new MockMultipartFile("archivo", "foto.png", "image/png", new byte[] {1, 2, 3});
+
+        // Ejecutar subida y verificar HTTP 404 (Not Found) sin tocar el producto ni leerlo desde la réplica
+        mockMvc.perform(multipart("/api/productos/{id}/imagen", 99L).file(archivo))
+                .andExpect(status().isNotFound());
+        verify(productoService, never()).obtenerPorID(any());
+        verify(productoService, never()).actualizarImagen(any(), any());
+    }
+
+    // Verifica que un archivo vacío o que no es una imagen se rechaza con HTTP 400 sin modificar el producto
+    @Test
+    public void subirImagenArchivoInvalidoTest() throws Exception {
+        when(productoService.existe(1L)).thenReturn(true);
+        MockMultipartFile vacio = new MockMultipartFile("archivo", "foto.png", "image/png", new byte[0]);
+        MockMultipartFile noImagen = new MockMultipartFile("archivo", "foto.png", "image/png", new byte[] {1, 2, 3});
+
+        mockMvc.perform(multipart("/api/productos/{id}/imagen", 1L).file(vacio))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(multipart("/api/productos/{id}/imagen", 1L).file(noImagen))
+                .andExpect(status().isBadRequest());
+        verify(productoService, never()).actualizarImagen(any(), any());
+    }
+}
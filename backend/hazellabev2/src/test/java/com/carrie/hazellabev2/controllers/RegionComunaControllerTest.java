@@ -0,0 +1,84 @@
+package com.carrie.hazellabev2.controllers;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+/* ================= Pruebas de Integración para Controlador de Ubicaciones ================= */
+
+/**
+ * Pruebas de integración para RegionComunaController.
+ * Verifica las respuestas precalculadas del registro de ubicaciones: búsqueda sin tildes,
+ * compresión gzip y revalidación por ETag.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class RegionComunaControllerTest {
+
+    // Cliente MVC simulado para realizar peticiones HTTP a endpoints de ubicación
+    @Autowired
+    private MockMvc mockMvc;
+
+    // Verifica que las regiones se entregan en orden con caché pública y ETag
+    @Test
+    public void listarRegionesTest() throws Exception {
+        mockMvc.perform(get("/api/ubicacion/regiones"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(16))
+                .andExpect(jsonPath("$[0]").value("Arica y Parinacota"))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=604800, public"));
+    }
+
+    // Verifica que la región se encuentra sin distinguir tildes ni mayúsculas
+    @Test
+    public void comunasPorRegionSinTildesTest() throws Exception {
+        mockMvc.perform(get("/api/ubicacion/comunas/BIOBIO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("Concepción"));
+
+        mockMvc.perform(get("/api/ubicacion/comunas/RegionInexistente"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    // Verifica la variante gzip y la respuesta 304 cuando el cliente ya tiene la versión vigente
+    @Test
+    public void regionesComunasGzipYEtagTest() throws Exception {
+        String etag = mockMvc.perform(get("/api/ubicacion/regiones-comunas").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/ubicacion/regiones-comunas").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    // Verifica el autocompletado sin tildes y con coincidencias al inicio de otra palabra
+    @Test
+    public void buscarComunasTest() throws Exception {
+        mockMvc.perform(get("/api/ubicacion/comunas/buscar").param("q", "nunoa"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].comuna").value("Ñuñoa"))
+                .andExpect(jsonPath("$[0].region").value("Metropolitana"));
+
+        mockMvc.perform(get("/api/ubicacion/comunas/buscar").param("q", "CONDES").param("limite", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].comuna").value("Las Condes"));
+
+        mockMvc.perform(get("/api/ubicacion/comunas/buscar").param("q", "san p").param("limite", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].comuna").value("San Pablo"));
+    }
+}
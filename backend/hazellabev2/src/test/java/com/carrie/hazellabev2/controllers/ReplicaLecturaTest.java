@@ -0,0 +1,99 @@
+package com.carrie.hazellabev2.controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.carrie.hazellabev2.config.FiltroEscrituraReciente;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.Cookie;
+
+/* ================= Pruebas de Integración para el Enrutamiento de Lecturas a Réplicas ================= */
+
+/**
+ * Pruebas de integración del enrutamiento de lecturas con dos pools: la primaria y una "réplica" que apunta a la misma
+ * base de datos (el retraso medido es 0). Con dos instancias reales basta cambiar hazellab.replicas.urls.
+ * Las conexiones entregadas a cada destino se leen de GET /api/dashboard/replicas.
+ */
+@SpringBootTest(properties = {
+    "hazellab.replicas.urls=${spring.datasource.url}",
+    "hazellab.replicas.intervalo-ms=100"
+})
+@AutoConfigureMockMvc
+public class ReplicaLecturaTest {
+
+    // Cliente MVC simulado para realizar peticiones HTTP
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Estado de la réplica; espera a que el monitor la dé por disponible
+    private JsonNode replica() throws Exception {
+        JsonNode replica = null;
+        for (int intento = 0; intento < 50; intento++) {
+            String json = mockMvc.perform(get("/api/dashboard/replicas"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            replica = objectMapper.readTree(json).get(1);
+            if (replica.get("disponible").asBoolean()) {
+                return replica;
+            }
+            Thread.sleep(100);
+        }
+        return replica;
+    }
+
+    // Verifica que un listado de productos se sirve desde la réplica y no marca escritura
+    @Test
+    public void listadoDeProductos_vaALaReplicaTest() throws Exception {
+        JsonNode antes = replica();
+        assertEquals("replica-0", antes.get("nombre").asText());
+        assertTrue(antes.get("disponible").asBoolean());
+        assertEquals(0, antes.get("retrasoMs").asLong());
+
+        mockMvc.perform(get("/api/productos"))
+                .andExpect(status().isOk())
+                .andExpect(cookie().doesNotExist(FiltroEscrituraReciente.COOKIE));
+
+        assertTrue(replica().get("conexiones").asLong() > antes.get("conexiones").asLong());
+    }
+
+    // Verifica que una escritura entrega la cookie y que, mientras se envía, las lecturas van a la primaria
+    @Test
+    public void escrituraPropia_leeDeLaPrimariaTest() throws Exception {
+        replica();
+        String json = mockMvc.perform(post("/api/categorias")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nombre\":\"Replica\"}"))
+                .andExpect(status().isOk())
+                .andExpect(cookie().maxAge(FiltroEscrituraReciente.COOKIE, 5))
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(json).get("id").asLong();
+        long conexiones = replica().get("conexiones").asLong();
+
+        mockMvc.perform(get("/api/categorias/{id}", id).cookie(new Cookie(FiltroEscrituraReciente.COOKIE, "1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nombre").value("Replica"));
+
+        assertEquals(conexiones, replica().get("conexiones").asLong());
+
+        mockMvc.perform(delete("/api/categorias/{id}", id));
+    }
+}
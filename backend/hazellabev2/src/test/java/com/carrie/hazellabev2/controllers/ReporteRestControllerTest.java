@@ -0,0 +1,62 @@
+package com.carrie.hazellabev2.controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/* ================= Pruebas de Integración para Controlador de Reportes ================= */
+
+/**
+ * Pruebas de integración para ReporteRestController.
+ * Recorre los productos reales con el cursor de la base de datos configurada.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ReporteRestControllerTest {
+
+    // Cliente MVC simulado para realizar peticiones HTTP a los reportes
+    @Autowired
+    private MockMvc mockMvc;
+
+    // Verifica la valoración en JSON y el rechazo de un formato desconocido
+    @Test
+    public void valoracionJsonTest() throws Exception {
+        mockMvc.perform(get("/api/reportes/valoracion"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valorTotal").isNumber())
+                .andExpect(jsonPath("$.porCategoria").isArray())
+                .andExpect(jsonPath("$.enRiesgo.length()").value(4))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+
+        mockMvc.perform(get("/api/reportes/valoracion").param("formato", "pdf"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Verifica la valoración como archivo CSV descargable
+    @Test
+    public void valoracionCsvTest() throws Exception {
+        MvcResult inicio = mockMvc.perform(get("/api/reportes/valoracion").param("formato", "csv"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        MvcResult resultado = mockMvc.perform(asyncDispatch(inicio))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn();
+        assertTrue(resultado.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION).contains("valoracion-inventario-"));
+        assertTrue(resultado.getResponse().getContentAsString().startsWith("\uFEFFseccion,grupo,productos,unidades,valor\r\ntotal,"));
+    }
+}
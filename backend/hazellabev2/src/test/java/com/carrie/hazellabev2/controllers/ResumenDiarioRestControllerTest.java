@@ -0,0 +1,63 @@
+package com.carrie.hazellabev2.controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+/* ================= Pruebas de Integración para Controlador de Resúmenes Diarios ================= */
+
+/**
+ * Pruebas de integración para ResumenDiarioRestController.
+ * Verifica las series por rango, la reconstrucción y la validación del rango.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ResumenDiarioRestControllerTest {
+
+    // Cliente MVC simulado para realizar peticiones HTTP a los resúmenes
+    @Autowired
+    private MockMvc mockMvc;
+
+    // Verifica que la reconstrucción de un rango responde con sus bloques y que las series se pueden leer
+    @Test
+    public void reconstruirYListarTest() throws Exception {
+        LocalDate hoy = LocalDate.now();
+        mockMvc.perform(post("/api/resumenes/reconstruir")
+                        .param("desde", hoy.minusDays(9).toString())
+                        .param("hasta", hoy.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dias").value(10))
+                .andExpect(jsonPath("$.bloques").value(2));
+
+        mockMvc.perform(get("/api/resumenes/ventas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+
+        mockMvc.perform(get("/api/resumenes/productos/1").param("desde", hoy.minusDays(6).toString()))
+                .andExpect(status().isOk());
+    }
+
+    // Verifica que un rango invertido o demasiado largo se rechaza
+    @Test
+    public void rangoInvalidoTest() throws Exception {
+        LocalDate hoy = LocalDate.now();
+        mockMvc.perform(get("/api/resumenes/categorias/1")
+                        .param("desde", hoy.toString())
+                        .param("hasta", hoy.minusDays(1).toString()))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/resumenes/reconstruir")
+                        .param("desde", hoy.minusYears(2).toString())
+                        .param("hasta", hoy.toString()))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -9,6 +9,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.LocalDateTime;
@@ -20,9 +22,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.carrie.hazellabev2.dto.UsuarioResumen;
 import com.carrie.hazellabev2.entities.Usuario;
 import com.carrie.hazellabev2.services.UsuarioService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -90,13 +94,20 @@ public class UsuarioRestControllerTest {
         
         usuariosLista = Arrays.asList(usuario1, usuario2);
 
-        // Configurar mock del servicio para retornar lista de usuarios
-        when(usuarioService.listarTodo()).thenReturn(usuariosLista);
+        // Configurar mock del servicio para retornar la página de usuarios en su representación resumida
+        List<UsuarioResumen> resumenes = usuariosLista.stream()
+                .map(u -> new UsuarioResumen(u.getId(), u.getUsername(), u.getApellidos(), u.getRut(), u.getEmail(),
+                        u.getFechaNacimiento(), u.getRole(), u.getStatus(), u.getRegion(), u.getComuna(),
+                        u.getCreatedAt(), 0L))
+                .toList();
+        when(usuarioService.listarResumen(0, 500)).thenReturn(new PageImpl<>(resumenes));
 
-        // Ejecutar petición GET y verificar respuesta HTTP 200 (OK)
+        // Ejecutar petición GET y verificar respuesta HTTP 200 (OK), total en cabecera y sin contraseña
         mockMvc.perform(get("/api/usuarios")
                 .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(jsonPath("$[0].password").doesNotExist());
     }
 
     /* ================= PRUEBAS PARA ENDPOINT DE OBTENCIÓN POR ID ================= */
@@ -0,0 +1,161 @@
+package com.carrie.hazellabev2.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.carrie.hazellabev2.entities.EventoCambio;
+import com.carrie.hazellabev2.entities.EventoCambio.Agregado;
+import com.carrie.hazellabev2.entities.EventoCambio.Tipo;
+import com.carrie.hazellabev2.entities.Producto;
+import com.carrie.hazellabev2.repositories.ProductoRepository;
+import com.carrie.hazellabev2.services.AgendaVencimientos.Vencimiento;
+
+/* ================= Pruebas Unitarias para la Agenda de Vencimientos ================= */
+
+/**
+ * Pruebas unitarias para AgendaVencimientos.
+ * La carga y las relecturas se simulan con Mockito; el paso del tiempo con un reloj fijo reemplazable
+ * y el temporizador se dispara llamando directamente a vencer.
+ */
+class AgendaVencimientosTest {
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private ObjectProvider<ProductoService> productoService;
+
+    @Mock
+    private ProductoService servicio;
+
+    @InjectMocks
+    private AgendaVencimientos agenda;
+
+    private static final Instant AHORA = Instant.parse("2025-03-10T10:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(productoService.getObject()).thenReturn(servicio);
+        fijarInstante(AHORA);
+        // Producto 1 vence en 2 días, 2 en 10 días y 3 venció hace una hora
+        when(productoRepository.listarVencimientosActivos()).thenReturn(List.<Object[]>of(
+                new Object[] { 1L, fecha(AHORA.plusSeconds(2 * 86400)) },
+                new Object[] { 2L, fecha(AHORA.plusSeconds(10 * 86400)) },
+                new Object[] { 3L, fecha(AHORA.minusSeconds(3600)) }));
+        agenda.cargar();
+    }
+
+    private void fijarInstante(Instant instante) {
+        ReflectionTestUtils.setField(agenda, "reloj", Clock.fixed(instante, ZoneId.of("UTC")));
+    }
+
+    private static Date fecha(Instant instante) {
+        return Date.from(instante);
+    }
+
+    private static Producto producto(Long id, Instant vence, boolean activo) {
+        return new Producto(id, "Reactivo " + id, "L" + id, "d", "C" + id, vence == null ? null : fecha(vence), null,
+                1000, 10, 2, "P", null, null, activo, LocalDateTime.now(), false);
+    }
+
+    private static List<Long> ids(List<Vencimiento> vencimientos) {
+        return vencimientos.stream().map(Vencimiento::productoId).toList();
+    }
+
+    // Verifica que la consulta lee el índice en orden de vencimiento y respeta el horizonte
+    @Test
+    void vencenDentroDe_retornaEnOrdenHastaElLimite() {
+        assertEquals(List.of(3L, 1L), ids(agenda.vencenDentroDe(7)));
+        assertEquals(List.of(3L, 1L, 2L), ids(agenda.vencenDentroDe(30)));
+        assertEquals(List.of(3L), ids(agenda.vencenDentroDe(0)));
+        verify(productoRepository, times(1)).listarVencimientosActivos();
+    }
+
+    // Verifica que al vencer se desactivan solo los productos cuyo vencimiento ya pasó
+    @Test
+    void vencer_desactivaSoloLosVencidos() {
+        when(productoRepository.findById(3L)).thenReturn(Optional.of(producto(3L, AHORA.minusSeconds(3600), true)));
+
+        agenda.vencer();
+
+        verify(servicio).desactivar(3L);
+        verify(servicio, never()).desactivar(1L);
+        assertEquals(List.of(1L, 2L), ids(agenda.vencenDentroDe(30)));
+    }
+
+    // Verifica que un vencimiento postergado (evento aún no procesado) no desactiva y se reubica
+    @Test
+    void vencer_fechaPostergada_noDesactivaYReubica() {
+        Instant nuevaFecha = AHORA.plusSeconds(20 * 86400);
+        when(productoRepository.findById(3L)).thenReturn(Optional.of(producto(3L, nuevaFecha, true)));
+
+        agenda.vencer();
+
+        verify(servicio, never()).desactivar(anyLong());
+        List<Vencimiento> vencimientos = agenda.vencenDentroDe(30);
+        assertEquals(List.of(1L, 2L, 3L), ids(vencimientos));
+        assertEquals(nuevaFecha, vencimientos.get(2).instante());
+    }
+
+    // Verifica que los eventos del outbox reubican, quitan y agregan productos en el índice
+    @Test
+    void procesar_aplicaCambiosDeProductos() {
+        LocalDateTime ahora = LocalDateTime.now();
+        when(productoRepository.findAllById(any())).thenReturn(List.of(
+                producto(1L, AHORA.plusSeconds(40 * 86400), true),
+                producto(2L, AHORA.plusSeconds(86400), false),
+                producto(4L, AHORA.plusSeconds(5 * 86400), true)));
+
+        agenda.procesar(List.of(
+                new EventoCambio(1L, Agregado.PRODUCTO, 1L, Tipo.ACTUALIZADO, ahora),
+                new EventoCambio(2L, Agregado.PRODUCTO, 2L, Tipo.ACTUALIZADO, ahora),
+                new EventoCambio(3L, Agregado.PRODUCTO, 3L, Tipo.ELIMINADO, ahora),
+                new EventoCambio(4L, Agregado.PRODUCTO, 4L, Tipo.CREADO, ahora)));
+
+        assertEquals(List.of(4L), ids(agenda.vencenDentroDe(30)));
+        assertEquals(List.of(4L, 1L), ids(agenda.vencenDentroDe(60)));
+        assertFalse(agenda.interesa(new EventoCambio(5L, Agregado.BLOG, 1L, Tipo.ACTUALIZADO, ahora)));
+    }
+
+    // Verifica que un error al desactivar deja el producto en el índice para reintentarlo
+    @Test
+    void vencer_errorAlDesactivar_conservaProducto() {
+        when(productoRepository.findById(3L)).thenReturn(Optional.of(producto(3L, AHORA.minusSeconds(3600), true)));
+        when(servicio.desactivar(3L)).thenThrow(new RuntimeException("Base de datos no disponible"));
+
+        agenda.vencer();
+
+        assertEquals(List.of(3L, 1L), ids(agenda.vencenDentroDe(7)));
+    }
+
+    // Verifica que con la base de datos caída (falla también la relectura) el producto se conserva y el temporizador sigue
+    @Test
+    void vencer_baseDeDatosCaida_conservaProductoYReprograma() {
+        ScheduledExecutorService temporizador = mock(ScheduledExecutorService.class);
+        ReflectionTestUtils.setField(agenda, "temporizador", temporizador);
+        when(productoRepository.findById(3L)).thenThrow(new RuntimeException("Base de datos no disponible"));
+
+        agenda.vencer();
+
+        assertEquals(List.of(3L, 1L), ids(agenda.vencenDentroDe(7)));
+        verify(temporizador).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,135 @@
+package com.carrie.hazellabev2.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.carrie.hazellabev2.dto.AlertaStock;
+import com.carrie.hazellabev2.dto.AlertaStock.Tipo;
+import com.carrie.hazellabev2.entities.Producto;
+import com.carrie.hazellabev2.repositories.ProductoRepository;
+
+/* ================= Pruebas Unitarias para las Alertas de Stock Crítico ================= */
+
+/**
+ * Pruebas unitarias para StockCriticoListener y AlertasStock.
+ * Sin transacción activa los cruces se registran en el momento; el publicador de eventos se simula con Mockito.
+ */
+class AlertasStockTest {
+    @Mock
+    private ApplicationEventPublisher eventos;
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @InjectMocks
+    private AlertasStock alertas;
+
+    private StockCriticoListener listener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ObjectProvider<AlertasStock> proveedor = mock(ObjectProvider.class);
+        when(proveedor.getIfAvailable()).thenReturn(alertas);
+        listener = new StockCriticoListener();
+        ReflectionTestUtils.setField(listener, "alertas", proveedor);
+    }
+
+    private static Producto producto(Long id, int stock, int stockCritico) {
+        return new Producto(id, "Reactivo " + id, "L" + id, "d", "C" + id, null, null, 1000, stock, stockCritico, "P",
+                null, null, true, LocalDateTime.now(), false);
+    }
+
+    // Verifica que el listener recalcula el indicador y solo avisa cuando el producto cruza su umbral
+    @Test
+    void actualizando_soloLosCrucesGeneranAlertas() {
+        Producto producto = producto(1L, 10, 5);
+        assertFalse(producto.getStockBajo());
+
+        producto.setStock(7);
+        listener.actualizando(producto);
+        producto.setStock(5);
+        listener.actualizando(producto);
+        producto.setStock(2);
+        listener.actualizando(producto);
+        producto.setStock(9);
+        listener.actualizando(producto);
+
+        List<AlertaStock> registradas = alertas.listarDesde(0);
+        assertEquals(2, registradas.size());
+        assertEquals(Tipo.BAJO, registradas.get(0).getTipo());
+        assertEquals(5, registradas.get(0).getStock());
+        assertEquals(Tipo.REPUESTO, registradas.get(1).getTipo());
+        assertFalse(producto.getStockBajo());
+        verify(eventos, times(2)).publishEvent(any(AlertaStock.class));
+    }
+
+    // Verifica que una fila sin indicador (anterior a la columna) se inicializa sin alerta
+    @Test
+    void actualizando_sinIndicadorPrevio_noAlerta() {
+        Producto producto = producto(1L, 2, 5);
+        producto.setStockBajo(null);
+
+        listener.actualizando(producto);
+
+        assertTrue(producto.getStockBajo());
+        assertTrue(alertas.listarDesde(0).isEmpty());
+    }
+
+    // Verifica la lectura por secuencia y el límite de alertas recientes
+    @Test
+    void listarDesde_retornaSoloLoNuevoDentroDeLaVentana() {
+        ReflectionTestUtils.setField(alertas, "maxRecientes", 3);
+        for (long id = 1; id <= 5; id++) {
+            alertas.registrar(id, "P" + id, 1, 5, Tipo.BAJO, LocalDateTime.now());
+        }
+
+        List<AlertaStock> todas = alertas.listarDesde(0);
+        assertEquals(List.of(3L, 4L, 5L), todas.stream().map(AlertaStock::getProductoId).toList());
+        long cuarta = todas.get(1).getSecuencia();
+        assertEquals(cuarta + 1, todas.get(2).getSecuencia());
+        assertEquals(List.of(5L), alertas.listarDesde(cuarta).stream().map(AlertaStock::getProductoId).toList());
+        assertTrue(alertas.listarDesde(cuarta + 1).isEmpty());
+    }
+
+    // Verifica que un cursor visto antes de un reinicio no oculta las alertas de la nueva ejecución
+    @Test
+    void listarDesde_cursorAnteriorAlReinicio_recibeLoNuevo() {
+        // Ejecución anterior, arrancada hace un minuto
+        ReflectionTestUtils.setField(alertas, "secuencia", System.currentTimeMillis() - 60_000);
+        for (long id = 1; id <= 3; id++) {
+            alertas.registrar(id, "P" + id, 1, 5, Tipo.BAJO, LocalDateTime.now());
+        }
+        long cursor = alertas.listarDesde(0).get(2).getSecuencia();
+
+        // Nueva instancia = reinicio del servidor; su secuencia parte de la hora de arranque
+        AlertasStock reiniciadas = new AlertasStock();
+        ReflectionTestUtils.setField(reiniciadas, "eventos", eventos);
+        reiniciadas.registrar(9L, "P9", 1, 5, Tipo.BAJO, LocalDateTime.now());
+
+        assertEquals(List.of(9L), reiniciadas.listarDesde(cursor).stream().map(AlertaStock::getProductoId).toList());
+    }
+
+    // Verifica que un cursor por delante de la secuencia actual (reloj atrasado tras reiniciar) recibe todo
+    @Test
+    void listarDesde_cursorPosterior_recibeTodasLasRecientes() {
+        alertas.registrar(1L, "P1", 1, 5, Tipo.BAJO, LocalDateTime.now());
+        long actual = alertas.listarDesde(0).get(0).getSecuencia();
+
+        assertEquals(List.of(1L), alertas.listarDesde(actual + 60_000).stream().map(AlertaStock::getProductoId).toList());
+    }
+}
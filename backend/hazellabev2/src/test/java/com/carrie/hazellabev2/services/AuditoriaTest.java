@@ -0,0 +1,197 @@
+package com.carrie.hazellabev2.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.carrie.hazellabev2.dto.EstadoAuditoria;
+import com.carrie.hazellabev2.entities.RegistroAuditoria.Accion;
+import com.carrie.hazellabev2.entities.RegistroAuditoria.Entidad;
+import com.carrie.hazellabev2.entities.Usuario;
+import com.carrie.hazellabev2.repositories.RegistroAuditoriaRepository;
+import com.carrie.hazellabev2.services.Auditoria.Cambio;
+import com.carrie.hazellabev2.utils.BufferAnillo;
+
+/* ================= Pruebas Unitarias para el Registro de Auditoría ================= */
+
+/**
+ * Pruebas unitarias para Auditoria.
+ * El hilo escritor no se inicia: el buffer se asigna directamente y los lotes se escriben llamando a escribirLote,
+ * con el JdbcTemplate simulado por Mockito.
+ */
+class AuditoriaTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private RegistroAuditoriaRepository registroAuditoriaRepository;
+
+    @InjectMocks
+    private Auditoria auditoria;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        usarBuffer(1024);
+    }
+
+    private void usarBuffer(int capacidad) {
+        ReflectionTestUtils.setField(auditoria, "buffer", new BufferAnillo<>(capacidad));
+    }
+
+    private static Usuario usuario(String rol, String estado, String password) {
+        Usuario usuario = new Usuario();
+        usuario.setUsername("Ana");
+        usuario.setEmail("ana@duoc.cl");
+        usuario.setRut("11111111-1");
+        usuario.setRole(rol);
+        usuario.setStatus(estado);
+        usuario.setPassword(password);
+        return usuario;
+    }
+
+    private void registrarCambioDeRol(long id) {
+        auditoria.registrar(Entidad.USUARIO, id, Accion.ACTUALIZADO,
+                Auditoria.instantanea(usuario("cliente", "activo", "hash")),
+                Auditoria.instantanea(usuario("admin", "activo", "hash")));
+    }
+
+    // Verifica que solo se registran los campos cambiados y que la contraseña nunca se escribe
+    @Test
+    void diferencias_soloCamposCambiadosYContrasenaOculta() {
+        Map<String, Cambio> cambios = Auditoria.diferencias(
+                Auditoria.instantanea(usuario("cliente", "activo", "hash-anterior")),
+                Auditoria.instantanea(usuario("admin", "inactivo", "hash-nuevo")));
+
+        assertEquals(List.of("role", "status", "password"), new ArrayList<>(cambios.keySet()));
+        assertEquals(new Cambio("cliente", "admin"), cambios.get("role"));
+        assertEquals(new Cambio(Auditoria.OCULTO, Auditoria.OCULTO), cambios.get("password"));
+    }
+
+    // Verifica que una actualización sin cambios no encola nada
+    @Test
+    void registrar_sinCambios_noEncola() {
+        Map<String, Object> instantanea = Auditoria.instantanea(usuario("cliente", "activo", "hash"));
+
+        auditoria.registrar(Entidad.USUARIO, 1L, Accion.ACTUALIZADO, instantanea, instantanea);
+
+        assertEquals(0, auditoria.estado().getEncolados());
+        assertEquals(0, auditoria.escribirLote());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    // Verifica que varios registros se escriben con un único INSERT de varias filas
+    @Test
+    void escribirLote_insertaVariasFilasEnUnaSentencia() {
+        registrarCambioDeRol(1L);
+        registrarCambioDeRol(2L);
+        registrarCambioDeRol(3L);
+
+        assertEquals(3, auditoria.escribirLote());
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> argumentos = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(1)).update(sql.capture(), argumentos.capture());
+        assertEquals(3, sql.getValue().split("\\(\\?, \\?, \\?, \\?, \\?, \\?\\)", -1).length - 1);
+        Object[] valores = argumentos.getValue();
+        assertEquals(18, valores.length);
+        assertEquals("USUARIO", valores[1]);
+        assertEquals(1L, valores[2]);
+        assertEquals(Auditoria.ORIGEN_SISTEMA, valores[4]);
+        assertEquals("{\"role\":{\"antes\":\"cliente\",\"despues\":\"admin\"}}", valores[5]);
+        assertEquals(3, auditoria.estado().getEscritos());
+    }
+
+    // Verifica la contrapresión: con el buffer lleno el registro se descarta tras la espera y se contabiliza
+    @Test
+    void encolar_bufferLleno_descartaTrasLaEspera() {
+        usarBuffer(2);
+        ReflectionTestUtils.setField(auditoria, "esperaMs", 5L);
+
+        registrarCambioDeRol(1L);
+        registrarCambioDeRol(2L);
+        registrarCambioDeRol(3L);
+
+        EstadoAuditoria estado = auditoria.estado();
+        assertEquals(2, estado.getEncolados());
+        assertEquals(2, estado.getPendientes());
+        assertEquals(1, estado.getDescartados());
+    }
+
+    // Verifica que un error persistente descarta el lote tras los reintentos sin detener al escritor
+    @Test
+    void escribirLote_errorPersistente_descartaTrasReintentos() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenThrow(new RuntimeException("Base de datos no disponible"));
+        registrarCambioDeRol(1L);
+
+        assertEquals(1, auditoria.escribirLote());
+
+        verify(jdbcTemplate, times(3)).update(anyString(), any(Object[].class));
+        assertEquals(1, auditoria.estado().getDescartados());
+        assertEquals(0, auditoria.estado().getPendientes());
+    }
+
+    // Verifica que productores concurrentes no pierden ni duplican registros en el buffer
+    @Test
+    void encolar_productoresConcurrentes_noPierdenRegistros() throws Exception {
+        usarBuffer(4096);
+        int hilos = 4;
+        int porHilo = 500;
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        CountDownLatch inicio = new CountDownLatch(1);
+        for (int h = 0; h < hilos; h++) {
+            long base = h * 1000L;
+            ejecutor.submit(() -> {
+                inicio.await();
+                for (int i = 0; i < porHilo; i++) {
+                    registrarCambioDeRol(base + i);
+                }
+                return null;
+            });
+        }
+        inicio.countDown();
+        ejecutor.shutdown();
+        assertTrue(ejecutor.awaitTermination(10, TimeUnit.SECONDS));
+
+        int escritos = 0;
+        int lote;
+        while ((lote = auditoria.escribirLote()) > 0) {
+            escritos += lote;
+        }
+
+        assertEquals(hilos * porHilo, escritos);
+        assertEquals(hilos * porHilo, auditoria.estado().getEncolados());
+        assertEquals(0, auditoria.estado().getDescartados());
+        verify(jdbcTemplate, times(hilos * porHilo / 200)).update(anyString(), any(Object[].class));
+    }
+
+    // Verifica que al cerrar se descartan (y contabilizan) los registros que llegan después
+    @Test
+    void cerrar_registrosPosterioresSeDescartan() {
+        auditoria.cerrar();
+        auditoria.encolar(new Auditoria.Pendiente(LocalDateTime.now(), Entidad.PRODUCTO, 1L, Accion.ELIMINADO,
+                Auditoria.ORIGEN_SISTEMA, Map.of("name", new Cambio("Reactivo", null))));
+
+        assertEquals(0, auditoria.estado().getEncolados());
+        assertEquals(1, auditoria.estado().getDescartados());
+    }
+}
@@ -0,0 +1,104 @@
+package com.carrie.hazellabev2.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.carrie.hazellabev2.entities.Blog;
+import com.carrie.hazellabev2.utils.RespuestaPrecalculada;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/* ================= Pruebas Unitarias para la Caché de Publicaciones Renderizadas ================= */
+
+/**
+ * Pruebas unitarias para BlogRenderCache: reutilización del renderizado, invalidación concurrente con un
+ * renderizado en curso, expulsión LRU y cabeceras de caché HTTP de las publicaciones editables.
+ */
+class BlogRenderCacheTest {
+    private BlogRenderCache cache;
+    private AtomicInteger cargas;
+
+    @BeforeEach
+    void setUp() {
+        cache = new BlogRenderCache();
+        ReflectionTestUtils.setField(cache, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(cache, "maxEntradas", 2);
+        cargas = new AtomicInteger();
+    }
+
+    private Blog blog(Long id, String titulo) {
+        cargas.incrementAndGet();
+        return new Blog(id, titulo, "Cuerpo " + titulo, "Resumen", "Autor", null);
+    }
+
+    // Verifica que la segunda lectura no vuelve a cargar ni renderizar
+    @Test
+    void obtener_reutilizaElRenderizado() {
+        RespuestaPrecalculada primera = cache.obtener(1L, () -> blog(1L, "Uno"));
+        RespuestaPrecalculada segunda = cache.obtener(1L, () -> blog(1L, "Uno"));
+
+        assertSame(primera, segunda);
+        assertEquals(1, cargas.get());
+    }
+
+    // Verifica que un renderizado con datos anteriores a una invalidación se entrega pero no queda en caché
+    @Test
+    void obtener_invalidadoDuranteElRenderizado_noPublicaLaVersionAnterior() {
+        RespuestaPrecalculada antigua = cache.obtener(1L, () -> {
+            Blog leido = blog(1L, "Antiguo");
+            // La actualización se confirma mientras este hilo todavía serializa lo que leyó
+            cache.invalidar(1L);
+            return leido;
+        });
+        assertTrue(antigua.comoTexto().contains("Antiguo"));
+        assertEquals(0, cache.tamanio());
+
+        RespuestaPrecalculada nueva = cache.obtener(1L, () -> blog(1L, "Nuevo"));
+        assertTrue(nueva.comoTexto().contains("Nuevo"));
+        assertSame(nueva, cache.obtener(1L, () -> blog(1L, "Otro")));
+    }
+
+    // Verifica que al superar el máximo sale la publicación menos usada recientemente
+    @Test
+    void obtener_expulsaLaMenosUsada() {
+        cache.obtener(1L, () -> blog(1L, "Uno"));
+        cache.obtener(2L, () -> blog(2L, "Dos"));
+        // La 1 se vuelve a leer: la menos usada pasa a ser la 2
+        cache.obtener(1L, () -> blog(1L, "Uno"));
+        cache.obtener(3L, () -> blog(3L, "Tres"));
+        assertEquals(2, cache.tamanio());
+        assertEquals(3, cargas.get());
+
+        cache.obtener(1L, () -> blog(1L, "Uno"));
+        assertEquals(3, cargas.get());
+        cache.obtener(2L, () -> blog(2L, "Dos"));
+        assertEquals(4, cargas.get());
+    }
+
+    // Verifica que eliminar una publicación la saca de la caché sin dejar estado por ID
+    @Test
+    void invalidar_eliminaLaEntrada() {
+        cache.obtener(1L, () -> blog(1L, "Uno"));
+        cache.invalidar(1L);
+        cache.invalidar(99L);
+
+        assertEquals(0, cache.tamanio());
+        cache.obtener(1L, () -> blog(1L, "Uno"));
+        assertEquals(2, cargas.get());
+    }
+
+    // Verifica que las publicaciones editables se revalidan siempre por ETag en lugar de servirse desde caché pública
+    @Test
+    void obtener_publicacionEditable_revalidaPorEtag() {
+        RespuestaPrecalculada respuesta = cache.obtener(1L, () -> blog(1L, "Uno"));
+
+        String cacheControl = respuesta.responder(null, null).getHeaders().getFirst(HttpHeaders.CACHE_CONTROL);
+        assertEquals("no-cache", cacheControl);
+        assertEquals(304, respuesta.responder(respuesta.getEtag(), null).getStatusCode().value());
+    }
+}
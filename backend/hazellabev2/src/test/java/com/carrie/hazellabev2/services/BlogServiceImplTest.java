@@ -0,0 +1,213 @@
+package com.carrie.hazellabev2.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.carrie.hazellabev2.dto.BlogResultadoBusqueda;
+import com.carrie.hazellabev2.dto.BlogResumen;
+import com.carrie.hazellabev2.entities.Blog;
+import com.carrie.hazellabev2.entities.EventoCambio;
+import com.carrie.hazellabev2.entities.EventoCambio.Agregado;
+import com.carrie.hazellabev2.entities.EventoCambio.Tipo;
+import com.carrie.hazellabev2.repositories.BlogRepository;
+
+/* ================= Pruebas Unitarias para Servicio de Blogs ================= */
+
+/**
+ * Pruebas unitarias para BlogServiceImpl.
+ * Usa el índice de búsqueda real (en memoria) y simula el repositorio con Mockito.
+ */
+public class BlogServiceImplTest {
+    // Simula el repositorio de blogs para evitar acceso real a base de datos
+    @Mock
+    private BlogRepository blogRepository;
+
+    // Índice invertido real: se verifica que el servicio lo mantiene sincronizado
+    @Spy
+    private BlogIndiceBusqueda blogIndice = new BlogIndiceBusqueda();
+
+    // Simula la caché de publicaciones renderizadas
+    @Mock
+    private BlogRenderCache renderCache;
+
+    // Simula el outbox de cambios
+    @Mock
+    private OutboxPublicador outbox;
+
+    // Inyecta los mocks en el servicio real que se está probando
+    @InjectMocks
+    private BlogServiceImpl blogService;
+
+    private Blog sabor;
+    private Blog horno;
+
+    /* ================= Configuración Inicial ================= */
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(blogRepository.save(any(Blog.class))).thenAnswer(i -> i.getArgument(0));
+
+        sabor = new Blog(1L, "La Química del Sabor",
+                "La reacción de Maillard ocurre cuando azúcares y proteínas se calientan. Las reacciones químicas dan color y aroma.",
+                "Cómo la caramelización transforma la cocina en ciencia.", "Equipo Hazel", "/caramelo.jpg");
+        horno = new Blog(2L, "Del Laboratorio al Horno",
+                "El bicarbonato libera dióxido de carbono al reaccionar con ácidos, y la masa crece en el horno.",
+                "Polvos de hornear y bicarbonato: pura química.", "María González", "/masita2.jpg");
+        blogService.crear(sabor);
+        blogService.crear(horno);
+    }
+
+    /* ================= PRUEBAS DE BÚSQUEDA ================= */
+
+    // Verifica que la búsqueda ignora tildes y plurales y resalta el término en el fragmento
+    @Test
+    void testBuscar_SinTildesYPlural() {
+        List<BlogResultadoBusqueda> resultados = blogService.buscar("REACCION maillard", 10);
+
+        assertEquals(1L, resultados.get(0).getId());
+        assertTrue(resultados.get(0).getFragmento().contains("<mark>reacción</mark>"));
+        assertTrue(resultados.get(0).getFragmento().contains("<mark>Maillard</mark>"));
+    }
+
+    // Verifica el orden por relevancia: el título pondera más que el contenido
+    @Test
+    void testBuscar_OrdenPorRelevancia() {
+        List<BlogResultadoBusqueda> resultados = blogService.buscar("horno bicarbonato", 10);
+
+        assertEquals(1, resultados.size());
+        assertEquals(2L, resultados.get(0).getId());
+        assertTrue(blogService.buscar("de la el", 10).isEmpty());
+    }
+
+    // Verifica que actualizar y eliminar mantienen el índice sincronizado sin consultar la base de datos
+    @Test
+    void testBuscar_ActualizarYEliminarSincronizanIndice() {
+        when(blogRepository.findById(2L)).thenReturn(Optional.of(horno));
+        when(blogRepository.existsById(1L)).thenReturn(true);
+        Blog cambios = new Blog(null, "Levaduras y fermentación", "La levadura fermenta los azúcares.", null, null, null);
+
+        blogService.actualizar(2L, cambios);
+        blogService.eliminar(1L);
+
+        assertTrue(blogService.buscar("dióxido carbono", 10).isEmpty());
+        assertTrue(blogService.buscar("maillard", 10).isEmpty());
+        assertEquals(2L, blogService.buscar("levaduras", 10).get(0).getId());
+        verify(blogRepository, never()).findAll();
+        // Las versiones renderizadas del blog actualizado y del eliminado se descartan
+        verify(renderCache).invalidar(2L);
+        verify(renderCache).invalidar(1L);
+    }
+
+    // Verifica que el índice y la caché renderizada cambian solo al confirmar la transacción
+    @Test
+    void testActualizar_IndiceYCacheTrasConfirmar() {
+        List<TransactionSynchronization> sincronizaciones = actualizarEnTransaccion();
+
+        sincronizaciones.forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(2L, blogService.buscar("levaduras", 10).get(0).getId());
+        verify(renderCache).invalidar(2L);
+    }
+
+    // Verifica que un rollback no deja en el índice texto que nunca se confirmó
+    @Test
+    void testActualizar_RollbackNoTocaIndiceNiCache() {
+        List<TransactionSynchronization> sincronizaciones = actualizarEnTransaccion();
+
+        sincronizaciones.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertTrue(blogService.buscar("levaduras", 10).isEmpty());
+        assertEquals(2L, blogService.buscar("bicarbonato", 10).get(0).getId());
+        verify(renderCache, never()).invalidar(2L);
+    }
+
+    // Actualiza el blog 2 con sincronización de transacción activa y retorna lo registrado para el commit
+    private List<TransactionSynchronization> actualizarEnTransaccion() {
+        when(blogRepository.findById(2L)).thenReturn(Optional.of(horno));
+        Blog cambios = new Blog(null, "Levaduras y fermentación", "La levadura fermenta los azúcares.", null, null, null);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            blogService.actualizar(2L, cambios);
+            // Dentro de la transacción el índice y la caché siguen con el estado confirmado
+            assertTrue(blogService.buscar("levaduras", 10).isEmpty());
+            verify(renderCache, never()).invalidar(2L);
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /* ================= PRUEBAS DEL OUTBOX ================= */
+
+    // Verifica que cada cambio publica su evento y que el índice, como suscriptor, reindexa el estado confirmado
+    @Test
+    void testOutbox_EventosReindexanEstadoConfirmado() {
+        verify(outbox).publicar(Agregado.BLOG, 1L, Tipo.CREADO);
+        verify(outbox).publicar(Agregado.BLOG, 2L, Tipo.CREADO);
+
+        // En la base de datos el blog 1 ya no existe y el 2 tiene otro título
+        Blog confirmado = new Blog(2L, "Levaduras y fermentación", horno.getBody(), horno.getSummary(), horno.getAuthor(), horno.getImage());
+        ReflectionTestUtils.setField(blogIndice, "blogRepository", blogRepository);
+        when(blogRepository.findAllById(any())).thenReturn(List.of(confirmado));
+        LocalDateTime ahora = LocalDateTime.now();
+        List<EventoCambio> eventos = List.of(
+                new EventoCambio(10L, Agregado.BLOG, 1L, Tipo.ELIMINADO, ahora),
+                new EventoCambio(11L, Agregado.BLOG, 2L, Tipo.ACTUALIZADO, ahora),
+                new EventoCambio(12L, Agregado.BLOG, 2L, Tipo.ACTUALIZADO, ahora));
+
+        assertFalse(blogIndice.interesa(new EventoCambio(13L, Agregado.PRODUCTO, 1L, Tipo.CREADO, ahora)));
+        blogIndice.procesar(eventos);
+        // Procesar de nuevo el mismo lote (entrega repetida) no cambia el resultado
+        blogIndice.procesar(eventos);
+
+        assertTrue(blogService.buscar("maillard", 10).isEmpty());
+        assertEquals(1, blogService.buscar("levaduras", 10).size());
+        assertEquals(2L, blogService.buscar("bicarbonato", 10).get(0).getId());
+    }
+
+    /* ================= PRUEBAS PARA LISTADO RESUMIDO ================= */
+
+    // Verifica que el listado pide al repositorio la página, el tamaño y el orden por ID, sin cargar las entidades
+    @Test
+    void testListarResumen_UsaProyeccionPaginada() {
+        BlogResumen resumen = new BlogResumen(21L, "Emulsiones", "Aceite y agua", "Equipo Hazel", "/mayo.jpg");
+        when(blogRepository.findAllResumen(PageRequest.of(2, 10, Sort.by("id"))))
+                .thenReturn(new PageImpl<>(List.of(resumen), PageRequest.of(2, 10), 21));
+
+        Page<BlogResumen> result = blogService.listarResumen(2, 10);
+
+        assertEquals(1, result.getContent().size());
+        assertEquals("Emulsiones", result.getContent().get(0).getTitle());
+        assertEquals(21L, result.getTotalElements());
+        verify(blogRepository).findAllResumen(PageRequest.of(2, 10, Sort.by("id")));
+        verify(blogRepository, never()).findAll();
+    }
+
+    // Verifica que parámetros de paginación inválidos se rechazan sin consultar el repositorio
+    @Test
+    void testListarResumen_PaginacionInvalida_LanzaExcepcion() {
+        assertThrows(RuntimeException.class, () -> blogService.listarResumen(-1, 20));
+        assertThrows(RuntimeException.class, () -> blogService.listarResumen(0, 0));
+        verify(blogRepository, never()).findAllResumen(any());
+    }
+}
@@ -0,0 +1,84 @@
+package com.carrie.hazellabev2.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.carrie.hazellabev2.dto.CategoriaResumen;
+import com.carrie.hazellabev2.entities.Categoria;
+import com.carrie.hazellabev2.repositories.CategoriaRepository;
+import com.carrie.hazellabev2.repositories.ProductoRepository;
+
+/* ================= Pruebas Unitarias para el Catálogo de Categorías ================= */
+
+/**
+ * Pruebas unitarias para CategoriaCatalogo.
+ * La carga inicial se simula con Mockito; el commit o el rollback se simulan invocando las sincronizaciones
+ * registradas durante una transacción ficticia.
+ */
+class CategoriaCatalogoTest {
+    @Mock
+    private CategoriaRepository categoriaRepository;
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @InjectMocks
+    private CategoriaCatalogo catalogo;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(categoriaRepository.findAll()).thenReturn(List.of(
+                new Categoria(1L, "Solventes", null, null), new Categoria(2L, "Ácidos", null, null)));
+        when(productoRepository.contarActivosPorCategoria()).thenReturn(List.<Object[]>of(new Object[] { 1L, 3L }));
+        catalogo.cargar();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private long cantidad(Long categoriaId) {
+        return catalogo.listar().stream().filter(c -> c.getId().equals(categoriaId))
+                .mapToLong(CategoriaResumen::getCantidadProductos).findFirst().orElse(-1);
+    }
+
+    // Verifica que un movimiento de producto se refleja en los conteos solo al confirmar
+    @Test
+    void ajustarProducto_seAplicaAlConfirmar() {
+        catalogo.ajustarProducto(1L, true, 2L, true);
+        assertEquals(3, cantidad(1L));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(2, cantidad(1L));
+        assertEquals(1, cantidad(2L));
+    }
+
+    // Verifica que un rollback no altera conteos ni categorías
+    @Test
+    void rollback_noAlteraElCatalogo() {
+        catalogo.ajustarProducto(1L, true, null, false);
+        catalogo.registrarCategoria(new Categoria(3L, "Bases", null, null));
+        catalogo.removerCategoria(2L);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(3, cantidad(1L));
+        assertEquals(List.of(1L, 2L), catalogo.listar().stream().map(CategoriaResumen::getId).toList());
+    }
+}
@@ -0,0 +1,133 @@
+package com.carrie.hazellabev2.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.carrie.hazellabev2.dto.IndicadoresKpi;
+import com.carrie.hazellabev2.entities.Producto;
+import com.carrie.hazellabev2.entities.Usuario;
+import com.carrie.hazellabev2.repositories.ProductoRepository;
+import com.carrie.hazellabev2.repositories.UsuarioRepository;
+
+/* ================= Pruebas Unitarias para los Contadores en Vivo del Dashboard ================= */
+
+/**
+ * Pruebas unitarias para ContadoresKpi.
+ * Las consultas de conciliación se simulan con Mockito; sin transacción activa los cambios se aplican de inmediato.
+ */
+class ContadoresKpiTest {
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @InjectMocks
+    private ContadoresKpi contadores;
+
+    // Filas [id, activo, stock, stockCritico, destacado] y [id, rol, estado] que retorna la base de datos
+    private final List<Object[]> productosBd = new ArrayList<>();
+    private final List<Object[]> usuariosBd = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        productosBd.add(new Object[] { 1L, true, 10, 2, false });
+        productosBd.add(new Object[] { 2L, true, 1, 3, true });
+        productosBd.add(new Object[] { 3L, false, 0, 1, false });
+        usuariosBd.add(new Object[] { 1L, "admin", "activo" });
+        usuariosBd.add(new Object[] { 2L, "cliente", "activo" });
+        usuariosBd.add(new Object[] { 3L, "cliente", "inactivo" });
+        when(productoRepository.listarEstadoKpi()).thenAnswer(i -> productosBd);
+        when(usuarioRepository.listarEstadoKpi()).thenAnswer(i -> usuariosBd);
+        contadores.cargar();
+    }
+
+    private static Producto producto(long id, boolean activo, int stock, int stockCritico, boolean destacado) {
+        return new Producto(id, "P" + id, "B", "d", "C", null, null, 1000, stock, stockCritico, "Prov", null, null, activo, null, destacado);
+    }
+
+    private static Usuario usuario(long id, String rol, String estado) {
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setRole(rol);
+        usuario.setStatus(estado);
+        return usuario;
+    }
+
+    // Verifica que la carga inicial cuenta desde la base de datos
+    @Test
+    void cargar_cuentaDesdeLaBaseDeDatos() {
+        IndicadoresKpi kpi = contadores.obtener();
+
+        assertEquals(2, kpi.getProductosActivos());
+        assertEquals(2, kpi.getProductosStockBajo());
+        assertEquals(1, kpi.getProductosDestacados());
+        assertEquals(Map.of("admin", 1L, "cliente", 1L), kpi.getUsuariosActivosPorRol());
+        assertNotNull(kpi.getUltimaConciliacion());
+    }
+
+    // Verifica que solo cambian los contadores cuyo estado cambió y que repetir un cambio no lo cuenta dos veces
+    @Test
+    void productoCambiado_comparaEstadoAnteriorYNuevo() {
+        contadores.productoCambiado(1L, producto(1L, true, 2, 2, true));
+        contadores.productoCambiado(1L, producto(1L, true, 2, 2, true));
+        contadores.productoCambiado(4L, producto(4L, true, 50, 5, false));
+        contadores.productoCambiado(2L, null);
+
+        // Activos: 1 y 4; stock crítico: 1 y 3 (el inactivo también cuenta); destacado: 1
+        IndicadoresKpi kpi = contadores.obtener();
+        assertEquals(2, kpi.getProductosActivos());
+        assertEquals(2, kpi.getProductosStockBajo());
+        assertEquals(1, kpi.getProductosDestacados());
+    }
+
+    // Verifica el paso de un usuario entre roles y estados
+    @Test
+    void usuarioCambiado_mueveEntreRoles() {
+        contadores.usuarioCambiado(2L, usuario(2L, "admin", "activo"));
+        contadores.usuarioCambiado(3L, usuario(3L, "cliente", "activo"));
+        contadores.usuarioCambiado(1L, usuario(1L, "admin", "inactivo"));
+
+        assertEquals(Map.of("admin", 1L, "cliente", 1L), contadores.obtener().getUsuariosActivosPorRol());
+    }
+
+    // Verifica que un cambio hecho fuera de JPA se corrige en la conciliación y queda registrado
+    @Test
+    void conciliar_corrigeDesfase() {
+        productosBd.set(0, new Object[] { 1L, false, 10, 2, false });
+
+        assertTrue(contadores.conciliar());
+
+        IndicadoresKpi kpi = contadores.obtener();
+        assertEquals(1, kpi.getProductosActivos());
+        assertEquals(1, kpi.getCorrecciones());
+        // El estado por ID también se reemplaza: el siguiente cambio compara contra lo conciliado
+        contadores.productoCambiado(1L, producto(1L, true, 10, 2, false));
+        assertEquals(2, contadores.obtener().getProductosActivos());
+    }
+
+    // Verifica que una conciliación que se cruza con un cambio se descarta para no perderlo
+    @Test
+    void conciliar_cambioConcurrente_seDescarta() {
+        when(usuarioRepository.listarEstadoKpi()).thenAnswer(i -> {
+            // Cambio confirmado mientras se consultaba (la lectura ya no lo incluye)
+            contadores.productoCambiado(5L, producto(5L, true, 9, 1, false));
+            return usuariosBd;
+        });
+
+        assertFalse(contadores.conciliar());
+        assertEquals(3, contadores.obtener().getProductosActivos());
+        assertEquals(0, contadores.obtener().getCorrecciones());
+    }
+}
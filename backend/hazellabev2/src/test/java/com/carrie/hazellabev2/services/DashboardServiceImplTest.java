@@ -0,0 +1,143 @@
+package com.carrie.hazellabev2.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.carrie.hazellabev2.dto.EstadisticasDashboard;
+import com.carrie.hazellabev2.dto.ProductoVendido;
+import com.carrie.hazellabev2.entities.EventoCambio;
+import com.carrie.hazellabev2.entities.EventoCambio.Agregado;
+import com.carrie.hazellabev2.entities.EventoCambio.Tipo;
+import com.carrie.hazellabev2.entities.Producto;
+import com.carrie.hazellabev2.repositories.CategoriaRepository;
+import com.carrie.hazellabev2.repositories.ProductoRepository;
+import com.carrie.hazellabev2.repositories.UsuarioRepository;
+import com.carrie.hazellabev2.services.RankingVentas.Ventana;
+import com.carrie.hazellabev2.utils.RankingIncremental.Posicion;
+
+/* ================= Pruebas Unitarias para Servicio del Dashboard ================= */
+
+/**
+ * Pruebas unitarias para DashboardServiceImpl.
+ * Las consultas agregadas se simulan con Mockito; se verifica el armado de los indicadores y la caché.
+ */
+public class DashboardServiceImplTest {
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private CategoriaRepository categoriaRepository;
+
+    @Mock
+    private RankingVentas rankingVentas;
+
+    @InjectMocks
+    private DashboardServiceImpl dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // [total, activos, stock crítico, unidades, valor] y [usuarios, activos]
+        when(productoRepository.resumirInventario()).thenReturn(List.<Object[]>of(new Object[] { 12L, 10L, 3L, 450L, 1_250_000L }));
+        when(usuarioRepository.contarPorEstado()).thenReturn(List.<Object[]>of(new Object[] { 7L, 5L }));
+        when(categoriaRepository.count()).thenReturn(4L);
+    }
+
+    // Verifica que los indicadores se arman desde las consultas agregadas
+    @Test
+    void obtenerEstadisticas_armaIndicadoresDesdeAgregados() {
+        EstadisticasDashboard estadisticas = dashboardService.obtenerEstadisticas();
+
+        assertEquals(7, estadisticas.getTotalUsuarios());
+        assertEquals(5, estadisticas.getUsuariosActivos());
+        assertEquals(12, estadisticas.getTotalProductos());
+        assertEquals(10, estadisticas.getProductosActivos());
+        assertEquals(3, estadisticas.getProductosStockBajo());
+        assertEquals(4, estadisticas.getTotalCategorias());
+        assertEquals(450, estadisticas.getUnidadesEnStock());
+        assertEquals(1_250_000, estadisticas.getValorInventario());
+        assertNotNull(estadisticas.getGeneradoEn());
+    }
+
+    // Verifica que las consultas se reutilizan mientras la caché está vigente
+    @Test
+    void obtenerEstadisticas_reutilizaResultadoEnCache() {
+        EstadisticasDashboard primera = dashboardService.obtenerEstadisticas();
+        EstadisticasDashboard segunda = dashboardService.obtenerEstadisticas();
+
+        assertSame(primera, segunda);
+        verify(productoRepository, times(1)).resumirInventario();
+        verify(usuarioRepository, times(1)).contarPorEstado();
+    }
+
+    // Verifica que la caché vencida se recalcula
+    @Test
+    void obtenerEstadisticas_cacheVencida_recalcula() {
+        ReflectionTestUtils.setField(dashboardService, "cacheSegundos", 0L);
+
+        dashboardService.obtenerEstadisticas();
+        dashboardService.obtenerEstadisticas();
+
+        verify(productoRepository, times(2)).resumirInventario();
+    }
+
+    // Verifica que un evento de producto descarta la caché y uno de blog no
+    @Test
+    void procesar_eventoDeProducto_invalidaCache() {
+        LocalDateTime ahora = LocalDateTime.now();
+        EventoCambio producto = new EventoCambio(1L, Agregado.PRODUCTO, 1L, Tipo.ACTUALIZADO, ahora);
+        EventoCambio blog = new EventoCambio(2L, Agregado.BLOG, 1L, Tipo.ACTUALIZADO, ahora);
+        EstadisticasDashboard primera = dashboardService.obtenerEstadisticas();
+
+        assertFalse(dashboardService.interesa(blog));
+        assertTrue(dashboardService.interesa(producto));
+        dashboardService.procesar(List.of(producto));
+
+        assertNotSame(primera, dashboardService.obtenerEstadisticas());
+        verify(productoRepository, times(2)).resumirInventario();
+    }
+
+    // Verifica valores nulos en las sumas (tablas vacías)
+    @Test
+    void obtenerEstadisticas_tablasVacias_retornaCeros() {
+        when(productoRepository.resumirInventario()).thenReturn(List.<Object[]>of(new Object[] { 0L, null, null, null, null }));
+        when(usuarioRepository.contarPorEstado()).thenReturn(List.of());
+
+        EstadisticasDashboard estadisticas = dashboardService.obtenerEstadisticas();
+
+        assertEquals(0, estadisticas.getTotalProductos());
+        assertEquals(0, estadisticas.getValorInventario());
+        assertEquals(0, estadisticas.getTotalUsuarios());
+    }
+
+    // Verifica que el ranking conserva el orden de ventas, acota el límite y omite productos eliminados
+    @Test
+    void productosMasVendidos_combinaRankingConProductos() {
+        when(rankingVentas.primeros(Ventana.SEMANA, DashboardServiceImpl.MAX_RANKING))
+                .thenReturn(List.of(new Posicion(2L, 40L), new Posicion(9L, 30L), new Posicion(1L, 10L)));
+        Producto uno = new Producto(1L, "Uno", "B1", "d", "C1", null, null, 1000, 5, 2, "P", null, "uno.jpg", true, null, false);
+        Producto dos = new Producto(2L, "Dos", "B2", "d", "C2", null, null, 2000, 8, 2, "P", null, "dos.jpg", false, null, false);
+        when(productoRepository.findAllById(List.of(2L, 9L, 1L))).thenReturn(List.of(uno, dos));
+
+        List<ProductoVendido> ranking = dashboardService.productosMasVendidos(Ventana.SEMANA, 500);
+
+        assertEquals(2, ranking.size());
+        assertEquals("Dos", ranking.get(0).getName());
+        assertEquals(40, ranking.get(0).getTotalVendidos());
+        assertEquals(1L, ranking.get(1).getId());
+        assertEquals(10, ranking.get(1).getTotalVendidos());
+    }
+}
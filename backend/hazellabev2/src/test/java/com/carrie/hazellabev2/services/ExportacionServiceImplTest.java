@@ -0,0 +1,107 @@
+package com.carrie.hazellabev2.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.carrie.hazellabev2.repositories.ItemCarritoRepository;
+import com.carrie.hazellabev2.repositories.ProductoRepository;
+import com.carrie.hazellabev2.repositories.UsuarioRepository;
+import com.carrie.hazellabev2.services.ExportacionService.Formato;
+import com.carrie.hazellabev2.services.ExportacionService.Tabla;
+
+/* ================= Pruebas Unitarias para Exportación de Tablas ================= */
+
+/**
+ * Pruebas unitarias para ExportacionServiceImpl.
+ * Los cursores se simulan con Streams; el XLSX generado se abre como ZIP para revisar sus partes.
+ */
+class ExportacionServiceImplTest {
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private ItemCarritoRepository itemCarritoRepository;
+
+    @InjectMocks
+    private ExportacionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(productoRepository.recorrerExportacion()).thenAnswer(invocacion -> Stream.<Object[]>of(
+                new Object[] { 1L, "Ácido \"fuerte\", 1M", "L1", "HCL", "Químicos", "Prov", 5000, 20, 5,
+                        Date.valueOf("2026-12-31"), null, true, false, LocalDateTime.of(2025, 1, 2, 3, 4, 5) },
+                new Object[] { 2L, "Centrífuga <X>", "L2", "EQ", null, "=cmd", 20000, 3, 5, null, null, false, true, null }));
+    }
+
+    // Verifica cabecera, escape de campos y fechas en el CSV, y que se cierra el cursor
+    @Test
+    void exportar_csv_escribeFilasEscapadas() throws Exception {
+        Stream<Object[]> cursor = Stream.<Object[]>of(new Object[] { 7L, 3L, "a@b.cl", 1L, "Ácido", 2, 5000 });
+        boolean[] cerrado = { false };
+        when(itemCarritoRepository.recorrerExportacion()).thenReturn(cursor.onClose(() -> cerrado[0] = true));
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        long filas = service.exportar(Tabla.PRODUCTOS, Formato.CSV, salida);
+
+        String csv = salida.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("\uFEFF"), "El CSV debe empezar con la marca BOM de UTF-8");
+        String[] lineas = csv.substring(1).split("\r\n");
+        assertEquals(2, filas);
+        assertEquals(String.join(",", ExportacionServiceImpl.COLUMNAS_PRODUCTOS), lineas[0]);
+        assertEquals("1,\"Ácido \"\"fuerte\"\", 1M\",L1,HCL,Químicos,Prov,5000,20,5,2026-12-31,,true,false,2025-01-02T03:04:05", lineas[1]);
+        assertEquals("2,Centrífuga <X>,L2,EQ,,'=cmd,20000,3,5,,,false,true,", lineas[2]);
+
+        service.exportar(Tabla.CARRITO, Formato.CSV, new ByteArrayOutputStream());
+        assertTrue(cerrado[0]);
+    }
+
+    // Verifica que el XLSX es un paquete válido con la hoja, tipos de celda y texto escapado
+    @Test
+    void exportar_xlsx_generaPaqueteConHoja() throws Exception {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        long filas = service.exportar(Tabla.PRODUCTOS, Formato.XLSX, salida);
+
+        Map<String, String> partes = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(salida.toByteArray()), StandardCharsets.UTF_8)) {
+            for (ZipEntry entrada = zip.getNextEntry(); entrada != null; entrada = zip.getNextEntry()) {
+                partes.put(entrada.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals(2, filas);
+        assertTrue(partes.keySet().containsAll(List.of("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml",
+                "xl/_rels/workbook.xml.rels", "xl/styles.xml", "xl/worksheets/sheet1.xml")));
+        assertTrue(partes.get("xl/workbook.xml").contains("name=\"productos\""));
+        String hoja = partes.get("xl/worksheets/sheet1.xml");
+        assertTrue(hoja.endsWith("</sheetData></worksheet>"));
+        assertTrue(hoja.contains("<c r=\"A1\" s=\"1\" t=\"inlineStr\"><is><t xml:space=\"preserve\">id</t></is></c>"));
+        assertTrue(hoja.contains("<c r=\"G2\"><v>5000</v></c>"));
+        assertTrue(hoja.contains("<c r=\"L2\" t=\"b\"><v>1</v></c>"));
+        // 2026-12-31 es el día 46387 del sistema de fechas de Excel
+        assertTrue(hoja.contains("<c r=\"J2\" s=\"2\"><v>46387</v></c>"));
+        assertTrue(hoja.contains("Centrífuga &lt;X&gt;"));
+        assertEquals(3, hoja.split("<row ").length - 1);
+    }
+}
@@ -0,0 +1,114 @@
+package com.carrie.hazellabev2.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.carrie.hazellabev2.dto.AlertaStock;
+import com.carrie.hazellabev2.dto.EventoActividad;
+import com.carrie.hazellabev2.dto.EventoActividad.Tipo;
+import com.carrie.hazellabev2.entities.Producto;
+import com.carrie.hazellabev2.utils.BufferAnillo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/* ================= Pruebas Unitarias para el Feed de Actividad ================= */
+
+/**
+ * Pruebas unitarias para FeedActividad.
+ * La ventana del publicador se alarga para que el temporizador no intervenga: cada ciclo se ejecuta llamando a publicar.
+ * El pool de envío se reemplaza por un mock que nunca escribe, para simular un cliente que no alcanza a recibir.
+ */
+class FeedActividadTest {
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    private FeedActividad feed;
+
+    private ExecutorService envioDetenido;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(feed, "ventanaMs", 3_600_000L);
+        ReflectionTestUtils.setField(feed, "colaPorCliente", 4);
+        feed.iniciar();
+        envioDetenido = mock(ExecutorService.class);
+        ReflectionTestUtils.setField(feed, "envio", envioDetenido);
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.cerrar();
+    }
+
+    private static Producto producto(Long id) {
+        Producto producto = new Producto();
+        producto.setId(id);
+        producto.setName("Reactivo " + id);
+        return producto;
+    }
+
+    // Verifica que los eventos del mismo tipo y entidad se funden conservando el último y sumando repeticiones
+    @Test
+    void fundir_agrupaPorTipoYEntidad() {
+        LocalDateTime ahora = LocalDateTime.now();
+        List<EventoActividad> lote = FeedActividad.fundir(List.of(
+                new EventoActividad(Tipo.PRODUCTO_EDITADO, 1L, "primera", 1, ahora),
+                new EventoActividad(Tipo.CARRITO_AGREGADO, 1L, "carrito", 1, ahora),
+                new EventoActividad(Tipo.PRODUCTO_EDITADO, 1L, "segunda", 1, ahora.plusSeconds(1)),
+                new EventoActividad(Tipo.PRODUCTO_EDITADO, 2L, "otro", 1, ahora)));
+
+        assertEquals(3, lote.size());
+        assertEquals(Tipo.CARRITO_AGREGADO, lote.get(0).getTipo());
+        assertEquals("segunda", lote.get(1).getDescripcion());
+        assertEquals(2, lote.get(1).getRepeticiones());
+        assertEquals(2L, lote.get(2).getEntidadId());
+    }
+
+    // Verifica que sin paneles conectados los hechos no se encolan
+    @Test
+    void sinClientes_noEncola() {
+        feed.productoEditado(producto(1L));
+        feed.cruceStock(new AlertaStock(1, 1L, "Reactivo", 2, 5, AlertaStock.Tipo.BAJO, LocalDateTime.now()));
+
+        BufferAnillo<?> pendientes = (BufferAnillo<?>) ReflectionTestUtils.getField(feed, "pendientes");
+        assertEquals(0, pendientes.tamanio());
+    }
+
+    // Verifica que un cliente que no recibe conserva solo los lotes más recientes (se descartan los más antiguos)
+    @Test
+    void clienteLento_descartaLosLotesMasAntiguos() {
+        feed.suscribir();
+        for (int i = 0; i < 10; i++) {
+            feed.productoEditado(producto((long) i));
+            feed.publicar();
+        }
+
+        // Lote de conexión + 10 lotes en una cola de 4: se descartan 7 y el envío se programa una sola vez
+        assertEquals(7, feed.lotesDescartados());
+        verify(envioDetenido, times(1)).execute(any(Runnable.class));
+        assertEquals(1, feed.clientesConectados());
+    }
+
+    // Verifica que un ciclo sin eventos no genera lotes
+    @Test
+    void publicar_sinEventos_noDifunde() {
+        feed.suscribir();
+        feed.publicar();
+
+        assertEquals(0, feed.lotesDescartados());
+        assertEquals(0, feed.eventosDescartados());
+    }
+}
@@ -0,0 +1,123 @@
+package com.carrie.hazellabev2.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/* ================= Pruebas Unitarias para el Almacenamiento Local de Imágenes ================= */
+
+/**
+ * Pruebas unitarias para ImagenServiceImpl sobre un directorio temporal.
+ * Las imágenes de prueba se generan en memoria con ImageIO.
+ */
+class ImagenServiceImplTest {
+    @TempDir
+    Path directorio;
+
+    private ImagenServiceImpl imagenService;
+
+    @BeforeEach
+    void setUp() {
+        imagenService = new ImagenServiceImpl();
+        ReflectionTestUtils.setField(imagenService, "directorio", directorio.toString());
+        imagenService.iniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        imagenService.cerrar();
+    }
+
+    private static byte[] imagen(int ancho, int alto, String formato, boolean transparente) throws IOException {
+        BufferedImage imagen = new BufferedImage(ancho, alto,
+                transparente ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = imagen.createGraphics();
+        g.setColor(transparente ? new Color(255, 0, 0, 128) : Color.BLUE);
+        g.fillRect(0, 0, ancho / 2, alto);
+        g.dispose();
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        ImageIO.write(imagen, formato, salida);
+        return salida.toByteArray();
+    }
+
+    /* ================= ORIGINALES ================= */
+
+    @Test
+    void guardar_mismoContenido_reutilizaArchivoPorHash() throws IOException {
+        byte[] png = imagen(800, 600, "png", false);
+
+        String primero = imagenService.guardar(new ByteArrayInputStream(png));
+        String segundo = imagenService.guardar(new ByteArrayInputStream(png));
+
+        assertEquals(primero, segundo);
+        assertTrue(primero.matches("[0-9a-f]{64}\\.png"));
+        assertArrayEquals(png, Files.readAllBytes(imagenService.obtenerOriginal(primero)));
+        try (var archivos = Files.list(directorio.resolve("originales"))) {
+            assertEquals(1, archivos.count());
+        }
+    }
+
+    @Test
+    void guardar_detectaFormatoPorContenido() throws IOException {
+        String nombre = imagenService.guardar(new ByteArrayInputStream(imagen(100, 100, "jpeg", false)));
+
+        assertTrue(nombre.endsWith(".jpg"));
+    }
+
+    @Test
+    void guardar_archivoQueNoEsImagen_lanzaExcepcion() {
+        ByteArrayInputStream texto = new ByteArrayInputStream("no soy una imagen".getBytes(StandardCharsets.UTF_8));
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> imagenService.guardar(texto));
+        assertTrue(error.getMessage().contains("no es una imagen"));
+    }
+
+    @Test
+    void obtenerOriginal_nombreConRuta_lanzaExcepcion() {
+        assertThrows(RuntimeException.class, () -> imagenService.obtenerOriginal("../application.properties"));
+    }
+
+    /* ================= MINIATURAS ================= */
+
+    @Test
+    void obtenerVariante_generaJpegDelAnchoPermitidoYLaReutiliza() throws IOException {
+        String nombre = imagenService.guardar(new ByteArrayInputStream(imagen(1000, 500, "png", false)));
+
+        // 300 se ajusta al ancho permitido inmediatamente superior (320)
+        Path variante = imagenService.obtenerVariante(nombre, 300);
+        BufferedImage miniatura = ImageIO.read(variante.toFile());
+
+        assertTrue(variante.getFileName().toString().endsWith("-320.jpg"));
+        assertEquals(320, miniatura.getWidth());
+        assertEquals(160, miniatura.getHeight());
+        assertEquals(variante, imagenService.obtenerVariante(nombre, 320));
+    }
+
+    @Test
+    void obtenerVariante_conTransparencia_generaPngSinAmpliar() throws IOException {
+        String nombre = imagenService.guardar(new ByteArrayInputStream(imagen(120, 60, "png", true)));
+
+        Path variante = imagenService.obtenerVariante(nombre, 640);
+        BufferedImage miniatura = ImageIO.read(variante.toFile());
+
+        assertTrue(variante.getFileName().toString().endsWith("-640.png"));
+        assertEquals(120, miniatura.getWidth());
+        assertTrue(miniatura.getColorModel().hasAlpha());
+    }
+}
@@ -0,0 +1,154 @@
+package com.carrie.hazellabev2.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/* ================= Pruebas Unitarias para el Limitador de Login ================= */
+
+/**
+ * Pruebas unitarias para LimitadorLogin con la configuración por defecto (5 fallos por cuenta, 15 minutos).
+ * El tiempo se pasa explícitamente en nanosegundos para recorrer ventanas y bloqueos sin esperar.
+ */
+class LimitadorLoginTest {
+    private static final long MINUTO = TimeUnit.MINUTES.toNanos(1);
+    private static final long T0 = 1_000_000_000L;
+
+    private LimitadorLogin limitador;
+
+    @BeforeEach
+    void setUp() {
+        limitador = new LimitadorLogin();
+    }
+
+    // Un intento fallido tal como lo hace el controlador: primero se pide permiso, luego se registra el fallo
+    private long fallar(String email, String ip, long ahora) {
+        long espera = limitador.intentar(email, ip, ahora);
+        if (espera == 0) {
+            limitador.registrarFallo(email, ip, ahora);
+        }
+        return espera;
+    }
+
+    // Verifica que al llegar al máximo de fallos la cuenta queda bloqueada desde esa IP durante el bloqueo completo
+    @Test
+    void registrarFallo_alcanzaElMaximo_bloqueaLaCuentaDesdeEsaIp() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, fallar("ana@lab.cl", "10.0.0.1", T0));
+        }
+
+        long espera = limitador.intentar("ana@lab.cl", "10.0.0.1", T0 + MINUTO);
+        assertEquals(14 * 60, espera);
+        assertEquals(1L, limitador.estadisticas().get("bloqueosActivados"));
+
+        // Vencido el bloqueo vuelve a permitir
+        assertEquals(0, limitador.intentar("ana@lab.cl", "10.0.0.1", T0 + 15 * MINUTO + 1));
+    }
+
+    // Verifica que los fallos desde otra IP no dejan al dueño de la cuenta sin acceso
+    @Test
+    void registrarFallo_otraIp_noBloqueaAlDuenio() {
+        for (int i = 0; i < 5; i++) {
+            fallar("ana@lab.cl", "203.0.113.9", T0);
+        }
+
+        // Ni los tokens ni el bloqueo de la cuenta se comparten con la IP atacante
+        assertEquals(0, limitador.intentar("ana@lab.cl", "10.0.0.1", T0));
+        assertTrue(limitador.intentar("ana@lab.cl", "203.0.113.9", T0 + MINUTO) > 0);
+    }
+
+    // Verifica que agotar sostenidamente la cuota de una cuenta desde otra IP no deja al dueño con 429
+    @Test
+    void intentar_otraIpAgotaLaCuota_noRechazaAlDuenio() {
+        for (int minuto = 0; minuto < 10; minuto++) {
+            long ahora = T0 + minuto * MINUTO;
+            // El atacante gasta toda la recarga del minuto (sin registrar fallos, solo consumiendo intentos)
+            int permitidos = 0;
+            while (limitador.intentar("ana@lab.cl", "203.0.113.9", ahora) == 0) {
+                permitidos++;
+            }
+            assertEquals(5, permitidos);
+            assertEquals(0, limitador.intentar("ana@lab.cl", "10.0.0.1", ahora + 1));
+        }
+    }
+
+    // Verifica que los fallos viejos salen de la ventana deslizante y ya no cuentan para el bloqueo
+    @Test
+    void registrarFallo_ventanaVencida_noBloquea() {
+        for (int i = 0; i < 4; i++) {
+            fallar("ana@lab.cl", "10.0.0.1", T0);
+        }
+
+        // Pasadas dos ventanas (30 minutos) los cuatro fallos ya no pesan
+        assertEquals(0, fallar("ana@lab.cl", "10.0.0.1", T0 + 30 * MINUTO));
+        assertEquals(0, limitador.intentar("ana@lab.cl", "10.0.0.1", T0 + 31 * MINUTO));
+
+        // A mitad de la ventana siguiente los anteriores pesan la mitad: 4 * 0.5 + 2 < 5
+        for (int i = 0; i < 4; i++) {
+            fallar("beto@lab.cl", "10.0.0.2", T0);
+        }
+        fallar("beto@lab.cl", "10.0.0.2", T0 + 22 * MINUTO + MINUTO / 2);
+        fallar("beto@lab.cl", "10.0.0.2", T0 + 22 * MINUTO + MINUTO / 2);
+        assertEquals(0, limitador.intentar("beto@lab.cl", "10.0.0.2", T0 + 23 * MINUTO));
+        assertEquals(0L, limitador.estadisticas().get("bloqueosActivados"));
+    }
+
+    // Verifica que un login exitoso reinicia los fallos de la cuenta desde esa IP
+    @Test
+    void registrarExito_reiniciaLosFallos() {
+        for (int i = 0; i < 4; i++) {
+            fallar("ana@lab.cl", "10.0.0.1", T0);
+        }
+        limitador.registrarExito("Ana@Lab.cl ", "10.0.0.1");
+
+        assertEquals(0, fallar("ana@lab.cl", "10.0.0.1", T0 + MINUTO));
+        assertEquals(0, limitador.intentar("ana@lab.cl", "10.0.0.1", T0 + 2 * MINUTO));
+        assertEquals(0L, limitador.estadisticas().get("bloqueosActivados"));
+    }
+
+    // Verifica que intentos y fallos simultáneos no consumen de más ni activan bloqueos repetidos
+    @Test
+    void intentosConcurrentes_respetanLaCapacidadYBloqueanUnaVez() throws Exception {
+        int hilos = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(hilos);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger permitidos = new AtomicInteger();
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                tareas.add(pool.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < 10; i++) {
+                        // Todos desde la misma IP: el token bucket de la cuenta (5) es más chico que el de la IP (20)
+                        if (limitador.intentar("ana@lab.cl", "10.0.1.1", T0) == 0) {
+                            permitidos.incrementAndGet();
+                        }
+                        limitador.registrarFallo("ana@lab.cl", "10.0.2.1", T0);
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Capacidad de la cuenta desde una IP: 5 tokens en el mismo instante
+        assertEquals(5, permitidos.get());
+        // 80 fallos desde una IP: un bloqueo del par y uno de la IP (50 fallos), cada uno activado una sola vez
+        assertEquals(2L, limitador.estadisticas().get("bloqueosActivados"));
+    }
+}
@@ -0,0 +1,190 @@
+package com.carrie.hazellabev2.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.carrie.hazellabev2.entities.EventoCambio;
+import com.carrie.hazellabev2.entities.EventoCambio.Agregado;
+import com.carrie.hazellabev2.entities.EventoCambio.Tipo;
+import com.carrie.hazellabev2.entities.OutboxCheckpoint;
+import com.carrie.hazellabev2.repositories.EventoCambioRepository;
+import com.carrie.hazellabev2.repositories.OutboxCheckpointRepository;
+
+/* ================= Pruebas Unitarias para el Relé del Outbox ================= */
+
+/**
+ * Pruebas unitarias para OutboxRelay.
+ * La tabla de eventos se simula con una lista en memoria; los suscriptores son de prueba.
+ */
+class OutboxRelayTest {
+    @Mock
+    private EventoCambioRepository eventoCambioRepository;
+
+    @Mock
+    private OutboxCheckpointRepository checkpointRepository;
+
+    @InjectMocks
+    private OutboxRelay relay;
+
+    private final List<EventoCambio> tabla = new ArrayList<>();
+
+    // Suscriptor que registra lo recibido y puede fallar una vez a pedido
+    private static class SuscriptorPrueba implements SuscriptorCambios {
+        private final String nombre;
+        private final List<Long> recibidos = new ArrayList<>();
+        private boolean fallar;
+
+        SuscriptorPrueba(String nombre) {
+            this.nombre = nombre;
+        }
+
+        @Override
+        public String getNombre() {
+            return nombre;
+        }
+
+        @Override
+        public boolean interesa(EventoCambio evento) {
+            return evento.getAgregado() != Agregado.CATEGORIA;
+        }
+
+        @Override
+        public void procesar(List<EventoCambio> eventos) {
+            if (fallar) {
+                fallar = false;
+                throw new RuntimeException("Falla simulada");
+            }
+            eventos.forEach(e -> recibidos.add(e.getId()));
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(checkpointRepository.findById(any())).thenReturn(Optional.empty());
+        when(eventoCambioRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class))).thenAnswer(i -> {
+            long desde = i.getArgument(0);
+            int limite = ((Pageable) i.getArgument(1)).getPageSize();
+            return tabla.stream().filter(e -> e.getId() > desde).limit(limite).toList();
+        });
+        ReflectionTestUtils.setField(relay, "tamanioLote", 2);
+    }
+
+    private void evento(long id, Agregado agregado, LocalDateTime fecha) {
+        tabla.add(new EventoCambio(id, agregado, id * 100, Tipo.ACTUALIZADO, fecha));
+    }
+
+    // Verifica la entrega ordenada por lotes, el filtro por interés y el avance de cada punto de control
+    @Test
+    void despachar_entregaEnOrdenYAvanzaPuntoDeControl() {
+        SuscriptorPrueba suscriptor = new SuscriptorPrueba("prueba");
+        ReflectionTestUtils.setField(relay, "suscriptores", List.of(suscriptor));
+        LocalDateTime antiguo = LocalDateTime.now().minusMinutes(1);
+        evento(1, Agregado.PRODUCTO, antiguo);
+        evento(2, Agregado.CATEGORIA, antiguo);
+        evento(3, Agregado.BLOG, antiguo);
+
+        relay.despachar();
+
+        assertEquals(List.of(1L, 3L), suscriptor.recibidos);
+        assertEquals(3L, relay.estado().get("prueba"));
+        verify(checkpointRepository, times(2)).save(any(OutboxCheckpoint.class));
+        verify(eventoCambioRepository).eliminarHasta(3L);
+    }
+
+    // Verifica que un fallo no avanza el punto de control y el lote se reintenta (al menos una vez)
+    @Test
+    void despachar_fallo_reintentaElMismoLote() {
+        SuscriptorPrueba suscriptor = new SuscriptorPrueba("prueba");
+        suscriptor.fallar = true;
+        ReflectionTestUtils.setField(relay, "suscriptores", List.of(suscriptor));
+        evento(1, Agregado.PRODUCTO, LocalDateTime.now().minusMinutes(1));
+
+        relay.despachar();
+        assertTrue(suscriptor.recibidos.isEmpty());
+        assertEquals(0L, relay.estado().get("prueba"));
+        verify(eventoCambioRepository, never()).eliminarHasta(anyLong());
+
+        relay.despachar();
+        assertEquals(List.of(1L), suscriptor.recibidos);
+    }
+
+    // Verifica que un suscriptor atrasado retiene la limpieza de eventos que aún no recibe
+    @Test
+    void despachar_limpiezaHastaElSuscriptorMasAtrasado() {
+        SuscriptorPrueba rapido = new SuscriptorPrueba("rapido");
+        SuscriptorPrueba lento = new SuscriptorPrueba("lento");
+        lento.fallar = true;
+        ReflectionTestUtils.setField(relay, "suscriptores", List.of(rapido, lento));
+        evento(1, Agregado.BLOG, LocalDateTime.now().minusMinutes(1));
+
+        relay.despachar();
+
+        assertEquals(List.of(1L), rapido.recibidos);
+        verify(eventoCambioRepository, never()).eliminarHasta(anyLong());
+        relay.despachar();
+        verify(eventoCambioRepository).eliminarHasta(eq(1L));
+    }
+
+    // Verifica que un hueco detiene la entrega hasta que lleva abierto más que el margen, sin importar la fecha de los eventos
+    @Test
+    void hastaPrimerHueco_esperaTransaccionesSinConfirmar() {
+        LocalDateTime ahora = LocalDateTime.now();
+        // Eventos publicados hace minutos: su fecha no indica cuánto lleva abierto el hueco
+        List<EventoCambio> lote = List.of(
+                new EventoCambio(5L, Agregado.BLOG, 1L, Tipo.CREADO, ahora.minusMinutes(2)),
+                new EventoCambio(7L, Agregado.BLOG, 2L, Tipo.CREADO, ahora.minusMinutes(1)),
+                new EventoCambio(9L, Agregado.BLOG, 3L, Tipo.CREADO, ahora.minusMinutes(1)));
+
+        // Recién visto, el hueco del 6 detiene la entrega
+        assertEquals(1, relay.hastaPrimerHueco(lote, 4L, ahora).size());
+        assertEquals(1, relay.hastaPrimerHueco(lote, 4L, ahora.plusSeconds(4)).size());
+
+        // Pasado el margen se salta el 6; el hueco del 8 recién se ve y detiene la entrega
+        List<EventoCambio> entregables = relay.hastaPrimerHueco(lote, 4L, ahora.plusSeconds(6));
+        assertEquals(2, entregables.size());
+        assertEquals(7L, entregables.get(1).getId());
+
+        assertEquals(3, relay.hastaPrimerHueco(lote, 4L, ahora.plusSeconds(12)).size());
+    }
+
+    // Verifica que el evento de una transacción larga, con un ID anterior a eventos ya confirmados, no se pierde
+    @Test
+    void despachar_transaccionLarga_entregaElEventoDelHueco() {
+        SuscriptorPrueba suscriptor = new SuscriptorPrueba("prueba");
+        ReflectionTestUtils.setField(relay, "suscriptores", List.of(suscriptor));
+        ReflectionTestUtils.setField(relay, "tamanioLote", 10);
+        // El 2 se publicó hace un minuto en una transacción que todavía no se confirma; el 3 ya está confirmado
+        LocalDateTime publicado = LocalDateTime.now().minusMinutes(1);
+        evento(1, Agregado.BLOG, publicado);
+        evento(3, Agregado.BLOG, publicado);
+
+        relay.despachar();
+        assertEquals(List.of(1L), suscriptor.recibidos);
+
+        // La transacción larga se confirma antes de que el hueco supere el margen
+        tabla.add(1, new EventoCambio(2L, Agregado.BLOG, 200L, Tipo.ACTUALIZADO, publicado));
+        relay.despachar();
+
+        assertEquals(List.of(1L, 2L, 3L), suscriptor.recibidos);
+        // El hueco ya quedó atrás de todos los suscriptores y se olvida
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(relay, "huecos")).isEmpty());
+    }
+}
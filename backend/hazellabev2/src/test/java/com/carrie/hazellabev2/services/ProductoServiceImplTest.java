@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import java.sql.Date;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -16,7 +17,11 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import com.carrie.hazellabev2.entities.Categoria;
+import com.carrie.hazellabev2.entities.EventoCambio.Agregado;
+import com.carrie.hazellabev2.entities.EventoCambio.Tipo;
 import com.carrie.hazellabev2.entities.Producto;
+import com.carrie.hazellabev2.entities.RegistroAuditoria.Accion;
+import com.carrie.hazellabev2.entities.RegistroAuditoria.Entidad;
 import com.carrie.hazellabev2.repositories.ProductoRepository;
 
 /* ================= Pruebas Unitarias para Servicio de Productos ================= */
@@ -31,6 +36,26 @@ public class ProductoServiceImplTest {
     @Mock
     private ProductoRepository repository;
 
+    // Simula el modelo de lectura de categorías (conteo de productos por categoría)
+    @Mock
+    private CategoriaCatalogo categoriaCatalogo;
+
+    // Simula el outbox de cambios (en la aplicación se escribe en la misma transacción)
+    @Mock
+    private OutboxPublicador outbox;
+
+    // Simula el índice en memoria de vencimientos
+    @Mock
+    private AgendaVencimientos agendaVencimientos;
+
+    // Simula el registro de auditoría (en la aplicación escribe en segundo plano)
+    @Mock
+    private Auditoria auditoria;
+
+    // Simula el feed de actividad en vivo del panel
+    @Mock
+    private FeedActividad feedActividad;
+
     // Inyecta los mocks en el servicio real que se está probando
     @InjectMocks
     private ProductoServiceImpl service;
@@ -49,7 +74,7 @@ public class ProductoServiceImplTest {
         MockitoAnnotations.openMocks(this);
 
         // Crea categoría de prueba para asociar a los productos
-        categoria = new Categoria(1L, "Químicos", null);
+        categoria = new Categoria(1L, "Químicos", null, null);
 
         // Crea primer producto de prueba: producto químico con stock normal
         prod1 = new Producto(1L, "Ácido Clorhídrico", "Lote001", "Solución corrosiva", "HCL001",
@@ -79,6 +104,7 @@ public class ProductoServiceImplTest {
         assertNotNull(creado);
         assertEquals("Ácido Clorhídrico", creado.getName());
         verify(repository, times(1)).save(prod1);
+        verify(outbox).publicar(Agregado.PRODUCTO, 1L, Tipo.CREADO);
     }
 
     /* ================= PRUEBAS PARA OBTENCIÓN POR ID ================= */
@@ -108,6 +134,17 @@ public class ProductoServiceImplTest {
         assertEquals("Producto no encontrado.", ex.getMessage());
     }
 
+    // Verifica que la comprobación de existencia no carga la entidad
+    @Test
+    void existeNoCargaEntidadTest() {
+        when(repository.existsById(1L)).thenReturn(true);
+        when(repository.existsById(99L)).thenReturn(false);
+
+        assertTrue(service.existe(1L));
+        assertFalse(service.existe(99L));
+        verify(repository, never()).findById(any());
+    }
+
     /* ================= PRUEBAS PARA ACTUALIZACIÓN DE PRODUCTOS ================= */
 
     // Verifica actualización exitosa de producto existente con nuevos datos
@@ -128,30 +165,48 @@ public class ProductoServiceImplTest {
         verify(repository, times(1)).save(prod1);
     }
 
+    // Verifica que el cambio de categoría de un producto activo se refleja en los conteos del catálogo
+    @Test
+    void actualizarProductoCambiaCategoriaAjustaConteosTest() {
+        when(repository.findById(1L)).thenReturn(Optional.of(prod1));
+        when(repository.save(any(Producto.class))).thenAnswer(i -> i.getArgument(0));
+        Producto cambios = new Producto();
+        cambios.setName("Ácido Clorhídrico");
+        cambios.setCategory(new Categoria(2L, "Equipos", null, null));
+        cambios.setActiveStatus(true);
+
+        service.actualizar(1L, cambios);
+
+        verify(categoriaCatalogo).ajustarProducto(1L, true, 2L, true);
+    }
+
     /* ================= PRUEBAS PARA ELIMINACIÓN DE PRODUCTOS ================= */
 
     // Verifica eliminación exitosa de producto existente
     @Test
     void eliminarProductoExistenteTest() {
         // Configura repositorio para confirmar que producto existe
-        when(repository.existsById(1L)).thenReturn(true);
+        when(repository.findById(1L)).thenReturn(Optional.of(prod1));
 
         // Ejecuta eliminación
         service.eliminar(1L);
 
-        // Verifica que se llamó al método de eliminación con el ID correcto
+        // Verifica que se llamó al método de eliminación con el ID correcto y se descontó de su categoría
         verify(repository, times(1)).deleteById(1L);
+        verify(categoriaCatalogo).ajustarProducto(prod1, null);
+        verify(outbox).publicar(Agregado.PRODUCTO, 1L, Tipo.ELIMINADO);
     }
 
     // Verifica manejo de eliminación de producto no existente
     @Test
     void eliminarProductoNoExistenteTest() {
         // Configura repositorio para indicar que producto no existe
-        when(repository.existsById(99L)).thenReturn(false);
+        when(repository.findById(99L)).thenReturn(Optional.empty());
 
         // Verifica que lanza excepción con mensaje específico al intentar eliminar producto no existente
         RuntimeException ex = assertThrows(RuntimeException.class, () -> service.eliminar(99L));
         assertEquals("Producto no encontrado.", ex.getMessage());
+        verifyNoInteractions(outbox);
     }
 
     /* ================= PRUEBAS PARA GESTIÓN DE ESTADO ================= */
@@ -167,9 +222,10 @@ public class ProductoServiceImplTest {
         // Ejecuta desactivación
         Producto result = service.desactivar(1L);
 
-        // Verifica que el producto quedó inactivo
+        // Verifica que el producto quedó inactivo y que la desactivación quedó auditada
         assertFalse(result.getActiveStatus());
         verify(repository, times(1)).save(prod1);
+        verify(auditoria).registrar(eq(Entidad.PRODUCTO), eq(1L), eq(Accion.DESACTIVADO), any(), any());
     }
 
     // Verifica actualización exitosa de imagen de producto
@@ -247,21 +303,23 @@ public class ProductoServiceImplTest {
         verify(repository, times(1)).findByCategoryId(1L);
     }
 
-    // Verifica detección de productos con stock bajo (menor al stock mínimo)
+    // Verifica detección de productos con stock bajo (en o bajo su propio stock crítico)
     @Test
     void buscarProductosStockBajoTest() {
-        // Configura repositorio para retornar productos con stock menor a 5
-        List<Producto> productosStockBajo = List.of(prod2); // Centrífuga tiene stock = 3
-        when(repository.findByStockLessThan(5)).thenReturn(productosStockBajo);
+        // Configura repositorio para retornar productos marcados con stock bajo (stock <= stockCritico)
+        List<Producto> productosStockBajo = List.of(prod2); // Centrífuga tiene stock = 3 y stock crítico = 5
+        when(repository.findByStockBajoTrue()).thenReturn(productosStockBajo);
 
         // Ejecuta búsqueda de stock bajo
         List<Producto> response = service.buscarProductosStockBajo();
 
-        // Verificaciones: un producto retornado, nombre correcto, stock bajo confirmado
+        // Verificaciones: un producto retornado, nombre correcto, stock bajo su propio umbral
         assertEquals(1, response.size());
         assertEquals("Centrífuga", response.get(0).getName());
-        assertTrue(response.get(0).getStock() < 5);
-        verify(repository, times(1)).findByStockLessThan(5);
+        assertTrue(response.get(0).getStock() <= response.get(0).getStockCritico());
+        assertTrue(response.get(0).getStockBajo());
+        assertFalse(prod1.getStockBajo());
+        verify(repository, times(1)).findByStockBajoTrue();
     }
 
     // Verifica filtrado de productos por estado activo/inactivo
@@ -309,4 +367,19 @@ public class ProductoServiceImplTest {
         verify(repository, times(1))
                 .findByNameContainingIgnoreCaseAndActiveStatus("centrífuga", true);
     }
-}
\ No newline at end of file
+
+    // Verifica que los productos por vencer conservan el orden del índice y se leen solo por ID
+    @Test
+    void listarPorVencerTest() {
+        when(agendaVencimientos.vencenDentroDe(30)).thenReturn(List.of(
+                new AgendaVencimientos.Vencimiento(2L, Instant.parse("2025-03-12T00:00:00Z")),
+                new AgendaVencimientos.Vencimiento(1L, Instant.parse("2025-03-20T00:00:00Z"))));
+        when(repository.findAllById(List.of(2L, 1L))).thenReturn(List.of(prod1, prod2));
+
+        List<Producto> resultado = service.listarPorVencer(30);
+
+        assertEquals(List.of(prod2, prod1), resultado);
+        verify(repository, never()).findAll();
+        assertThrows(IllegalArgumentException.class, () -> service.listarPorVencer(-1));
+    }
+}
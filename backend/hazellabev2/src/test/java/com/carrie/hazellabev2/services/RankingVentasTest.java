@@ -0,0 +1,112 @@
+package com.carrie.hazellabev2.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.carrie.hazellabev2.entities.DetalleVenta;
+import com.carrie.hazellabev2.entities.Venta;
+import com.carrie.hazellabev2.repositories.DetalleVentaRepository;
+import com.carrie.hazellabev2.services.RankingVentas.Ventana;
+import com.carrie.hazellabev2.utils.RankingIncremental.Posicion;
+
+/* ================= Pruebas Unitarias para el Ranking de Más Vendidos ================= */
+
+/**
+ * Pruebas unitarias para RankingVentas.
+ * La carga inicial se simula con Mockito y el cambio de día con un reloj fijo reemplazable.
+ */
+class RankingVentasTest {
+    @Mock
+    private DetalleVentaRepository detalleVentaRepository;
+
+    @InjectMocks
+    private RankingVentas ranking;
+
+    private static final LocalDate HOY = LocalDate.of(2025, 3, 10);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        fijarFecha(HOY);
+        // Histórico: producto 1 con 50 unidades, 2 con 30; en la semana: 2 vendió 8 hace 3 días y 1 vendió 2 hoy
+        when(detalleVentaRepository.sumarUnidadesPorProducto())
+                .thenReturn(List.<Object[]>of(new Object[] { 1L, 50L }, new Object[] { 2L, 30L }));
+        when(detalleVentaRepository.listarLineasDesde(any())).thenReturn(List.<Object[]>of(
+                new Object[] { 2L, 8, HOY.minusDays(3).atTime(12, 0) },
+                new Object[] { 1L, 2, HOY.atTime(9, 0) }));
+        ranking.cargar();
+    }
+
+    private void fijarFecha(LocalDate fecha) {
+        ReflectionTestUtils.setField(ranking, "reloj",
+                Clock.fixed(fecha.atTime(10, 0).toInstant(ZoneOffset.UTC), ZoneId.of("UTC")));
+    }
+
+    private static Venta venta(LocalDateTime fecha, long productoId, int cantidad) {
+        Venta venta = new Venta();
+        venta.setFecha(fecha);
+        venta.getDetalles().add(new DetalleVenta(null, venta, productoId, "P" + productoId, cantidad, 1000));
+        return venta;
+    }
+
+    private static List<Long> claves(List<Posicion> posiciones) {
+        return posiciones.stream().map(Posicion::clave).toList();
+    }
+
+    // Verifica que la carga inicial arma cada ventana con sus propios totales
+    @Test
+    void cargar_armaLasTresVentanas() {
+        assertEquals(List.of(1L, 2L), claves(ranking.primeros(Ventana.HISTORICO, 5)));
+        assertEquals(List.of(2L, 1L), claves(ranking.primeros(Ventana.SEMANA, 5)));
+        assertEquals(List.of(new Posicion(1L, 2L)), ranking.primeros(Ventana.DIA, 5));
+    }
+
+    // Verifica que una venta nueva sube en todas las ventanas y que el límite recorta el resultado
+    @Test
+    void registrar_actualizaRankingSinConsultar() {
+        ranking.registrar(venta(HOY.atTime(11, 0), 3L, 60));
+
+        assertEquals(List.of(new Posicion(3L, 60L)), ranking.primeros(Ventana.HISTORICO, 1));
+        assertEquals(3L, ranking.primeros(Ventana.SEMANA, 3).get(0).clave());
+        assertEquals(List.of(3L, 1L), claves(ranking.primeros(Ventana.DIA, 5)));
+        verify(detalleVentaRepository, times(1)).sumarUnidadesPorProducto();
+    }
+
+    // Verifica que al pasar los días se reinicia el día y los días antiguos salen de la semana
+    @Test
+    void primeros_cambioDeDia_desplazaLasVentanas() {
+        fijarFecha(HOY.plusDays(1));
+        assertTrue(ranking.primeros(Ventana.DIA, 5).isEmpty());
+        assertEquals(List.of(2L, 1L), claves(ranking.primeros(Ventana.SEMANA, 5)));
+
+        // La venta de hace 3 días sale de la ventana de 7 días; la de hoy sigue dentro
+        fijarFecha(HOY.plusDays(4));
+        assertEquals(List.of(new Posicion(1L, 2L)), ranking.primeros(Ventana.SEMANA, 5));
+        assertEquals(2, ranking.primeros(Ventana.HISTORICO, 5).size());
+    }
+
+    // Verifica que una venta con fecha de ayer (confirmada tras la medianoche) no cuenta para el día
+    @Test
+    void aplicar_ventaDelDiaAnterior_soloSemanaEHistorico() {
+        ranking.aplicar(HOY.minusDays(1), Map.of(4L, 5L));
+
+        assertEquals(5L, ranking.primeros(Ventana.SEMANA, 5).stream().filter(p -> p.clave() == 4L).findFirst().orElseThrow().total());
+        assertFalse(claves(ranking.primeros(Ventana.DIA, 5)).contains(4L));
+    }
+}
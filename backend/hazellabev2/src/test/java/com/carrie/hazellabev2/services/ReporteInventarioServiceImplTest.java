@@ -0,0 +1,122 @@
+package com.carrie.hazellabev2.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.StringWriter;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.carrie.hazellabev2.dto.LineaValoracion;
+import com.carrie.hazellabev2.dto.ReporteValoracion;
+import com.carrie.hazellabev2.repositories.ProductoRepository;
+
+/* ================= Pruebas Unitarias para Reportes de Inventario ================= */
+
+/**
+ * Pruebas unitarias para ReporteInventarioServiceImpl.
+ * El cursor de productos se simula con un Stream; lotes pequeños fuerzan varias sumas parciales en el pool.
+ */
+class ReporteInventarioServiceImplTest {
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @InjectMocks
+    private ReporteInventarioServiceImpl service;
+
+    private static final Instant AHORA = Instant.parse("2025-03-10T10:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(service, "reloj", Clock.fixed(AHORA, ZoneId.of("UTC")));
+        ReflectionTestUtils.setField(service, "tamanioLote", 700);
+        service.iniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.cerrar();
+    }
+
+    private static Object[] fila(Long categoriaId, String categoria, String proveedor, int costo, int stock, Instant vence) {
+        return new Object[] { categoriaId, categoria, proveedor, costo, stock, vence == null ? null : Date.from(vence) };
+    }
+
+    private static LineaValoracion grupo(List<LineaValoracion> lineas, String nombre) {
+        return lineas.stream().filter(l -> l.getGrupo().equals(nombre)).findFirst().orElseThrow();
+    }
+
+    // Verifica totales y agrupaciones sobre varios lotes (sumas parciales combinadas al final)
+    @Test
+    void generarValoracion_combinaSumasParcialesDeVariosLotes() {
+        List<Object[]> filas = new ArrayList<>();
+        // 3000 reactivos (categoría 1, proveedor A): costo 100, stock 2 -> 600.000
+        for (int i = 0; i < 3000; i++) {
+            filas.add(fila(1L, "Reactivos", "Prov A", 100, 2, null));
+        }
+        // 1000 equipos (categoría 2, proveedor B): costo 1000, stock 1 -> 1.000.000
+        for (int i = 0; i < 1000; i++) {
+            filas.add(fila(2L, "Equipos", " Prov B ", 1000, 1, null));
+        }
+        when(productoRepository.recorrerValoracion()).thenReturn(filas.stream());
+
+        ReporteValoracion reporte = service.generarValoracion();
+
+        assertEquals(4000, reporte.getProductos());
+        assertEquals(7000, reporte.getUnidades());
+        assertEquals(1_600_000, reporte.getValorTotal());
+        assertEquals("Equipos", reporte.getPorCategoria().get(0).getGrupo());
+        assertEquals(3000, grupo(reporte.getPorCategoria(), "Reactivos").getProductos());
+        assertEquals(600_000, grupo(reporte.getPorProveedor(), "Prov A").getValor());
+        assertEquals(1_000_000, grupo(reporte.getPorProveedor(), "Prov B").getValor());
+    }
+
+    // Verifica los tramos de valor en riesgo por vencimiento y los grupos sin categoría ni proveedor
+    @Test
+    void generarValoracion_tramosDeVencimiento() {
+        long dia = 86_400;
+        when(productoRepository.recorrerValoracion()).thenReturn(Stream.of(
+                fila(1L, "Reactivos", "P", 10, 1, AHORA.minusSeconds(dia)),
+                fila(1L, "Reactivos", "P", 20, 1, AHORA.plusSeconds(10 * dia)),
+                fila(1L, "Reactivos", "P", 30, 1, AHORA.plusSeconds(45 * dia)),
+                fila(1L, "Reactivos", "P", 40, 1, AHORA.plusSeconds(80 * dia)),
+                fila(null, null, "", 50, 1, AHORA.plusSeconds(200 * dia))));
+
+        ReporteValoracion reporte = service.generarValoracion();
+
+        assertEquals(List.of(10L, 20L, 30L, 40L), reporte.getEnRiesgo().stream().map(LineaValoracion::getValor).toList());
+        assertEquals(50, grupo(reporte.getPorCategoria(), ReporteInventarioServiceImpl.SIN_CATEGORIA).getValor());
+        assertEquals(50, grupo(reporte.getPorProveedor(), ReporteInventarioServiceImpl.SIN_PROVEEDOR).getValor());
+    }
+
+    // Verifica el CSV: cabecera, total y campos escapados
+    @Test
+    void escribirValoracionCsv_escribeFilasEscapadas() throws Exception {
+        when(productoRepository.recorrerValoracion()).thenReturn(Stream.<Object[]>of(
+                fila(1L, "Ácidos, bases", "=Prov", 100, 3, null)));
+        StringWriter salida = new StringWriter();
+
+        service.escribirValoracionCsv(service.generarValoracion(), salida);
+
+        String[] lineas = salida.toString().split("\r\n");
+        assertEquals("seccion,grupo,productos,unidades,valor", lineas[0]);
+        assertEquals("total,Inventario,1,3,300", lineas[1]);
+        assertEquals("categoria,\"Ácidos, bases\",1,3,300", lineas[2]);
+        assertEquals("proveedor,'=Prov,1,3,300", lineas[3]);
+        assertEquals("vencimiento,vencido,0,0,0", lineas[4]);
+    }
+}
@@ -0,0 +1,186 @@
+package com.carrie.hazellabev2.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.carrie.hazellabev2.dto.ResultadoReconstruccion;
+import com.carrie.hazellabev2.dto.ResumenDiario;
+import com.carrie.hazellabev2.entities.DetalleVenta;
+import com.carrie.hazellabev2.entities.EventoCambio;
+import com.carrie.hazellabev2.entities.EventoCambio.Agregado;
+import com.carrie.hazellabev2.entities.EventoCambio.Tipo;
+import com.carrie.hazellabev2.entities.ResumenDiarioCategoria;
+import com.carrie.hazellabev2.entities.ResumenDiarioProducto;
+import com.carrie.hazellabev2.entities.Venta;
+import com.carrie.hazellabev2.repositories.DetalleVentaRepository;
+import com.carrie.hazellabev2.repositories.ProductoRepository;
+import com.carrie.hazellabev2.repositories.ResumenDiarioCategoriaRepository;
+import com.carrie.hazellabev2.repositories.ResumenDiarioProductoRepository;
+import com.carrie.hazellabev2.repositories.VentaRepository;
+
+/* ================= Pruebas Unitarias para Servicio de Resúmenes Diarios ================= */
+
+/**
+ * Pruebas unitarias para ResumenDiarioServiceImpl.
+ * Los repositorios y el gestor de transacciones se simulan con Mockito.
+ */
+class ResumenDiarioServiceImplTest {
+    @Mock
+    private ResumenDiarioProductoRepository resumenProductoRepository;
+
+    @Mock
+    private ResumenDiarioCategoriaRepository resumenCategoriaRepository;
+
+    @Mock
+    private VentaRepository ventaRepository;
+
+    @Mock
+    private DetalleVentaRepository detalleVentaRepository;
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ResumenDiarioServiceImpl service;
+
+    private final LocalDate hoy = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(service, "hilos", 2);
+        service.iniciar();
+        when(resumenProductoRepository.existsByFecha(any())).thenReturn(true);
+        when(resumenProductoRepository.findByFechaAndProductoId(any(), any())).thenReturn(Optional.empty());
+        when(resumenProductoRepository.sumarPorCategoria(any())).thenReturn(List.of());
+        when(resumenCategoriaRepository.findByFecha(any())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.cerrar();
+    }
+
+    private Venta venta(long id, boolean resumida) {
+        Venta venta = new Venta();
+        venta.setId(id);
+        venta.setFecha(hoy.atTime(10, 0));
+        venta.setResumida(resumida);
+        venta.getDetalles().add(new DetalleVenta(null, venta, 1L, "Reactivo", 3, 2000));
+        return venta;
+    }
+
+    // Verifica que una venta suma unidades e ingresos una sola vez y queda marcada como resumida
+    @Test
+    void procesar_venta_sumaYMarcaResumida() {
+        Venta venta = venta(5L, false);
+        when(ventaRepository.findById(5L)).thenReturn(Optional.of(venta));
+        EventoCambio evento = new EventoCambio(1L, Agregado.VENTA, 5L, Tipo.CREADO, LocalDateTime.now());
+
+        service.procesar(List.of(evento));
+        service.procesar(List.of(evento));
+
+        ArgumentCaptor<ResumenDiarioProducto> fila = ArgumentCaptor.forClass(ResumenDiarioProducto.class);
+        verify(resumenProductoRepository, times(1)).save(fila.capture());
+        assertEquals(3, fila.getValue().getUnidades());
+        assertEquals(6000, fila.getValue().getIngresos());
+        assertTrue(venta.isResumida());
+        verify(resumenProductoRepository, atLeastOnce()).sumarPorCategoria(hoy);
+    }
+
+    // Verifica que la categoría del día se recalcula desde las filas de producto y se eliminan las que quedaron vacías
+    @Test
+    void procesar_recalculaCategoriasDelDia() {
+        when(productoRepository.findById(1L)).thenReturn(Optional.empty());
+        when(resumenProductoRepository.sumarPorCategoria(hoy)).thenReturn(List.<Object[]>of(new Object[] { 7L, 4L, 800L, 25L }));
+        ResumenDiarioCategoria vacia = new ResumenDiarioCategoria(9L, hoy, 8L, 1, 100, 3);
+        when(resumenCategoriaRepository.findByFecha(hoy)).thenReturn(new ArrayList<>(List.of(vacia)));
+
+        service.procesar(List.of(new EventoCambio(2L, Agregado.PRODUCTO, 1L, Tipo.ELIMINADO, LocalDateTime.now())));
+
+        ArgumentCaptor<ResumenDiarioProducto> producto = ArgumentCaptor.forClass(ResumenDiarioProducto.class);
+        verify(resumenProductoRepository).save(producto.capture());
+        assertEquals(0, producto.getValue().getStock());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ResumenDiarioCategoria>> categorias = ArgumentCaptor.forClass(List.class);
+        verify(resumenCategoriaRepository).saveAll(categorias.capture());
+        assertEquals(25, categorias.getValue().get(0).getStock());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Iterable<ResumenDiarioCategoria>> eliminadas = ArgumentCaptor.forClass(Iterable.class);
+        verify(resumenCategoriaRepository).deleteAll(eliminadas.capture());
+        assertEquals(List.of(vacia), List.copyOf((Collection<ResumenDiarioCategoria>) eliminadas.getValue()));
+    }
+
+    // Verifica que al abrir un día sin filas se registra el stock de todos los productos
+    @Test
+    void abrirDiaActual_registraStockDeTodos() {
+        when(resumenProductoRepository.existsByFecha(hoy)).thenReturn(false);
+        when(productoRepository.listarStockPorProducto())
+                .thenReturn(List.<Object[]>of(new Object[] { 1L, 7L, 12 }, new Object[] { 2L, null, 4 }));
+
+        service.abrirDiaActual();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ResumenDiarioProducto>> filas = ArgumentCaptor.forClass(List.class);
+        verify(resumenProductoRepository).saveAll(filas.capture());
+        assertEquals(2, filas.getValue().size());
+        assertEquals(12, filas.getValue().get(0).getStock());
+    }
+
+    // Verifica que la reconstrucción divide el rango en bloques y suma desde las ventas marcadas
+    @Test
+    void reconstruir_procesaPorBloques() {
+        ReflectionTestUtils.setField(service, "diasPorBloque", 7);
+        LocalDate desde = hoy.minusDays(19);
+        when(productoRepository.listarStockPorProducto()).thenReturn(List.<Object[]>of(new Object[] { 1L, 7L, 12 }));
+        when(resumenProductoRepository.findByFecha(any())).thenReturn(List.of());
+        when(detalleVentaRepository.sumarResumidasPorProducto(hoy.atStartOfDay(), hoy.plusDays(1).atStartOfDay()))
+                .thenReturn(List.<Object[]>of(new Object[] { 1L, 5L, 10_000L }));
+        when(detalleVentaRepository.sumarResumidasPorProducto(desde.atStartOfDay(), desde.plusDays(1).atStartOfDay()))
+                .thenReturn(List.<Object[]>of(new Object[] { 1L, 2L, 4_000L }));
+
+        ResultadoReconstruccion resultado = service.reconstruir(desde, hoy);
+
+        assertEquals(20, resultado.getDias());
+        assertEquals(3, resultado.getBloques());
+        assertEquals(2, resultado.getFilasProducto());
+        verify(ventaRepository, times(3)).marcarResumidas(any(), any());
+        verify(resumenProductoRepository).reiniciarVentas(hoy.minusDays(5), hoy);
+        verify(resumenProductoRepository, times(20)).saveAll(anyList());
+    }
+
+    // Verifica la validación del rango y la conversión de los totales por día
+    @Test
+    void listarTotales_validaRangoYConvierte() {
+        when(resumenProductoRepository.sumarPorDia(hoy, hoy)).thenReturn(List.<Object[]>of(new Object[] { hoy, 3L, 6000L, null }));
+
+        List<ResumenDiario> serie = service.listarTotales(hoy, hoy);
+
+        assertEquals(6000, serie.get(0).getIngresos());
+        assertNull(serie.get(0).getStock());
+        assertThrows(IllegalArgumentException.class, () -> service.listarTotales(hoy, hoy.minusDays(1)));
+        assertThrows(IllegalArgumentException.class, () -> service.listarTotales(hoy.minusDays(400), hoy));
+    }
+}
@@ -0,0 +1,120 @@
+package com.carrie.hazellabev2.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.carrie.hazellabev2.dto.ResultadoImportacion;
+import com.carrie.hazellabev2.repositories.UsuarioRepository;
+
+/* ================= Pruebas Unitarias para Importación Masiva de Usuarios ================= */
+
+/**
+ * Pruebas unitarias para UsuarioImportacionServiceImpl.
+ * No requiere base de datos: el repositorio, el codificador y el gestor de transacciones son simulados.
+ */
+class UsuarioImportacionServiceImplTest {
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private UsuarioUnicidadFiltro unicidadFiltro;
+
+    // Gestor de transacciones simulado: TransactionTemplate ejecuta el callback sobre él sin base de datos
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private UsuarioImportacionServiceImpl importacionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(passwordEncoder.encode(any())).thenAnswer(i -> "enc-" + i.getArgument(0));
+        when(usuarioRepository.saveAll(any())).thenAnswer(i -> i.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        importacionService.cerrar();
+    }
+
+    private static ByteArrayInputStream archivo(String contenido) {
+        return new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Verifica que un CSV válido se importa completo, encriptando cada contraseña
+    @Test
+    void testImportarCsv_Exitoso() {
+        String csv = "username,email,rut,password\n"
+                + "ana,ana@duoc.cl,11.111.111-1,clave1\n"
+                + "\"Pérez, Juan\",juan@gmail.com,22.222.222-2,clave2\n";
+
+        ResultadoImportacion resultado = importacionService.importarCsv(archivo(csv));
+
+        assertEquals(2, resultado.getFilasProcesadas());
+        assertEquals(2, resultado.getImportados());
+        assertTrue(resultado.getErrores().isEmpty());
+        verify(passwordEncoder, times(2)).encode(any());
+        verify(unicidadFiltro).registrar("juan@gmail.com", "22.222.222-2");
+    }
+
+    // Verifica que las filas inválidas se reportan con su número de línea sin abortar el resto
+    @Test
+    void testImportarCsv_ErroresPorFila() {
+        String csv = "email,rut,password\n"
+                + "ana@duoc.cl,11.111.111-1,clave1\n"
+                + "malo@otro.com,22.222.222-2,clave2\n"
+                + "ana@duoc.cl,33.333.333-3,clave3\n"
+                + "sin.clave@duoc.cl,44.444.444-4,\n";
+
+        ResultadoImportacion resultado = importacionService.importarCsv(archivo(csv));
+
+        assertEquals(4, resultado.getFilasProcesadas());
+        assertEquals(1, resultado.getImportados());
+        assertEquals(List.of(3L, 4L, 5L), resultado.getErrores().stream().map(ResultadoImportacion.ErrorFila::getFila).toList());
+        verify(passwordEncoder, times(1)).encode(any());
+    }
+
+    // Verifica que los emails ya registrados se detectan con una consulta por lote y no se encriptan
+    @Test
+    void testImportarNdjson_EmailExistenteRechazado() {
+        when(unicidadFiltro.podriaExistirEmail("ana@duoc.cl")).thenReturn(true);
+        when(usuarioRepository.findEmailsExistentes(anyCollection())).thenReturn(List.of("ana@duoc.cl"));
+        String ndjson = "{\"email\":\"ana@duoc.cl\",\"rut\":\"11.111.111-1\",\"password\":\"x\"}\n"
+                + "{\"email\":\"beto@duoc.cl\",\"rut\":\"22.222.222-2\",\"password\":\"y\"}\n"
+                + "{no es json}\n";
+
+        ResultadoImportacion resultado = importacionService.importarNdjson(archivo(ndjson));
+
+        assertEquals(3, resultado.getFilasProcesadas());
+        assertEquals(1, resultado.getImportados());
+        assertEquals(2, resultado.getErrores().size());
+        assertTrue(resultado.getErrores().get(0).getMensaje().contains("JSON inválido"));
+        assertTrue(resultado.getErrores().get(1).getMensaje().contains("correo ya está registrado"));
+        verify(passwordEncoder, times(1)).encode(any());
+    }
+
+    // Verifica que una cabecera sin columnas obligatorias se rechaza
+    @Test
+    void testImportarCsv_CabeceraInvalida_LanzaExcepcion() {
+        assertThrows(RuntimeException.class, () -> importacionService.importarCsv(archivo("nombre,apellido\n")));
+    }
+}
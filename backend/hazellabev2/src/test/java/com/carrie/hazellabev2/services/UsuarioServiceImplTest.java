@@ -1,5 +1,6 @@
 package com.carrie.hazellabev2.services;
 
+import com.carrie.hazellabev2.dto.UsuarioResumen;
 import com.carrie.hazellabev2.entities.Usuario;
 import com.carrie.hazellabev2.repositories.UsuarioRepository;
 
@@ -8,6 +9,10 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
@@ -36,6 +41,18 @@ class UsuarioServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    // Simula el filtro de unicidad en memoria (por defecto responde "definitivamente nuevo")
+    @Mock
+    private UsuarioUnicidadFiltro unicidadFiltro;
+
+    // Simula el registro de auditoría (en la aplicación escribe en segundo plano)
+    @Mock
+    private Auditoria auditoria;
+
+    // Simula el feed de actividad en vivo del panel
+    @Mock
+    private FeedActividad feedActividad;
+
     // Inyecta los mocks en el servicio real que se está probando
     @InjectMocks
     private UsuarioServiceImpl usuarioService;
@@ -58,7 +75,7 @@ class UsuarioServiceImplTest {
         usuario.setApellidos("hazel");
         usuario.setEmail("test@gmail.com");
         usuario.setPassword("1234");
-        usuario.setRut("12345678-9");
+        usuario.setRut("12345678-5");
         usuario.setRole("cliente");
         usuario.setStatus("activo");
         usuario.setCreatedAt(LocalDateTime.now());
@@ -106,6 +123,68 @@ class UsuarioServiceImplTest {
         assertTrue(ex.getMessage().contains("correo"));
     }
 
+    // Verifica que un email nuevo según el filtro no genera consultas de unicidad a la base de datos
+    @Test
+    void testCrearUsuario_FiltroDescartaDuplicado_NoConsultaRepositorio() {
+        when(passwordEncoder.encode(any())).thenReturn("encrypted1234");
+        when(usuarioRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        usuarioService.crear(usuario);
+
+        // El filtro respondió "definitivamente nuevo": no se consulta por email ni RUT y se registra el alta
+        verify(usuarioRepository, never()).findByEmail(any());
+        verify(usuarioRepository, never()).existsByRutNumero(any());
+        verify(unicidadFiltro).registrar("test@gmail.com", "12.345.678-5");
+    }
+
+    // Verifica que un email duplicado se rechaza antes de encriptar la contraseña
+    @Test
+    void testCrearUsuario_EmailDuplicado_LanzaExcepcionSinEncriptar() {
+        when(unicidadFiltro.podriaExistirEmail("test@gmail.com")).thenReturn(true);
+        when(usuarioRepository.findByEmail("test@gmail.com")).thenReturn(Optional.of(new Usuario()));
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> usuarioService.crear(usuario));
+        assertTrue(ex.getMessage().contains("correo ya está registrado"));
+        verify(passwordEncoder, never()).encode(any());
+        verify(usuarioRepository, never()).save(any());
+    }
+
+    // Verifica que un RUT duplicado se rechaza antes de encriptar la contraseña
+    @Test
+    void testCrearUsuario_RutDuplicado_LanzaExcepcionSinEncriptar() {
+        when(unicidadFiltro.podriaExistirRut("12.345.678-5")).thenReturn(true);
+        when(usuarioRepository.existsByRutNumero(12345678)).thenReturn(true);
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> usuarioService.crear(usuario));
+        assertTrue(ex.getMessage().contains("RUT ya está registrado"));
+        verify(passwordEncoder, never()).encode(any());
+    }
+
+    // Verifica que un RUT con dígito verificador incorrecto se rechaza en memoria, sin consultar la base de datos
+    @Test
+    void testCrearUsuario_RutDigitoVerificadorInvalido_LanzaExcepcion() {
+        usuario.setRut("12.345.678-9");
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> usuarioService.crear(usuario));
+        assertTrue(ex.getMessage().contains("dígito verificador"));
+        verify(usuarioRepository, never()).existsByRutNumero(any());
+        verify(usuarioRepository, never()).save(any());
+    }
+
+    // Verifica que el RUT se guarda formateado junto a su clave canónica sin importar el formato de entrada
+    @Test
+    void testCrearUsuario_RutSeNormaliza() {
+        usuario.setRut("123456785");
+        when(passwordEncoder.encode(any())).thenReturn("encrypted1234");
+        when(usuarioRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        Usuario result = usuarioService.crear(usuario);
+
+        assertEquals("12.345.678-5", result.getRut());
+        assertEquals(12345678, result.getRutNumero());
+        assertEquals('5', result.getRutDv());
+    }
+
     /* ================= PRUEBAS PARA OBTENCIÓN POR ID ================= */
 
     // Verifica recuperación exitosa de usuario existente por su ID
@@ -143,7 +222,7 @@ class UsuarioServiceImplTest {
         nuevo.setUsername("nuevoUser");
         nuevo.setPassword("nuevaPass");
         nuevo.setEmail("nuevo@gmail.com");
-        nuevo.setRut("87654321-0");
+        nuevo.setRut("87654321-4");
         nuevo.setRole("admin");
         nuevo.setStatus("activo");
 
@@ -173,18 +252,19 @@ class UsuarioServiceImplTest {
     @Test
     void testEliminarUsuario_Exitoso() {
         // Configura repositorio para confirmar que usuario existe
-        when(usuarioRepository.existsById(1L)).thenReturn(true);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
         // Ejecuta eliminación
         usuarioService.eliminar(1L);
-        // Verifica que se llamó al método de eliminación con el ID correcto
+        // Verifica que se llamó al método de eliminación con el ID correcto y se retiró del filtro de unicidad
         verify(usuarioRepository).deleteById(1L);
+        verify(unicidadFiltro).remover("test@gmail.com", "12345678-5");
     }
 
     // Verifica manejo de eliminación de usuario no existente
     @Test
     void testEliminarUsuario_NoExistente_LanzaExcepcion() {
         // Configura repositorio para indicar que usuario no existe
-        when(usuarioRepository.existsById(anyLong())).thenReturn(false);
+        when(usuarioRepository.findById(anyLong())).thenReturn(Optional.empty());
         // Verifica que lanza excepción al intentar eliminar usuario no existente
         assertThrows(RuntimeException.class, () -> usuarioService.eliminar(99L));
     }
@@ -264,4 +344,29 @@ class UsuarioServiceImplTest {
         // Verifica que retorna exactamente un usuario
         assertEquals(1, result.size());
     }
-}
\ No newline at end of file
+
+    /* ================= PRUEBAS PARA LISTADO RESUMIDO ================= */
+
+    // Verifica que el listado usa la proyección paginada del repositorio ordenada por ID
+    @Test
+    void testListarResumen_UsaProyeccionPaginada() {
+        UsuarioResumen resumen = new UsuarioResumen(1L, "carrie", "hazel", "12345678-9", "test@gmail.com",
+                "2000-01-01", "cliente", "activo", "RM", "Santiago", LocalDateTime.now(), 2L);
+        when(usuarioRepository.findAllResumen(PageRequest.of(0, 20, Sort.by("id"))))
+                .thenReturn(new PageImpl<>(Arrays.asList(resumen)));
+
+        Page<UsuarioResumen> result = usuarioService.listarResumen(0, 20);
+
+        // Verifica contenido y que nunca se cargan las entidades completas
+        assertEquals(1, result.getContent().size());
+        assertEquals(2L, result.getContent().get(0).getCantidadItemsCarrito());
+        verify(usuarioRepository, never()).findAll();
+    }
+
+    // Verifica que parámetros de paginación inválidos se rechazan
+    @Test
+    void testListarResumen_PaginacionInvalida_LanzaExcepcion() {
+        assertThrows(RuntimeException.class, () -> usuarioService.listarResumen(-1, 20));
+        assertThrows(RuntimeException.class, () -> usuarioService.listarResumen(0, 0));
+    }
+}
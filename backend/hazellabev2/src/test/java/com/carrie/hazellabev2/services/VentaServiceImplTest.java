@@ -0,0 +1,115 @@
+package com.carrie.hazellabev2.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.carrie.hazellabev2.entities.EventoCambio.Agregado;
+import com.carrie.hazellabev2.entities.EventoCambio.Tipo;
+import com.carrie.hazellabev2.entities.ItemCarrito;
+import com.carrie.hazellabev2.entities.Producto;
+import com.carrie.hazellabev2.entities.Venta;
+import com.carrie.hazellabev2.repositories.ItemCarritoRepository;
+import com.carrie.hazellabev2.repositories.ProductoRepository;
+import com.carrie.hazellabev2.repositories.VentaRepository;
+
+/* ================= Pruebas Unitarias para Servicio de Ventas ================= */
+
+/**
+ * Pruebas unitarias para VentaServiceImpl.
+ * Los repositorios, el outbox y el ranking se simulan con Mockito.
+ */
+public class VentaServiceImplTest {
+    @Mock
+    private VentaRepository ventaRepository;
+
+    @Mock
+    private ItemCarritoRepository itemCarritoRepository;
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private RankingVentas rankingVentas;
+
+    @Mock
+    private OutboxPublicador outbox;
+
+    @InjectMocks
+    private VentaServiceImpl service;
+
+    private List<ItemCarrito> carrito;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Producto reactivo = new Producto(1L, "Reactivo", "B1", "desc", "R-1", null, null, 5000, 10, 2, "Prov", null, null, true, null, false);
+        Producto matraz = new Producto(2L, "Matraz", "B2", "desc", "M-2", null, null, 2000, 4, 1, "Prov", null, null, true, null, false);
+        // Carrito desordenado a propósito: los productos se bloquean en orden de ID
+        carrito = List.of(new ItemCarrito(11L, 3, matraz, null), new ItemCarrito(10L, 2, reactivo, null));
+        when(itemCarritoRepository.findByUsuarioId(7L)).thenReturn(carrito);
+        when(productoRepository.bloquearPorId(1L)).thenReturn(Optional.of(reactivo));
+        when(productoRepository.bloquearPorId(2L)).thenReturn(Optional.of(matraz));
+        when(ventaRepository.save(any(Venta.class))).thenAnswer(i -> {
+            Venta venta = i.getArgument(0);
+            venta.setId(100L);
+            return venta;
+        });
+    }
+
+    // Verifica que la compra arma las líneas con el precio vigente, descuenta stock, vacía el carrito y publica
+    @Test
+    void confirmarCompra_registraVentaYVaciaCarrito() {
+        Venta venta = service.confirmarCompra(7L, "estandar", "debito");
+
+        assertEquals(16000, venta.getSubtotal());
+        assertEquals(3990, venta.getCostoEnvio());
+        assertEquals(19990, venta.getTotal());
+        assertEquals(2, venta.getDetalles().size());
+        assertEquals(5000, venta.getDetalles().get(0).getPrecioUnitario());
+        assertEquals(8, productoRepository.bloquearPorId(1L).orElseThrow().getStock());
+        assertEquals(1, productoRepository.bloquearPorId(2L).orElseThrow().getStock());
+        InOrder orden = inOrder(productoRepository);
+        orden.verify(productoRepository).bloquearPorId(1L);
+        orden.verify(productoRepository).bloquearPorId(2L);
+        verify(itemCarritoRepository).deleteAll(carrito);
+        verify(outbox).publicar(Agregado.VENTA, 100L, Tipo.CREADO);
+        verify(outbox).publicar(Agregado.PRODUCTO, 2L, Tipo.ACTUALIZADO);
+        verify(rankingVentas).registrar(venta);
+    }
+
+    // Verifica que sin stock suficiente la compra falla sin guardar la venta ni tocar el carrito
+    @Test
+    void confirmarCompra_stockInsuficiente_lanzaExcepcion() {
+        productoRepository.bloquearPorId(2L).orElseThrow().setStock(2);
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> service.confirmarCompra(7L, "retiro", "debito"));
+
+        assertEquals("Stock insuficiente para Matraz.", ex.getMessage());
+        verify(ventaRepository, never()).save(any());
+        verify(itemCarritoRepository, never()).deleteAll(any());
+        verify(rankingVentas, never()).registrar(any());
+    }
+
+    // Verifica las validaciones de carrito vacío, envío y pago
+    @Test
+    void confirmarCompra_datosInvalidos_lanzaExcepcion() {
+        when(itemCarritoRepository.findByUsuarioId(8L)).thenReturn(List.of());
+
+        assertThrows(RuntimeException.class, () -> service.confirmarCompra(8L, "retiro", "debito"));
+        assertThrows(RuntimeException.class, () -> service.confirmarCompra(7L, "dron", "debito"));
+        assertThrows(RuntimeException.class, () -> service.confirmarCompra(7L, "retiro", " "));
+        verify(productoRepository, never()).bloquearPorId(anyLong());
+    }
+}
@@ -0,0 +1,194 @@
+package com.carrie.hazellabev2.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/* ================= Pruebas Unitarias para el Buffer en Anillo ================= */
+
+/**
+ * Pruebas unitarias para BufferAnillo: capacidad, vueltas completas del arreglo circular, buffer lleno y
+ * varios productores y consumidores simultáneos.
+ */
+class BufferAnilloTest {
+
+    // Verifica el redondeo de la capacidad a potencia de 2 y el rechazo de capacidades y elementos inválidos
+    @Test
+    void constructor_redondeaCapacidad() {
+        assertEquals(2, new BufferAnillo<>(2).getCapacidad());
+        assertEquals(8, new BufferAnillo<>(5).getCapacidad());
+        assertEquals(8, new BufferAnillo<>(8).getCapacidad());
+        assertThrows(IllegalArgumentException.class, () -> new BufferAnillo<>(1));
+        assertThrows(IllegalArgumentException.class, () -> new BufferAnillo<String>(4).ofrecer(null));
+    }
+
+    // Verifica el orden FIFO a lo largo de muchas vueltas del arreglo, con el índice dando la vuelta varias veces
+    @Test
+    void ofrecerYTomar_variasVueltas_mantieneElOrden() {
+        BufferAnillo<Integer> buffer = new BufferAnillo<>(4);
+        int siguiente = 0;
+        int esperado = 0;
+        for (int vuelta = 0; vuelta < 50; vuelta++) {
+            // Alterna cargas parciales para que lectura y escritura queden en celdas distintas de cada vuelta
+            int cantidad = 1 + vuelta % 4;
+            for (int i = 0; i < cantidad; i++) {
+                assertTrue(buffer.ofrecer(siguiente++));
+            }
+            assertEquals(cantidad, buffer.tamanio());
+            for (int i = 0; i < cantidad; i++) {
+                assertEquals(esperado++, buffer.tomar());
+            }
+            assertTrue(buffer.estaVacio());
+        }
+        assertNull(buffer.tomar());
+    }
+
+    // Verifica que con el buffer lleno ofrecer retorna false sin perder nada, y que al liberar una celda se reutiliza
+    @Test
+    void ofrecer_bufferLleno_rechazaSinPerderElementos() {
+        BufferAnillo<String> buffer = new BufferAnillo<>(4);
+        for (String elemento : List.of("a", "b", "c", "d")) {
+            assertTrue(buffer.ofrecer(elemento));
+        }
+
+        assertFalse(buffer.ofrecer("e"));
+        assertEquals(4, buffer.tamanio());
+
+        assertEquals("a", buffer.tomar());
+        assertTrue(buffer.ofrecer("e"));
+        assertFalse(buffer.ofrecer("f"));
+
+        List<String> drenados = new ArrayList<>();
+        assertEquals(3, buffer.drenar(drenados::add, 3));
+        assertEquals(List.of("b", "c", "d"), drenados);
+        assertEquals(1, buffer.drenar(drenados::add, 10));
+        assertEquals("e", drenados.get(3));
+        assertTrue(buffer.estaVacio());
+    }
+
+    // Verifica que con varios productores y un consumidor cada elemento llega una vez y en el orden de su productor
+    @Test
+    void ofrecer_productoresConcurrentes_entregaTodoEnOrdenPorProductor() throws Exception {
+        int productores = 4;
+        int porProductor = 20_000;
+        BufferAnillo<long[]> buffer = new BufferAnillo<>(64);
+        ExecutorService pool = Executors.newFixedThreadPool(productores);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger llenos = new AtomicInteger();
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int p = 0; p < productores; p++) {
+                long productor = p;
+                tareas.add(pool.submit(() -> {
+                    largada.await();
+                    for (long i = 0; i < porProductor; i++) {
+                        // Con el buffer chico el camino de buffer lleno se recorre muchas veces
+                        while (!buffer.ofrecer(new long[] { productor, i })) {
+                            llenos.incrementAndGet();
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+
+            long[] ultimo = new long[productores];
+            Arrays.fill(ultimo, -1);
+            int recibidos = 0;
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (recibidos < productores * porProductor) {
+                long[] elemento = buffer.tomar();
+                if (elemento == null) {
+                    assertTrue(System.nanoTime() < limite, "Los productores no terminaron a tiempo");
+                    Thread.yield();
+                    continue;
+                }
+                int productor = (int) elemento[0];
+                assertEquals(ultimo[productor] + 1, elemento[1]);
+                ultimo[productor] = elemento[1];
+                recibidos++;
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertTrue(buffer.estaVacio());
+        assertNull(buffer.tomar());
+        assertTrue(llenos.get() > 0, "El buffer debió llenarse al menos una vez");
+    }
+
+    // Verifica que con productores y consumidores simultáneos ningún elemento se pierde ni se entrega dos veces
+    @Test
+    void tomar_consumidoresConcurrentes_entregaCadaElementoUnaVez() throws Exception {
+        int productores = 3;
+        int consumidores = 3;
+        int porProductor = 20_000;
+        BufferAnillo<Integer> buffer = new BufferAnillo<>(16);
+        Set<Integer> recibidos = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicados = new AtomicInteger();
+        AtomicBoolean terminado = new AtomicBoolean(false);
+        ExecutorService pool = Executors.newFixedThreadPool(productores + consumidores);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<?>> productoresEnCurso = new ArrayList<>();
+            List<Future<?>> consumidoresEnCurso = new ArrayList<>();
+            for (int p = 0; p < productores; p++) {
+                int base = p * porProductor;
+                productoresEnCurso.add(pool.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < porProductor; i++) {
+                        while (!buffer.ofrecer(base + i)) {
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int c = 0; c < consumidores; c++) {
+                consumidoresEnCurso.add(pool.submit(() -> {
+                    largada.await();
+                    while (!terminado.get() || !buffer.estaVacio()) {
+                        Integer elemento = buffer.tomar();
+                        if (elemento == null) {
+                            Thread.yield();
+                        } else if (!recibidos.add(elemento)) {
+                            duplicados.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarea : productoresEnCurso) {
+                tarea.get(30, TimeUnit.SECONDS);
+            }
+            terminado.set(true);
+            for (Future<?> tarea : consumidoresEnCurso) {
+                tarea.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(0, duplicados.get());
+        assertEquals(productores * porProductor, recibidos.size());
+        assertTrue(buffer.estaVacio());
+    }
+}
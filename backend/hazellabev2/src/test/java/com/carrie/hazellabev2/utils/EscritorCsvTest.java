@@ -0,0 +1,54 @@
+package com.carrie.hazellabev2.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+/* ================= Pruebas Unitarias para la Escritura de Filas CSV ================= */
+
+/**
+ * Pruebas unitarias para EscritorCsv: escape RFC 4180 y protección contra fórmulas en planillas.
+ */
+class EscritorCsvTest {
+
+    // Verifica que los textos que una planilla evaluaría como fórmula quedan como texto
+    @Test
+    void campo_inicioDeFormula_anteponeApostrofe() {
+        assertEquals("'=1+1", EscritorCsv.campo("=1+1"));
+        assertEquals("'+56 9", EscritorCsv.campo("+56 9"));
+        assertEquals("'-2", EscritorCsv.campo("-2"));
+        assertEquals("'@SUMA(A1)", EscritorCsv.campo("@SUMA(A1)"));
+        // Tabulación y retorno de carro iniciales: la planilla los descarta y evalúa lo que sigue
+        assertEquals("'\t=cmd|' /C calc'!A0", EscritorCsv.campo("\t=cmd|' /C calc'!A0"));
+        assertEquals("\"'\r=1+1\"", EscritorCsv.campo("\r=1+1"));
+    }
+
+    // Verifica que los textos comunes no cambian y que un disparador en medio del texto no se altera
+    @Test
+    void campo_textoComun_seMantiene() {
+        assertEquals("", EscritorCsv.campo(""));
+        assertEquals("Ácido 1M", EscritorCsv.campo("Ácido 1M"));
+        assertEquals("a=b", EscritorCsv.campo("a=b"));
+        assertEquals("a\tb", EscritorCsv.campo("a\tb"));
+    }
+
+    // Verifica el escape de comas, comillas y saltos de línea
+    @Test
+    void campo_caracteresEspeciales_seEncierranEntreComillas() {
+        assertEquals("\"a,b\"", EscritorCsv.campo("a,b"));
+        assertEquals("\"dice \"\"hola\"\"\"", EscritorCsv.campo("dice \"hola\""));
+        assertEquals("\"linea1\nlinea2\"", EscritorCsv.campo("linea1\nlinea2"));
+    }
+
+    // Verifica la fila completa: números sin apóstrofe (aunque sean negativos), nulos vacíos y fin de línea CRLF
+    @Test
+    void fila_escribeValoresConCrlf() throws Exception {
+        StringWriter salida = new StringWriter();
+        EscritorCsv.bom(salida);
+        EscritorCsv.fila(salida, 1L, -5, null, true, "\tx");
+
+        assertEquals("\uFEFF1,-5,,true,'\tx\r\n", salida.toString());
+    }
+}
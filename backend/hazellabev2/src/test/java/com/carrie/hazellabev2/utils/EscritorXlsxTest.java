@@ -0,0 +1,124 @@
+package com.carrie.hazellabev2.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/* ================= Pruebas Unitarias para la Escritura de Planillas XLSX ================= */
+
+/**
+ * Pruebas unitarias para EscritorXlsx. La planilla generada se abre como ZIP y cada parte se lee con el parser
+ * XML del JDK, igual que lo haría una planilla de cálculo: partes del paquete, tipos de celda y textos escapados.
+ */
+class EscritorXlsxTest {
+
+    // Abre el paquete y retorna cada parte ya parseada como XML, por nombre y en orden
+    private static Map<String, Document> abrir(byte[] archivo) throws Exception {
+        DocumentBuilderFactory fabrica = DocumentBuilderFactory.newInstance();
+        fabrica.setNamespaceAware(true);
+        Map<String, Document> partes = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archivo), StandardCharsets.UTF_8)) {
+            for (ZipEntry entrada = zip.getNextEntry(); entrada != null; entrada = zip.getNextEntry()) {
+                byte[] contenido = zip.readAllBytes();
+                partes.put(entrada.getName(), fabrica.newDocumentBuilder().parse(new ByteArrayInputStream(contenido)));
+            }
+        }
+        return partes;
+    }
+
+    // Celda por referencia (A1, B2...) dentro de la hoja
+    private static Element celda(Document hoja, String ref) {
+        NodeList celdas = hoja.getElementsByTagNameNS("*", "c");
+        for (int i = 0; i < celdas.getLength(); i++) {
+            Element c = (Element) celdas.item(i);
+            if (ref.equals(c.getAttribute("r"))) {
+                return c;
+            }
+        }
+        return null;
+    }
+
+    // Verifica que el paquete se abre, que todas sus partes son XML válido y que la hoja lleva el nombre indicado
+    @Test
+    void close_generaPaqueteConPartesValidas() throws Exception {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (EscritorXlsx xlsx = new EscritorXlsx(salida, "ventas & stock")) {
+            xlsx.fila("id", "nombre");
+            xlsx.fila(1L, "Ácido");
+            assertEquals(2, xlsx.getFilas());
+        }
+
+        Map<String, Document> partes = abrir(salida.toByteArray());
+        assertEquals(List.of("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml", "xl/_rels/workbook.xml.rels",
+                "xl/styles.xml", "xl/worksheets/sheet1.xml"), List.copyOf(partes.keySet()));
+        Element hojaLibro = (Element) partes.get("xl/workbook.xml").getElementsByTagNameNS("*", "sheet").item(0);
+        assertEquals("ventas & stock", hojaLibro.getAttribute("name"));
+        assertEquals(2, partes.get("xl/worksheets/sheet1.xml").getElementsByTagNameNS("*", "row").getLength());
+    }
+
+    // Verifica encabezado en negrita, tipos de celda y fechas como número de serie con su estilo
+    @Test
+    void fila_escribeCadaTipoDeCelda() throws Exception {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (EscritorXlsx xlsx = new EscritorXlsx(salida, "datos")) {
+            xlsx.fila("texto", "numero", "activo", "fecha", "creado", "vacio");
+            xlsx.fila("Centrífuga <X> \"A&B\"", 12.5, true, LocalDate.of(2026, 12, 31),
+                    LocalDateTime.of(2025, 1, 2, 12, 0), null);
+        }
+        Document hoja = abrir(salida.toByteArray()).get("xl/worksheets/sheet1.xml");
+
+        assertEquals("1", celda(hoja, "A1").getAttribute("s"));
+        assertEquals("inlineStr", celda(hoja, "A2").getAttribute("t"));
+        assertEquals("Centrífuga <X> \"A&B\"", celda(hoja, "A2").getTextContent());
+        assertEquals("12.5", celda(hoja, "B2").getTextContent());
+        assertEquals("b", celda(hoja, "C2").getAttribute("t"));
+        assertEquals("1", celda(hoja, "C2").getTextContent());
+        // 2026-12-31 es el día 46387 del sistema de fechas de Excel; el mediodía suma medio día
+        assertEquals("2", celda(hoja, "D2").getAttribute("s"));
+        assertEquals("46387", celda(hoja, "D2").getTextContent());
+        assertEquals("3", celda(hoja, "E2").getAttribute("s"));
+        assertEquals("45659.5", celda(hoja, "E2").getTextContent());
+        assertNull(celda(hoja, "F2"));
+    }
+
+    // Verifica que los caracteres de control se omiten y los textos largos se recortan al límite de Excel
+    @Test
+    void fila_textosFueraDeRango_quedanValidos() throws Exception {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (EscritorXlsx xlsx = new EscritorXlsx(salida, "datos")) {
+            xlsx.fila("a");
+            xlsx.fila("uno\u0001dos\tfin");
+            xlsx.fila("x".repeat(40_000));
+        }
+        Document hoja = abrir(salida.toByteArray()).get("xl/worksheets/sheet1.xml");
+
+        assertEquals("unodos\tfin", celda(hoja, "A2").getTextContent());
+        assertEquals(32_767, celda(hoja, "A3").getTextContent().length());
+    }
+
+    // Verifica las letras de columna más allá de la Z
+    @Test
+    void columna_letras() {
+        assertEquals("A", EscritorXlsx.columna(0));
+        assertEquals("Z", EscritorXlsx.columna(25));
+        assertEquals("AA", EscritorXlsx.columna(26));
+        assertEquals("AZ", EscritorXlsx.columna(51));
+        assertEquals("BA", EscritorXlsx.columna(52));
+    }
+}
@@ -0,0 +1,141 @@
+package com.carrie.hazellabev2.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/* ================= Pruebas Unitarias para el Mapa Acotado ================= */
+
+/**
+ * Pruebas unitarias para MapaAcotado: límite de entradas, orden de expulsión CLOCK,
+ * claves quitadas y escrituras concurrentes que disparan el barrido.
+ */
+class MapaAcotadoTest {
+
+    // Verifica que el mapa nunca supera el máximo y cuenta cada expulsión
+    @Test
+    void poner_respetaElMaximo() {
+        MapaAcotado<Integer, String> mapa = new MapaAcotado<>(3);
+        for (int i = 1; i <= 10; i++) {
+            mapa.poner(i, "v" + i);
+            assertTrue(mapa.tamanio() <= 3);
+        }
+
+        assertEquals(3, mapa.tamanio());
+        assertEquals(7, mapa.getExpulsiones());
+    }
+
+    // Verifica que sin lecturas se expulsa la más antigua y que una entrada leída recibe segunda oportunidad
+    @Test
+    void expulsar_ordenClock() {
+        MapaAcotado<Integer, String> mapa = new MapaAcotado<>(3);
+        mapa.poner(1, "a");
+        mapa.poner(2, "b");
+        mapa.poner(3, "c");
+
+        mapa.poner(4, "d");
+        assertFalse(mapa.contiene(1));
+
+        // La 2 se lee antes de llenar: sobrevive y sale la 3, la siguiente no usada
+        assertEquals("b", mapa.obtener(2));
+        mapa.poner(5, "e");
+        assertTrue(mapa.contiene(2));
+        assertFalse(mapa.contiene(3));
+        assertTrue(mapa.contiene(4));
+        assertTrue(mapa.contiene(5));
+
+        // La 2 volvió al final de la cola sin marca: salen antes la 4 y la 5
+        mapa.poner(6, "f");
+        assertFalse(mapa.contiene(4));
+        mapa.poner(7, "g");
+        assertFalse(mapa.contiene(5));
+        mapa.poner(8, "h");
+        assertFalse(mapa.contiene(2));
+        assertEquals(5, mapa.getExpulsiones());
+    }
+
+    // Verifica que una clave quitada sale del mapa, no ocupa lugar y no provoca expulsiones
+    @Test
+    void quitar_noDejaEntradasVacias() {
+        MapaAcotado<Integer, String> mapa = new MapaAcotado<>(3);
+        mapa.poner(1, "a");
+        mapa.poner(2, "b");
+        mapa.poner(3, "c");
+
+        mapa.quitar(2);
+        assertEquals(2, mapa.tamanio());
+        assertFalse(mapa.contiene(2));
+        assertNull(mapa.obtener(2));
+
+        // Hay lugar para una clave nueva sin expulsar nada
+        mapa.poner(4, "d");
+        assertEquals(3, mapa.tamanio());
+        assertEquals(0, mapa.getExpulsiones());
+
+        // Volver a poner la clave quitada la trata como nueva, al final de la cola
+        mapa.quitar(1);
+        mapa.poner(1, "a2");
+        mapa.poner(5, "e");
+        assertEquals("a2", mapa.obtener(1));
+        assertFalse(mapa.contiene(3));
+        assertEquals(1, mapa.getExpulsiones());
+    }
+
+    // Verifica que escrituras, lecturas e invalidaciones concurrentes no dejan entradas fuera del alcance del barrido
+    @Test
+    void poner_concurrente_mantieneElMaximo() throws Exception {
+        int maximo = 50;
+        int hilos = 8;
+        MapaAcotado<Integer, Integer> mapa = new MapaAcotado<>(maximo);
+        ExecutorService pool = Executors.newFixedThreadPool(hilos);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                int base = h * 10_000;
+                tareas.add(pool.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < 5_000; i++) {
+                        // Claves propias y otras compartidas entre hilos, con lecturas e invalidaciones cruzadas
+                        int clave = i % 3 == 0 ? i % 100 : base + i;
+                        mapa.poner(clave, i);
+                        mapa.obtener(clave - 1);
+                        if (i % 7 == 0) {
+                            mapa.quitar(clave);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Un barrido puede quedar pendiente por hilo que no tomó el lock; la próxima escritura lo completa
+        assertTrue(mapa.tamanio() <= maximo + hilos);
+        for (int i = 0; i < maximo; i++) {
+            mapa.poner(-1 - i, i);
+        }
+        assertEquals(maximo, mapa.tamanio());
+        // Toda entrada del mapa sigue en la cola: claves nuevas sin leer terminan desplazándolas a todas
+        for (int i = 0; i < maximo * 2; i++) {
+            mapa.poner(-1_000 - i, i);
+        }
+        for (int i = 0; i < maximo; i++) {
+            assertTrue(mapa.contiene(-1_000 - maximo - i));
+        }
+        assertEquals(maximo, mapa.tamanio());
+    }
+}
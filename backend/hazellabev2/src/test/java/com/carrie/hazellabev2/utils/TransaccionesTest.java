@@ -0,0 +1,57 @@
+package com.carrie.hazellabev2.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+/* ================= Pruebas Unitarias para las Acciones Posteriores al Commit ================= */
+
+/**
+ * Pruebas unitarias para Transacciones.alConfirmar. La sincronización se activa a mano en el hilo de la prueba
+ * y se dispara el commit o el rollback igual que lo hace el gestor de transacciones de Spring.
+ */
+class TransaccionesTest {
+    private final AtomicInteger aplicados = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // Verifica que sin transacción activa el cambio se aplica de inmediato
+    @Test
+    void alConfirmar_sinTransaccion_aplicaDeInmediato() {
+        Transacciones.alConfirmar(aplicados::incrementAndGet);
+
+        assertEquals(1, aplicados.get());
+    }
+
+    // Verifica que dentro de una transacción el cambio espera al commit
+    @Test
+    void alConfirmar_conTransaccion_aplicaTrasElCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        Transacciones.alConfirmar(aplicados::incrementAndGet);
+        assertEquals(0, aplicados.get());
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertEquals(1, aplicados.get());
+    }
+
+    // Verifica que un rollback descarta el cambio
+    @Test
+    void alConfirmar_rollback_noAplica() {
+        TransactionSynchronizationManager.initSynchronization();
+        Transacciones.alConfirmar(aplicados::incrementAndGet);
+
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(0, aplicados.get());
+    }
+}
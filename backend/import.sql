@@ -9,10 +9,10 @@
 -- DELETE FROM usuario;
 
 -- Insertar usuarios con contraseñas válidas para "1234"
-INSERT INTO usuario (username, email, rut, password, role, status, created_at) VALUES
-('admin', 'admin@duoc.cl', '12.345.678-9', '$2a$10$N9qo8uLOickgx2ZMRZoMye3Z5c4B6ey7QDG4VjY4vDv3e1e5QJ7W6', 'super_admin', 'activo', NOW()),
-('vendedor_marta', 'marta.vendedor@duoc.cl', '9.876.543-2', '$2a$10$N9qo8uLOickgx2ZMRZoMye3Z5c4B6ey7QDG4VjY4vDv3e1e5QJ7W6', 'vendedor', 'activo', NOW()),
-('cliente_juan', 'juan@duoc.cl', '11.222.333-4', '$2a$10$N9qo8uLOickgx2ZMRZoMye3Z5c4B6ey7QDG4VjY4vDv3e1e5QJ7W6', 'cliente', 'activo', NOW());
+INSERT INTO usuario (username, email, rut, rut_numero, rut_dv, password, role, status, created_at) VALUES
+('admin', 'admin@duoc.cl', '12.345.678-5', 12345678, '5', '$2a$10$N9qo8uLOickgx2ZMRZoMye3Z5c4B6ey7QDG4VjY4vDv3e1e5QJ7W6', 'super_admin', 'activo', NOW()),
+('vendedor_marta', 'marta.vendedor@duoc.cl', '9.876.543-3', 9876543, '3', '$2a$10$N9qo8uLOickgx2ZMRZoMye3Z5c4B6ey7QDG4VjY4vDv3e1e5QJ7W6', 'vendedor', 'activo', NOW()),
+('cliente_juan', 'juan@duoc.cl', '11.222.333-9', 11222333, '9', '$2a$10$N9qo8uLOickgx2ZMRZoMye3Z5c4B6ey7QDG4VjY4vDv3e1e5QJ7W6', 'cliente', 'activo', NOW());
 
 
 -- Insertar categorías
@@ -1,6 +1,6 @@
 import { useEffect, useState } from "react";
 import { Link } from "react-router-dom";
-import { getProductos, getUsuarios, getCategorias } from "../../services/api";
+import { getProductosMasVendidos, getEstadisticasDashboard, getIndicadoresKpi, getResumenVentas, abrirFeedActividad } from "../../services/api";
 import "./Dashboard.css";
 
 export function Dashboard() {
@@ -11,9 +11,13 @@ export function Dashboard() {
     productosStockBajo: 0,
     totalCategorias: 0,
     productosActivos: 0,
-    usuariosActivos: 0
+    usuariosActivos: 0,
+    productosDestacados: 0,
+    valorInventario: 0
   });
   const [productosMasVendidos, setProductosMasVendidos] = useState([]);
+  const [ventasHoy, setVentasHoy] = useState({ unidades: 0, ingresos: 0 });
+  const [actividad, setActividad] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
 
@@ -24,51 +28,26 @@ export function Dashboard() {
         setLoading(true);
         console.log("Cargando datos del dashboard...");
         
-        // Cargar todos los datos necesarios en paralelo
-        const [productosRes, usuariosRes, categoriasRes] = await Promise.all([
-          getProductos(),
-          getUsuarios(),
-          getCategorias()
+        // Indicadores (consultas agregadas), contadores en vivo y ranking de más vendidos, calculados en el servidor
+        // Fecha local (no UTC) para pedir el resumen del día
+        const hoy = new Date().toLocaleDateString("sv-SE");
+        const [estadisticasRes, kpisRes, masVendidosRes, ventasHoyRes] = await Promise.all([
+          getEstadisticasDashboard(),
+          getIndicadoresKpi(),
+          getProductosMasVendidos("semana", 5),
+          getResumenVentas(hoy, hoy)
         ]);
 
-        const productos = productosRes.data || [];
-        const usuarios = usuariosRes.data || [];
-        const categorias = categoriasRes.data || [];
-
-        console.log("Datos recibidos:", {
-          productos: productos.length,
-          usuarios: usuarios.length,
-          categorias: categorias.length
+        // Los contadores en vivo reflejan el último cambio; los totales vienen de la caché de indicadores
+        const kpis = kpisRes.data || {};
+        setEstadisticas({
+          ...estadisticasRes.data,
+          productosActivos: kpis.productosActivos ?? estadisticasRes.data.productosActivos,
+          productosStockBajo: kpis.productosStockBajo ?? estadisticasRes.data.productosStockBajo,
+          productosDestacados: kpis.productosDestacados ?? 0
         });
-
-        // Calcular estadísticas reales basadas en los datos
-        const stats = {
-          totalUsuarios: usuarios.length,
-          totalProductos: productos.length,
-          productosStockBajo: productos.filter(p => p.stock <= (p.stockCritico || 5)).length,
-          totalCategorias: categorias.length,
-          productosActivos: productos.filter(p => p.activeStatus).length,
-          usuariosActivos: usuarios.filter(u => u.status === 'activo').length
-        };
-
-        console.log("Estadísticas calculadas:", stats);
-        setEstadisticas(stats);
-        
-        // Simular productos más vendidos (ordenar por stock bajo como proxy)
-        const masVendidos = productos
-          .filter(p => p.activeStatus)
-          .sort((a, b) => {
-            const ratioA = a.stock / (a.stockCritico || 5);
-            const ratioB = b.stock / (b.stockCritico || 5);
-            return ratioA - ratioB;
-          })
-          .slice(0, 5)
-          .map(p => ({
-            ...p,
-            totalVendidos: Math.floor(Math.random() * 50) + 10 // Datos simulados temporalmente
-          }));
-
-        setProductosMasVendidos(masVendidos);
+        setProductosMasVendidos(masVendidosRes.data || []);
+        setVentasHoy((ventasHoyRes.data || [])[0] || { unidades: 0, ingresos: 0 });
         setError(null);
         
       } catch (error) {
@@ -82,6 +61,18 @@ export function Dashboard() {
     cargarDashboard();
   }, []);
 
+  // Feed de actividad en vivo: cada lote trae los hechos de la última ventana (el navegador se reconecta solo)
+  useEffect(() => {
+    const feed = abrirFeedActividad();
+    feed.addEventListener("actividad", (evento) => {
+      const lote = JSON.parse(evento.data);
+      if (lote.length > 0) {
+        setActividad((anteriores) => [...lote.reverse(), ...anteriores].slice(0, 20));
+      }
+    });
+    return () => feed.close();
+  }, []);
+
   // Estado de carga
   if (loading) {
     return (
@@ -148,7 +139,7 @@ export function Dashboard() {
             <div className="stats-content">
               <h3>{estadisticas.totalProductos}</h3>
               <p>Total Productos</p>
-              <small>{estadisticas.productosActivos} activos</small>
+              <small>{estadisticas.productosActivos} activos · {estadisticas.productosDestacados} destacados</small>
             </div>
           </div>
         </div>
@@ -179,9 +170,9 @@ export function Dashboard() {
           <div className="stats-card bg-secondary text-white">
             <div className="stats-icon">Ventas</div>
             <div className="stats-content">
-              <h3>{Math.floor(estadisticas.totalProductos * 0.3)}</h3>
-              <p>Ventas Hoy</p>
-              <small>Estimado</small>
+              <h3>{ventasHoy.unidades}</h3>
+              <p>Unidades Vendidas Hoy</p>
+              <small>${(ventasHoy.ingresos || 0).toLocaleString()} en ventas</small>
             </div>
           </div>
         </div>
@@ -190,9 +181,9 @@ export function Dashboard() {
           <div className="stats-card bg-dark text-white">
             <div className="stats-icon">Ingresos</div>
             <div className="stats-content">
-              <h3>${(estadisticas.totalProductos * 15000).toLocaleString()}</h3>
-              <p>Ingresos</p>
-              <small>Mensual estimado</small>
+              <h3>${(estadisticas.valorInventario || 0).toLocaleString()}</h3>
+              <p>Inventario</p>
+              <small>Valor a costo</small>
             </div>
           </div>
         </div>
@@ -204,7 +195,7 @@ export function Dashboard() {
         <div className="col-md-8">
           <div className="dashboard-card">
             <div className="d-flex justify-content-between align-items-center mb-3">
-              <h5 className="mb-0">Productos Populares</h5>
+              <h5 className="mb-0">Más Vendidos (7 días)</h5>
               <Link to="/admin/productos" className="btn btn-sm btn-outline-primary">
                 Ver todos →
               </Link>
@@ -243,7 +234,7 @@ export function Dashboard() {
                 ))
               ) : (
                 <div className="text-center py-4 text-muted">
-                  <p>No hay productos disponibles</p>
+                  <p>Aún no hay ventas registradas esta semana</p>
                   <Link to="/admin/productos/nuevo" className="btn btn-primary btn-sm">
                     Crear primer producto
                   </Link>
@@ -252,6 +243,24 @@ export function Dashboard() {
             </div>
           </div>
 
+          {/* Sección de actividad en vivo */}
+          <div className="dashboard-card mt-4">
+            <h5>Actividad en Vivo</h5>
+            {actividad.length > 0 ? (
+              <ul className="list-unstyled mb-0">
+                {actividad.map((item, index) => (
+                  <li key={`${item.tipo}-${item.entidadId}-${item.fecha}-${index}`} className="border-bottom py-2">
+                    <small className="text-muted me-2">{new Date(item.fecha).toLocaleTimeString()}</small>
+                    {item.descripcion}
+                    {item.repeticiones > 1 && <span className="badge bg-secondary ms-2">x{item.repeticiones}</span>}
+                  </li>
+                ))}
+              </ul>
+            ) : (
+              <p className="text-muted mb-0">Sin actividad desde que se abrió el panel</p>
+            )}
+          </div>
+
           {/* Sección de alertas del sistema */}
           <div className="dashboard-card mt-4">
             <h5>Alertas del Sistema</h5>
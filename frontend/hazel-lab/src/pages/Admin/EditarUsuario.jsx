@@ -1,6 +1,6 @@
 import { useEffect, useState } from "react";
 import { useNavigate, useParams, Link } from "react-router-dom";
-import { getUsuarios, actualizarUsuario, getRegiones, getComunasPorRegion } from "../../services/api";
+import { getUsuarioPorId, actualizarUsuario, getRegiones, getComunasPorRegion } from "../../services/api";
 import "./VistaClienteYProducto.css";
 
 export function EditarUsuario() {
@@ -97,8 +97,9 @@ export function EditarUsuario() {
       try {
         setLoading(true);
         console.log(`Cargando usuario con ID: ${id}`);
-        const response = await getUsuarios();
-        const encontrado = response.data.find((u) => u.id === parseInt(id));
+        // El listado solo trae la representación resumida; el detalle completo se obtiene por ID
+        const response = await getUsuarioPorId(id);
+        const encontrado = response.data;
         
         if (encontrado) {
           console.log("Usuario encontrado:", encontrado);
@@ -1,11 +1,12 @@
 import { useEffect, useState } from "react";
 import { Link } from "react-router-dom";
-import { getUsuarios, eliminarUsuario } from "../../services/api";
+import { getTodosLosUsuarios, eliminarUsuario, descargarExportacion } from "../../services/api";
 import "./VistaClienteYProducto.css";
 
 export function VistaClientes() {
   // Estados para gestión de datos y UI
   const [usuarios, setUsuarios] = useState([]);
+  const [totalUsuarios, setTotalUsuarios] = useState(0);
   const [loading, setLoading] = useState(true);
   const [eliminando, setEliminando] = useState(null);
   const [busqueda, setBusqueda] = useState("");
@@ -26,8 +27,9 @@ export function VistaClientes() {
   useEffect(() => {
     const cargarUsuarios = async () => {
       try {
-        const response = await getUsuarios();
-        setUsuarios(response.data);
+        const { usuarios: cargados, total } = await getTodosLosUsuarios();
+        setUsuarios(cargados);
+        setTotalUsuarios(total);
       } catch (error) {
         console.error("Error al obtener usuarios:", error);
       } finally {
@@ -82,6 +84,16 @@ export function VistaClientes() {
     }
   };
 
+  // Descarga la exportación completa de usuarios, avisando si el servidor la rechaza o la conexión falla
+  const handleExportar = async (formato) => {
+    try {
+      await descargarExportacion("usuarios", formato);
+    } catch (error) {
+      console.error("Error al exportar usuarios:", error);
+      alert(`No se pudo exportar los usuarios: ${error.message}`);
+    }
+  };
+
   // Función para eliminar usuario con confirmación
   const handleEliminar = async (id, username) => {
     if (!window.confirm(`¿Eliminar al usuario "${username}"?`)) return;
@@ -89,6 +101,7 @@ export function VistaClientes() {
       setEliminando(id);
       await eliminarUsuario(id);
       setUsuarios((prev) => prev.filter((u) => u.id !== id));
+      setTotalUsuarios((prev) => prev - 1);
       alert("Usuario eliminado correctamente.");
     } catch (error) {
       console.error(error);
@@ -124,11 +137,27 @@ export function VistaClientes() {
             </small>
           )}
         </div>
-        <Link to="/admin/clientes/nuevo" className="btn btn-primary">
-          Nuevo Usuario
-        </Link>
+        <div className="d-flex gap-2">
+          <button onClick={() => handleExportar("csv")} className="btn btn-outline-success" title="Exportar todos los usuarios a CSV">
+            CSV
+          </button>
+          <button onClick={() => handleExportar("xlsx")} className="btn btn-outline-success" title="Exportar todos los usuarios a Excel">
+            Excel
+          </button>
+          <Link to="/admin/clientes/nuevo" className="btn btn-primary">
+            Nuevo Usuario
+          </Link>
+        </div>
       </header>
 
+      {/* Aviso si no se pudieron cargar todas las páginas de usuarios */}
+      {totalUsuarios > usuarios.length && (
+        <div className="alert alert-warning">
+          Se cargaron {usuarios.length} de {totalUsuarios} usuarios; la búsqueda y los filtros solo consideran los cargados.
+          Recargue la página para intentar nuevamente.
+        </div>
+      )}
+
       {/* Sección de filtros y búsqueda */}
       <div className="card mb-4">
         <div className="card-body">
@@ -397,8 +426,8 @@ export function VistaClientes() {
                       </small>
                     </td>
                     <td>
-                      <span className={`badge ${u.itemsCarrito?.length > 0 ? 'bg-warning' : 'bg-light text-dark'}`}>
-                        {u.itemsCarrito?.length || 0}
+                      <span className={`badge ${u.cantidadItemsCarrito > 0 ? 'bg-warning' : 'bg-light text-dark'}`}>
+                        {u.cantidadItemsCarrito || 0}
                       </span>
                     </td>
                     <td>
@@ -1,9 +1,12 @@
 import { useEffect, useState } from "react";
 import { Link } from "react-router-dom";
-import { getProductos, eliminarProducto, buscarProductosAvanzado } from "../../services/api";
+import { getProductos, eliminarProducto, buscarProductosAvanzado, descargarExportacion } from "../../services/api";
 import { FiltrosAvanzados } from "./FiltrosAvanzados";
 import "./VistaClienteYProducto.css";
 
+// Stock en o bajo el stock crítico del propio producto (el backend lo entrega calculado en stockBajo)
+const esStockBajo = (producto) => producto.stockBajo ?? producto.stock <= (producto.stockCritico ?? 0);
+
 export function VistaProductos() {
   // Estados para gestión de datos y UI
   const [productos, setProductos] = useState([]);
@@ -83,8 +86,8 @@ export function VistaProductos() {
     const coincideStock =
       filtroStock === "todos" ||
       (filtroStock === "sin-stock" && producto.stock === 0) ||
-      (filtroStock === "stock-critico" && producto.stock > 0 && producto.stock <= (producto.stockCritico || 5)) ||
-      (filtroStock === "con-stock" && producto.stock > (producto.stockCritico || 5));
+      (filtroStock === "stock-critico" && producto.stock > 0 && esStockBajo(producto)) ||
+      (filtroStock === "con-stock" && !esStockBajo(producto));
 
     return coincideBusqueda && coincideActivo && coincideStock;
   });
@@ -95,6 +98,16 @@ export function VistaProductos() {
   const indiceFin = indiceInicio + productosPorPagina;
   const productosPagina = productosFiltrados.slice(indiceInicio, indiceFin);
 
+  // Descarga la exportación completa de productos, avisando si el servidor la rechaza o la conexión falla
+  const handleExportar = async (formato) => {
+    try {
+      await descargarExportacion("productos", formato);
+    } catch (error) {
+      console.error("Error al exportar productos:", error);
+      alert(`No se pudo exportar los productos: ${error.message}`);
+    }
+  };
+
   // Función para eliminar producto con confirmación
   const handleEliminar = async (id) => {
     const producto = productos.find(p => p.id === id);
@@ -160,7 +173,7 @@ export function VistaProductos() {
   const getBadgeStock = (producto) => {
     if (producto.stock === 0) {
       return <span className="badge bg-danger">Sin Stock</span>;
-    } else if (producto.stock <= (producto.stockCritico || 5)) {
+    } else if (esStockBajo(producto)) {
       return <span className="badge bg-warning text-dark">Stock Crítico</span>;
     } else {
       return <span className="badge bg-success">En Stock</span>;
@@ -213,6 +226,12 @@ export function VistaProductos() {
           <button onClick={recargarProductos} className="btn btn-outline-secondary" title="Recargar todos los productos">
             Recargar
           </button>
+          <button onClick={() => handleExportar("csv")} className="btn btn-outline-success" title="Exportar todos los productos a CSV">
+            CSV
+          </button>
+          <button onClick={() => handleExportar("xlsx")} className="btn btn-outline-success" title="Exportar todos los productos a Excel">
+            Excel
+          </button>
           <Link to="/admin/productos/nuevo" className="btn btn-primary">
             Nuevo Producto
           </Link>
@@ -1,6 +1,6 @@
 import { useEffect, useMemo, useState } from "react";
 import { Link, useNavigate } from "react-router-dom";
-import { getItemsCarritoPorUsuario } from "../../services/api";
+import { getItemsCarritoPorUsuario, confirmarCompra as registrarCompra } from "../../services/api";
 
 export default function Checkout() {
   const navigate = useNavigate();
@@ -13,6 +13,7 @@ export default function Checkout() {
   // Estados para opciones de envío y pago
   const [metodoEnvio, setMetodoEnvio] = useState("retiro");
   const [metodoPago, setMetodoPago] = useState("");
+  const [procesando, setProcesando] = useState(false);
 
   // Formateador de precios para moneda chilena
   const fmt = new Intl.NumberFormat("es-CL", { 
@@ -64,7 +65,7 @@ export default function Checkout() {
   const total = useMemo(() => subtotal + costoEnvio, [subtotal, costoEnvio]);
 
   // Manejar la confirmación de la compra
-  const confirmarCompra = () => {
+  const confirmarCompra = async () => {
     if (!usuario) {
       navigate("/login");
       return;
@@ -79,14 +80,25 @@ export default function Checkout() {
       return;
     }
 
-    // Simulación de confirmación de pedido
-    alert("Proceso de compra completado exitosamente.\n\n" +
-      `Método de envío: ${metodoEnvio}\n` +
-      `Método de pago: ${metodoPago}\n` +
-      `Total a pagar: ${fmt.format(total)}`
-    );
-    
-    // Aquí se integraría la llamada al backend para crear la orden
+    // El servidor registra la venta con el carrito guardado, descuenta stock y vacía el carrito
+    try {
+      setProcesando(true);
+      const respuesta = await registrarCompra(usuario.id, metodoEnvio, metodoPago);
+      const venta = respuesta.data;
+      alert("Proceso de compra completado exitosamente.\n\n" +
+        `N° de orden: ${venta.id}\n` +
+        `Método de envío: ${metodoEnvio}\n` +
+        `Método de pago: ${metodoPago}\n` +
+        `Total pagado: ${fmt.format(venta.total)}`
+      );
+      setItems([]);
+      navigate("/");
+    } catch (error) {
+      console.error("Error al confirmar la compra:", error);
+      alert(error.response?.data || "No se pudo completar la compra.");
+    } finally {
+      setProcesando(false);
+    }
   };
 
   // Estados de carga
@@ -157,8 +169,9 @@ export default function Checkout() {
                   className="btn" 
                   style={{ background: "#587042", color: "white", fontWeight: 600 }} 
                   onClick={confirmarCompra}
+                  disabled={procesando}
                 >
-                  Confirmar Compra
+                  {procesando ? "Procesando..." : "Confirmar Compra"}
                 </button>
               </div>
             </div>
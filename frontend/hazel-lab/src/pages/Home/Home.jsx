@@ -1,7 +1,7 @@
 import { useEffect, useState } from "react";
 import { Navbar } from "../../componentes/Navbar/Navbar";
 import { getProductosDestacados } from "../../services/api";
-import { agregarItemCarrito } from "../../services/api";
+import { agregarItemCarrito, urlMiniatura } from "../../services/api";
 import "../../index.css";
 
 // Configuración de imágenes y constantes
@@ -168,7 +168,7 @@ export function Home() {
                 <article key={producto.id} className="home-product-card">
                   {/* Imagen del producto */}
                   <img
-                    src={producto.image || PLACEHOLDER_IMG}
+                    src={urlMiniatura(producto.image) || PLACEHOLDER_IMG}
                     alt={producto.name}
                     className="home-product-image"
                   />
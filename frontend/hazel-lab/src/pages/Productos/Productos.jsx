@@ -1,7 +1,7 @@
 // src/pages/Productos/Productos.jsx
 import { useEffect, useState } from "react";
 import { Link } from "react-router-dom";
-import { getProductos, getCategorias, agregarItemCarrito } from "../../services/api";
+import { getProductos, getCategoriasResumen, agregarItemCarrito, urlMiniatura } from "../../services/api";
 import "../../index.css";
 
 export function Productos() {
@@ -31,9 +31,9 @@ export function Productos() {
       });
   }, []);
 
-  // Cargar categorías para filtros
+  // Cargar categorías para filtros (con su cantidad de productos calculada en el backend)
   useEffect(() => {
-    getCategorias()
+    getCategoriasResumen()
       .then((res) => setCategorias(res.data))
       .catch((err) => console.error("Error al obtener categorías:", err));
   }, []);
@@ -121,7 +121,9 @@ export function Productos() {
           <option value="todas">Todas las categorías</option>
           {categorias.map((cat) => (
             <option key={cat.id} value={cat.id}>
-              {cat.nombre}
+              {cat.cantidadProductosTotal !== undefined
+                ? `${cat.nombre} (${cat.cantidadProductosTotal})`
+                : cat.nombre}
             </option>
           ))}
         </select>
@@ -134,7 +136,7 @@ export function Productos() {
         ) : (
           filtrados.map((p) => {
             const mostrarPlaceholder = !p.image || imagenesCargadas[p.id];
-            const imagenSrc = mostrarPlaceholder ? PLACEHOLDER_IMG : p.image;
+            const imagenSrc = mostrarPlaceholder ? PLACEHOLDER_IMG : urlMiniatura(p.image);
 
             return (
               <article key={p.id} className="home-product-card">
@@ -1,7 +1,7 @@
 // src/pages/Registro/Registro.jsx
 import { useState } from "react";
 import { useNavigate, Link } from "react-router-dom";
-import { crearUsuario } from "../../services/api";
+import { crearUsuario, buscarComunas } from "../../services/api";
 import "../InicioSesion/Login-y-registro.css";
 
 export function Registro() {
@@ -21,6 +21,7 @@ export function Registro() {
     confirmarClave: "",
   });
 
+  const [sugerenciasComuna, setSugerenciasComuna] = useState([]);
   const [submitting, setSubmitting] = useState(false);
   const [errorMsg, setErrorMsg] = useState("");
 
@@ -30,6 +31,26 @@ export function Registro() {
     setFormData((prev) => ({ ...prev, [name]: value }));
   };
 
+  // Autocompletado de comuna: consulta sugerencias y completa la región al elegir una
+  const handleComunaChange = async (e) => {
+    const { value } = e.target;
+    const elegida = sugerenciasComuna.find((s) => s.comuna === value);
+    setFormData((prev) => ({
+      ...prev,
+      comuna: value,
+      region: elegida && !prev.region ? elegida.region : prev.region,
+    }));
+    if (elegida || value.trim().length < 2) {
+      return;
+    }
+    try {
+      const res = await buscarComunas(value, 8);
+      setSugerenciasComuna(res.data);
+    } catch {
+      setSugerenciasComuna([]);
+    }
+  };
+
   // Validaciones de formato para RUN y correo electrónico
   const validarRun = (run) => /^[0-9]{7,8}[0-9Kk]{1}$/.test(run);
   const validarCorreo = (correo) =>
@@ -203,9 +224,18 @@ export function Registro() {
             name="comuna"
             required
             placeholder="Ej: Viña del Mar"
+            list="comunas-sugeridas"
+            autoComplete="off"
             value={formData.comuna}
-            onChange={handleChange}
+            onChange={handleComunaChange}
           />
+          <datalist id="comunas-sugeridas">
+            {sugerenciasComuna.map((s) => (
+              <option key={`${s.region}-${s.comuna}`} value={s.comuna}>
+                {s.region}
+              </option>
+            ))}
+          </datalist>
 
           {/* Campo Dirección */}
           <label htmlFor="direccion">Dirección</label>
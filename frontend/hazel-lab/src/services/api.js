@@ -9,6 +9,8 @@ export const api = axios.create({
   headers: {
     "Content-Type": "application/json",
   },
+  // Envía la cookie de escritura reciente: tras guardar un cambio, las lecturas siguientes no van a una réplica atrasada
+  withCredentials: true,
 });
 
 /* ======================================================
@@ -30,6 +32,9 @@ export const eliminarProducto = (id) => api.delete(`/productos/${id}`);
 // Obtener productos marcados como destacados
 export const getProductosDestacados = () => api.get("/productos/destacados");
 
+// Productos activos que vencen dentro de los próximos N días (ordenados por fecha de vencimiento)
+export const getProductosPorVencer = (dias = 30) => api.get("/productos/por-vencer", { params: { dias } });
+
 /* ======================================================
    GESTIÓN DE CATEGORÍAS
 ====================================================== */
@@ -37,12 +42,33 @@ export const getProductosDestacados = () => api.get("/productos/destacados");
 // Obtener todas las categorías disponibles
 export const getCategorias = () => api.get("/categorias");
 
+// Obtener categorías con la cantidad de productos activos (arbol=true: anidadas con totales por subárbol)
+export const getCategoriasResumen = (arbol = false) =>
+  api.get("/categorias/resumen", { params: { arbol } });
+
 /* ======================================================
    GESTIÓN DE USUARIOS
 ====================================================== */
 
-// Obtener todos los usuarios registrados
-export const getUsuarios = () => api.get("/usuarios");
+// Obtener una página de usuarios registrados (representación resumida; total en cabecera X-Total-Count)
+export const getUsuarios = (page = 0, size = 500) => api.get("/usuarios", { params: { page, size } });
+
+// Obtener todos los usuarios recorriendo las páginas según X-Total-Count (el filtrado de la vista es en el cliente).
+// Si alguna página falla retorna lo cargado junto al total, para que la vista avise que la lista está incompleta
+export const getTodosLosUsuarios = async (size = 500) => {
+  const primera = await getUsuarios(0, size);
+  const total = Number(primera.headers["x-total-count"] ?? primera.data.length);
+  const paginas = Math.max(1, Math.ceil(total / size));
+  const resto = await Promise.allSettled(
+    Array.from({ length: paginas - 1 }, (_, i) => getUsuarios(i + 1, size))
+  );
+  const usuarios = [...primera.data];
+  resto.forEach((resultado) => {
+    if (resultado.status === "fulfilled") usuarios.push(...resultado.value.data);
+    else console.error("Error al obtener una página de usuarios:", resultado.reason);
+  });
+  return { usuarios, total };
+};
 
 // Obtener información específica de un usuario por ID
 export const getUsuarioPorId = (id) => api.get(`/usuarios/${id}`);
@@ -155,6 +181,10 @@ export const actualizarItemCarrito = (itemId, nuevaCantidad) =>
 // Eliminar item específico del carrito
 export const eliminarItemCarrito = (itemId) => api.delete(`/itemscarrito/${itemId}`);
 
+// Confirmar la compra del carrito (el servidor toma productos y precios del carrito guardado)
+export const confirmarCompra = (usuarioId, metodoEnvio, metodoPago) =>
+  api.post("/ventas/checkout", { usuarioId, metodoEnvio, metodoPago });
+
 /* ======================================================
    GESTIÓN DE IMÁGENES CON CLOUDINARY
 ====================================================== */
@@ -220,6 +250,21 @@ export const probarConexionCloudinary = async () => {
   }
 };
 
+/* ======================================================
+   ALMACENAMIENTO LOCAL DE IMÁGENES DE PRODUCTOS
+====================================================== */
+
+// Subir el archivo de imagen de un producto al backend (queda asignado al producto)
+export const subirImagenProducto = (productoId, archivo) => {
+  const formData = new FormData();
+  formData.append("archivo", archivo);
+  return api.post(`/productos/${productoId}/imagen`, formData);
+};
+
+// URL de la miniatura para grillas: solo las imágenes locales admiten ?ancho= (las externas se usan tal cual)
+export const urlMiniatura = (url, ancho = 320) =>
+  url && url.includes("/api/imagenes/") && !url.includes("?") ? `${url}?ancho=${ancho}` : url;
+
 /* ======================================================
    UTILIDADES Y VALIDACIONES
 ====================================================== */
@@ -278,6 +323,10 @@ export const getComunasPorRegion = async (region) => {
   }
 };
 
+// Autocompletado de comunas de todas las regiones (ignora tildes y mayúsculas). Retorna [{ comuna, region }]
+export const buscarComunas = (q, limite = 10) =>
+  api.get("/ubicacion/comunas/buscar", { params: { q, limite } });
+
 // Obtener estructura completa de regiones y comunas
 export const getRegionesComunas = () => {
   return api.get('/api/ubicacion/regiones-comunas');
@@ -287,9 +336,59 @@ export const getRegionesComunas = () => {
    ESTADÍSTICAS Y REPORTES
 ====================================================== */
 
-// Obtener estadísticas generales del dashboard
+// Obtener estadísticas generales del dashboard (calculadas en el servidor con consultas agregadas)
 export const getEstadisticasDashboard = () => {
-  return api.get('/api/dashboard/estadisticas');
+  return api.get('/dashboard/estadisticas');
+};
+
+// Contadores en vivo del dashboard (activos, stock crítico, destacados, usuarios por rol), vigentes al último cambio
+export const getIndicadoresKpi = () => api.get('/dashboard/kpis');
+
+// Alertas de cruce del stock crítico posteriores a la última secuencia vista (0 = todas las recientes)
+export const getAlertasStock = (desde = 0) => api.get('/dashboard/alertas-stock', { params: { desde } });
+
+// Series diarias leídas de las tablas de resumen (fechas "AAAA-MM-DD"; sin fechas retorna los últimos 30 días)
+export const getResumenVentas = (desde, hasta) =>
+  api.get('/resumenes/ventas', { params: { desde, hasta } });
+
+export const getResumenProducto = (productoId, desde, hasta) =>
+  api.get(`/resumenes/productos/${productoId}`, { params: { desde, hasta } });
+
+export const getResumenCategoria = (categoriaId, desde, hasta) =>
+  api.get(`/resumenes/categorias/${categoriaId}`, { params: { desde, hasta } });
+
+// Valoración del inventario a costo por categoría, proveedor y vencimiento (JSON o archivo CSV)
+export const getValoracionInventario = () => api.get('/reportes/valoracion');
+
+export const descargarValoracionCsv = () =>
+  api.get('/reportes/valoracion', { params: { formato: 'csv' }, responseType: 'blob' });
+
+// Descarga una tabla completa ("productos", "usuarios" o "carrito") en formato "csv" o "xlsx".
+// Si falla lanza un Error con el mensaje del servidor para que la vista lo muestre
+export const descargarExportacion = async (tabla, formato = "csv") => {
+  let res;
+  try {
+    res = await api.get(`/exportaciones/${tabla}`, { params: { formato }, responseType: "blob" });
+  } catch (error) {
+    // Con responseType "blob" el cuerpo del error también llega como Blob (texto plano o el JSON de error de Spring)
+    const cuerpo = error.response?.data;
+    let detalle = cuerpo instanceof Blob ? await cuerpo.text().catch(() => "") : "";
+    try {
+      const json = JSON.parse(detalle);
+      detalle = json.message || json.error || "";
+    } catch {
+      // No es JSON: se usa el texto tal cual
+    }
+    throw new Error(detalle || error.message || "No se pudo descargar la exportación");
+  }
+  const url = URL.createObjectURL(res.data);
+  const enlace = document.createElement("a");
+  enlace.href = url;
+  enlace.download = `${tabla}-${new Date().toISOString().slice(0, 10)}.${formato}`;
+  document.body.appendChild(enlace);
+  enlace.click();
+  enlace.remove();
+  URL.revokeObjectURL(url);
 };
 
 // Búsqueda avanzada de productos con múltiples filtros
@@ -320,7 +419,12 @@ export const buscarUsuariosAvanzado = (filtros) => {
   return api.get(`/api/usuarios/buscar/avanzada?${params.toString()}`);
 };
 
-// Obtener ranking de productos más vendidos
-export const getProductosMasVendidos = () => {
-  return api.get('/api/dashboard/productos-mas-vendidos');
-};
\ No newline at end of file
+// Obtener ranking de productos más vendidos (ventana: "dia", "semana" o "historico")
+export const getProductosMasVendidos = (ventana = "semana", limite = 5) =>
+  api.get('/dashboard/productos-mas-vendidos', { params: { ventana, limite } });
+// Feed de actividad en vivo del panel (SSE): eventos "actividad" con un lote JSON cada 250 ms
+export const abrirFeedActividad = () => new EventSource(`${API_URL}/dashboard/actividad`);
+
+// Registro de auditoría (entidad: "producto" o "usuario"; entidadId requiere entidad)
+export const getAuditoria = (entidad, entidadId) =>
+  api.get('/auditoria', { params: { entidad, entidadId } });
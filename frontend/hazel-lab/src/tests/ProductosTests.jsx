@@ -2,13 +2,14 @@
 import React from 'react';
 import { render, screen, waitFor } from '@testing-library/react';
 import { Productos } from '../../pages/Productos/Productos';
-import { getProductos, getCategorias } from '../../services/api';
+import { getProductos, getCategoriasResumen } from '../../services/api';
 
 // Mock de las APIs
 jest.mock('../../services/api', () => ({
   getProductos: jest.fn(),
-  getCategorias: jest.fn(),
-  agregarItemCarrito: jest.fn()
+  getCategoriasResumen: jest.fn(),
+  agregarItemCarrito: jest.fn(),
+  urlMiniatura: (url) => url
 }));
 
 // Mock de react-router-dom
@@ -44,7 +45,7 @@ describe('Componente Productos', () => {
 
   beforeEach(() => {
     getProductos.mockResolvedValue({ data: mockProductos });
-    getCategorias.mockResolvedValue({ data: mockCategorias });
+    getCategoriasResumen.mockResolvedValue({ data: mockCategorias });
   });
 
   afterEach(() => {